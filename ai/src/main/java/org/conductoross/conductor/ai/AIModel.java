@@ -68,6 +68,24 @@ public interface AIModel {
      */
     List<Float> generateEmbeddings(EmbeddingGenRequest embeddingGenRequest);
 
+    /**
+     * Embedding generation for several texts. The default implementation makes one call per text,
+     * providers whose API accepts several inputs should override it.
+     *
+     * @param embeddingGenRequest model and options to use, its text is replaced by each text
+     * @param texts texts to embed
+     * @return embeddings, in the order of the texts
+     */
+    default List<List<Float>> generateEmbeddings(
+            EmbeddingGenRequest embeddingGenRequest, List<String> texts) {
+        List<List<Float>> embeddings = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            embeddingGenRequest.setText(text);
+            embeddings.add(generateEmbeddings(embeddingGenRequest));
+        }
+        return embeddings;
+    }
+
     /**
      * @return Chat Completion model
      */
@@ -12,12 +12,14 @@
  */
 package org.conductoross.conductor.ai;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
 
 import org.conductoross.conductor.ai.document.DocumentLoader;
+import org.conductoross.conductor.ai.embeddings.EmbeddingCache;
 import org.conductoross.conductor.ai.models.AudioGenRequest;
 import org.conductoross.conductor.ai.models.ChatCompletion;
 import org.conductoross.conductor.ai.models.EmbeddingGenRequest;
@@ -27,6 +29,7 @@ import org.conductoross.conductor.ai.models.VideoGenRequest;
 import org.conductoross.conductor.common.JsonSchemaValidator;
 import org.conductoross.conductor.common.utils.StringTemplate;
 import org.conductoross.conductor.config.AIIntegrationEnabledCondition;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 
@@ -47,13 +50,25 @@ public class LLMs {
                 log.info("{}", tokenUsageLog);
             };
 
+    protected EmbeddingCache embeddingCache;
+
     public LLMs(
             List<DocumentLoader> documentLoaders,
             JsonSchemaValidator jsonSchemaValidator,
             AIModelProvider modelProvider) {
+        this(documentLoaders, jsonSchemaValidator, modelProvider, null);
+    }
+
+    @Autowired
+    public LLMs(
+            List<DocumentLoader> documentLoaders,
+            JsonSchemaValidator jsonSchemaValidator,
+            AIModelProvider modelProvider,
+            EmbeddingCache embeddingCache) {
         this.modelProvider = modelProvider;
         this.helper = new LLMHelper(jsonSchemaValidator, documentLoaders);
         this.payloadStoreLocation = modelProvider.getPayloadStoreLocation();
+        this.embeddingCache = embeddingCache;
     }
 
     public LLMResponse chatComplete(Task task, ChatCompletion chatCompletion) {
@@ -88,7 +103,45 @@ public class LLMs {
 
     public List<Float> generateEmbeddings(Task task, EmbeddingGenRequest embeddingGenRequest) {
         AIModel llm = this.modelProvider.getModel(embeddingGenRequest);
-        return llm.generateEmbeddings(embeddingGenRequest);
+        if (embeddingCache == null || !embeddingCache.isEnabled()) {
+            return llm.generateEmbeddings(embeddingGenRequest);
+        }
+        String text = embeddingGenRequest.getText();
+        List<Float> embeddings = embeddingCache.get(embeddingGenRequest, text);
+        if (embeddings == null) {
+            embeddings = llm.generateEmbeddings(embeddingGenRequest);
+            embeddingCache.put(embeddingGenRequest, text, embeddings);
+        }
+        return embeddings;
+    }
+
+    public List<List<Float>> generateEmbeddings(
+            Task task, EmbeddingGenRequest embeddingGenRequest, List<String> texts) {
+        AIModel llm = this.modelProvider.getModel(embeddingGenRequest);
+        if (embeddingCache == null || !embeddingCache.isEnabled()) {
+            return llm.generateEmbeddings(embeddingGenRequest, texts);
+        }
+        // only the texts that are not cached yet are sent to the provider
+        List<List<Float>> embeddings = new ArrayList<>(texts.size());
+        List<Integer> missing = new ArrayList<>();
+        for (String text : texts) {
+            List<Float> cached = embeddingCache.get(embeddingGenRequest, text);
+            if (cached == null) {
+                missing.add(embeddings.size());
+            }
+            embeddings.add(cached);
+        }
+        if (!missing.isEmpty()) {
+            List<List<Float>> generated =
+                    llm.generateEmbeddings(
+                            embeddingGenRequest, missing.stream().map(texts::get).toList());
+            for (int i = 0; i < missing.size(); i++) {
+                int index = missing.get(i);
+                embeddings.set(index, generated.get(i));
+                embeddingCache.put(embeddingGenRequest, texts.get(index), generated.get(i));
+            }
+        }
+        return embeddings;
     }
 
     public LLMResponse generateVideo(Task task, VideoGenRequest videoGenRequest) {
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.conductoross.conductor.ai.embeddings;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.conductoross.conductor.ai.models.EmbeddingGenRequest;
+import org.conductoross.conductor.config.AIIntegrationEnabledCondition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import com.netflix.conductor.metrics.Monitors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches embeddings by provider, model, dimensions and text, so that the same text is only sent
+ * to the provider once.
+ *
+ * <p>Embeddings are kept in a bounded in-memory tier and, when an {@link EmbeddingStore} bean is
+ * available, in a persistent tier behind it. Failures of the persistent tier are logged and
+ * treated as misses.
+ */
+@Slf4j
+@Component
+@Conditional(AIIntegrationEnabledCondition.class)
+public class EmbeddingCache {
+
+    static final String MEMORY_TIER = "memory";
+    static final String STORE_TIER = "store";
+
+    private final Cache<String, float[]> memoryCache;
+    private final EmbeddingStore embeddingStore;
+
+    public EmbeddingCache(
+            @Value("${conductor.ai.embeddingCache.size:5000}") int size,
+            @Value("${conductor.ai.embeddingCache.ttl:24h}") Duration ttl,
+            Optional<EmbeddingStore> embeddingStore) {
+        // embeddings are stored as primitive arrays, a 1536 dimensions embedding takes ~6KB
+        if (size > 0) {
+            this.memoryCache =
+                    CacheBuilder.newBuilder().maximumSize(size).expireAfterAccess(ttl).build();
+        } else {
+            this.memoryCache = null;
+        }
+        this.embeddingStore = embeddingStore.orElse(null);
+    }
+
+    public boolean isEnabled() {
+        return memoryCache != null || embeddingStore != null;
+    }
+
+    /**
+     * @return the cached embeddings of the text, or null if they are not cached
+     */
+    public List<Float> get(EmbeddingGenRequest request, String text) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = getKey(request, text);
+        if (memoryCache != null) {
+            float[] embeddings = memoryCache.getIfPresent(key);
+            if (embeddings != null) {
+                Monitors.recordEmbeddingCacheHit(
+                        request.getLlmProvider(), request.getModel(), MEMORY_TIER);
+                return toList(embeddings);
+            }
+        }
+        if (embeddingStore != null) {
+            try {
+                List<Float> embeddings = embeddingStore.get(key);
+                if (embeddings != null) {
+                    if (memoryCache != null) {
+                        memoryCache.put(key, toArray(embeddings));
+                    }
+                    Monitors.recordEmbeddingCacheHit(
+                            request.getLlmProvider(), request.getModel(), STORE_TIER);
+                    return embeddings;
+                }
+            } catch (Exception e) {
+                log.warn("Unable to read embeddings from the embedding store: {}", e.getMessage());
+            }
+        }
+        Monitors.recordEmbeddingCacheMiss(request.getLlmProvider(), request.getModel());
+        return null;
+    }
+
+    public void put(EmbeddingGenRequest request, String text, List<Float> embeddings) {
+        if (!isEnabled() || embeddings == null || embeddings.isEmpty()) {
+            return;
+        }
+        String key = getKey(request, text);
+        if (memoryCache != null) {
+            memoryCache.put(key, toArray(embeddings));
+        }
+        if (embeddingStore != null) {
+            try {
+                embeddingStore.put(key, embeddings);
+            } catch (Exception e) {
+                log.warn("Unable to write embeddings to the embedding store: {}", e.getMessage());
+            }
+        }
+    }
+
+    static String getKey(EmbeddingGenRequest request, String text) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(String.valueOf(request.getLlmProvider()), StandardCharsets.UTF_8);
+        hasher.putByte((byte) 0);
+        hasher.putString(String.valueOf(request.getModel()), StandardCharsets.UTF_8);
+        hasher.putByte((byte) 0);
+        hasher.putString(String.valueOf(request.getDimensions()), StandardCharsets.UTF_8);
+        hasher.putByte((byte) 0);
+        hasher.putString(String.valueOf(text), StandardCharsets.UTF_8);
+        return hasher.hash().toString();
+    }
+
+    private static float[] toArray(List<Float> embeddings) {
+        float[] array = new float[embeddings.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = embeddings.get(i);
+        }
+        return array;
+    }
+
+    private static List<Float> toList(float[] embeddings) {
+        List<Float> list = new ArrayList<>(embeddings.length);
+        for (float embedding : embeddings) {
+            list.add(embedding);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.conductoross.conductor.ai.embeddings;
+
+import java.util.List;
+
+/**
+ * Persistent tier of the {@link EmbeddingCache}. Register a bean implementing this interface to
+ * share embeddings across servers and restarts.
+ *
+ * <p>Keys are content addressed: the same provider, model, dimensions and text always map to the
+ * same key, so entries never need to be invalidated.
+ */
+public interface EmbeddingStore {
+
+    /**
+     * @param key cache key of the embeddings
+     * @return the stored embeddings, or null if there are none
+     */
+    List<Float> get(String key);
+
+    /**
+     * @param key cache key of the embeddings
+     * @param embeddings embeddings to store
+     */
+    void put(String key, List<Float> embeddings);
+}
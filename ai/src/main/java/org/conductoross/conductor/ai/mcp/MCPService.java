@@ -12,13 +12,18 @@
  */
 package org.conductoross.conductor.ai.mcp;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.conductoross.conductor.config.AIIntegrationEnabledCondition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 
@@ -27,8 +32,16 @@ import com.netflix.conductor.common.config.ObjectMapperProvider;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.modelcontextprotocol.client.McpSyncClient;
 import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.annotation.PreDestroy;
+import okhttp3.ConnectionPool;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -48,15 +61,71 @@ public class MCPService {
     private final ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
     private final JsonTextParser jsonTextParser = new JsonTextParser(objectMapper);
 
+    /** Shares the dispatcher and settings, each MCP server gets its own connection pool. */
+    private final OkHttpClient baseHttpClient;
+
+    private final Cache<String, OkHttpClient> httpClients;
+    private final Cache<String, List<McpSchema.Tool>> toolsCache;
+    private final int maxIdleConnections;
+    private final Duration keepAlive;
+
+    public MCPService(
+            @Value("${conductor.ai.mcp.toolsCacheTtl:5m}") Duration toolsCacheTtl,
+            @Value("${conductor.ai.mcp.keepAlive:5m}") Duration keepAlive,
+            @Value("${conductor.ai.mcp.maxIdleConnections:5}") int maxIdleConnections) {
+        this.keepAlive = keepAlive;
+        this.maxIdleConnections = maxIdleConnections;
+        this.baseHttpClient =
+                new OkHttpClient.Builder()
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .readTimeout(Duration.ofSeconds(30))
+                        .build();
+        this.httpClients =
+                CacheBuilder.newBuilder()
+                        .maximumSize(100)
+                        .expireAfterAccess(keepAlive.multipliedBy(2))
+                        .<String, OkHttpClient>removalListener(
+                                notification -> {
+                                    if (notification.getValue() != null) {
+                                        notification.getValue().connectionPool().evictAll();
+                                    }
+                                })
+                        .build();
+        // tool catalogs rarely change, a listing is reused for the same server and headers
+        this.toolsCache =
+                CacheBuilder.newBuilder()
+                        .maximumSize(1000)
+                        .expireAfterWrite(toolsCacheTtl)
+                        .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClients.invalidateAll();
+        baseHttpClient.dispatcher().executorService().shutdown();
+        baseHttpClient.connectionPool().evictAll();
+    }
+
     /**
      * Lists all tools available from an MCP server.
      *
+     * <p>Listings are cached per server URL and headers for {@code conductor.ai.mcp.toolsCacheTtl}.
+     *
      * @param serverUrl MCP server URL (http:// or https://)
      * @param headers HTTP headers for the request
      * @return List of available tools
      */
     public List<McpSchema.Tool> listTools(String serverUrl, Map<String, String> headers) {
-        return listToolsHttp(serverUrl, headers);
+        try {
+            return toolsCache.get(
+                    getToolsCacheKey(serverUrl, headers),
+                    () -> List.copyOf(listToolsHttp(serverUrl, headers)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
     }
 
     /**
@@ -98,12 +167,8 @@ public class MCPService {
             request.put("method", "tools/list");
             request.put("id", 1);
 
-            // Make HTTP POST request with OkHttp
-            OkHttpClient httpClient =
-                    new OkHttpClient.Builder()
-                            .connectTimeout(Duration.ofSeconds(30))
-                            .readTimeout(Duration.ofSeconds(30))
-                            .build();
+            // Make HTTP POST request with the pooled client of this server
+            OkHttpClient httpClient = getHttpClient(serverUrl);
 
             Request.Builder requestBuilder =
                     new Request.Builder()
@@ -223,12 +288,8 @@ public class MCPService {
             params.set("arguments", objectMapper.valueToTree(arguments));
             request.set("params", params);
 
-            // Make HTTP POST request with OkHttp
-            OkHttpClient httpClient =
-                    new OkHttpClient.Builder()
-                            .connectTimeout(Duration.ofSeconds(30))
-                            .readTimeout(Duration.ofSeconds(30))
-                            .build();
+            // Make HTTP POST request with the pooled client of this server
+            OkHttpClient httpClient = getHttpClient(serverUrl);
 
             Request.Builder requestBuilder =
                     new Request.Builder()
@@ -384,6 +445,36 @@ public class MCPService {
         }
     }
 
+    /** Returns the client of the given server, keeping its connections alive between calls. */
+    @VisibleForTesting
+    OkHttpClient getHttpClient(String serverUrl) throws ExecutionException {
+        HttpUrl url = HttpUrl.get(serverUrl);
+        String origin = url.scheme() + "://" + url.host() + ":" + url.port();
+        return httpClients.get(
+                origin,
+                () ->
+                        baseHttpClient
+                                .newBuilder()
+                                .connectionPool(
+                                        new ConnectionPool(
+                                                maxIdleConnections,
+                                                keepAlive.toMillis(),
+                                                TimeUnit.MILLISECONDS))
+                                .build());
+    }
+
+    /** Headers are hashed so that credentials are not kept in the cache keys. */
+    private String getToolsCacheKey(String serverUrl, Map<String, String> headers) {
+        String headersHash =
+                headers == null || headers.isEmpty()
+                        ? ""
+                        : Hashing.sha256()
+                                .hashString(
+                                        new TreeMap<>(headers).toString(), StandardCharsets.UTF_8)
+                                .toString();
+        return serverUrl + "#" + headersHash;
+    }
+
     /** Closes an HTTP MCP client. */
     private void closeClient(McpSyncClient client) {
         try {
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.conductoross.conductor.ai.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class IndexDocumentsInput extends LLMWorkerInput {
+
+    private String embeddingModelProvider;
+    private String embeddingModel;
+    private String vectorDB;
+    private String namespace;
+    private String index;
+    private Integer dimensions;
+    private int chunkSize;
+    private int chunkOverlap;
+    private int embeddingBatchSize;
+    private List<Document> documents = new ArrayList<>();
+
+    public int getChunkSize() {
+        return chunkSize > 0 ? chunkSize : 12000;
+    }
+
+    public int getChunkOverlap() {
+        return chunkOverlap > 0 ? chunkOverlap : 400;
+    }
+
+    public int getEmbeddingBatchSize() {
+        return embeddingBatchSize > 0 ? embeddingBatchSize : 32;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Document {
+        private String docId;
+        private String text;
+        private Map<String, Object> metadata;
+    }
+}
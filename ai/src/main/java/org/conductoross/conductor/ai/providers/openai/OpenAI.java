@@ -38,6 +38,7 @@ import org.springframework.ai.audio.tts.Speech;
 import org.springframework.ai.audio.tts.TextToSpeechPrompt;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.embedding.Embedding;
 import org.springframework.ai.embedding.EmbeddingOptions;
 import org.springframework.ai.embedding.EmbeddingRequest;
 import org.springframework.ai.embedding.EmbeddingResponse;
@@ -54,12 +55,14 @@ import org.springframework.ai.openaisdk.OpenAiSdkImageOptions;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.util.LinkedMultiValueMap;
 
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class OpenAI implements AIModel {
 
     public static final String NAME = "openai";
+    private static final int MAX_EMBEDDING_BATCH_SIZE = 64;
     private final OpenAIConfiguration config;
 
     // Cached instances
@@ -100,6 +103,25 @@ public class OpenAI implements AIModel {
         return List.of(ArrayUtils.toObject(response.getResult().getOutput()));
     }
 
+    @Override
+    public List<List<Float>> generateEmbeddings(
+            EmbeddingGenRequest embeddingGenRequest, List<String> texts) {
+        EmbeddingOptions options =
+                EmbeddingOptions.builder()
+                        .model(embeddingGenRequest.getModel())
+                        .dimensions(embeddingGenRequest.getDimensions())
+                        .build();
+        List<List<Float>> embeddings = new ArrayList<>(texts.size());
+        // keeps each request well under the per request token limit for typical chunk sizes
+        for (List<String> batch : Lists.partition(texts, MAX_EMBEDDING_BATCH_SIZE)) {
+            EmbeddingResponse response = embeddingModel.call(new EmbeddingRequest(batch, options));
+            for (Embedding embedding : response.getResults()) {
+                embeddings.add(List.of(ArrayUtils.toObject(embedding.getOutput())));
+            }
+        }
+        return embeddings;
+    }
+
     @Override
     public ChatOptions getChatOptions(ChatCompletion input) {
         List<ToolCallback> toolCallbacks = getToolCallback(input);
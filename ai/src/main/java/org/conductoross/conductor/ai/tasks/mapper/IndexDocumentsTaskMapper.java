@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.conductoross.conductor.ai.tasks.mapper;
+
+import org.conductoross.conductor.ai.models.IndexDocumentsInput;
+import org.conductoross.conductor.config.AIIntegrationEnabledCondition;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Conditional(AIIntegrationEnabledCondition.class)
+@Slf4j
+public class IndexDocumentsTaskMapper extends AIModelTaskMapper<IndexDocumentsInput> {
+
+    public static final String NAME = "LLM_INDEX_DOCUMENTS";
+
+    public IndexDocumentsTaskMapper() {
+        super(NAME);
+    }
+}
@@ -12,14 +12,17 @@
  */
 package org.conductoross.conductor.ai.tasks.worker;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.conductoross.conductor.ai.LLMs;
+import org.conductoross.conductor.ai.models.EmbeddedDoc;
 import org.conductoross.conductor.ai.models.EmbeddingGenRequest;
 import org.conductoross.conductor.ai.models.IndexDocInput;
+import org.conductoross.conductor.ai.models.IndexDocumentsInput;
 import org.conductoross.conductor.ai.models.IndexedDoc;
 import org.conductoross.conductor.ai.models.StoreEmbeddingsInput;
 import org.conductoross.conductor.ai.models.VectorDBInput;
@@ -36,6 +39,8 @@ import com.netflix.conductor.sdk.workflow.task.OutputParam;
 import com.netflix.conductor.sdk.workflow.task.WorkerTask;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -90,6 +95,67 @@ public class VectorDBWorkers implements AnnotatedSystemTaskWorker {
         }
     }
 
+    /**
+     * Indexes a set of documents at once. Each document is split into chunks, the chunks are
+     * embedded in batches of {@code embeddingBatchSize} and each batch is written to the vector
+     * database in a single batched write.
+     *
+     * @return number of chunks stored
+     */
+    @WorkerTask("LLM_INDEX_DOCUMENTS")
+    public @OutputParam("result") int indexDocuments(IndexDocumentsInput input) {
+        List<EmbeddedDoc> chunks = new ArrayList<>();
+        for (IndexDocumentsInput.Document document : input.getDocuments()) {
+            if (isBlank(document.getDocId())) {
+                throw new NonRetryableException("docId is empty");
+            }
+            List<String> texts =
+                    chunkText(document.getText(), input.getChunkSize(), input.getChunkOverlap());
+            for (int i = 0; i < texts.size(); i++) {
+                // a document that fits in one chunk is stored the same way LLM_INDEX_TEXT does
+                String id = texts.size() == 1 ? document.getDocId() : document.getDocId() + "_" + i;
+                chunks.add(
+                        new EmbeddedDoc(
+                                id,
+                                document.getDocId(),
+                                texts.get(i),
+                                null,
+                                document.getMetadata()));
+            }
+        }
+
+        try {
+            int stored = 0;
+            for (List<EmbeddedDoc> batch : Lists.partition(chunks, input.getEmbeddingBatchSize())) {
+                EmbeddingGenRequest request =
+                        EmbeddingGenRequest.builder()
+                                .model(input.getEmbeddingModel())
+                                .dimensions(input.getDimensions())
+                                .build();
+                request.setLlmProvider(input.getEmbeddingModelProvider());
+                List<List<Float>> embeddings =
+                        llm.generateEmbeddings(
+                                TaskContext.get().getTask(),
+                                request,
+                                batch.stream().map(EmbeddedDoc::getText).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).setEmbeddings(embeddings.get(i));
+                }
+                stored +=
+                        vectorDBs.storeEmbeddings(
+                                input.getVectorDB(),
+                                TaskContext.get(),
+                                input.getIndex(),
+                                input.getNamespace(),
+                                batch);
+            }
+            return stored;
+        } catch (Exception e) {
+            log.error("Error while indexing documents: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @WorkerTask("LLM_STORE_EMBEDDINGS")
     public @OutputParam("result") int storeEmbeddings(StoreEmbeddingsInput input) {
         String id = Optional.ofNullable(input.getId()).orElse(UUID.randomUUID().toString());
@@ -151,6 +217,23 @@ public class VectorDBWorkers implements AnnotatedSystemTaskWorker {
         }
     }
 
+    /** Splits the text in chunks of at most chunkSize characters, overlapping by chunkOverlap. */
+    @VisibleForTesting
+    static List<String> chunkText(String text, int chunkSize, int chunkOverlap) {
+        if (text == null || text.length() <= chunkSize) {
+            return List.of(text == null ? "" : text);
+        }
+        int step = Math.max(1, chunkSize - chunkOverlap);
+        List<String> chunks = new ArrayList<>();
+        for (int start = 0; start < text.length(); start += step) {
+            chunks.add(text.substring(start, Math.min(text.length(), start + chunkSize)));
+            if (start + chunkSize >= text.length()) {
+                break;
+            }
+        }
+        return chunks;
+    }
+
     private List<Float> generateEmbeddings(
             Task task,
             String embeddingModelProvider,
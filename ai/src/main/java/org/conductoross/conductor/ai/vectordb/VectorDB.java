@@ -15,6 +15,7 @@ package org.conductoross.conductor.ai.vectordb;
 import java.util.List;
 import java.util.Map;
 
+import org.conductoross.conductor.ai.models.EmbeddedDoc;
 import org.conductoross.conductor.ai.models.IndexedDoc;
 
 public abstract class VectorDB {
@@ -44,6 +45,28 @@ public abstract class VectorDB {
             List<Float> embeddings,
             Map<String, Object> metadata);
 
+    /**
+     * Stores the embeddings of several documents. The default implementation stores them one at a
+     * time, databases that support batched writes should override it.
+     *
+     * @return number of documents stored
+     */
+    public int updateEmbeddings(String indexName, String namespace, List<EmbeddedDoc> docs) {
+        int updated = 0;
+        for (EmbeddedDoc doc : docs) {
+            updated +=
+                    updateEmbeddings(
+                            indexName,
+                            namespace,
+                            doc.getText(),
+                            doc.getParentDocId(),
+                            doc.getId(),
+                            doc.getEmbeddings(),
+                            doc.getMetadata());
+        }
+        return updated;
+    }
+
     public abstract List<IndexedDoc> search(
             String indexName, String namespace, List<Float> embeddings, int maxResults);
 }
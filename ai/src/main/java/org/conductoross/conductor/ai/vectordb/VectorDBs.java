@@ -15,6 +15,7 @@ package org.conductoross.conductor.ai.vectordb;
 import java.util.List;
 import java.util.Map;
 
+import org.conductoross.conductor.ai.models.EmbeddedDoc;
 import org.conductoross.conductor.ai.models.IndexedDoc;
 import org.springframework.stereotype.Component;
 
@@ -52,6 +53,19 @@ public class VectorDBs {
                 indexName, namespace, text, parentDocId, id, embeddings, metadata);
     }
 
+    public int storeEmbeddings(
+            String vectorDBName,
+            TaskContext context,
+            String indexName,
+            String namespace,
+            List<EmbeddedDoc> docs) {
+        VectorDB db = vectorDBProvider.get(vectorDBName, context);
+        if (db == null) {
+            throw new NonRetryableException("VectorDB not found: " + vectorDBName);
+        }
+        return db.updateEmbeddings(indexName, namespace, docs);
+    }
+
     public List<IndexedDoc> searchEmbeddings(
             String vectorDBName,
             TaskContext context,
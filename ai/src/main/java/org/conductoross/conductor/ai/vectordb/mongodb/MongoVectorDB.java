@@ -24,6 +24,7 @@ import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.bson.conversions.Bson;
+import org.conductoross.conductor.ai.models.EmbeddedDoc;
 import org.conductoross.conductor.ai.models.IndexedDoc;
 import org.conductoross.conductor.ai.vectordb.VectorDB;
 
@@ -31,13 +32,17 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
@@ -98,6 +103,44 @@ public class MongoVectorDB extends VectorDB {
         }
     }
 
+    @Override
+    public int updateEmbeddings(String indexName, String namespace, List<EmbeddedDoc> docs) {
+        if (!pattern.matcher(namespace).matches()) {
+            throw new RuntimeException("Invalid namespace");
+        }
+        if (!pattern.matcher(indexName).matches()) {
+            throw new RuntimeException("Invalid index name");
+        }
+        if (docs.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            MongoCollection<Document> collection =
+                    getDatabase(getClient()).getCollection(namespace);
+            List<UpdateOneModel<Document>> updates = new ArrayList<>(docs.size());
+            for (EmbeddedDoc doc : docs) {
+                updates.add(
+                        new UpdateOneModel<>(
+                                new Document("doc_id", doc.getId()),
+                                new Document(
+                                        "$set",
+                                        new Document("parent_doc_id", doc.getParentDocId())
+                                                .append("doc_id", doc.getId())
+                                                .append("doc", doc.getText())
+                                                .append("embedding", doc.getEmbeddings())
+                                                .append("metadata", doc.getMetadata())),
+                                new UpdateOptions().upsert(true)));
+            }
+            // unordered, the server applies the upserts in parallel and reports all failures
+            BulkWriteResult result =
+                    collection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+            return result.getMatchedCount() + result.getUpserts().size();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private int upsertEmbeddings(
             String namespace,
             String id,
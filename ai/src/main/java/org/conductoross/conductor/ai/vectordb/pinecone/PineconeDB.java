@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.conductoross.conductor.ai.models.EmbeddedDoc;
 import org.conductoross.conductor.ai.models.IndexedDoc;
 import org.conductoross.conductor.ai.vectordb.VectorDB;
 
@@ -27,6 +28,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
 import com.google.protobuf.Struct;
 import com.google.protobuf.Value;
 import io.grpc.StatusRuntimeException;
@@ -45,6 +47,8 @@ import okhttp3.OkHttpClient;
 public class PineconeDB extends VectorDB {
 
     public static final String TYPE = "pinecone";
+    // Pinecone recommends upserting at most 100 vectors per request
+    private static final int MAX_UPSERT_BATCH_SIZE = 100;
     private final Cache<String, Index> indexCache;
     private final ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
     private final PineconeConfig config;
@@ -60,43 +64,46 @@ public class PineconeDB extends VectorDB {
                         .build();
     }
 
-    @SneakyThrows
     private int updateEmbeddingsWithNameSpace(
-            String indexName,
-            String namespace,
-            String doc,
-            String parentDocId,
-            String id,
-            List<Float> embeddings,
-            Map<String, Object> additionalMetadata) {
-        String metadataJson = objectMapper.writeValueAsString(additionalMetadata);
-        Struct.Builder metadataBuilder = Struct.newBuilder();
+            String indexName, String namespace, List<EmbeddedDoc> docs) {
         Index conn = getConnection(indexName);
         try {
-
-            if (parentDocId != null) {
-                metadataBuilder.putFields(
-                        "parentDocId", Value.newBuilder().setStringValue(parentDocId).build());
+            List<VectorWithUnsignedIndices> vectors = new ArrayList<>(docs.size());
+            for (EmbeddedDoc doc : docs) {
+                vectors.add(toVector(doc));
             }
-            if (doc != null) {
-                metadataBuilder.putFields("text", Value.newBuilder().setStringValue(doc).build());
+            int upserted = 0;
+            for (List<VectorWithUnsignedIndices> batch :
+                    Lists.partition(vectors, MAX_UPSERT_BATCH_SIZE)) {
+                UpsertResponse upsertResponse = conn.upsert(batch, namespace);
+                upserted += upsertResponse.getUpsertedCount();
             }
-            metadataBuilder.putFields(
-                    "metadata", Value.newBuilder().setStringValue(metadataJson).build());
-
-            Struct metadata = metadataBuilder.build();
-
-            VectorWithUnsignedIndices vectors =
-                    IndexInterface.buildUpsertVectorWithUnsignedIndices(
-                            id, embeddings, null, null, metadata);
-            UpsertResponse upsertResponse = conn.upsert(List.of(vectors), namespace);
-            return upsertResponse.getUpsertedCount();
+            return upserted;
 
         } catch (StatusRuntimeException e) {
             throw new RuntimeException(e);
         }
     }
 
+    @SneakyThrows
+    private VectorWithUnsignedIndices toVector(EmbeddedDoc doc) {
+        String metadataJson = objectMapper.writeValueAsString(doc.getMetadata());
+        Struct.Builder metadataBuilder = Struct.newBuilder();
+        if (doc.getParentDocId() != null) {
+            metadataBuilder.putFields(
+                    "parentDocId", Value.newBuilder().setStringValue(doc.getParentDocId()).build());
+        }
+        if (doc.getText() != null) {
+            metadataBuilder.putFields(
+                    "text", Value.newBuilder().setStringValue(doc.getText()).build());
+        }
+        metadataBuilder.putFields(
+                "metadata", Value.newBuilder().setStringValue(metadataJson).build());
+
+        return IndexInterface.buildUpsertVectorWithUnsignedIndices(
+                doc.getId(), doc.getEmbeddings(), null, null, metadataBuilder.build());
+    }
+
     @Override
     public int updateEmbeddings(
             String indexName,
@@ -106,13 +113,19 @@ public class PineconeDB extends VectorDB {
             String id,
             List<Float> embeddings,
             Map<String, Object> additionalMetadata) {
+        return updateEmbeddings(
+                indexName,
+                namespace,
+                List.of(new EmbeddedDoc(id, parentDocId, doc, embeddings, additionalMetadata)));
+    }
+
+    @Override
+    public int updateEmbeddings(String indexName, String namespace, List<EmbeddedDoc> docs) {
         try {
-            return updateEmbeddingsWithNameSpace(
-                    indexName, namespace, doc, parentDocId, id, embeddings, additionalMetadata);
+            return updateEmbeddingsWithNameSpace(indexName, namespace, docs);
         } catch (Exception e) {
             if (e.getMessage() != null && e.getMessage().contains("feature 'Namespaces'")) {
-                return updateEmbeddingsWithNameSpace(
-                        indexName, "", doc, parentDocId, id, embeddings, additionalMetadata);
+                return updateEmbeddingsWithNameSpace(indexName, "", docs);
             } else {
                 throw e;
             }
@@ -15,6 +15,8 @@ package org.conductoross.conductor.ai.vectordb.postgres;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,10 +26,12 @@ import java.util.regex.Pattern;
 import javax.sql.DataSource;
 
 import org.apache.commons.lang3.StringUtils;
+import org.conductoross.conductor.ai.models.EmbeddedDoc;
 import org.conductoross.conductor.ai.models.IndexedDoc;
 import org.conductoross.conductor.ai.vectordb.VectorDB;
 import org.conductoross.conductor.common.utils.TextUtils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -137,9 +141,14 @@ public class PostgresVectorDB extends VectorDB {
             String id,
             List<Float> embeddings,
             Map<String, Object> metadata) {
-        if (parentDocId == null) {
-            parentDocId = id;
-        }
+        return updateEmbeddings(
+                indexName,
+                namespace,
+                List.of(new EmbeddedDoc(id, parentDocId, doc, embeddings, metadata)));
+    }
+
+    @Override
+    public int updateEmbeddings(String indexName, String namespace, List<EmbeddedDoc> docs) {
         if (!pattern.matcher(namespace).matches()) {
             throw new RuntimeException("Invalid namespace");
         }
@@ -168,7 +177,7 @@ public class PostgresVectorDB extends VectorDB {
                             : namespace;
             createVectorTableIfNotExists(tableName, conn);
             createVectorIndexIfNotExists(tableName, indexName, conn);
-            return upsertEmbeddings(namespace, id, parentDocId, doc, embeddings, metadata, conn);
+            return upsertEmbeddings(tableName, docs, conn);
         } catch (Exception exception) {
             log.error(
                     "Error encountered while updating embeddings as : {}",
@@ -178,70 +187,76 @@ public class PostgresVectorDB extends VectorDB {
         }
     }
 
-    private int upsertEmbeddings(
-            String namespace,
-            String id,
-            String parentDocId,
-            String doc,
-            List<Float> embeddings,
-            Map<String, Object> metadata,
-            Connection conn) {
+    /**
+     * Upserts the documents with a single statement, several documents are sent as one JDBC batch
+     * in one transaction.
+     */
+    private int upsertEmbeddings(String tableName, List<EmbeddedDoc> docs, Connection conn) {
         final int embeddingDimensions =
                 config.getDimensions() != null ? config.getDimensions() : 256;
-        if (embeddingDimensions != embeddings.size()) {
-            throw new RuntimeException("Embeddings must be of dimensions : " + embeddingDimensions);
+        for (EmbeddedDoc doc : docs) {
+            if (embeddingDimensions != doc.getEmbeddings().size()) {
+                throw new RuntimeException(
+                        "Embeddings must be of dimensions : " + embeddingDimensions);
+            }
         }
-        String tableName =
-                config.getTablePrefix() != null
-                        ? config.getTablePrefix() + "_" + namespace
-                        : namespace;
         String UPSERT_QUERY =
                 "INSERT INTO "
                         + tableName
                         + " AS n (id, parent_doc_id, embedding, doc, metadata) "
                         + "VALUES (?, ?, ?, ?, ?) "
-                        + "ON CONFLICT (id) DO UPDATE SET parent_doc_id = ?, embedding = ?, doc = ?, metadata = ? WHERE n.id = ?";
-        log.debug("Executing upsert query: {}", UPSERT_QUERY);
-        log.debug(
-                "Upserting document with id: {}, parentDocId: {}, doc length: {}, embedding dimensions: {}",
-                id,
-                parentDocId,
-                doc.length(),
-                embeddings.size());
+                        + "ON CONFLICT (id) DO UPDATE SET parent_doc_id = EXCLUDED.parent_doc_id, "
+                        + "embedding = EXCLUDED.embedding, doc = EXCLUDED.doc, metadata = EXCLUDED.metadata";
+        log.debug("Executing upsert query: {} for {} documents", UPSERT_QUERY, docs.size());
         try (PreparedStatement statement = conn.prepareStatement(UPSERT_QUERY)) {
-            conn.setAutoCommit(true);
-            int paramIndex = 1;
-
-            Object[] vectorArray = new Object[embeddings.size()];
-            for (int i = 0; i < embeddings.size(); i++) {
-                vectorArray[i] = embeddings.get(i);
+            if (docs.size() == 1) {
+                conn.setAutoCommit(true);
+                setUpsertParameters(statement, docs.get(0));
+                int result = statement.executeUpdate();
+                log.debug("Upsert operation completed, rows affected: {}", result);
+                return result;
+            }
+            conn.setAutoCommit(false);
+            try {
+                for (EmbeddedDoc doc : docs) {
+                    setUpsertParameters(statement, doc);
+                    statement.addBatch();
+                }
+                int updated = 0;
+                for (int result : statement.executeBatch()) {
+                    updated += result == Statement.SUCCESS_NO_INFO ? 1 : Math.max(result, 0);
+                }
+                conn.commit();
+                log.debug("Batch upsert completed, rows affected: {}", updated);
+                return updated;
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
-            // insert
-            statement.setString(paramIndex++, id);
-            statement.setString(paramIndex++, parentDocId);
-            statement.setArray(
-                    paramIndex++, conn.createArrayOf("float8", vectorArray)); // embedding
-            statement.setString(paramIndex++, TextUtils.sanitizeForPostgres(doc));
-            statement.setObject(
-                    paramIndex++, objectMapper.writeValueAsString(metadata), java.sql.Types.OTHER);
-
-            // updates
-            statement.setString(paramIndex++, parentDocId);
-            statement.setArray(
-                    paramIndex++, conn.createArrayOf("float8", vectorArray)); // embedding
-            statement.setString(paramIndex++, TextUtils.sanitizeForPostgres(doc));
-            statement.setObject(
-                    paramIndex++, objectMapper.writeValueAsString(metadata), java.sql.Types.OTHER);
-            statement.setString(paramIndex++, id);
-            int result = statement.executeUpdate();
-            log.debug("Upsert operation completed, rows affected: {}", result);
-            return result;
         } catch (Exception e) {
-            log.error("Error occurred creating vector table for pgvector support : {}", e);
+            log.error("Error occurred upserting embeddings for pgvector : {}", e.getMessage(), e);
             throw new RuntimeException(e);
         }
     }
 
+    private void setUpsertParameters(PreparedStatement statement, EmbeddedDoc doc)
+            throws SQLException, JsonProcessingException {
+        String parentDocId = doc.getParentDocId() != null ? doc.getParentDocId() : doc.getId();
+        List<Float> embeddings = doc.getEmbeddings();
+        float[] vector = new float[embeddings.size()];
+        for (int i = 0; i < embeddings.size(); i++) {
+            vector[i] = embeddings.get(i);
+        }
+        statement.setString(1, doc.getId());
+        statement.setString(2, parentDocId);
+        statement.setObject(3, new PGvector(vector));
+        statement.setString(4, TextUtils.sanitizeForPostgres(doc.getText()));
+        statement.setObject(
+                5, objectMapper.writeValueAsString(doc.getMetadata()), java.sql.Types.OTHER);
+    }
+
     private void createVectorIndexIfNotExists(String tableName, String indexName, Connection conn) {
         try {
             conn.setAutoCommit(true);
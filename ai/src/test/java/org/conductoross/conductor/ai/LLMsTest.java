@@ -12,8 +12,11 @@
  */
 package org.conductoross.conductor.ai;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
+import org.conductoross.conductor.ai.embeddings.EmbeddingCache;
 import org.conductoross.conductor.ai.models.EmbeddingGenRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,4 +82,29 @@ class LLMsTest {
 
         verify(mockModelProvider).getModel(request);
     }
+
+    @Test
+    void testGenerateEmbeddings_onlyEmbedsUncachedTexts() {
+        EmbeddingCache embeddingCache =
+                new EmbeddingCache(100, Duration.ofMinutes(1), Optional.empty());
+        LLMs cachingLLMs = new LLMs(List.of(), null, mockModelProvider, embeddingCache);
+        Task mockTask = mock(Task.class);
+
+        EmbeddingGenRequest request = new EmbeddingGenRequest();
+        request.setLlmProvider("openai");
+        request.setModel("text-embedding-3-small");
+        request.setText("a");
+        when(mockModel.generateEmbeddings(request)).thenReturn(List.of(0.1f));
+        when(mockModel.generateEmbeddings(request, List.of("b")))
+                .thenReturn(List.of(List.of(0.2f)));
+
+        assertEquals(List.of(0.1f), cachingLLMs.generateEmbeddings(mockTask, request));
+        assertEquals(List.of(0.1f), cachingLLMs.generateEmbeddings(mockTask, request));
+        verify(mockModel, times(1)).generateEmbeddings(request);
+
+        List<List<Float>> embeddings =
+                cachingLLMs.generateEmbeddings(mockTask, request, List.of("a", "b"));
+        assertEquals(List.of(List.of(0.1f), List.of(0.2f)), embeddings);
+        verify(mockModel).generateEmbeddings(request, List.of("b"));
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.conductoross.conductor.ai.embeddings;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.conductoross.conductor.ai.models.EmbeddingGenRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingCacheTest {
+
+    @Test
+    void testMemoryTier() {
+        EmbeddingCache cache = new EmbeddingCache(10, Duration.ofMinutes(1), Optional.empty());
+
+        assertNull(cache.get(request("openai", "small"), "hello"));
+        cache.put(request("openai", "small"), "hello", List.of(0.1f, 0.2f));
+
+        assertEquals(List.of(0.1f, 0.2f), cache.get(request("openai", "small"), "hello"));
+        assertNull(cache.get(request("openai", "large"), "hello"));
+        assertNull(cache.get(request("cohere", "small"), "hello"));
+        assertNull(cache.get(request("openai", "small"), "hello!"));
+    }
+
+    @Test
+    void testStoreTier() {
+        InMemoryStore store = new InMemoryStore();
+        EmbeddingCache cache = new EmbeddingCache(10, Duration.ofMinutes(1), Optional.of(store));
+        cache.put(request("openai", "small"), "hello", List.of(0.1f, 0.2f));
+
+        // a new server with an empty memory tier reads the embeddings from the store
+        EmbeddingCache otherCache =
+                new EmbeddingCache(10, Duration.ofMinutes(1), Optional.of(store));
+        assertEquals(List.of(0.1f, 0.2f), otherCache.get(request("openai", "small"), "hello"));
+        store.entries.clear();
+        assertEquals(List.of(0.1f, 0.2f), otherCache.get(request("openai", "small"), "hello"));
+    }
+
+    @Test
+    void testDisabled() {
+        EmbeddingCache cache = new EmbeddingCache(0, Duration.ofMinutes(1), Optional.empty());
+        assertFalse(cache.isEnabled());
+
+        cache.put(request("openai", "small"), "hello", List.of(0.1f, 0.2f));
+        assertNull(cache.get(request("openai", "small"), "hello"));
+    }
+
+    private EmbeddingGenRequest request(String provider, String model) {
+        EmbeddingGenRequest request =
+                EmbeddingGenRequest.builder().model(model).dimensions(2).build();
+        request.setLlmProvider(provider);
+        return request;
+    }
+
+    private static class InMemoryStore implements EmbeddingStore {
+
+        private final Map<String, List<Float>> entries = new HashMap<>();
+
+        @Override
+        public List<Float> get(String key) {
+            return entries.get(key);
+        }
+
+        @Override
+        public void put(String key, List<Float> embeddings) {
+            entries.put(key, embeddings);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.conductoross.conductor.ai.mcp;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MCPServiceTest {
+
+    private static final String TOOLS_RESPONSE =
+            "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"tools\":[{\"name\":\"weather\","
+                    + "\"description\":\"Gets the weather\","
+                    + "\"inputSchema\":{\"type\":\"object\"}}]}}";
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private HttpServer server;
+    private String serverUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(
+                "/mcp",
+                exchange -> {
+                    requestCount.incrementAndGet();
+                    exchange.getRequestBody().readAllBytes();
+                    byte[] body = TOOLS_RESPONSE.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream outputStream = exchange.getResponseBody()) {
+                        outputStream.write(body);
+                    }
+                });
+        server.start();
+        serverUrl = "http://localhost:" + server.getAddress().getPort() + "/mcp";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testListToolsIsCachedPerServerAndHeaders() {
+        MCPService mcpService = new MCPService(Duration.ofMinutes(5), Duration.ofMinutes(5), 5);
+
+        List<McpSchema.Tool> tools = mcpService.listTools(serverUrl, Map.of("x-api-key", "a"));
+        assertEquals(1, tools.size());
+        assertEquals("weather", tools.get(0).name());
+
+        mcpService.listTools(serverUrl, Map.of("x-api-key", "a"));
+        assertEquals(1, requestCount.get());
+
+        mcpService.listTools(serverUrl, Map.of("x-api-key", "b"));
+        assertEquals(2, requestCount.get());
+        mcpService.close();
+    }
+
+    @Test
+    void testListToolsWithoutCache() {
+        MCPService mcpService = new MCPService(Duration.ZERO, Duration.ofMinutes(5), 5);
+
+        mcpService.listTools(serverUrl, null);
+        mcpService.listTools(serverUrl, null);
+        assertEquals(2, requestCount.get());
+        mcpService.close();
+    }
+
+    @Test
+    void testHttpClientIsSharedPerServer() throws Exception {
+        MCPService mcpService = new MCPService(Duration.ZERO, Duration.ofMinutes(5), 5);
+
+        assertSame(
+                mcpService.getHttpClient(serverUrl),
+                mcpService.getHttpClient(serverUrl + "/other"));
+        assertNotSame(
+                mcpService.getHttpClient(serverUrl),
+                mcpService.getHttpClient("http://127.0.0.1:1/mcp"));
+        mcpService.close();
+    }
+}
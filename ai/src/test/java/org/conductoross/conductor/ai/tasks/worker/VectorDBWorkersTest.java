@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.conductoross.conductor.ai.tasks.worker;
+
+import java.util.List;
+import java.util.Map;
+
+import org.conductoross.conductor.ai.LLMs;
+import org.conductoross.conductor.ai.models.EmbeddedDoc;
+import org.conductoross.conductor.ai.models.IndexDocumentsInput;
+import org.conductoross.conductor.ai.vectordb.VectorDBs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.sdk.workflow.executor.task.NonRetryableException;
+import com.netflix.conductor.sdk.workflow.executor.task.TaskContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VectorDBWorkersTest {
+
+    private VectorDBs vectorDBs;
+    private LLMs llms;
+    private VectorDBWorkers workers;
+
+    @BeforeEach
+    void setUp() {
+        vectorDBs = mock(VectorDBs.class);
+        llms = mock(LLMs.class);
+        workers = new VectorDBWorkers(vectorDBs, llms);
+        TaskContext.set(new Task());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TaskContext.clear();
+    }
+
+    @Test
+    void testChunkText() {
+        assertEquals(List.of("abc"), VectorDBWorkers.chunkText("abc", 10, 2));
+        assertEquals(List.of("abcd", "cdef", "efgh"), VectorDBWorkers.chunkText("abcdefgh", 4, 2));
+        assertEquals(List.of("abcd", "defg", "ghi"), VectorDBWorkers.chunkText("abcdefghi", 4, 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testIndexDocumentsInBatches() {
+        when(llms.generateEmbeddings(any(), any(), anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<String> texts = invocation.getArgument(2);
+                            return texts.stream().map(text -> List.of(1.0f, 2.0f)).toList();
+                        });
+        when(vectorDBs.storeEmbeddings(any(), any(), any(), any(), anyList()))
+                .thenAnswer(invocation -> ((List<EmbeddedDoc>) invocation.getArgument(4)).size());
+
+        IndexDocumentsInput input = new IndexDocumentsInput();
+        input.setVectorDB("pgvector");
+        input.setIndex("idx");
+        input.setNamespace("ns");
+        input.setChunkSize(4);
+        input.setChunkOverlap(2);
+        input.setEmbeddingBatchSize(2);
+        input.setDocuments(List.of(document("doc1", "abcdefgh"), document("doc2", "xyz")));
+
+        assertEquals(4, workers.indexDocuments(input));
+
+        ArgumentCaptor<List<EmbeddedDoc>> captor = ArgumentCaptor.forClass(List.class);
+        verify(vectorDBs, times(2))
+                .storeEmbeddings(eq("pgvector"), any(), eq("idx"), eq("ns"), captor.capture());
+        List<EmbeddedDoc> stored = captor.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(
+                List.of("doc1_0", "doc1_1", "doc1_2", "doc2"),
+                stored.stream().map(EmbeddedDoc::getId).toList());
+        assertEquals("doc1", stored.get(1).getParentDocId());
+        assertEquals(List.of(1.0f, 2.0f), stored.get(3).getEmbeddings());
+        assertEquals(Map.of("source", "doc2"), stored.get(3).getMetadata());
+        verify(llms, times(2)).generateEmbeddings(any(), any(), anyList());
+    }
+
+    @Test
+    void testIndexDocumentsWithoutDocId() {
+        IndexDocumentsInput input = new IndexDocumentsInput();
+        input.setDocuments(List.of(document(null, "abc")));
+
+        assertThrows(NonRetryableException.class, () -> workers.indexDocuments(input));
+        verifyNoInteractions(llms, vectorDBs);
+    }
+
+    private IndexDocumentsInput.Document document(String docId, String text) {
+        IndexDocumentsInput.Document document = new IndexDocumentsInput.Document();
+        document.setDocId(docId);
+        document.setText(text);
+        document.setMetadata(Map.of("source", String.valueOf(docId)));
+        return document;
+    }
+}
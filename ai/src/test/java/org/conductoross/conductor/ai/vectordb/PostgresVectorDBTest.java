@@ -20,6 +20,7 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 
+import org.conductoross.conductor.ai.models.EmbeddedDoc;
 import org.conductoross.conductor.ai.models.IndexedDoc;
 import org.conductoross.conductor.ai.vectordb.postgres.PostgresConfig;
 import org.conductoross.conductor.ai.vectordb.postgres.PostgresVectorDB;
@@ -40,6 +41,7 @@ import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -110,6 +112,48 @@ public class PostgresVectorDBTest {
         }
     }
 
+    @Test
+    public void testBatchUpdateEmbeddings() throws SQLException {
+        try (MockedConstruction<HikariDataSource> mockedDataSource =
+                mockConstruction(
+                        HikariDataSource.class,
+                        (mock, context) -> {
+                            when(mock.isRunning()).thenReturn(true);
+                            Connection conn = mock(Connection.class);
+                            when(mock.getConnection()).thenReturn(conn);
+
+                            PGConnection pgConn = mock(PGConnection.class);
+                            when(conn.unwrap(any())).thenReturn(pgConn);
+
+                            PreparedStatement ddlStmt = mock(PreparedStatement.class);
+                            when(conn.prepareStatement(contains("CREATE"))).thenReturn(ddlStmt);
+
+                            PreparedStatement upsertStmt = mock(PreparedStatement.class);
+                            when(conn.prepareStatement(contains("INSERT INTO")))
+                                    .thenReturn(upsertStmt);
+                            when(upsertStmt.executeBatch()).thenReturn(new int[] {1, 1});
+                        })) {
+
+            int updated =
+                    vectorDB.updateEmbeddings(
+                            "idx",
+                            "ns",
+                            List.of(
+                                    new EmbeddedDoc(
+                                            "id1", "p", "doc1", List.of(1f, 2f, 3f), Map.of()),
+                                    new EmbeddedDoc(
+                                            "id2", "p", "doc2", List.of(4f, 5f, 6f), Map.of())));
+            assertEquals(2, updated);
+
+            Connection conn = mockedDataSource.constructed().get(0).getConnection();
+            PreparedStatement upsertStmt = conn.prepareStatement("INSERT INTO");
+            verify(upsertStmt, times(2)).addBatch();
+            verify(upsertStmt, never()).executeUpdate();
+            verify(conn).commit();
+            verify(conn, times(1)).close();
+        }
+    }
+
     @Test
     public void testSearchHappyPath() throws SQLException {
         try (MockedConstruction<HikariDataSource> mockedDataSource =
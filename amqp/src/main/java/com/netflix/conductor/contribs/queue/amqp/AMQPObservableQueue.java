@@ -15,17 +15,31 @@ package com.netflix.conductor.contribs.queue.amqp;
 import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +56,7 @@ import com.google.common.collect.Maps;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Address;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
 import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.client.Consumer;
 import com.rabbitmq.client.DefaultConsumer;
@@ -57,17 +72,45 @@ public class AMQPObservableQueue implements ObservableQueue {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AMQPObservableQueue.class);
 
+    // Sends the batched acks that did not fill a batch, shared by all the queues
+    private static final ScheduledExecutorService ACK_FLUSH_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(
+                    new BasicThreadFactory.Builder()
+                            .namingPattern("amqp-ack-flush-%d")
+                            .daemon(true)
+                            .build());
+
     private final AMQPSettings settings;
     private final AMQPRetryPattern retrySettings;
     private final String QUEUE_TYPE = "x-queue-type";
     private final int batchSize;
     private final boolean useExchange;
+    private final int prefetchCount;
+    private final boolean batchedAck;
+    private final int ackBatchSize;
+    private final long ackFlushIntervalInMS;
+    private final long ackMaxDelayInMS;
+    private final boolean publisherConfirms;
+    private final int maxOutstandingConfirms;
+    private final long publisherConfirmTimeoutInMS;
     private int pollTimeInMS;
     private AMQPConnection amqpConnection;
 
     protected LinkedBlockingQueue<Message> messages = new LinkedBlockingQueue<>();
     private volatile boolean running;
 
+    // When batching acks: the delivery tags received on the subscriber channel that are not
+    // acknowledged yet, with the time they were delivered, and those of them already acked by the
+    // application. All guarded by deliveryTagLock, which is never held while talking to the broker.
+    private final Object deliveryTagLock = new Object();
+    private final NavigableMap<Long, Long> unackedDeliveryTags = new TreeMap<>();
+    private final NavigableSet<Long> completedDeliveryTags = new TreeSet<>();
+    private Channel deliveryChannel;
+    private boolean ackFlushScheduled;
+    // Sends the batched acks one at a time, so that a multiple=true ack never overtakes an earlier
+    // one that covers fewer delivery tags
+    private final ReentrantLock ackLock = new ReentrantLock();
+
     public AMQPObservableQueue(
             ConnectionFactory factory,
             Address[] addresses,
@@ -76,6 +119,54 @@ public class AMQPObservableQueue implements ObservableQueue {
             AMQPRetryPattern retrySettings,
             int batchSize,
             int pollTimeInMS) {
+        this(
+                factory,
+                addresses,
+                useExchange,
+                settings,
+                retrySettings,
+                batchSize,
+                pollTimeInMS,
+                0,
+                false,
+                0,
+                0,
+                0,
+                false,
+                0,
+                0);
+    }
+
+    /**
+     * @param prefetchCount the number of unacknowledged messages the broker delivers to the
+     *     subscriber, 0 to use the batch size
+     * @param batchedAck acknowledge contiguous delivery tags with a single multiple=true ack
+     * @param ackBatchSize the number of contiguous processed delivery tags that are acknowledged
+     *     right away, 0 to use half of the prefetch count
+     * @param ackFlushIntervalInMS how long processed delivery tags wait for a batch to fill up
+     * @param ackMaxDelayInMS how long processed delivery tags wait for an earlier one that is not
+     *     acknowledged, before they are acknowledged one by one
+     * @param publisherConfirms wait for the broker to confirm published messages
+     * @param maxOutstandingConfirms the number of published messages awaiting a confirm at any
+     *     time
+     * @param publisherConfirmTimeoutInMS how long a publish call waits for the confirms
+     */
+    public AMQPObservableQueue(
+            ConnectionFactory factory,
+            Address[] addresses,
+            boolean useExchange,
+            AMQPSettings settings,
+            AMQPRetryPattern retrySettings,
+            int batchSize,
+            int pollTimeInMS,
+            int prefetchCount,
+            boolean batchedAck,
+            int ackBatchSize,
+            long ackFlushIntervalInMS,
+            long ackMaxDelayInMS,
+            boolean publisherConfirms,
+            int maxOutstandingConfirms,
+            long publisherConfirmTimeoutInMS) {
         if (factory == null) {
             throw new IllegalArgumentException("Connection factory is undefined");
         }
@@ -91,9 +182,33 @@ public class AMQPObservableQueue implements ObservableQueue {
         if (pollTimeInMS <= 0) {
             throw new IllegalArgumentException("Poll time must be greater than 0 ms");
         }
+        if (prefetchCount < 0) {
+            throw new IllegalArgumentException("Prefetch count must not be negative");
+        }
+        if (batchedAck && (ackBatchSize < 0 || ackMaxDelayInMS < 0)) {
+            throw new IllegalArgumentException("Ack batch size and max delay must not be negative");
+        }
+        if (batchedAck && ackFlushIntervalInMS <= 0) {
+            throw new IllegalArgumentException("Ack flush interval must be greater than 0 ms");
+        }
+        if (publisherConfirms && maxOutstandingConfirms <= 0) {
+            throw new IllegalArgumentException("Max outstanding confirms must be greater than 0");
+        }
+        if (publisherConfirms && publisherConfirmTimeoutInMS <= 0) {
+            throw new IllegalArgumentException(
+                    "Publisher confirm timeout must be greater than 0 ms");
+        }
         this.useExchange = useExchange;
         this.settings = settings;
         this.batchSize = batchSize;
+        this.prefetchCount = prefetchCount;
+        this.batchedAck = batchedAck;
+        this.ackBatchSize = ackBatchSize > 0 ? ackBatchSize : Math.max(1, getPrefetchCount() / 2);
+        this.ackFlushIntervalInMS = ackFlushIntervalInMS;
+        this.ackMaxDelayInMS = ackMaxDelayInMS;
+        this.publisherConfirms = publisherConfirms;
+        this.maxOutstandingConfirms = maxOutstandingConfirms;
+        this.publisherConfirmTimeoutInMS = publisherConfirmTimeoutInMS;
         this.amqpConnection = AMQPConnection.getInstance(factory, addresses, retrySettings);
         this.retrySettings = retrySettings;
         this.setPollTimeInMS(pollTimeInMS);
@@ -179,6 +294,10 @@ public class AMQPObservableQueue implements ObservableQueue {
         return batchSize;
     }
 
+    public int getPrefetchCount() {
+        return prefetchCount > 0 ? prefetchCount : batchSize;
+    }
+
     public AMQPSettings getSettings() {
         return settings;
     }
@@ -188,6 +307,9 @@ public class AMQPObservableQueue implements ObservableQueue {
     }
 
     public List<String> ack(List<Message> messages) {
+        if (batchedAck) {
+            return ackBatched(messages);
+        }
         final List<String> failedMessages = new ArrayList<>();
         for (final Message message : messages) {
             try {
@@ -201,21 +323,28 @@ public class AMQPObservableQueue implements ObservableQueue {
     }
 
     public void ackMsg(Message message) throws Exception {
+        basicAck(Long.parseLong(message.getReceipt()), false);
+    }
+
+    private void basicAck(long deliveryTag, boolean multiple) throws Exception {
         int retryIndex = 1;
         while (true) {
             try {
-                LOGGER.info("ACK message with delivery tag {}", message.getReceipt());
+                LOGGER.info(
+                        "ACK message with delivery tag {} (multiple: {})", deliveryTag, multiple);
                 Channel chn =
                         amqpConnection.getOrCreateChannel(
                                 ConnectionType.SUBSCRIBER, getSettings().getQueueOrExchangeName());
-                chn.basicAck(Long.parseLong(message.getReceipt()), false);
-                LOGGER.info("Ack'ed the message with delivery tag {}", message.getReceipt());
+                chn.basicAck(deliveryTag, multiple);
+                LOGGER.info(
+                        "Ack'ed the message with delivery tag {} (multiple: {})",
+                        deliveryTag,
+                        multiple);
                 break;
             } catch (final Exception e) {
                 AMQPRetryPattern retry = retrySettings;
                 if (retry == null) {
-                    LOGGER.error(
-                            "Cannot ACK message with delivery tag {}", message.getReceipt(), e);
+                    LOGGER.error("Cannot ACK message with delivery tag {}", deliveryTag, e);
                     throw e;
                 }
                 try {
@@ -223,7 +352,7 @@ public class AMQPObservableQueue implements ObservableQueue {
                 } catch (Exception ex) {
                     LOGGER.error(
                             "Retries completed. Cannot ACK message with delivery tag {}",
-                            message.getReceipt(),
+                            deliveryTag,
                             e);
                     throw ex;
                 }
@@ -232,6 +361,140 @@ public class AMQPObservableQueue implements ObservableQueue {
         }
     }
 
+    /**
+     * Marks the messages as processed. The longest run of processed delivery tags, starting from
+     * the oldest unacknowledged one, is acknowledged with a single multiple=true ack once it holds
+     * {@link #ackBatchSize} tags, or after {@link #ackFlushIntervalInMS}. Processed tags that are
+     * held back by an earlier tag unacknowledged for longer than {@link #ackMaxDelayInMS} are
+     * acknowledged one by one.
+     */
+    private List<String> ackBatched(List<Message> messages) {
+        final List<String> failedMessages = new ArrayList<>();
+        final Set<Long> deliveryTags = new HashSet<>();
+        synchronized (deliveryTagLock) {
+            for (final Message message : messages) {
+                long deliveryTag = Long.parseLong(message.getReceipt());
+                if (unackedDeliveryTags.containsKey(deliveryTag)) {
+                    completedDeliveryTags.add(deliveryTag);
+                    deliveryTags.add(deliveryTag);
+                } else {
+                    // Delivered on a previous subscriber channel, the broker redelivers it
+                    LOGGER.warn(
+                            "Cannot ACK message with delivery tag {}, it is unknown to the subscriber channel",
+                            message.getReceipt());
+                    failedMessages.add(message.getReceipt());
+                }
+            }
+        }
+        for (Long deliveryTag : flushAcks(false)) {
+            if (deliveryTags.contains(deliveryTag)) {
+                failedMessages.add(String.valueOf(deliveryTag));
+            }
+        }
+        return failedMessages;
+    }
+
+    /**
+     * Sends the acks that are due, without holding {@link #deliveryTagLock}.
+     *
+     * @param scheduled whether this is the scheduled flush, which acks any run of processed tags
+     * @return the delivery tags whose ack failed
+     */
+    private Set<Long> flushAcks(boolean scheduled) {
+        final Set<Long> failedDeliveryTags = new HashSet<>();
+        ackLock.lock();
+        try {
+            final Channel channel;
+            final List<PendingAck> pendingAcks;
+            synchronized (deliveryTagLock) {
+                if (scheduled) {
+                    ackFlushScheduled = false;
+                }
+                channel = deliveryChannel;
+                pendingAcks = takePendingAcks(scheduled);
+                if (!completedDeliveryTags.isEmpty() && !ackFlushScheduled) {
+                    ackFlushScheduled = true;
+                    ACK_FLUSH_SCHEDULER.schedule(
+                            () -> flushAcks(true), ackFlushIntervalInMS, TimeUnit.MILLISECONDS);
+                }
+            }
+            for (PendingAck pendingAck : pendingAcks) {
+                try {
+                    LOGGER.info(
+                            "ACK message with delivery tag {} (multiple: {})",
+                            pendingAck.deliveryTag(),
+                            pendingAck.multiple());
+                    channel.basicAck(pendingAck.deliveryTag(), pendingAck.multiple());
+                } catch (final Exception e) {
+                    // The broker redelivers everything that was covered by the failed ack
+                    LOGGER.error(
+                            "Cannot ACK message with delivery tag {} (multiple: {})",
+                            pendingAck.deliveryTag(),
+                            pendingAck.multiple(),
+                            e);
+                    failedDeliveryTags.addAll(pendingAck.deliveryTags());
+                }
+            }
+        } finally {
+            ackLock.unlock();
+        }
+        return failedDeliveryTags;
+    }
+
+    /** Picks the acks that are due and stops tracking the delivery tags they cover. */
+    private List<PendingAck> takePendingAcks(boolean flushAll) {
+        final List<PendingAck> pendingAcks = new ArrayList<>();
+        if (completedDeliveryTags.isEmpty()) {
+            return pendingAcks;
+        }
+        final List<Long> contiguous = new ArrayList<>();
+        for (Long deliveryTag : unackedDeliveryTags.keySet()) {
+            if (!completedDeliveryTags.contains(deliveryTag)) {
+                break;
+            }
+            contiguous.add(deliveryTag);
+        }
+        if (!contiguous.isEmpty() && (flushAll || contiguous.size() >= ackBatchSize)) {
+            long lastDeliveryTag = contiguous.get(contiguous.size() - 1);
+            pendingAcks.add(new PendingAck(lastDeliveryTag, true, contiguous));
+            unackedDeliveryTags.headMap(lastDeliveryTag, true).clear();
+            completedDeliveryTags.headSet(lastDeliveryTag, true).clear();
+        }
+        // e.g. a message republished by the event processor is never acked, don't let it hold back
+        // the ones delivered after it
+        Map.Entry<Long, Long> oldest = unackedDeliveryTags.firstEntry();
+        if (oldest != null
+                && !completedDeliveryTags.contains(oldest.getKey())
+                && System.currentTimeMillis() - oldest.getValue() >= ackMaxDelayInMS) {
+            for (Long deliveryTag : completedDeliveryTags) {
+                pendingAcks.add(new PendingAck(deliveryTag, false, List.of(deliveryTag)));
+                unackedDeliveryTags.remove(deliveryTag);
+            }
+            completedDeliveryTags.clear();
+        }
+        return pendingAcks;
+    }
+
+    /**
+     * Tracks a delivery for batched acks. Delivery tags are scoped to a channel, so the tags of a
+     * previous subscriber channel are forgotten: they can't be acked on the new one, and the broker
+     * redelivers their messages.
+     */
+    void trackDelivery(Channel channel, long deliveryTag) {
+        if (batchedAck) {
+            synchronized (deliveryTagLock) {
+                if (channel != deliveryChannel) {
+                    unackedDeliveryTags.clear();
+                    completedDeliveryTags.clear();
+                    deliveryChannel = channel;
+                }
+                unackedDeliveryTags.put(deliveryTag, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private record PendingAck(long deliveryTag, boolean multiple, List<Long> deliveryTags) {}
+
     @Override
     public void nack(List<Message> messages) {
         for (final Message message : messages) {
@@ -267,6 +530,18 @@ public class AMQPObservableQueue implements ObservableQueue {
                 }
             }
         }
+        if (batchedAck) {
+            // Nacked messages no longer hold back the processed ones delivered after them
+            synchronized (deliveryTagLock) {
+                messages.forEach(
+                        message -> {
+                            long deliveryTag = Long.parseLong(message.getReceipt());
+                            unackedDeliveryTags.remove(deliveryTag);
+                            completedDeliveryTags.remove(deliveryTag);
+                        });
+            }
+            flushAcks(false);
+        }
     }
 
     private static AMQP.BasicProperties buildBasicProperties(
@@ -338,6 +613,188 @@ public class AMQPObservableQueue implements ObservableQueue {
         }
     }
 
+    /**
+     * Publishes the messages on a single channel in confirm mode, with at most {@link
+     * #maxOutstandingConfirms} of them awaiting a confirm at any time. Messages the broker nacks or
+     * does not confirm in time are published again as per the retry settings.
+     */
+    private void publishMessagesWithConfirms(
+            List<Message> messages, String exchange, String routingKey) {
+        List<Message> pending = messages;
+        int retryIndex = 1;
+        while (true) {
+            final PublisherConfirms confirms =
+                    new PublisherConfirms(pending, maxOutstandingConfirms);
+            Exception error = null;
+            try {
+                publishAndAwaitConfirms(confirms, exchange, routingKey);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (Exception e) {
+                error = e;
+            }
+            final List<Message> unconfirmed = confirms.getUnconfirmed();
+            if (unconfirmed.isEmpty()) {
+                LOGGER.info("Published {} confirmed messages to {}", pending.size(), exchange);
+                return;
+            }
+            if (error == null) {
+                error =
+                        new TimeoutException(
+                                String.format(
+                                        "%d of %d messages were not confirmed by the broker",
+                                        unconfirmed.size(), pending.size()));
+            }
+            AMQPRetryPattern retry = retrySettings;
+            if (retry == null) {
+                LOGGER.error(
+                        "Failed to publish {} messages to {}", unconfirmed.size(), exchange, error);
+                throw new RuntimeException(error);
+            }
+            try {
+                retry.continueOrPropogate(error, retryIndex);
+            } catch (Exception e) {
+                LOGGER.error(
+                        "Retries completed. Failed to publish {} messages to {}",
+                        unconfirmed.size(),
+                        exchange,
+                        error);
+                throw new RuntimeException(error);
+            }
+            pending = unconfirmed;
+            retryIndex++;
+        }
+    }
+
+    private void publishAndAwaitConfirms(
+            PublisherConfirms confirms, String exchange, String routingKey) throws Exception {
+        final long deadline = System.currentTimeMillis() + publisherConfirmTimeoutInMS;
+        Channel chn = null;
+        try {
+            chn =
+                    amqpConnection.getOrCreateChannel(
+                            ConnectionType.PUBLISHER, getSettings().getQueueOrExchangeName());
+            chn.confirmSelect();
+            chn.addConfirmListener(confirms);
+            for (final Message message : confirms.getMessages()) {
+                if (!confirms.acquire(deadline - System.currentTimeMillis())) {
+                    LOGGER.warn(
+                            "Timed out waiting for confirms of messages published to {}", exchange);
+                    return;
+                }
+                final long seqNo = chn.getNextPublishSeqNo();
+                confirms.published(seqNo, message);
+                try {
+                    chn.basicPublish(
+                            exchange,
+                            routingKey,
+                            buildBasicProperties(message, settings),
+                            message.getPayload().getBytes(settings.getContentEncoding()));
+                } catch (final Exception e) {
+                    confirms.failed(seqNo);
+                    throw e;
+                }
+            }
+            if (!confirms.awaitAll(deadline - System.currentTimeMillis())) {
+                LOGGER.warn(
+                        "Timed out waiting for confirms of messages published to {}", exchange);
+            }
+        } finally {
+            if (chn != null) {
+                try {
+                    chn.removeConfirmListener(confirms);
+                    amqpConnection.returnChannel(ConnectionType.PUBLISHER, chn);
+                } catch (Exception e) {
+                    LOGGER.error(
+                            "Failed to return the channel of {}. {}", ConnectionType.PUBLISHER, e);
+                }
+            }
+        }
+    }
+
+    /** Tracks the messages published on a channel in confirm mode until they are confirmed. */
+    private static class PublisherConfirms implements ConfirmListener {
+
+        private final List<Message> messages;
+        private final int maxOutstanding;
+        private final Semaphore permits;
+        private final NavigableMap<Long, Message> outstanding = new ConcurrentSkipListMap<>();
+        private final List<Message> nacked = Collections.synchronizedList(new ArrayList<>());
+        private int published;
+
+        PublisherConfirms(List<Message> messages, int maxOutstanding) {
+            this.messages = messages;
+            this.maxOutstanding = maxOutstanding;
+            this.permits = new Semaphore(maxOutstanding);
+        }
+
+        List<Message> getMessages() {
+            return messages;
+        }
+
+        boolean acquire(long timeoutInMS) throws InterruptedException {
+            return permits.tryAcquire(Math.max(timeoutInMS, 0), TimeUnit.MILLISECONDS);
+        }
+
+        void published(long seqNo, Message message) {
+            outstanding.put(seqNo, message);
+            published++;
+        }
+
+        void failed(long seqNo) {
+            if (outstanding.remove(seqNo) != null) {
+                published--;
+                permits.release();
+            }
+        }
+
+        boolean awaitAll(long timeoutInMS) throws InterruptedException {
+            if (!permits.tryAcquire(
+                    maxOutstanding, Math.max(timeoutInMS, 0), TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+            permits.release(maxOutstanding);
+            return true;
+        }
+
+        /**
+         * @return the messages that were nacked, not confirmed yet or not published at all
+         */
+        List<Message> getUnconfirmed() {
+            final List<Message> unconfirmed = new ArrayList<>(nacked);
+            unconfirmed.addAll(outstanding.values());
+            unconfirmed.addAll(messages.subList(published, messages.size()));
+            return unconfirmed;
+        }
+
+        @Override
+        public void handleAck(long deliveryTag, boolean multiple) {
+            confirm(deliveryTag, multiple, false);
+        }
+
+        @Override
+        public void handleNack(long deliveryTag, boolean multiple) {
+            confirm(deliveryTag, multiple, true);
+        }
+
+        private void confirm(long deliveryTag, boolean multiple, boolean nack) {
+            final List<Long> seqNos =
+                    multiple
+                            ? new ArrayList<>(outstanding.headMap(deliveryTag, true).keySet())
+                            : List.of(deliveryTag);
+            for (Long seqNo : seqNos) {
+                final Message message = outstanding.remove(seqNo);
+                if (message != null) {
+                    if (nack) {
+                        nacked.add(message);
+                    }
+                    permits.release();
+                }
+            }
+        }
+    }
+
     @Override
     public void publish(List<Message> messages) {
         try {
@@ -366,7 +823,11 @@ public class AMQPObservableQueue implements ObservableQueue {
                 exchange = StringUtils.EMPTY; // Empty exchange name for queue
                 routingKey = declareOk.getQueue(); // Routing name is the name of queue
             }
-            messages.forEach(message -> publishMessage(message, exchange, routingKey));
+            if (publisherConfirms) {
+                publishMessagesWithConfirms(messages, exchange, routingKey);
+            } else {
+                messages.forEach(message -> publishMessage(message, exchange, routingKey));
+            }
         } catch (final RuntimeException ex) {
             throw ex;
         } catch (final Exception ex) {
@@ -439,6 +900,10 @@ public class AMQPObservableQueue implements ObservableQueue {
         private final Address[] addresses;
         private final int batchSize;
         private final int pollTimeInMS;
+        private final int prefetchCount;
+        private final long ackFlushIntervalInMS;
+        private final long ackMaxDelayInMS;
+        private final long publisherConfirmTimeoutInMS;
         private final ConnectionFactory factory;
         private final AMQPEventQueueProperties properties;
 
@@ -449,6 +914,14 @@ public class AMQPObservableQueue implements ObservableQueue {
             // messages polling settings
             this.batchSize = properties.getBatchSize();
             this.pollTimeInMS = (int) properties.getPollTimeDuration().toMillis();
+            this.prefetchCount = properties.getPrefetchCount();
+            // batched acks settings
+            this.ackFlushIntervalInMS = properties.getAckFlushInterval().toMillis();
+            this.ackMaxDelayInMS = properties.getAckMaxDelay().toMillis();
+            // publisher confirms settings
+            final Duration publisherConfirmTimeout = properties.getPublisherConfirmTimeout();
+            this.publisherConfirmTimeoutInMS =
+                    publisherConfirmTimeout == null ? 0 : publisherConfirmTimeout.toMillis();
         }
 
         private Address[] buildAddressesFromHosts() {
@@ -526,7 +999,15 @@ public class AMQPObservableQueue implements ObservableQueue {
                     settings,
                     retrySettings,
                     batchSize,
-                    pollTimeInMS);
+                    pollTimeInMS,
+                    prefetchCount,
+                    properties.isBatchedAck(),
+                    properties.getAckBatchSize(),
+                    ackFlushIntervalInMS,
+                    ackMaxDelayInMS,
+                    properties.isPublisherConfirms(),
+                    properties.getMaxOutstandingConfirms(),
+                    publisherConfirmTimeoutInMS);
         }
     }
 
@@ -653,6 +1134,7 @@ public class AMQPObservableQueue implements ObservableQueue {
                                             new GetResponse(
                                                     envelope, properties, body, Integer.MAX_VALUE));
                             if (message != null) {
+                                trackDelivery(getChannel(), envelope.getDeliveryTag());
                                 if (LOGGER.isDebugEnabled()) {
                                     LOGGER.debug(
                                             "Got message with ID {} and receipt {}",
@@ -716,6 +1198,7 @@ public class AMQPObservableQueue implements ObservableQueue {
                             if (message == null) {
                                 return;
                             }
+                            trackDelivery(getChannel(), envelope.getDeliveryTag());
                             LOGGER.info(
                                     "Got message with ID {} and receipt {}",
                                     message.getId(),
@@ -764,7 +1247,7 @@ public class AMQPObservableQueue implements ObservableQueue {
             amqpConnection
                     .getOrCreateChannel(
                             ConnectionType.SUBSCRIBER, getSettings().getQueueOrExchangeName())
-                    .basicQos(batchSize);
+                    .basicQos(getPrefetchCount());
             String queueName;
             if (useExchange) {
                 // Consume messages from an exchange
@@ -814,7 +1297,7 @@ public class AMQPObservableQueue implements ObservableQueue {
             amqpConnection
                     .getOrCreateChannel(
                             ConnectionType.SUBSCRIBER, getSettings().getQueueOrExchangeName())
-                    .basicQos(batchSize);
+                    .basicQos(getPrefetchCount());
             String queueName;
             if (useExchange) {
                 // Consume messages from an exchange
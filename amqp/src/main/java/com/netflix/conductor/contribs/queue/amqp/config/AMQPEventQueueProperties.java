@@ -46,6 +46,14 @@ public class AMQPEventQueueProperties {
     private int limit = 50;
     private int duration = 1000;
     private RetryType retryType = RetryType.REGULARINTERVALS;
+    private int prefetchCount = 0;
+    private boolean batchedAck = false;
+    private int ackBatchSize = 0;
+    private Duration ackFlushInterval = Duration.ofMillis(100);
+    private Duration ackMaxDelay = Duration.ofSeconds(10);
+    private boolean publisherConfirms = false;
+    private int maxOutstandingConfirms = 1000;
+    private Duration publisherConfirmTimeout = Duration.ofSeconds(30);
 
     public int getLimit() {
         return limit;
@@ -310,4 +318,91 @@ public class AMQPEventQueueProperties {
     public void setRequestHeartbeatTimeoutInSecs(int requestHeartbeatTimeoutInSecs) {
         this.requestHeartbeatTimeoutInSecs = requestHeartbeatTimeoutInSecs;
     }
+
+    /**
+     * @return the number of unacknowledged messages the broker delivers to a subscriber, 0 to use
+     *     the batch size
+     */
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    public void setPrefetchCount(int prefetchCount) {
+        this.prefetchCount = prefetchCount;
+    }
+
+    /**
+     * @return whether acks are deferred until the delivery tags before them are acknowledged too,
+     *     so that a contiguous range is acknowledged with a single multiple=true ack
+     */
+    public boolean isBatchedAck() {
+        return batchedAck;
+    }
+
+    public void setBatchedAck(boolean batchedAck) {
+        this.batchedAck = batchedAck;
+    }
+
+    /**
+     * @return the number of contiguous processed messages that are acknowledged right away with
+     *     batched acks, 0 to use half of the prefetch count
+     */
+    public int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
+    public void setAckBatchSize(int ackBatchSize) {
+        this.ackBatchSize = ackBatchSize;
+    }
+
+    /**
+     * @return how long processed messages wait for a batch of acks to fill up before they are
+     *     acknowledged anyway
+     */
+    public Duration getAckFlushInterval() {
+        return ackFlushInterval;
+    }
+
+    public void setAckFlushInterval(Duration ackFlushInterval) {
+        this.ackFlushInterval = ackFlushInterval;
+    }
+
+    /**
+     * @return how long processed messages wait for an earlier message that is neither acked nor
+     *     nacked, before they are acknowledged one by one
+     */
+    public Duration getAckMaxDelay() {
+        return ackMaxDelay;
+    }
+
+    public void setAckMaxDelay(Duration ackMaxDelay) {
+        this.ackMaxDelay = ackMaxDelay;
+    }
+
+    /**
+     * @return whether published messages are only considered sent once the broker confirmed them
+     */
+    public boolean isPublisherConfirms() {
+        return publisherConfirms;
+    }
+
+    public void setPublisherConfirms(boolean publisherConfirms) {
+        this.publisherConfirms = publisherConfirms;
+    }
+
+    public int getMaxOutstandingConfirms() {
+        return maxOutstandingConfirms;
+    }
+
+    public void setMaxOutstandingConfirms(int maxOutstandingConfirms) {
+        this.maxOutstandingConfirms = maxOutstandingConfirms;
+    }
+
+    public Duration getPublisherConfirmTimeout() {
+        return publisherConfirmTimeout;
+    }
+
+    public void setPublisherConfirmTimeout(Duration publisherConfirmTimeout) {
+        this.publisherConfirmTimeout = publisherConfirmTimeout;
+    }
 }
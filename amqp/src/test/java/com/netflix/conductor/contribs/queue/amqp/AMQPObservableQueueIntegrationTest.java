@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.contribs.queue.amqp;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.netflix.conductor.contribs.queue.amqp.config.AMQPEventQueueProperties;
+import com.netflix.conductor.contribs.queue.amqp.util.AMQPConstants;
+import com.netflix.conductor.core.events.queue.Message;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+
+import static org.junit.Assert.assertEquals;
+
+public class AMQPObservableQueueIntegrationTest {
+
+    private static final int MESSAGE_COUNT = 50;
+
+    static RabbitMQContainer rabbitMQ =
+            new RabbitMQContainer(DockerImageName.parse("rabbitmq:3.13-alpine"));
+
+    private AMQPEventQueueProperties properties;
+
+    @BeforeClass
+    public static void setUpBroker() {
+        rabbitMQ.start();
+    }
+
+    @AfterClass
+    public static void tearDownBroker() {
+        rabbitMQ.stop();
+    }
+
+    @Before
+    public void setUp() {
+        properties = new AMQPEventQueueProperties();
+        properties.setHosts(rabbitMQ.getHost() + ":" + rabbitMQ.getAmqpPort());
+        properties.setPort(rabbitMQ.getAmqpPort());
+        properties.setUsername(rabbitMQ.getAdminUsername());
+        properties.setPassword(rabbitMQ.getAdminPassword());
+        properties.setBatchSize(1);
+        properties.setPrefetchCount(10);
+        properties.setBatchedAck(true);
+        properties.setPublisherConfirms(true);
+        properties.setMaxOutstandingConfirms(4);
+        AMQPConnection.setAMQPConnection(null);
+    }
+
+    @Test
+    public void testPublishWithConfirmsAndConsumeWithBatchedAcks() throws Exception {
+        final String queueName = "conductor_" + UUID.randomUUID();
+        AMQPObservableQueue observableQueue =
+                new AMQPObservableQueue.Builder(properties)
+                        .build(false, queueName, AMQPConstants.AMQP_QUEUE_TYPE);
+
+        observableQueue.publish(
+                IntStream.range(0, MESSAGE_COUNT)
+                        .mapToObj(i -> new Message("id-" + i, "{\"i\":" + i + "}", null))
+                        .collect(Collectors.toList()));
+        assertEquals(MESSAGE_COUNT, observableQueue.size());
+
+        // Only prefetchCount messages are delivered until they are acked, and the acks of each
+        // buffer are sent in reverse order so that they can only go out as one batched ack
+        observableQueue.start();
+        List<Message> received =
+                observableQueue
+                        .observe()
+                        .buffer(5)
+                        .doOnNext(
+                                messages -> {
+                                    Collections.reverse(messages);
+                                    messages.forEach(
+                                            message ->
+                                                    assertEquals(
+                                                            Collections.emptyList(),
+                                                            observableQueue.ack(
+                                                                    List.of(message))));
+                                })
+                        .flatMapIterable(messages -> messages)
+                        .take(MESSAGE_COUNT)
+                        .timeout(30, TimeUnit.SECONDS)
+                        .toList()
+                        .toBlocking()
+                        .single();
+        assertEquals(MESSAGE_COUNT, received.size());
+        observableQueue.stop();
+        observableQueue.close();
+
+        // Unacknowledged messages would be back in the queue once the consumer is gone
+        assertEquals(0, messageCount(queueName));
+    }
+
+    private long messageCount(String queueName) throws Exception {
+        ConnectionFactory factory = new ConnectionFactory();
+        factory.setHost(rabbitMQ.getHost());
+        factory.setPort(rabbitMQ.getAmqpPort());
+        factory.setUsername(rabbitMQ.getAdminUsername());
+        factory.setPassword(rabbitMQ.getAdminPassword());
+        try (Connection connection = factory.newConnection();
+                Channel channel = connection.createChannel()) {
+            return channel.messageCount(queueName);
+        }
+    }
+}
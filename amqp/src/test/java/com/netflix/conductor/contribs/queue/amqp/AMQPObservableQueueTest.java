@@ -20,13 +20,19 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.internal.stubbing.answers.DoesNothing;
 import org.mockito.stubbing.OngoingStubbing;
@@ -43,6 +49,7 @@ import com.rabbitmq.client.AMQP.PROTOCOL;
 import com.rabbitmq.client.AMQP.Queue.DeclareOk;
 import com.rabbitmq.client.Address;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.client.Consumer;
@@ -69,6 +76,8 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -909,4 +918,370 @@ public class AMQPObservableQueueTest {
                             any(byte[].class));
         }
     }
+
+    @Test
+    public void testPrefetchCountIsDecoupledFromBatchSize() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 50, false, false, 0);
+        assertEquals(50, observableQueue.getPrefetchCount());
+
+        observableQueue.receiveMessages();
+
+        verify(channel).basicQos(50);
+    }
+
+    @Test
+    public void testBatchedAckAcknowledgesContiguousDeliveryTags() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, true, false, 0);
+        List<Message> delivered = deliver(channel, observableQueue, queueName, 4);
+
+        // tag 1 is still being processed, so tag 2 can't be acked yet
+        assertTrue(observableQueue.ack(List.of(delivered.get(1))).isEmpty());
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        assertTrue(observableQueue.ack(List.of(delivered.get(0))).isEmpty());
+        verify(channel).basicAck(2L, true);
+
+        assertTrue(observableQueue.ack(List.of(delivered.get(3))).isEmpty());
+        verify(channel, times(1)).basicAck(anyLong(), anyBoolean());
+
+        // the nack fills the gap in front of tag 4
+        observableQueue.nack(List.of(delivered.get(2)));
+        verify(channel).basicNack(3L, false, false);
+        verify(channel).basicAck(4L, true);
+        verify(channel, times(2)).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testBatchedAckWaitsForAFullBatch() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, true, 3, 60_000, 60_000, false, 0);
+        List<Message> delivered = deliver(channel, observableQueue, queueName, 4);
+
+        assertTrue(observableQueue.ack(delivered.subList(0, 2)).isEmpty());
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        assertTrue(observableQueue.ack(List.of(delivered.get(2))).isEmpty());
+        verify(channel).basicAck(3L, true);
+        verify(channel, times(1)).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testBatchedAckFlushedAfterInterval() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, true, 10, 50, 60_000, false, 0);
+        List<Message> delivered = deliver(channel, observableQueue, queueName, 4);
+
+        assertTrue(observableQueue.ack(delivered.subList(0, 2)).isEmpty());
+
+        verify(channel, timeout(5000)).basicAck(2L, true);
+        verify(channel, times(1)).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testBatchedAckStopsWaitingForAnUnackedDeliveryTag() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, true, 1, 60_000, 0, false, 0);
+        List<Message> delivered = deliver(channel, observableQueue, queueName, 3);
+
+        // tag 1 is never acked, as for a message republished by the event processor
+        assertTrue(observableQueue.ack(delivered.subList(1, 3)).isEmpty());
+
+        verify(channel).basicAck(2L, false);
+        verify(channel).basicAck(3L, false);
+        verify(channel, times(2)).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testBatchedAckForgetsDeliveriesOfPreviousChannel() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, true, false, 0);
+        List<Message> delivered = deliver(channel, observableQueue, queueName, 2);
+
+        // the subscriber channel is recreated and delivery tags start over
+        Channel recreated = mockBaseChannel();
+        observableQueue.trackDelivery(recreated, 1L);
+
+        assertEquals(List.of("2"), observableQueue.ack(List.of(delivered.get(1))));
+        assertTrue(observableQueue.ack(List.of(delivered.get(0))).isEmpty());
+        verify(recreated).basicAck(1L, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testBatchedAckOfUnknownDeliveryTag() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, true, false, 0);
+
+        // acking a tag the channel does not know about would close the channel
+        assertEquals(List.of("7"), observableQueue.ack(List.of(new Message("id", "{}", "7"))));
+
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testPublishWithConfirms() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AtomicReference<ConfirmListener> listener = captureConfirmListener(channel);
+        AtomicLong seqNo = mockPublishSeqNo(channel);
+        doAnswer(
+                        invocation -> {
+                            listener.get().handleAck(seqNo.getAndIncrement(), false);
+                            return null;
+                        })
+                .when(channel)
+                .basicPublish(
+                        eq(StringUtils.EMPTY),
+                        eq(queueName),
+                        any(AMQP.BasicProperties.class),
+                        any(byte[].class));
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, false, true, 5);
+
+        observableQueue.publish(buildMessages(batchSize));
+
+        verify(channel).confirmSelect();
+        verify(channel, times(batchSize))
+                .basicPublish(
+                        eq(StringUtils.EMPTY),
+                        eq(queueName),
+                        any(AMQP.BasicProperties.class),
+                        any(byte[].class));
+        verify(channel).removeConfirmListener(listener.get());
+    }
+
+    @Test
+    public void testPublishWithConfirmsRepublishesNackedMessages() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AtomicReference<ConfirmListener> listener = captureConfirmListener(channel);
+        AtomicLong seqNo = mockPublishSeqNo(channel);
+        doAnswer(
+                        invocation -> {
+                            long published = seqNo.getAndIncrement();
+                            if (published == 1) {
+                                listener.get().handleNack(published, false);
+                            } else {
+                                listener.get().handleAck(published, false);
+                            }
+                            return null;
+                        })
+                .when(channel)
+                .basicPublish(
+                        eq(StringUtils.EMPTY),
+                        eq(queueName),
+                        any(AMQP.BasicProperties.class),
+                        any(byte[].class));
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, false, true, 5);
+
+        observableQueue.publish(buildMessages(batchSize));
+
+        verify(channel, times(batchSize + 1))
+                .basicPublish(
+                        eq(StringUtils.EMPTY),
+                        eq(queueName),
+                        any(AMQP.BasicProperties.class),
+                        any(byte[].class));
+    }
+
+    @Test
+    public void testPublishWithConfirmsBoundsOutstandingMessages() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        AtomicReference<ConfirmListener> listener = captureConfirmListener(channel);
+        AtomicLong seqNo = mockPublishSeqNo(channel);
+        AtomicInteger outstanding = new AtomicInteger();
+        AtomicInteger maxOutstanding = new AtomicInteger();
+        ScheduledExecutorService broker = Executors.newSingleThreadScheduledExecutor();
+        doAnswer(
+                        invocation -> {
+                            long published = seqNo.getAndIncrement();
+                            maxOutstanding.accumulateAndGet(
+                                    outstanding.incrementAndGet(), Math::max);
+                            broker.schedule(
+                                    () -> {
+                                        outstanding.decrementAndGet();
+                                        listener.get().handleAck(published, true);
+                                        return null;
+                                    },
+                                    10,
+                                    TimeUnit.MILLISECONDS);
+                            return null;
+                        })
+                .when(channel)
+                .basicPublish(
+                        eq(StringUtils.EMPTY),
+                        eq(queueName),
+                        any(AMQP.BasicProperties.class),
+                        any(byte[].class));
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, false, true, 2);
+
+        try {
+            observableQueue.publish(buildMessages(batchSize));
+        } finally {
+            broker.shutdownNow();
+        }
+
+        assertEquals(2, maxOutstanding.get());
+        verify(channel, times(batchSize))
+                .basicPublish(
+                        eq(StringUtils.EMPTY),
+                        eq(queueName),
+                        any(AMQP.BasicProperties.class),
+                        any(byte[].class));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testPublishWithConfirmsFailsWhenNotConfirmed() throws Exception {
+        Channel channel = mockBaseChannel();
+        Connection connection = mockGoodConnection(channel);
+        final String queueName = RandomStringUtils.randomAlphabetic(30);
+        mockChannelForQueue(channel, true, true, queueName, Collections.emptyList());
+        captureConfirmListener(channel);
+        mockPublishSeqNo(channel);
+        AMQPObservableQueue observableQueue =
+                newObservableQueue(connection, queueName, 0, false, true, 5);
+
+        observableQueue.publish(buildMessages(batchSize));
+    }
+
+    private AMQPObservableQueue newObservableQueue(
+            Connection connection,
+            String queueName,
+            int prefetchCount,
+            boolean batchedAck,
+            boolean publisherConfirms,
+            int maxOutstandingConfirms)
+            throws IOException, TimeoutException {
+        return newObservableQueue(
+                connection,
+                queueName,
+                prefetchCount,
+                batchedAck,
+                1,
+                60_000,
+                60_000,
+                publisherConfirms,
+                maxOutstandingConfirms);
+    }
+
+    private AMQPObservableQueue newObservableQueue(
+            Connection connection,
+            String queueName,
+            int prefetchCount,
+            boolean batchedAck,
+            int ackBatchSize,
+            long ackFlushIntervalInMS,
+            long ackMaxDelayInMS,
+            boolean publisherConfirms,
+            int maxOutstandingConfirms)
+            throws IOException, TimeoutException {
+        final AMQPSettings settings =
+                new AMQPSettings(properties).fromURI("amqp_queue:" + queueName);
+        AMQPRetryPattern retrySettings = new AMQPRetryPattern(3, 5, RetryType.REGULARINTERVALS);
+        AMQPObservableQueue observableQueue =
+                new AMQPObservableQueue(
+                        mockConnectionFactory(connection),
+                        addresses,
+                        false,
+                        settings,
+                        retrySettings,
+                        batchSize,
+                        pollTimeMs,
+                        prefetchCount,
+                        batchedAck,
+                        ackBatchSize,
+                        ackFlushIntervalInMS,
+                        ackMaxDelayInMS,
+                        publisherConfirms,
+                        maxOutstandingConfirms,
+                        100);
+        // Drop the channels other tests left in the shared pool
+        observableQueue.close();
+        return observableQueue;
+    }
+
+    private List<Message> deliver(
+            Channel channel, AMQPObservableQueue observableQueue, String queueName, int count)
+            throws IOException {
+        observableQueue.receiveMessages();
+        ArgumentCaptor<Consumer> consumer = ArgumentCaptor.forClass(Consumer.class);
+        verify(channel).basicConsume(eq(queueName), eq(false), consumer.capture());
+        for (long deliveryTag = 1; deliveryTag <= count; deliveryTag++) {
+            consumer.getValue()
+                    .handleDelivery(
+                            queueName,
+                            new Envelope(deliveryTag, false, StringUtils.EMPTY, queueName),
+                            new AMQP.BasicProperties.Builder()
+                                    .messageId(UUID.randomUUID().toString())
+                                    .build(),
+                            "{}".getBytes());
+        }
+        List<Message> delivered = new ArrayList<>(observableQueue.messages);
+        assertEquals(count, delivered.size());
+        return delivered;
+    }
+
+    private AtomicReference<ConfirmListener> captureConfirmListener(Channel channel) {
+        AtomicReference<ConfirmListener> listener = new AtomicReference<>();
+        doAnswer(
+                        invocation -> {
+                            listener.set(invocation.getArgument(0));
+                            return null;
+                        })
+                .when(channel)
+                .addConfirmListener(any(ConfirmListener.class));
+        return listener;
+    }
+
+    private AtomicLong mockPublishSeqNo(Channel channel) {
+        AtomicLong seqNo = new AtomicLong(1);
+        when(channel.getNextPublishSeqNo()).thenAnswer(invocation -> seqNo.get());
+        return seqNo;
+    }
+
+    private List<Message> buildMessages(int count) {
+        List<Message> messages = new LinkedList<>();
+        Observable.range(0, count)
+                .forEach((Integer x) -> messages.add(new Message("" + x, "payload: " + x, null)));
+        return messages;
+    }
 }
@@ -21,12 +21,32 @@ import org.springframework.boot.convert.DurationUnit;
 @ConfigurationProperties("conductor.event-queues.sqs")
 public class SQSEventQueueProperties {
 
-    /** The maximum number of messages to be fetched from the queue in a single request */
+    /**
+     * The maximum number of messages to be fetched from the queue in a single request, up to the
+     * SQS limit of 10
+     */
     private int batchSize = 1;
 
     /** The polling interval (in milliseconds) */
     private Duration pollTimeDuration = Duration.ofMillis(100);
 
+    /** The maximum number of receive requests in flight at the same time for a queue */
+    private int receiveConcurrency = 1;
+
+    /**
+     * The time (in seconds) a receive request waits for messages to arrive on an empty queue, up to
+     * the SQS limit of 20 seconds. Zero uses short polling.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration longPollWaitTime = Duration.ZERO;
+
+    /**
+     * The maximum time (in seconds) for which the visibility timeout of a received message is kept
+     * extended while it has not been acknowledged. Zero disables the extension.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration maxVisibilityExtension = Duration.ZERO;
+
     /** The visibility timeout (in seconds) for the message on the queue */
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration visibilityTimeout = Duration.ofSeconds(60);
@@ -56,6 +76,30 @@ public class SQSEventQueueProperties {
         this.pollTimeDuration = pollTimeDuration;
     }
 
+    public int getReceiveConcurrency() {
+        return receiveConcurrency;
+    }
+
+    public void setReceiveConcurrency(int receiveConcurrency) {
+        this.receiveConcurrency = receiveConcurrency;
+    }
+
+    public Duration getLongPollWaitTime() {
+        return longPollWaitTime;
+    }
+
+    public void setLongPollWaitTime(Duration longPollWaitTime) {
+        this.longPollWaitTime = longPollWaitTime;
+    }
+
+    public Duration getMaxVisibilityExtension() {
+        return maxVisibilityExtension;
+    }
+
+    public void setMaxVisibilityExtension(Duration maxVisibilityExtension) {
+        this.maxVisibilityExtension = maxVisibilityExtension;
+    }
+
     public Duration getVisibilityTimeout() {
         return visibilityTimeout;
     }
@@ -31,6 +31,9 @@ public class SQSEventQueueProvider implements EventQueueProvider {
     private final int batchSize;
     private final long pollTimeInMS;
     private final int visibilityTimeoutInSeconds;
+    private final int receiveConcurrency;
+    private final int longPollWaitTimeInSeconds;
+    private final int maxVisibilityExtensionInSeconds;
     private final Scheduler scheduler;
 
     public SQSEventQueueProvider(
@@ -39,6 +42,10 @@ public class SQSEventQueueProvider implements EventQueueProvider {
         this.batchSize = properties.getBatchSize();
         this.pollTimeInMS = properties.getPollTimeDuration().toMillis();
         this.visibilityTimeoutInSeconds = (int) properties.getVisibilityTimeout().getSeconds();
+        this.receiveConcurrency = properties.getReceiveConcurrency();
+        this.longPollWaitTimeInSeconds = (int) properties.getLongPollWaitTime().getSeconds();
+        this.maxVisibilityExtensionInSeconds =
+                (int) properties.getMaxVisibilityExtension().getSeconds();
         this.scheduler = scheduler;
     }
 
@@ -59,6 +66,9 @@ public class SQSEventQueueProvider implements EventQueueProvider {
                                 .withPollTimeInMS(this.pollTimeInMS)
                                 .withQueueName(queueURI)
                                 .withVisibilityTimeout(this.visibilityTimeoutInSeconds)
+                                .withReceiveConcurrency(this.receiveConcurrency)
+                                .withLongPollWaitTime(this.longPollWaitTimeInSeconds)
+                                .withMaxVisibilityExtension(this.maxVisibilityExtensionInSeconds)
                                 .withScheduler(scheduler)
                                 .build());
     }
@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -31,11 +32,17 @@ import com.netflix.conductor.metrics.Monitors;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 import rx.Observable;
 import rx.Observable.OnSubscribe;
 import rx.Scheduler;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
 import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
 import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
 import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
@@ -59,28 +66,45 @@ public class SQSObservableQueue implements ObservableQueue {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SQSObservableQueue.class);
     private static final String QUEUE_TYPE = "sqs";
+    private static final int MAX_BATCH_SIZE = 10;
+    private static final int MAX_WAIT_TIME_SECONDS = 20;
 
     private final String queueName;
     private final int visibilityTimeoutInSeconds;
     private final int batchSize;
+    private final int receiveConcurrency;
+    private final int longPollWaitTimeInSeconds;
+    private final long maxVisibilityExtensionInMS;
     private final SqsClient client;
     private final long pollTimeInMS;
     private final String queueURL;
     private final Scheduler scheduler;
     private volatile boolean running;
 
+    /** Received messages that are not yet acked, with the time they were received */
+    private final Map<String, InFlightMessage> inFlightMessages = new ConcurrentHashMap<>();
+
+    private volatile Subscription visibilityExtension;
+
     private SQSObservableQueue(
             String queueName,
             SqsClient client,
             int visibilityTimeoutInSeconds,
             int batchSize,
+            int receiveConcurrency,
+            int longPollWaitTimeInSeconds,
+            int maxVisibilityExtensionInSeconds,
             long pollTimeInMS,
             List<String> accountsToAuthorize,
             Scheduler scheduler) {
         this.queueName = queueName;
         this.client = client;
         this.visibilityTimeoutInSeconds = visibilityTimeoutInSeconds;
-        this.batchSize = batchSize;
+        this.batchSize = Math.min(batchSize, MAX_BATCH_SIZE);
+        this.receiveConcurrency = Math.max(receiveConcurrency, 1);
+        this.longPollWaitTimeInSeconds = Math.min(longPollWaitTimeInSeconds, MAX_WAIT_TIME_SECONDS);
+        this.maxVisibilityExtensionInMS =
+                TimeUnit.SECONDS.toMillis(maxVisibilityExtensionInSeconds);
         this.pollTimeInMS = pollTimeInMS;
         this.queueURL = getOrCreateQueue();
         this.scheduler = scheduler;
@@ -95,11 +119,25 @@ public class SQSObservableQueue implements ObservableQueue {
 
     @Override
     public List<String> ack(List<Message> messages) {
+        if (messages != null) {
+            messages.forEach(message -> inFlightMessages.remove(message.getId()));
+        }
         return delete(messages);
     }
 
+    /** Stops extending the visibility of the messages, they reappear once it expires. */
+    @Override
+    public void nack(List<Message> messages) {
+        messages.forEach(message -> inFlightMessages.remove(message.getId()));
+    }
+
+    /**
+     * Publishes the messages. A received message that is published again is a new copy, the
+     * original is no longer kept hidden and reappears once its visibility expires.
+     */
     @Override
     public void publish(List<Message> messages) {
+        messages.forEach(message -> inFlightMessages.remove(message.getId()));
         publishMessages(messages);
     }
 
@@ -161,16 +199,35 @@ public class SQSObservableQueue implements ObservableQueue {
         return visibilityTimeoutInSeconds;
     }
 
+    public int getReceiveConcurrency() {
+        return receiveConcurrency;
+    }
+
+    public int getLongPollWaitTimeInSeconds() {
+        return longPollWaitTimeInSeconds;
+    }
+
     @Override
     public void start() {
         LOGGER.info("Started listening to {}:{}", getClass().getSimpleName(), queueName);
         running = true;
+        if (maxVisibilityExtensionInMS > 0 && visibilityExtension == null) {
+            // extend well before the current visibility timeout runs out
+            long period = Math.max(TimeUnit.SECONDS.toMillis(visibilityTimeoutInSeconds) / 2, 1000);
+            visibilityExtension =
+                    Observable.interval(period, period, TimeUnit.MILLISECONDS, Schedulers.io())
+                            .subscribe(x -> extendVisibility());
+        }
     }
 
     @Override
     public void stop() {
         LOGGER.info("Stopped listening to {}:{}", getClass().getSimpleName(), queueName);
         running = false;
+        if (visibilityExtension != null) {
+            visibilityExtension.unsubscribe();
+            visibilityExtension = null;
+        }
     }
 
     @Override
@@ -183,6 +240,9 @@ public class SQSObservableQueue implements ObservableQueue {
         private String queueName;
         private int visibilityTimeout = 30; // seconds
         private int batchSize = 5;
+        private int receiveConcurrency = 1;
+        private int longPollWaitTime = 0; // seconds
+        private int maxVisibilityExtension = 0; // seconds
         private long pollTimeInMS = 100;
         private SqsClient client;
         private List<String> accountsToAuthorize = new LinkedList<>();
@@ -207,6 +267,35 @@ public class SQSObservableQueue implements ObservableQueue {
             return this;
         }
 
+        /**
+         * @param receiveConcurrency Maximum number of receive requests in flight at the same time
+         * @return builder instance
+         */
+        public Builder withReceiveConcurrency(int receiveConcurrency) {
+            this.receiveConcurrency = receiveConcurrency;
+            return this;
+        }
+
+        /**
+         * @param longPollWaitTime Time in SECONDS a receive request waits for messages, 0 for
+         *     short polling
+         * @return builder instance
+         */
+        public Builder withLongPollWaitTime(int longPollWaitTime) {
+            this.longPollWaitTime = longPollWaitTime;
+            return this;
+        }
+
+        /**
+         * @param maxVisibilityExtension Time in SECONDS for which the visibility of unacked
+         *     messages is kept extended, 0 to not extend it
+         * @return builder instance
+         */
+        public Builder withMaxVisibilityExtension(int maxVisibilityExtension) {
+            this.maxVisibilityExtension = maxVisibilityExtension;
+            return this;
+        }
+
         public Builder withClient(SqsClient client) {
             this.client = client;
             return this;
@@ -238,6 +327,9 @@ public class SQSObservableQueue implements ObservableQueue {
                     client,
                     visibilityTimeout,
                     batchSize,
+                    receiveConcurrency,
+                    longPollWaitTime,
+                    maxVisibilityExtension,
                     pollTimeInMS,
                     accountsToAuthorize,
                     scheduler);
@@ -351,6 +443,7 @@ public class SQSObservableQueue implements ObservableQueue {
                             .queueUrl(queueURL)
                             .visibilityTimeout(visibilityTimeoutInSeconds)
                             .maxNumberOfMessages(batchSize)
+                            .waitTimeSeconds(longPollWaitTimeInSeconds)
                             .build();
 
             ReceiveMessageResponse result = client.receiveMessage(receiveMessageRequest);
@@ -364,6 +457,13 @@ public class SQSObservableQueue implements ObservableQueue {
                                                     msg.body(),
                                                     msg.receiptHandle()))
                             .collect(Collectors.toList());
+            if (maxVisibilityExtensionInMS > 0) {
+                long now = System.currentTimeMillis();
+                messages.forEach(
+                        msg ->
+                                inFlightMessages.put(
+                                        msg.getId(), new InFlightMessage(msg.getReceipt(), now)));
+            }
             Monitors.recordEventQueueMessagesProcessed(QUEUE_TYPE, this.queueName, messages.size());
             return messages;
         } catch (Exception e) {
@@ -373,23 +473,71 @@ public class SQSObservableQueue implements ObservableQueue {
         return new ArrayList<>();
     }
 
+    /**
+     * Polls the queue every {@link #pollTimeInMS}, with up to {@link #receiveConcurrency} receive
+     * requests in flight. Receive requests block during long polling, so they are made on the IO
+     * scheduler and ticks are dropped while all receivers are busy.
+     */
     OnSubscribe<Message> getOnSubscribe() {
         return subscriber -> {
             Observable<Long> interval = Observable.interval(pollTimeInMS, TimeUnit.MILLISECONDS);
-            interval.flatMap(
+            interval.onBackpressureDrop()
+                    .flatMap(
                             (Long x) -> {
                                 if (!isRunning()) {
                                     LOGGER.debug(
                                             "Component stopped, skip listening for messages from SQS");
-                                    return Observable.from(Collections.emptyList());
+                                    return Observable.<Message>from(Collections.emptyList());
                                 }
-                                List<Message> messages = receiveMessages();
-                                return Observable.from(messages);
-                            })
+                                return Observable.fromCallable(this::receiveMessages)
+                                        .subscribeOn(Schedulers.io())
+                                        .flatMapIterable(messages -> messages);
+                            },
+                            Math.max(getReceiveConcurrency(), 1))
                     .subscribe(subscriber::onNext, subscriber::onError);
         };
     }
 
+    /**
+     * Resets the visibility timeout of the messages that are still being processed, so that they
+     * do not reappear on the queue. Messages in flight for longer than the maximum visibility
+     * extension are left to time out.
+     */
+    void extendVisibility() {
+        try {
+            long now = System.currentTimeMillis();
+            List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>();
+            inFlightMessages.forEach(
+                    (id, message) -> {
+                        if (now - message.receivedAt() > maxVisibilityExtensionInMS) {
+                            inFlightMessages.remove(id);
+                        } else {
+                            entries.add(
+                                    ChangeMessageVisibilityBatchRequestEntry.builder()
+                                            .id(id)
+                                            .receiptHandle(message.receipt())
+                                            .visibilityTimeout(visibilityTimeoutInSeconds)
+                                            .build());
+                        }
+                    });
+            for (List<ChangeMessageVisibilityBatchRequestEntry> batch :
+                    Lists.partition(entries, MAX_BATCH_SIZE)) {
+                ChangeMessageVisibilityBatchRequest request =
+                        ChangeMessageVisibilityBatchRequest.builder()
+                                .queueUrl(queueURL)
+                                .entries(batch)
+                                .build();
+                ChangeMessageVisibilityBatchResponse response =
+                        client.changeMessageVisibilityBatch(request);
+                // typically the message was acked in the meantime, stop extending it
+                response.failed().forEach(failure -> inFlightMessages.remove(failure.id()));
+            }
+        } catch (Exception e) {
+            LOGGER.error(
+                    "Failed to extend the visibility of messages on SQS queue: {}", queueName, e);
+        }
+    }
+
     private List<String> delete(List<Message> messages) {
         if (messages == null || messages.isEmpty()) {
             return null;
@@ -417,6 +565,8 @@ public class SQSObservableQueue implements ObservableQueue {
         return failures;
     }
 
+    private record InFlightMessage(String receipt, long receivedAt) {}
+
     private static class SqsPolicy {
         @JsonProperty("Version")
         private String version;
@@ -17,9 +17,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 
 import com.netflix.conductor.core.events.queue.Message;
@@ -29,18 +32,28 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.Uninterruptibles;
 import rx.Observable;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
 import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
 import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SQSObservableQueueTest {
@@ -106,6 +119,113 @@ public class SQSObservableQueueTest {
         assertEquals(1, found.size());
     }
 
+    @Test
+    public void testConcurrentLongPollReceivers() throws Exception {
+        SqsClient client = mock(SqsClient.class);
+        when(client.listQueues(any(ListQueuesRequest.class)))
+                .thenReturn(ListQueuesResponse.builder().queueUrls("junit_queue_url").build());
+        List<ReceiveMessageRequest> requests = new CopyOnWriteArrayList<>();
+        CountDownLatch receivers = new CountDownLatch(3);
+        when(client.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            requests.add(invocation.getArgument(0));
+                            receivers.countDown();
+                            // like a long poll, only return once all receivers are waiting
+                            receivers.await(5, TimeUnit.SECONDS);
+                            return ReceiveMessageResponse.builder()
+                                    .messages(sqsMessage("m" + requests.size()))
+                                    .build();
+                        });
+
+        SQSObservableQueue queue =
+                new SQSObservableQueue.Builder()
+                        .withQueueName("junit")
+                        .withClient(client)
+                        .withBatchSize(20)
+                        .withReceiveConcurrency(3)
+                        .withLongPollWaitTime(30)
+                        .withPollTimeInMS(10)
+                        .build();
+        assertEquals(10, queue.getBatchSize());
+        assertEquals(20, queue.getLongPollWaitTimeInSeconds());
+        queue.start();
+
+        List<Message> found = new CopyOnWriteArrayList<>();
+        queue.observe().subscribe(found::add);
+
+        // sequential receivers would need 10 seconds to get here
+        assertTrue(receivers.await(2, TimeUnit.SECONDS));
+        Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+        queue.stop();
+        assertTrue(found.size() >= 3);
+        assertEquals(10, requests.get(0).maxNumberOfMessages().intValue());
+        assertEquals(20, requests.get(0).waitTimeSeconds().intValue());
+    }
+
+    @Test
+    public void testVisibilityExtendedUntilAcked() {
+        SqsClient client = mock(SqsClient.class);
+        when(client.listQueues(any(ListQueuesRequest.class)))
+                .thenReturn(ListQueuesResponse.builder().queueUrls("junit_queue_url").build());
+        when(client.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(sqsMessage("m1")).build());
+        when(client.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(ChangeMessageVisibilityBatchResponse.builder().build());
+        when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(DeleteMessageBatchResponse.builder().build());
+
+        SQSObservableQueue queue =
+                new SQSObservableQueue.Builder()
+                        .withQueueName("junit")
+                        .withClient(client)
+                        .withVisibilityTimeout(30)
+                        .withMaxVisibilityExtension(300)
+                        .build();
+        List<Message> messages = queue.receiveMessages();
+        assertEquals(1, messages.size());
+
+        queue.extendVisibility();
+        ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor =
+                ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(client).changeMessageVisibilityBatch(captor.capture());
+        ChangeMessageVisibilityBatchRequestEntry entry = captor.getValue().entries().get(0);
+        assertEquals("m1", entry.id());
+        assertEquals("receipt-m1", entry.receiptHandle());
+        assertEquals(30, entry.visibilityTimeout().intValue());
+
+        queue.ack(messages);
+        queue.extendVisibility();
+        verify(client, times(1))
+                .changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    public void testVisibilityNotExtendedAfterRepublish() {
+        SqsClient client = mock(SqsClient.class);
+        when(client.listQueues(any(ListQueuesRequest.class)))
+                .thenReturn(ListQueuesResponse.builder().queueUrls("junit_queue_url").build());
+        when(client.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(sqsMessage("m1")).build());
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(SendMessageBatchResponse.builder().build());
+
+        SQSObservableQueue queue =
+                new SQSObservableQueue.Builder()
+                        .withQueueName("junit")
+                        .withClient(client)
+                        .withVisibilityTimeout(30)
+                        .withMaxVisibilityExtension(300)
+                        .build();
+        List<Message> messages = queue.receiveMessages();
+        assertEquals(1, messages.size());
+
+        queue.publish(messages);
+        queue.extendVisibility();
+        verify(client, never())
+                .changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
     @Test
     public void testPolicyJsonFormat() throws Exception {
         // Mock SQS client
@@ -176,4 +296,12 @@ public class SQSObservableQueueTest {
         assertEquals("111122223333", awsArray.get(0).asText());
         assertEquals("444455556666", awsArray.get(1).asText());
     }
+
+    private software.amazon.awssdk.services.sqs.model.Message sqsMessage(String id) {
+        return software.amazon.awssdk.services.sqs.model.Message.builder()
+                .messageId(id)
+                .body("payload")
+                .receiptHandle("receipt-" + id)
+                .build();
+    }
 }
@@ -37,9 +37,22 @@ public class CassandraProperties {
 
     /**
      * The number of tasks to be stored in a single partition which will be used for sharding
-     * workflows in the datastore
+     * workflows in the datastore. Sharding is disabled by default (0), every task is stored in the
+     * first partition of its workflow.
+     *
+     * <p>Servers of earlier versions only read the first partition. To enable sharding, first
+     * upgrade every server with sharding disabled, so that all of them read the other partitions
+     * and record the partition of new tasks in task_lookup, then set the shard size and restart
+     * the servers. Tasks written before keep being read from the first partition, and an updated
+     * task is written to its own partition.
      */
-    private int shardSize = 100;
+    private int shardSize = 0;
+
+    /**
+     * The maximum number of asynchronous requests a single DAO call keeps in flight when it fans
+     * out statements, e.g. when creating the task lookups for a large fork
+     */
+    private int maxConcurrentRequests = 32;
 
     /** The replication strategy with which to configure the keyspace */
     private String replicationStrategy = "SimpleStrategy";
@@ -108,6 +121,14 @@ public class CassandraProperties {
         this.shardSize = shardSize;
     }
 
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
     public String getReplicationStrategy() {
         return replicationStrategy;
     }
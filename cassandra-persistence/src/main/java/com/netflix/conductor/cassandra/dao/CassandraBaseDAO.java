@@ -13,6 +13,8 @@
 package com.netflix.conductor.cassandra.dao;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -23,7 +25,12 @@ import com.netflix.conductor.core.exception.NonTransientException;
 import com.netflix.conductor.metrics.Monitors;
 
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
 import com.datastax.driver.core.schemabuilder.SchemaBuilder;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -70,8 +77,8 @@ import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_VERSION_KE
  * entity text, payload text, total_tasks int STATIC, total_partitions int STATIC, PRIMARY
  * KEY((workflow_id, shard_id), entity, task_id) );
  *
- * <p>CREATE TABLE IF NOT EXISTS conductor.task_lookup( task_id uuid, workflow_id uuid, PRIMARY KEY
- * (task_id) );
+ * <p>CREATE TABLE IF NOT EXISTS conductor.task_lookup( task_id uuid, workflow_id uuid, shard_id
+ * int, PRIMARY KEY (task_id) );
  *
  * <p>CREATE TABLE IF NOT EXISTS conductor.task_def_limit( task_def_name text, task_id uuid,
  * workflow_id uuid, PRIMARY KEY ((task_def_name), task_id_key) );
@@ -126,6 +133,7 @@ public abstract class CassandraBaseDAO {
                 session.execute(getCreateKeyspaceStatement());
                 session.execute(getCreateWorkflowsTableStatement());
                 session.execute(getCreateTaskLookupTableStatement());
+                addTaskLookupShardIdColumn();
                 session.execute(getCreateTaskDefLimitTableStatement());
                 session.execute(getCreateWorkflowDefsTableStatement());
                 session.execute(getCreateWorkflowDefsIndexTableStatement());
@@ -174,9 +182,25 @@ public abstract class CassandraBaseDAO {
                 .ifNotExists()
                 .addPartitionKey(TASK_ID_KEY, DataType.uuid())
                 .addColumn(WORKFLOW_ID_KEY, DataType.uuid())
+                .addColumn(SHARD_ID_KEY, DataType.cint())
                 .getQueryString();
     }
 
+    /** Adds the shard_id column to task_lookup tables created before it was introduced. */
+    private void addTaskLookupShardIdColumn() {
+        KeyspaceMetadata keyspace =
+                session.getCluster().getMetadata().getKeyspace(properties.getKeyspace());
+        TableMetadata taskLookupTable =
+                keyspace == null ? null : keyspace.getTable(TABLE_TASK_LOOKUP);
+        if (taskLookupTable != null && taskLookupTable.getColumn(SHARD_ID_KEY) == null) {
+            session.execute(
+                    SchemaBuilder.alterTable(properties.getKeyspace(), TABLE_TASK_LOOKUP)
+                            .addColumn(SHARD_ID_KEY)
+                            .type(DataType.cint())
+                            .getQueryString());
+        }
+    }
+
     private String getCreateTaskDefLimitTableStatement() {
         return SchemaBuilder.createTable(properties.getKeyspace(), TABLE_TASK_DEF_LIMIT)
                 .ifNotExists()
@@ -232,6 +256,28 @@ public abstract class CassandraBaseDAO {
                 .getQueryString();
     }
 
+    /**
+     * Executes the statements asynchronously, keeping at most {@link
+     * CassandraProperties#getMaxConcurrentRequests()} of them in flight at any time.
+     *
+     * @return the result sets, in the order of the given statements
+     */
+    List<ResultSet> executeConcurrently(List<? extends Statement> statements) {
+        int maxConcurrentRequests = Math.max(1, properties.getMaxConcurrentRequests());
+        List<ResultSetFuture> futures = new ArrayList<>(statements.size());
+        List<ResultSet> resultSets = new ArrayList<>(statements.size());
+        for (Statement statement : statements) {
+            if (futures.size() - resultSets.size() >= maxConcurrentRequests) {
+                resultSets.add(futures.get(resultSets.size()).getUninterruptibly());
+            }
+            futures.add(session.executeAsync(statement));
+        }
+        while (resultSets.size() < futures.size()) {
+            resultSets.add(futures.get(resultSets.size()).getUninterruptibly());
+        }
+        return resultSets;
+    }
+
     String toJson(Object value) {
         try {
             return objectMapper.writeValueAsString(value);
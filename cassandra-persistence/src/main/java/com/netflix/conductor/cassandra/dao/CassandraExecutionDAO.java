@@ -53,6 +53,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
 
     protected final PreparedStatement selectTotalStatement;
     protected final PreparedStatement selectTaskStatement;
+    protected final PreparedStatement selectTasksStatement;
     protected final PreparedStatement selectWorkflowStatement;
     protected final PreparedStatement selectWorkflowWithTasksStatement;
     protected final PreparedStatement selectTaskLookupStatement;
@@ -99,6 +100,9 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         this.selectTaskStatement =
                 session.prepare(statements.getSelectTaskStatement())
                         .setConsistencyLevel(properties.getReadConsistencyLevel());
+        this.selectTasksStatement =
+                session.prepare(statements.getSelectTasksStatement())
+                        .setConsistencyLevel(properties.getReadConsistencyLevel());
         this.selectWorkflowStatement =
                 session.prepare(statements.getSelectWorkflowStatement())
                         .setConsistencyLevel(properties.getReadConsistencyLevel());
@@ -175,7 +179,8 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
     /**
      * Inserts tasks into the Cassandra datastore. <b>Note:</b> Creates the task_id to workflow_id
      * mapping in the task_lookup table first. Once this succeeds, inserts the tasks into the
-     * workflows table. Tasks belonging to the same shard are created using batch statements.
+     * workflows table. Tasks belonging to the same shard are created using batch statements. The
+     * lookups and the batches of different shards are written concurrently.
      *
      * @param tasks tasks to be created
      */
@@ -187,30 +192,45 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         try {
             WorkflowMetadata workflowMetadata = getWorkflowMetadata(workflowId);
             int totalTasks = workflowMetadata.getTotalTasks() + tasks.size();
-            // TODO: write into multiple shards based on number of tasks
+            int totalPartitions =
+                    Math.max(
+                            Math.max(
+                                    workflowMetadata.getTotalPartitions(),
+                                    DEFAULT_TOTAL_PARTITIONS),
+                            tasks.stream()
+                                    .mapToInt(this::getShardId)
+                                    .max()
+                                    .orElse(DEFAULT_SHARD_ID));
 
             // update the task_lookup table
+            List<Statement> lookupStatements = new ArrayList<>(tasks.size());
             tasks.forEach(
                     task -> {
                         if (task.getScheduledTime() == 0) {
                             task.setScheduledTime(System.currentTimeMillis());
                         }
-                        session.execute(
+                        lookupStatements.add(
                                 updateTaskLookupStatement.bind(
-                                        workflowUUID, toUUID(task.getTaskId(), "Invalid task id")));
+                                        workflowUUID,
+                                        getShardId(task),
+                                        toUUID(task.getTaskId(), "Invalid task id")));
                     });
+            executeConcurrently(lookupStatements);
 
-            // update all the tasks in the workflow using batch
-            BatchStatement batchStatement = new BatchStatement();
+            // update all the tasks in the workflow using one batch per shard
+            Map<Integer, BatchStatement> batchStatements = new TreeMap<>();
             tasks.forEach(
                     task -> {
                         String taskPayload = toJson(task);
-                        batchStatement.add(
-                                insertTaskStatement.bind(
-                                        workflowUUID,
-                                        DEFAULT_SHARD_ID,
-                                        task.getTaskId(),
-                                        taskPayload));
+                        int shardId = getShardId(task);
+                        batchStatements
+                                .computeIfAbsent(shardId, id -> new BatchStatement())
+                                .add(
+                                        insertTaskStatement.bind(
+                                                workflowUUID,
+                                                shardId,
+                                                task.getTaskId(),
+                                                taskPayload));
                         recordCassandraDaoRequests(
                                 "createTask", task.getTaskType(), task.getWorkflowType());
                         recordCassandraDaoPayloadSize(
@@ -219,14 +239,12 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
                                 task.getTaskType(),
                                 task.getWorkflowType());
                     });
-            batchStatement.add(
-                    updateTotalTasksStatement.bind(totalTasks, workflowUUID, DEFAULT_SHARD_ID));
-            session.execute(batchStatement);
+            executeConcurrently(new ArrayList<>(batchStatements.values()));
 
             // update the total tasks and partitions for the workflow
             session.execute(
                     updateTotalPartitionsStatement.bind(
-                            DEFAULT_TOTAL_PARTITIONS, totalTasks, workflowUUID));
+                            totalPartitions, totalTasks, workflowUUID));
 
             return tasks;
         } catch (DriverException e) {
@@ -242,7 +260,6 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
     @Override
     public void updateTask(TaskModel task) {
         try {
-            // TODO: calculate the shard number the task belongs to
             String taskPayload = toJson(task);
             recordCassandraDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
             recordCassandraDaoPayloadSize(
@@ -250,7 +267,7 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
             session.execute(
                     insertTaskStatement.bind(
                             UUID.fromString(task.getWorkflowInstanceId()),
-                            DEFAULT_SHARD_ID,
+                            getShardId(task),
                             task.getTaskId(),
                             taskPayload));
             if (task.getTaskDefinition().isPresent()
@@ -334,31 +351,53 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
     @Override
     public TaskModel getTask(String taskId) {
         try {
-            String workflowId = lookupWorkflowIdFromTaskId(taskId);
-            if (workflowId == null) {
+            Row lookup = lookupTask(taskId);
+            if (lookup == null) {
+                return null;
+            }
+            UUID workflowUUID = lookup.getUUID(WORKFLOW_ID_KEY);
+            String workflowId = workflowUUID.toString();
+
+            // lookups written before the shard id was recorded point at the first shard, which
+            // holds every task of an unsharded workflow
+            int lookupShardId =
+                    lookup.isNull(SHARD_ID_KEY) ? DEFAULT_SHARD_ID : lookup.getInt(SHARD_ID_KEY);
+            TaskModel task =
+                    readTask(
+                            session.execute(
+                                    selectTaskStatement.bind(workflowUUID, lookupShardId, taskId)));
+            if (task != null) {
+                int shardId = getShardId(task);
+                if (shardId == lookupShardId) {
+                    return task;
+                }
+                // the task was written before the workflow was sharded, or with another shard
+                // size, so the copy in its current shard may be newer
+                TaskModel shardedTask =
+                        readTask(
+                                session.execute(
+                                        selectTaskStatement.bind(workflowUUID, shardId, taskId)));
+                return shardedTask != null ? shardedTask : task;
+            }
+            if (!lookup.isNull(SHARD_ID_KEY)) {
                 return null;
             }
-            // TODO: implement for query against multiple shards
 
-            ResultSet resultSet =
-                    session.execute(
-                            selectTaskStatement.bind(
-                                    UUID.fromString(workflowId), DEFAULT_SHARD_ID, taskId));
-            return Optional.ofNullable(resultSet.one())
-                    .map(
-                            row -> {
-                                String taskRow = row.getString(PAYLOAD_KEY);
-                                TaskModel task = readValue(taskRow, TaskModel.class);
-                                recordCassandraDaoRequests(
-                                        "getTask", task.getTaskType(), task.getWorkflowType());
-                                recordCassandraDaoPayloadSize(
-                                        "getTask",
-                                        taskRow.length(),
-                                        task.getTaskType(),
-                                        task.getWorkflowType());
-                                return task;
-                            })
-                    .orElse(null);
+            // the shard of an older task is unknown, look for it in every shard
+            int totalPartitions = getWorkflowMetadata(workflowId).getTotalPartitions();
+            List<Statement> shardStatements = new ArrayList<>();
+            for (int shardId = DEFAULT_SHARD_ID + 1; shardId <= totalPartitions; shardId++) {
+                shardStatements.add(selectTaskStatement.bind(workflowUUID, shardId, taskId));
+            }
+            for (ResultSet shardResultSet : executeConcurrently(shardStatements)) {
+                TaskModel shardedTask = readTask(shardResultSet);
+                if (shardedTask != null) {
+                    task = shardedTask;
+                }
+            }
+            return task;
+        } catch (NotFoundException e) {
+            return null;
         } catch (DriverException e) {
             Monitors.error(CLASS_NAME, "getTask");
             String errorMsg = String.format("Error getting task by id: %s", taskId);
@@ -367,17 +406,148 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         }
     }
 
+    /**
+     * Reads the given tasks directly by key instead of loading their workflows: the workflow ids
+     * are looked up concurrently, then the tasks of each workflow are read with one query per
+     * shard.
+     *
+     * @param taskIds the ids of the tasks to be read
+     * @return the tasks that were found, in the order of the given ids
+     */
     @Override
     public List<TaskModel> getTasks(List<String> taskIds) {
         Preconditions.checkNotNull(taskIds);
         Preconditions.checkArgument(taskIds.size() > 0, "Task ids list cannot be empty");
-        String workflowId = lookupWorkflowIdFromTaskId(taskIds.get(0));
-        if (workflowId == null) {
-            return null;
+        try {
+            List<Statement> lookupStatements =
+                    taskIds.stream()
+                            .map(
+                                    taskId ->
+                                            selectTaskLookupStatement.bind(
+                                                    toUUID(taskId, "Invalid task id")))
+                            .collect(Collectors.toList());
+            List<ResultSet> lookupResultSets = executeConcurrently(lookupStatements);
+            // the tasks to read from each shard of each workflow; lookups written before the
+            // shard id was recorded point at the first shard
+            Map<UUID, Map<Integer, List<String>>> taskIdsByShard = new LinkedHashMap<>();
+            Map<String, UUID> unshardedTaskIds = new LinkedHashMap<>();
+            for (int i = 0; i < taskIds.size(); i++) {
+                Row row = lookupResultSets.get(i).one();
+                if (row == null) {
+                    continue;
+                }
+                UUID workflowUUID = row.getUUID(WORKFLOW_ID_KEY);
+                int shardId = DEFAULT_SHARD_ID;
+                if (row.isNull(SHARD_ID_KEY)) {
+                    unshardedTaskIds.put(taskIds.get(i), workflowUUID);
+                } else {
+                    shardId = row.getInt(SHARD_ID_KEY);
+                }
+                addTaskId(taskIdsByShard, workflowUUID, shardId, taskIds.get(i));
+            }
+
+            Map<String, TaskModel> tasksById = new HashMap<>();
+            Map<UUID, Integer> totalPartitionsByWorkflow = new HashMap<>();
+            Map<UUID, Map<Integer, List<String>>> remainingTaskIdsByShard = new LinkedHashMap<>();
+            readTasks(
+                    taskIdsByShard,
+                    (workflowUUID, shardId, row) -> {
+                        TaskModel task = readValue(row.getString(PAYLOAD_KEY), TaskModel.class);
+                        tasksById.put(task.getTaskId(), task);
+                        if (shardId == DEFAULT_SHARD_ID) {
+                            totalPartitionsByWorkflow.merge(
+                                    workflowUUID, row.getInt(TOTAL_PARTITIONS_KEY), Math::max);
+                        }
+                        // the task was written before the workflow was sharded, or with another
+                        // shard size, so the copy in its current shard may be newer
+                        if (getShardId(task) != shardId) {
+                            addTaskId(
+                                    remainingTaskIdsByShard,
+                                    workflowUUID,
+                                    getShardId(task),
+                                    task.getTaskId());
+                        }
+                    });
+
+            // the shard of an older task that is not in the first shard is unknown
+            unshardedTaskIds.forEach(
+                    (taskId, workflowUUID) -> {
+                        if (tasksById.containsKey(taskId)) {
+                            return;
+                        }
+                        int totalPartitions =
+                                totalPartitionsByWorkflow.computeIfAbsent(
+                                        workflowUUID,
+                                        id ->
+                                                getWorkflowMetadata(id.toString())
+                                                        .getTotalPartitions());
+                        for (int shardId = DEFAULT_SHARD_ID + 1;
+                                shardId <= totalPartitions;
+                                shardId++) {
+                            addTaskId(remainingTaskIdsByShard, workflowUUID, shardId, taskId);
+                        }
+                    });
+            // a task found outside the shard it was looked up in is always its latest version
+            readTasks(
+                    remainingTaskIdsByShard,
+                    (workflowUUID, shardId, row) -> {
+                        TaskModel task = readValue(row.getString(PAYLOAD_KEY), TaskModel.class);
+                        tasksById.put(task.getTaskId(), task);
+                    });
+
+            recordCassandraDaoRequests("getTasks");
+            return taskIds.stream()
+                    .map(tasksById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (NotFoundException e) {
+            return Collections.emptyList();
+        } catch (DriverException e) {
+            Monitors.error(CLASS_NAME, "getTasks");
+            String errorMsg = String.format("Error getting tasks by ids: %s", taskIds);
+            LOGGER.error(errorMsg, e);
+            throw new TransientException(errorMsg);
         }
-        return getWorkflow(workflowId, true).getTasks().stream()
-                .filter(task -> taskIds.contains(task.getTaskId()))
-                .collect(Collectors.toList());
+    }
+
+    private static void addTaskId(
+            Map<UUID, Map<Integer, List<String>>> taskIdsByShard,
+            UUID workflowUUID,
+            int shardId,
+            String taskId) {
+        taskIdsByShard
+                .computeIfAbsent(workflowUUID, id -> new TreeMap<>())
+                .computeIfAbsent(shardId, id -> new ArrayList<>())
+                .add(taskId);
+    }
+
+    /** Reads the given tasks of each workflow shard concurrently, one query per shard. */
+    private void readTasks(
+            Map<UUID, Map<Integer, List<String>>> taskIdsByShard, TaskRowConsumer consumer) {
+        List<UUID> workflowUUIDs = new ArrayList<>();
+        List<Integer> shardIds = new ArrayList<>();
+        List<Statement> statements = new ArrayList<>();
+        taskIdsByShard.forEach(
+                (workflowUUID, shards) ->
+                        shards.forEach(
+                                (shardId, shardTaskIds) -> {
+                                    workflowUUIDs.add(workflowUUID);
+                                    shardIds.add(shardId);
+                                    statements.add(
+                                            selectTasksStatement.bind(
+                                                    workflowUUID, shardId, shardTaskIds));
+                                }));
+        List<ResultSet> resultSets = executeConcurrently(statements);
+        for (int i = 0; i < resultSets.size(); i++) {
+            for (Row row : resultSets.get(i)) {
+                consumer.accept(workflowUUIDs.get(i), shardIds.get(i), row);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TaskRowConsumer {
+        void accept(UUID workflowUUID, int shardId, Row row);
     }
 
     /**
@@ -447,10 +617,22 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
     public boolean removeWorkflow(String workflowId) {
         WorkflowModel workflow = getWorkflow(workflowId, true);
         boolean removed = false;
-        // TODO: calculate number of shards and iterate
         if (workflow != null) {
             try {
                 recordCassandraDaoRequests("removeWorkflow", "n/a", workflow.getWorkflowName());
+                int totalPartitions =
+                        workflow.getTasks().stream()
+                                .mapToInt(this::getShardId)
+                                .max()
+                                .orElse(DEFAULT_SHARD_ID);
+                // remove the other shards first so that a partial failure leaves the workflow
+                // row in place and the removal can be retried
+                List<Statement> shardStatements = new ArrayList<>();
+                for (int shardId = DEFAULT_SHARD_ID + 1; shardId <= totalPartitions; shardId++) {
+                    shardStatements.add(
+                            deleteWorkflowStatement.bind(UUID.fromString(workflowId), shardId));
+                }
+                executeConcurrently(shardStatements);
                 ResultSet resultSet =
                         session.execute(
                                 deleteWorkflowStatement.bind(
@@ -503,20 +685,24 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
                         session.execute(
                                 selectWorkflowWithTasksStatement.bind(
                                         workflowUUID, DEFAULT_SHARD_ID));
-                List<TaskModel> tasks = new ArrayList<>();
+                Map<String, TaskModel> tasksById = new LinkedHashMap<>();
 
                 List<Row> rows = resultSet.all();
                 if (rows.size() == 0) {
                     LOGGER.info("Workflow {} not found in datastore", workflowId);
                     return null;
                 }
+                int totalPartitions = rows.get(0).getInt(TOTAL_PARTITIONS_KEY);
                 for (Row row : rows) {
                     String entityKey = row.getString(ENTITY_KEY);
                     if (ENTITY_TYPE_WORKFLOW.equals(entityKey)) {
                         workflow = readValue(row.getString(PAYLOAD_KEY), WorkflowModel.class);
                     } else if (ENTITY_TYPE_TASK.equals(entityKey)) {
                         TaskModel task = readValue(row.getString(PAYLOAD_KEY), TaskModel.class);
-                        tasks.add(task);
+                        tasksById.put(task.getTaskId(), task);
+                        // tasks written before the workflow was sharded all live in the first
+                        // shard, but their updates go to the shard derived from their seq
+                        totalPartitions = Math.max(totalPartitions, getShardId(task));
                     } else {
                         throw new NonTransientException(
                                 String.format(
@@ -525,6 +711,22 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
                     }
                 }
 
+                List<Statement> shardStatements = new ArrayList<>();
+                for (int shardId = DEFAULT_SHARD_ID + 1; shardId <= totalPartitions; shardId++) {
+                    shardStatements.add(
+                            selectWorkflowWithTasksStatement.bind(workflowUUID, shardId));
+                }
+                for (ResultSet shardResultSet : executeConcurrently(shardStatements)) {
+                    for (Row row : shardResultSet) {
+                        if (ENTITY_TYPE_TASK.equals(row.getString(ENTITY_KEY))) {
+                            // a task found outside the first shard is always its latest version
+                            TaskModel task = readValue(row.getString(PAYLOAD_KEY), TaskModel.class);
+                            tasksById.put(task.getTaskId(), task);
+                        }
+                    }
+                }
+                List<TaskModel> tasks = new ArrayList<>(tasksById.values());
+
                 if (workflow != null) {
                     recordCassandraDaoRequests("getWorkflow", "n/a", workflow.getWorkflowName());
                     tasks.sort(Comparator.comparingInt(TaskModel::getSeq));
@@ -754,7 +956,6 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
     }
 
     protected boolean removeTask(TaskModel task) {
-        // TODO: calculate shard number based on seq and maxTasksPerShard
         try {
             // get total tasks for this workflow
             WorkflowMetadata workflowMetadata = getWorkflowMetadata(task.getWorkflowInstanceId());
@@ -771,6 +972,14 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
                             UUID.fromString(task.getWorkflowInstanceId()),
                             DEFAULT_SHARD_ID,
                             task.getTaskId()));
+            int shardId = getShardId(task);
+            if (shardId != DEFAULT_SHARD_ID) {
+                batchStatement.add(
+                        deleteTaskStatement.bind(
+                                UUID.fromString(task.getWorkflowInstanceId()),
+                                shardId,
+                                task.getTaskId()));
+            }
             batchStatement.add(
                     updateTotalTasksStatement.bind(
                             totalTasks - 1,
@@ -807,6 +1016,40 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         }
     }
 
+    /**
+     * Tasks are assigned to shards of {@link CassandraProperties#getShardSize()} tasks each, in
+     * the order of their sequence number. A shard size of zero or less disables sharding.
+     *
+     * <p><b>Note:</b> the shard size must not be changed while workflows are in progress, since
+     * the shard of an existing task would no longer be found.
+     */
+    @VisibleForTesting
+    int getShardId(TaskModel task) {
+        int shardSize = properties.getShardSize();
+        if (shardSize <= 0 || task.getSeq() <= 0) {
+            return DEFAULT_SHARD_ID;
+        }
+        return DEFAULT_SHARD_ID + (task.getSeq() - 1) / shardSize;
+    }
+
+    private TaskModel readTask(ResultSet resultSet) {
+        return Optional.ofNullable(resultSet.one())
+                .map(
+                        row -> {
+                            String taskRow = row.getString(PAYLOAD_KEY);
+                            TaskModel task = readValue(taskRow, TaskModel.class);
+                            recordCassandraDaoRequests(
+                                    "getTask", task.getTaskType(), task.getWorkflowType());
+                            recordCassandraDaoPayloadSize(
+                                    "getTask",
+                                    taskRow.length(),
+                                    task.getTaskType(),
+                                    task.getWorkflowType());
+                            return task;
+                        })
+                .orElse(null);
+    }
+
     @VisibleForTesting
     void validateTasks(List<TaskModel> tasks) {
         Preconditions.checkNotNull(tasks, "Tasks object cannot be null");
@@ -854,12 +1097,19 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
 
     @VisibleForTesting
     String lookupWorkflowIdFromTaskId(String taskId) {
+        return Optional.ofNullable(lookupTask(taskId))
+                .map(row -> row.getUUID(WORKFLOW_ID_KEY).toString())
+                .orElse(null);
+    }
+
+    /**
+     * @return the task_lookup row of the task with its workflow_id and shard_id, null if the task
+     *     is not found
+     */
+    private Row lookupTask(String taskId) {
         UUID taskUUID = toUUID(taskId, "Invalid task id");
         try {
-            ResultSet resultSet = session.execute(selectTaskLookupStatement.bind(taskUUID));
-            return Optional.ofNullable(resultSet.one())
-                    .map(row -> row.getUUID(WORKFLOW_ID_KEY).toString())
-                    .orElse(null);
+            return session.execute(selectTaskLookupStatement.bind(taskUUID)).one();
         } catch (DriverException e) {
             Monitors.error(CLASS_NAME, "lookupWorkflowIdFromTaskId");
             String errorMsg = String.format("Failed to lookup workflowId from taskId: %s", taskId);
@@ -29,6 +29,12 @@ public class CassandraPollDataDAO implements PollDataDAO {
                 "This method is not implemented in CassandraPollDataDAO. Please use ExecutionDAOFacade instead.");
     }
 
+    @Override
+    public void updateLastPollData(List<PollData> pollData) {
+        throw new UnsupportedOperationException(
+                "This method is not implemented in CassandraPollDataDAO. Please use ExecutionDAOFacade instead.");
+    }
+
     @Override
     public PollData getPollData(String taskDefName, String domain) {
         throw new UnsupportedOperationException(
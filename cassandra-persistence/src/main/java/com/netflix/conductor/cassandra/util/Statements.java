@@ -48,6 +48,7 @@ import static com.netflix.conductor.cassandra.util.Constants.WORKFLOW_VERSION_KE
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.in;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
 
 /**
@@ -92,10 +93,12 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
  *       shard_id=1;
  *   <li>SELECT payload FROM conductor.workflows WHERE workflow_id=? AND shard_id=? AND
  *       entity='task' AND task_id=?;
+ *   <li>SELECT payload,total_partitions FROM conductor.workflows WHERE workflow_id=? AND
+ *       shard_id=? AND entity='task' AND task_id IN ?;
  *   <li>SELECT payload FROM conductor.workflows WHERE workflow_id=? AND shard_id=1 AND
  *       entity='workflow';
  *   <li>SELECT * FROM conductor.workflows WHERE workflow_id=? AND shard_id=?;
- *   <li>SELECT workflow_id FROM conductor.task_lookup WHERE task_id=?;
+ *   <li>SELECT workflow_id,shard_id FROM conductor.task_lookup WHERE task_id=?;
  *   <li>SELECT * FROM conductor.task_def_limit WHERE task_def_name=?;
  *   <li>SELECT * FROM conductor.event_executions WHERE message_id=? AND event_handler_name=?;
  *   <li>UPDATE conductor.workflows SET payload=? WHERE workflow_id=? AND shard_id=1 AND
@@ -103,7 +106,7 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
  *   <li>UPDATE conductor.workflows SET total_tasks=? WHERE workflow_id=? AND shard_id=?;
  *   <li>UPDATE conductor.workflows SET total_partitions=?,total_tasks=? WHERE workflow_id=? AND
  *       shard_id=1;
- *   <li>UPDATE conductor.task_lookup SET workflow_id=? WHERE task_id=?;
+ *   <li>UPDATE conductor.task_lookup SET workflow_id=?,shard_id=? WHERE task_id=?;
  *   <li>UPDATE conductor.task_def_limit SET workflow_id=? WHERE task_def_name=? AND task_id=?;
  *   <li>UPDATE conductor.event_executions USING TTL ? SET payload=? WHERE message_id=? AND
  *       event_handler_name=? AND event_execution_id=?;
@@ -365,6 +368,20 @@ public class Statements {
                 .getQueryString();
     }
 
+    /**
+     * @return cql query statement to retrieve a list of tasks of a workflow shard from the
+     *     "workflows" table
+     */
+    public String getSelectTasksStatement() {
+        return QueryBuilder.select(PAYLOAD_KEY, TOTAL_PARTITIONS_KEY)
+                .from(keyspace, TABLE_WORKFLOWS)
+                .where(eq(WORKFLOW_ID_KEY, bindMarker()))
+                .and(eq(SHARD_ID_KEY, bindMarker()))
+                .and(eq(ENTITY_KEY, ENTITY_TYPE_TASK))
+                .and(in(TASK_ID_KEY, bindMarker()))
+                .getQueryString();
+    }
+
     /**
      * @return cql query statement to retrieve a workflow (without its tasks) from the "workflows"
      *     table
@@ -391,11 +408,11 @@ public class Statements {
     }
 
     /**
-     * @return cql query statement to retrieve the workflow_id for a particular task_id from the
-     *     "task_lookup" table
+     * @return cql query statement to retrieve the workflow_id and shard_id for a particular
+     *     task_id from the "task_lookup" table
      */
     public String getSelectTaskFromLookupTableStatement() {
-        return QueryBuilder.select(WORKFLOW_ID_KEY)
+        return QueryBuilder.select(WORKFLOW_ID_KEY, SHARD_ID_KEY)
                 .from(keyspace, TABLE_TASK_LOOKUP)
                 .where(eq(TASK_ID_KEY, bindMarker()))
                 .getQueryString();
@@ -467,12 +484,13 @@ public class Statements {
     }
 
     /**
-     * @return cql query statement to add a new task_id to workflow_id mapping to the "task_lookup"
-     *     table
+     * @return cql query statement to add a new task_id to workflow_id and shard_id mapping to the
+     *     "task_lookup" table
      */
     public String getUpdateTaskLookupStatement() {
         return QueryBuilder.update(keyspace, TABLE_TASK_LOOKUP)
                 .with(set(WORKFLOW_ID_KEY, bindMarker()))
+                .and(set(SHARD_ID_KEY, bindMarker()))
                 .where(eq(TASK_ID_KEY, bindMarker()))
                 .getQueryString();
     }
@@ -440,6 +440,131 @@ class CassandraExecutionDAOSpec extends CassandraSpec {
         (0..999).collect {found.getTaskByRefName(""+it) == taskList.get(it)}
     }
 
+    def "read tasks of several workflows by id"() {
+        given: 'two workflows with tasks'
+        def taskLists = (1..2).collect { i ->
+            String workflowId = new IDGenerator().generate()
+            WorkflowDef workflowDef = new WorkflowDef(name: 'def1', version: 1)
+            WorkflowModel workflow = new WorkflowModel(workflowDefinition: workflowDef, workflowId: workflowId, input: new HashMap(), status: WorkflowModel.Status.RUNNING, createTime: System.currentTimeMillis())
+            executionDAO.createWorkflow(workflow)
+            def taskList = (1..3).collect {
+                new TaskModel(workflowInstanceId: workflowId, taskType: 'task' + it, referenceTaskName: 'task' + it, seq: it, status: TaskModel.Status.SCHEDULED, taskId: new IDGenerator().generate())
+            }
+            executionDAO.createTasks(taskList)
+            taskList
+        }
+
+        when: 'read tasks from both workflows and an unknown id'
+        def fetchedTasks = executionDAO.getTasks([taskLists[1][2].taskId, new IDGenerator().generate(), taskLists[0][0].taskId, taskLists[1][0].taskId])
+
+        then: 'the known tasks are returned in the requested order'
+        fetchedTasks == [taskLists[1][2], taskLists[0][0], taskLists[1][0]]
+    }
+
+    def "tasks are spread across shards by sequence number"() {
+        given: 'a dao with a shard size of 2 tasks'
+        def shardedDAO = new CassandraExecutionDAO(session, objectMapper, mockCassandraProperties(2), statements)
+
+        and: 'a workflow'
+        String workflowId = new IDGenerator().generate()
+        WorkflowDef workflowDef = new WorkflowDef(name: 'def1', version: 1)
+        WorkflowModel workflow = new WorkflowModel(workflowDefinition: workflowDef, workflowId: workflowId, input: new HashMap(), status: WorkflowModel.Status.RUNNING, createTime: System.currentTimeMillis())
+        shardedDAO.createWorkflow(workflow)
+
+        and: 'five tasks for this workflow'
+        def taskList = (1..5).collect {
+            new TaskModel(workflowInstanceId: workflowId, taskType: 'task' + it, referenceTaskName: 'task' + it, seq: it, status: TaskModel.Status.SCHEDULED, taskId: new IDGenerator().generate())
+        }
+
+        when: 'add the tasks to the datastore'
+        shardedDAO.createTasks(taskList)
+
+        then: 'the partitions are recorded'
+        def workflowMetadata = shardedDAO.getWorkflowMetadata(workflowId)
+        workflowMetadata.totalTasks == 5
+        workflowMetadata.totalPartitions == 3
+        taskList.collect { shardedDAO.getShardId(it) } == [1, 1, 2, 2, 3]
+
+        when: 'a task in the last shard is updated'
+        taskList[4].setStatus(TaskModel.Status.COMPLETED)
+        shardedDAO.updateTask(taskList[4])
+
+        then: 'every shard is read back'
+        shardedDAO.getTask(taskList[4].taskId).status == TaskModel.Status.COMPLETED
+        def found = shardedDAO.getWorkflow(workflowId, true)
+        found.tasks == taskList
+        shardedDAO.getTasks([taskList[0].taskId, taskList[3].taskId]) == [taskList[0], taskList[3]]
+
+        when: 'a task in the second shard is removed'
+        shardedDAO.removeTask(taskList[2].taskId)
+
+        then:
+        shardedDAO.getTask(taskList[2].taskId) == null
+        shardedDAO.getWorkflow(workflowId, true).tasks.size() == 4
+
+        when: 'the workflow is removed'
+        boolean removed = shardedDAO.removeWorkflow(workflowId)
+
+        then: 'all shards are removed'
+        removed
+        shardedDAO.getWorkflow(workflowId, true) == null
+        (1..3).every { session.execute(statements.selectWorkflowWithTasksStatement, UUID.fromString(workflowId), it).all().isEmpty() }
+    }
+
+    def "tasks are read from the shard recorded in the task lookup"() {
+        given: 'a dao with a shard size of 2 tasks'
+        def shardedDAO = new CassandraExecutionDAO(session, objectMapper, mockCassandraProperties(2), statements)
+
+        and: 'a workflow with three tasks'
+        String workflowId = new IDGenerator().generate()
+        WorkflowDef workflowDef = new WorkflowDef(name: 'def1', version: 1)
+        WorkflowModel workflow = new WorkflowModel(workflowDefinition: workflowDef, workflowId: workflowId, input: new HashMap(), status: WorkflowModel.Status.RUNNING, createTime: System.currentTimeMillis())
+        shardedDAO.createWorkflow(workflow)
+        def taskList = (1..3).collect {
+            new TaskModel(workflowInstanceId: workflowId, taskType: 'task' + it, referenceTaskName: 'task' + it, seq: it, status: TaskModel.Status.SCHEDULED, taskId: new IDGenerator().generate())
+        }
+        shardedDAO.createTasks(taskList)
+
+        expect: 'the shard of each task is recorded'
+        taskList.collect {
+            session.execute("SELECT shard_id FROM junit.task_lookup WHERE task_id=?", UUID.fromString(it.taskId)).one().getInt('shard_id')
+        } == [1, 1, 2]
+        shardedDAO.getTask(taskList[2].taskId) == taskList[2]
+
+        when: 'the lookups are rewritten without a shard id, as before it was recorded'
+        taskList.each {
+            session.execute("UPDATE junit.task_lookup SET shard_id=null WHERE task_id=?", UUID.fromString(it.taskId))
+        }
+
+        then: 'the tasks are still found in every shard'
+        shardedDAO.getTask(taskList[2].taskId) == taskList[2]
+        shardedDAO.getTasks(taskList*.taskId) == taskList
+    }
+
+    def "tasks written before sharding are still read from the first shard"() {
+        given: 'a workflow with tasks written without sharding'
+        String workflowId = new IDGenerator().generate()
+        WorkflowDef workflowDef = new WorkflowDef(name: 'def1', version: 1)
+        WorkflowModel workflow = new WorkflowModel(workflowDefinition: workflowDef, workflowId: workflowId, input: new HashMap(), status: WorkflowModel.Status.RUNNING, createTime: System.currentTimeMillis())
+        executionDAO.createWorkflow(workflow)
+        def taskList = (1..3).collect {
+            new TaskModel(workflowInstanceId: workflowId, taskType: 'task' + it, referenceTaskName: 'task' + it, seq: it, status: TaskModel.Status.SCHEDULED, taskId: new IDGenerator().generate())
+        }
+        executionDAO.createTasks(taskList)
+
+        and: 'a dao with a shard size of 1 task'
+        def shardedDAO = new CassandraExecutionDAO(session, objectMapper, mockCassandraProperties(1), statements)
+
+        when: 'an existing task is updated into its own shard'
+        taskList[2].setStatus(TaskModel.Status.COMPLETED)
+        shardedDAO.updateTask(taskList[2])
+
+        then: 'the latest version of each task is read'
+        shardedDAO.getTask(taskList[0].taskId) == taskList[0]
+        shardedDAO.getTask(taskList[2].taskId).status == TaskModel.Status.COMPLETED
+        shardedDAO.getWorkflow(workflowId, true).tasks == taskList
+    }
+
     private static EventExecution getEventExecution(String id, String msgId, String name, String event) {
         EventExecution eventExecution = new EventExecution(id, msgId);
         eventExecution.setName(name);
@@ -52,19 +52,26 @@ abstract class CassandraSpec extends Specification {
     }
 
     def setup() {
-        String keyspaceName = "junit"
-        cassandraProperties = Mock(CassandraProperties.class) {
-            getKeyspace() >> keyspaceName
+        cassandraProperties = mockCassandraProperties(0)
+        statements = new Statements("junit")
+    }
+
+    /**
+     * @param shardSize the number of tasks per shard of the workflows table, 0 disables sharding
+     */
+    CassandraProperties mockCassandraProperties(int shardSize) {
+        return Mock(CassandraProperties.class) {
+            getKeyspace() >> "junit"
             getReplicationStrategy() >> "SimpleStrategy"
             getReplicationFactorKey() >> "replication_factor"
             getReplicationFactorValue() >> 1
             getReadConsistencyLevel() >> ConsistencyLevel.LOCAL_ONE
             getWriteConsistencyLevel() >> ConsistencyLevel.LOCAL_ONE
+            getMaxConcurrentRequests() >> 8
             getTaskDefCacheRefreshInterval() >> Duration.ofSeconds(60)
             getEventHandlerCacheRefreshInterval() >> Duration.ofSeconds(60)
             getEventExecutionPersistenceTtl() >> Duration.ofSeconds(5)
+            getShardSize() >> shardSize
         }
-
-        statements = new Statements(keyspaceName)
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+/** Wraps a data source so that every statement prepared on its connections is counted. */
+public final class StatementCountingDataSource {
+
+    private StatementCountingDataSource() {}
+
+    public static DataSource wrap(DataSource dataSource, AtomicInteger statements) {
+        ClassLoader classLoader = StatementCountingDataSource.class.getClassLoader();
+        return (DataSource)
+                Proxy.newProxyInstance(
+                        classLoader,
+                        new Class<?>[] {DataSource.class},
+                        (proxy, method, args) -> {
+                            Object result = invoke(method, dataSource, args);
+                            if (!(result instanceof Connection connection)) {
+                                return result;
+                            }
+                            return Proxy.newProxyInstance(
+                                    classLoader,
+                                    new Class<?>[] {Connection.class},
+                                    (connectionProxy, connectionMethod, connectionArgs) -> {
+                                        if (connectionMethod.getName().equals("prepareStatement")) {
+                                            statements.incrementAndGet();
+                                        }
+                                        return invoke(
+                                                connectionMethod, connection, connectionArgs);
+                                    });
+                        });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -83,6 +83,15 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration activeWorkerLastPollTimeout = Duration.ofSeconds(10);
 
+    /**
+     * The interval at which the last poll data of task queues is written to the poll data store.
+     * Polls within an interval are coalesced into one write per task queue and domain. A zero
+     * duration writes every poll. A positive interval needs a poll data store that implements
+     * {@link com.netflix.conductor.dao.PollDataDAO#updateLastPollData(java.util.List)}.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration pollDataFlushInterval = Duration.ZERO;
+
     /**
      * The time (in seconds) for which a task execution will be postponed if being rate limited or
      * concurrent execution limited.
@@ -93,6 +102,22 @@ public class ConductorProperties {
     /** Used to enable/disable the indexing of tasks. */
     private boolean taskIndexingEnabled = true;
 
+    /**
+     * The quiet window used to coalesce the indexing of task updates when async indexing is
+     * disabled. A task is indexed once it has not been updated for this duration, or right away
+     * when it reaches a terminal state. A zero duration indexes every update. Values without a unit
+     * are in milliseconds.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration taskIndexingCoalesceWindow = Duration.ZERO;
+
+    /**
+     * The maximum time the indexing of a task that keeps being updated can be coalesced. Values
+     * without a unit are in milliseconds, like {@link #taskIndexingCoalesceWindow}.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration taskIndexingCoalesceMaxDelay = Duration.ofSeconds(10);
+
     /** Used to enable/disable the indexing of task execution logs. */
     private boolean taskExecLogIndexingEnabled = true;
 
@@ -127,6 +152,33 @@ public class ConductorProperties {
      */
     private int isolatedSystemTaskWorkerThreadCount = 1;
 
+    /**
+     * Used to execute system tasks on virtual threads. When enabled, every system task queue gets
+     * its own virtual thread executor, and the number of tasks executing concurrently per queue is
+     * bounded by the virtual thread concurrency instead of the worker thread counts.
+     */
+    private boolean systemTaskWorkerVirtualThreadsEnabled = false;
+
+    /**
+     * The maximum number of system tasks executing concurrently per queue when system tasks are
+     * executed on virtual threads.
+     */
+    private int systemTaskWorkerVirtualThreadConcurrency = 256;
+
+    /**
+     * Used to poll all system task queues from a single thread, with one {@link
+     * com.netflix.conductor.dao.QueueDAO#pop(java.util.Map)} call per poll interval, instead of
+     * polling each queue from its own thread.
+     */
+    private boolean systemTaskWorkerMultiplexedPollingEnabled = false;
+
+    /**
+     * The maximum interval at which empty system task queues are polled when multiplexed polling
+     * is enabled. Empty queues are polled less often, up to this interval, and are polled at {@link
+     * #systemTaskWorkerPollInterval} again as soon as they return messages.
+     */
+    private Duration systemTaskWorkerMaxPollBackoff = Duration.ofSeconds(1);
+
     /**
      * The duration of workflow execution which qualifies a workflow as a short-running workflow
      * when async indexing to elasticsearch is enabled.
@@ -225,6 +277,20 @@ public class ConductorProperties {
     @DataSizeUnit(DataUnit.KILOBYTES)
     private DataSize maxWorkflowVariablesPayloadSizeThreshold = DataSize.ofKilobytes(256L);
 
+    /**
+     * The size in MB of the local cache of payloads downloaded from {@link
+     * com.netflix.conductor.common.utils.ExternalPayloadStorage}. Payloads are never modified once
+     * stored, so they can be cached by their storage path. Set to 0 to disable the cache.
+     */
+    @DataSizeUnit(DataUnit.MEGABYTES)
+    private DataSize externalPayloadCacheSize = DataSize.ofMegabytes(64L);
+
+    /**
+     * The number of threads used to download the externalized payloads of a workflow and its tasks
+     * in parallel, when the workflow is loaded.
+     */
+    private int externalPayloadPrefetchThreadCount = 8;
+
     /** Used to limit the size of task execution logs. */
     private int taskExecLogSizeLimit = 10;
 
@@ -246,6 +312,33 @@ public class ConductorProperties {
     @DurationUnit(ChronoUnit.MILLIS)
     private Duration systemTaskQueuePopTimeout = Duration.ofMillis(100);
 
+    /**
+     * The number of task status notifications from task polls that can be buffered before they
+     * are dropped. By default (0) the {@link
+     * com.netflix.conductor.core.listener.TaskStatusListener} is notified on the polling thread.
+     * Buffered IN_PROGRESS notifications may be delivered after a later status of the same task,
+     * only enable the buffering for listeners that tolerate it.
+     */
+    private int taskStatusListenerQueueSize = 0;
+
+    /** The maximum number of buffered task status notifications delivered in one batch. */
+    private int taskStatusListenerBatchSize = 100;
+
+    /**
+     * The number of workflows of a bulk request that are operated on concurrently. A value of 1
+     * processes the workflows one after the other on the request thread.
+     */
+    private int bulkOperationThreadCount = 1;
+
+    /**
+     * The time (in seconds) to wait for the operations on the workflows of a bulk request. The
+     * workflows that are not done by then are reported as failed: those not started yet are
+     * dropped, and those in progress are left to complete. Only applies when {@link
+     * #bulkOperationThreadCount} is greater than 1.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration bulkOperationTimeout = Duration.ofSeconds(60);
+
     public String getStack() {
         return stack;
     }
@@ -358,6 +451,14 @@ public class ConductorProperties {
         this.activeWorkerLastPollTimeout = activeWorkerLastPollTimeout;
     }
 
+    public Duration getPollDataFlushInterval() {
+        return pollDataFlushInterval;
+    }
+
+    public void setPollDataFlushInterval(Duration pollDataFlushInterval) {
+        this.pollDataFlushInterval = pollDataFlushInterval;
+    }
+
     public Duration getTaskExecutionPostponeDuration() {
         return taskExecutionPostponeDuration;
     }
@@ -382,6 +483,22 @@ public class ConductorProperties {
         this.taskIndexingEnabled = taskIndexingEnabled;
     }
 
+    public Duration getTaskIndexingCoalesceWindow() {
+        return taskIndexingCoalesceWindow;
+    }
+
+    public void setTaskIndexingCoalesceWindow(Duration taskIndexingCoalesceWindow) {
+        this.taskIndexingCoalesceWindow = taskIndexingCoalesceWindow;
+    }
+
+    public Duration getTaskIndexingCoalesceMaxDelay() {
+        return taskIndexingCoalesceMaxDelay;
+    }
+
+    public void setTaskIndexingCoalesceMaxDelay(Duration taskIndexingCoalesceMaxDelay) {
+        this.taskIndexingCoalesceMaxDelay = taskIndexingCoalesceMaxDelay;
+    }
+
     public boolean isAsyncIndexingEnabled() {
         return asyncIndexingEnabled;
     }
@@ -438,6 +555,41 @@ public class ConductorProperties {
         this.isolatedSystemTaskWorkerThreadCount = isolatedSystemTaskWorkerThreadCount;
     }
 
+    public boolean isSystemTaskWorkerVirtualThreadsEnabled() {
+        return systemTaskWorkerVirtualThreadsEnabled;
+    }
+
+    public void setSystemTaskWorkerVirtualThreadsEnabled(
+            boolean systemTaskWorkerVirtualThreadsEnabled) {
+        this.systemTaskWorkerVirtualThreadsEnabled = systemTaskWorkerVirtualThreadsEnabled;
+    }
+
+    public int getSystemTaskWorkerVirtualThreadConcurrency() {
+        return systemTaskWorkerVirtualThreadConcurrency;
+    }
+
+    public void setSystemTaskWorkerVirtualThreadConcurrency(
+            int systemTaskWorkerVirtualThreadConcurrency) {
+        this.systemTaskWorkerVirtualThreadConcurrency = systemTaskWorkerVirtualThreadConcurrency;
+    }
+
+    public boolean isSystemTaskWorkerMultiplexedPollingEnabled() {
+        return systemTaskWorkerMultiplexedPollingEnabled;
+    }
+
+    public void setSystemTaskWorkerMultiplexedPollingEnabled(
+            boolean systemTaskWorkerMultiplexedPollingEnabled) {
+        this.systemTaskWorkerMultiplexedPollingEnabled = systemTaskWorkerMultiplexedPollingEnabled;
+    }
+
+    public Duration getSystemTaskWorkerMaxPollBackoff() {
+        return systemTaskWorkerMaxPollBackoff;
+    }
+
+    public void setSystemTaskWorkerMaxPollBackoff(Duration systemTaskWorkerMaxPollBackoff) {
+        this.systemTaskWorkerMaxPollBackoff = systemTaskWorkerMaxPollBackoff;
+    }
+
     public Duration getAsyncUpdateShortRunningWorkflowDuration() {
         return asyncUpdateShortRunningWorkflowDuration;
     }
@@ -570,6 +722,22 @@ public class ConductorProperties {
         this.maxWorkflowVariablesPayloadSizeThreshold = maxWorkflowVariablesPayloadSizeThreshold;
     }
 
+    public DataSize getExternalPayloadCacheSize() {
+        return externalPayloadCacheSize;
+    }
+
+    public void setExternalPayloadCacheSize(DataSize externalPayloadCacheSize) {
+        this.externalPayloadCacheSize = externalPayloadCacheSize;
+    }
+
+    public int getExternalPayloadPrefetchThreadCount() {
+        return externalPayloadPrefetchThreadCount;
+    }
+
+    public void setExternalPayloadPrefetchThreadCount(int externalPayloadPrefetchThreadCount) {
+        this.externalPayloadPrefetchThreadCount = externalPayloadPrefetchThreadCount;
+    }
+
     public int getTaskExecLogSizeLimit() {
         return taskExecLogSizeLimit;
     }
@@ -603,4 +771,36 @@ public class ConductorProperties {
     public void setSystemTaskQueuePopTimeout(Duration systemTaskQueuePopTimeout) {
         this.systemTaskQueuePopTimeout = systemTaskQueuePopTimeout;
     }
+
+    public int getTaskStatusListenerQueueSize() {
+        return taskStatusListenerQueueSize;
+    }
+
+    public void setTaskStatusListenerQueueSize(int taskStatusListenerQueueSize) {
+        this.taskStatusListenerQueueSize = taskStatusListenerQueueSize;
+    }
+
+    public int getTaskStatusListenerBatchSize() {
+        return taskStatusListenerBatchSize;
+    }
+
+    public void setTaskStatusListenerBatchSize(int taskStatusListenerBatchSize) {
+        this.taskStatusListenerBatchSize = taskStatusListenerBatchSize;
+    }
+
+    public int getBulkOperationThreadCount() {
+        return bulkOperationThreadCount;
+    }
+
+    public void setBulkOperationThreadCount(int bulkOperationThreadCount) {
+        this.bulkOperationThreadCount = bulkOperationThreadCount;
+    }
+
+    public Duration getBulkOperationTimeout() {
+        return bulkOperationTimeout;
+    }
+
+    public void setBulkOperationTimeout(Duration bulkOperationTimeout) {
+        this.bulkOperationTimeout = bulkOperationTimeout;
+    }
 }
@@ -13,12 +13,16 @@
 package com.netflix.conductor.core.dal;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -50,6 +54,7 @@ import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.Striped;
 import jakarta.annotation.PreDestroy;
 
 import static com.netflix.conductor.core.utils.Utils.DECIDER_QUEUE;
@@ -78,6 +83,10 @@ public class ExecutionDAOFacade {
     private final ExternalPayloadStorageUtils externalPayloadStorageUtils;
 
     private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
+    private final Map<String, PendingTaskIndex> pendingTaskIndexes = new ConcurrentHashMap<>();
+    // the index writes of a task are made one at a time, so that a deferred write can't overwrite
+    // a newer one that went out while it was in flight
+    private final Striped<Lock> taskIndexLocks = Striped.lock(64);
 
     public ExecutionDAOFacade(
             ExecutionDAO executionDAO,
@@ -94,7 +103,11 @@ public class ExecutionDAOFacade {
         this.indexDAO = indexDAO;
         this.rateLimitingDao = rateLimitingDao;
         this.concurrentExecutionLimitDAO = concurrentExecutionLimitDAO;
-        this.pollDataDAO = pollDataDAO;
+        this.pollDataDAO =
+                properties.getPollDataFlushInterval().isPositive()
+                        ? new WriteBehindPollDataDAO(
+                                pollDataDAO, properties.getPollDataFlushInterval())
+                        : pollDataDAO;
         this.objectMapper = objectMapper;
         this.properties = properties;
         this.externalPayloadStorageUtils = externalPayloadStorageUtils;
@@ -115,6 +128,10 @@ public class ExecutionDAOFacade {
     public void shutdownExecutorService() {
         try {
             LOGGER.info("Gracefully shutdown executor service");
+            pendingTaskIndexes.keySet().forEach(taskId -> indexPendingTask(taskId, true));
+            if (pollDataDAO instanceof WriteBehindPollDataDAO writeBehindPollDataDAO) {
+                writeBehindPollDataDAO.close();
+            }
             scheduledThreadPoolExecutor.shutdown();
             if (scheduledThreadPoolExecutor.awaitTermination(
                     properties.getAsyncUpdateDelay().getSeconds(), TimeUnit.SECONDS)) {
@@ -257,9 +274,9 @@ public class ExecutionDAOFacade {
                 workflowModel.getPriority(),
                 properties.getWorkflowOffsetTimeout().getSeconds());
         if (properties.isAsyncIndexingEnabled()) {
-            indexDAO.asyncIndexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+            indexDAO.asyncIndexWorkflow(workflowModel.toWorkflowSummary());
         } else {
-            indexDAO.indexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+            indexDAO.indexWorkflow(workflowModel.toWorkflowSummary());
         }
         return workflowModel.getWorkflowId();
     }
@@ -308,18 +325,15 @@ public class ExecutionDAOFacade {
                 Monitors.recordWorkerQueueSize(
                         "delayQueue", scheduledThreadPoolExecutor.getQueue().size());
             } else {
-                indexDAO.asyncIndexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+                indexDAO.asyncIndexWorkflow(workflowModel.toWorkflowSummary());
             }
             if (workflowModel.getStatus().isTerminal() && properties.isTaskIndexingEnabled()) {
                 workflowModel
                         .getTasks()
-                        .forEach(
-                                taskModel ->
-                                        indexDAO.asyncIndexTask(
-                                                new TaskSummary(taskModel.toTask())));
+                        .forEach(taskModel -> indexDAO.asyncIndexTask(taskModel.toTaskSummary()));
             }
         } else {
-            indexDAO.indexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+            indexDAO.indexWorkflow(workflowModel.toWorkflowSummary());
         }
         return workflowModel.getWorkflowId();
     }
@@ -491,6 +505,25 @@ public class ExecutionDAOFacade {
         return taskModel;
     }
 
+    /**
+     * Fetches the given tasks with a single {@link ExecutionDAO#getTasks(List)} call and
+     * sets up their externalized payloads to be loaded on first access.
+     *
+     * @param taskIds the ids of the tasks to be fetched
+     * @return the tasks that were found, tasks that do not exist are skipped
+     */
+    public List<TaskModel> getTaskModels(List<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<TaskModel> taskModels =
+                executionDAO.getTasks(taskIds).stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+        taskModels.forEach(this::populateTaskData);
+        return taskModels;
+    }
+
     public Task getTask(String taskId) {
         TaskModel taskModel = getTaskFromDatastore(taskId);
         if (taskModel != null) {
@@ -530,6 +563,30 @@ public class ExecutionDAOFacade {
      *     payload fails.
      */
     public void updateTask(TaskModel taskModel) {
+        prepareTaskUpdate(taskModel);
+        executionDAO.updateTask(taskModel);
+        indexTaskUpdate(taskModel);
+    }
+
+    /**
+     * Same as {@link #updateTask(TaskModel)}, but the tasks are written to the {@link
+     * ExecutionDAO} with a single {@link ExecutionDAO#updateTasks(List)} call.
+     *
+     * @param tasks the tasks to be updated in the data store
+     * @throws TransientException if the {@link IndexDAO} or {@link ExecutionDAO} operations fail.
+     * @throws com.netflix.conductor.core.exception.NonTransientException if the externalization of
+     *     payload fails.
+     */
+    public void updateTasks(List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        tasks.forEach(this::prepareTaskUpdate);
+        executionDAO.updateTasks(tasks);
+        tasks.forEach(this::indexTaskUpdate);
+    }
+
+    private void prepareTaskUpdate(TaskModel taskModel) {
         if (taskModel.getStatus() != null) {
             if (!taskModel.getStatus().isTerminal()
                     || (taskModel.getStatus().isTerminal() && taskModel.getUpdateTime() == 0)) {
@@ -540,7 +597,9 @@ public class ExecutionDAOFacade {
             }
         }
         externalizeTaskData(taskModel);
-        executionDAO.updateTask(taskModel);
+    }
+
+    private void indexTaskUpdate(TaskModel taskModel) {
         try {
             /*
              * Indexing a task for every update adds a lot of volume. That is ok but if async indexing
@@ -549,7 +608,22 @@ public class ExecutionDAOFacade {
              * If it *is* enabled, tasks will be indexed only when a workflow is in terminal state.
              */
             if (!properties.isAsyncIndexingEnabled() && properties.isTaskIndexingEnabled()) {
-                indexDAO.indexTask(new TaskSummary(taskModel.toTask()));
+                TaskSummary taskSummary = taskModel.toTaskSummary();
+                if (properties.getTaskIndexingCoalesceWindow().isZero()) {
+                    indexDAO.indexTask(taskSummary);
+                } else if (taskModel.getStatus() == null || taskModel.getStatus().isTerminal()) {
+                    Lock lock = taskIndexLocks.get(taskModel.getTaskId());
+                    lock.lock();
+                    try {
+                        // drops the pending update, if any, so it isn't indexed after this one
+                        pendingTaskIndexes.remove(taskModel.getTaskId());
+                        indexDAO.indexTask(taskSummary);
+                    } finally {
+                        lock.unlock();
+                    }
+                } else {
+                    coalesceTaskIndex(taskModel.getTaskId(), taskSummary);
+                }
             }
         } catch (TerminateWorkflowException e) {
             // re-throw it so we can terminate the workflow
@@ -564,19 +638,95 @@ public class ExecutionDAOFacade {
         }
     }
 
-    public void updateTasks(List<TaskModel> tasks) {
-        tasks.forEach(this::updateTask);
+    /**
+     * Keeps the latest summary of a task that is not in a terminal state, it is indexed once the
+     * task has not been updated for {@link ConductorProperties#getTaskIndexingCoalesceWindow()}.
+     */
+    private void coalesceTaskIndex(String taskId, TaskSummary taskSummary) {
+        long now = System.currentTimeMillis();
+        PendingTaskIndex created = new PendingTaskIndex(taskSummary, now, now);
+        PendingTaskIndex pending =
+                pendingTaskIndexes.merge(
+                        taskId,
+                        created,
+                        (previous, latest) ->
+                                new PendingTaskIndex(taskSummary, previous.firstUpdateTime(), now));
+        if (pending == created) {
+            scheduleTaskIndex(taskId, properties.getTaskIndexingCoalesceWindow().toMillis());
+        } else {
+            Monitors.recordTaskIndexCoalesced(taskSummary.getTaskDefName());
+        }
+    }
+
+    private void scheduleTaskIndex(String taskId, long delay) {
+        scheduledThreadPoolExecutor.schedule(
+                () -> indexPendingTask(taskId, false), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void indexPendingTask(String taskId, boolean force) {
+        Duration window = properties.getTaskIndexingCoalesceWindow();
+        Duration maxDelay = properties.getTaskIndexingCoalesceMaxDelay();
+        PendingTaskIndex pending;
+        while ((pending = pendingTaskIndexes.get(taskId)) != null) {
+            long now = System.currentTimeMillis();
+            long remaining =
+                    Math.min(
+                            pending.updateTime() + window.toMillis() - now,
+                            pending.firstUpdateTime() + maxDelay.toMillis() - now);
+            if (!force && remaining > 0) {
+                scheduleTaskIndex(taskId, remaining);
+                return;
+            }
+            // the entry is removed before indexing, so the index call never holds the map's lock,
+            // a concurrent update replaces the entry and is looked at again. A terminal update
+            // that removed it first has been indexed already and wins.
+            Lock lock = taskIndexLocks.get(taskId);
+            lock.lock();
+            try {
+                if (pendingTaskIndexes.remove(taskId, pending)) {
+                    indexDAO.indexTask(pending.taskSummary());
+                    return;
+                }
+            } catch (Exception e) {
+                Monitors.error(ExecutionDAOFacade.class.getSimpleName(), "indexPendingTask");
+                LOGGER.error("Unable to index task: {}", taskId, e);
+                return;
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
     public void removeTask(String taskId) {
         executionDAO.removeTask(taskId);
     }
 
+    /**
+     * Removes the given tasks from the {@link ExecutionDAO} with a single {@link
+     * ExecutionDAO#removeTasks(List)} call.
+     *
+     * @param tasks the tasks to be removed from the data store
+     */
+    public void removeTasks(List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        executionDAO.removeTasks(tasks);
+    }
+
     private void removeTaskIndex(WorkflowModel workflow, TaskModel task, boolean archiveTask)
             throws JsonProcessingException {
         if (!properties.isTaskIndexingEnabled()) {
             return;
         }
+        Lock lock = taskIndexLocks.get(task.getTaskId());
+        lock.lock();
+        try {
+            // waits for a deferred write in flight, so it doesn't land after the removal
+            pendingTaskIndexes.remove(task.getTaskId());
+        } finally {
+            lock.unlock();
+        }
         if (archiveTask) {
             if (task.getStatus().isTerminal()) {
                 // Only allow archival if task is in terminal state
@@ -752,6 +902,14 @@ public class ExecutionDAOFacade {
      *     external storage (if applicable)
      */
     public void populateWorkflowAndTaskPayloadData(WorkflowModel workflowModel) {
+        // the task payloads are loaded lazily, only the workflow payloads are downloaded here
+        List<String> payloadPaths = new ArrayList<>();
+        addPayloadPath(payloadPaths, workflowModel.getExternalInputPayloadStoragePath());
+        addPayloadPath(payloadPaths, workflowModel.getExternalOutputPayloadStoragePath());
+        if (payloadPaths.size() > 1) {
+            externalPayloadStorageUtils.prefetchPayloads(payloadPaths);
+        }
+
         if (StringUtils.isNotBlank(workflowModel.getExternalInputPayloadStoragePath())) {
             Map<String, Object> workflowInputParams =
                     externalPayloadStorageUtils.downloadPayload(
@@ -777,30 +935,65 @@ public class ExecutionDAOFacade {
         workflowModel.getTasks().forEach(this::populateTaskData);
     }
 
+    /**
+     * Sets up the externalized input and output of the task to be downloaded when they are first
+     * accessed, so that the payloads of tasks whose data is never looked at are not downloaded.
+     *
+     * @param taskModel the task for which the payload data needs to be populated from external
+     *     storage (if applicable)
+     */
     public void populateTaskData(TaskModel taskModel) {
         if (StringUtils.isNotBlank(taskModel.getExternalOutputPayloadStoragePath())) {
-            Map<String, Object> outputData =
-                    externalPayloadStorageUtils.downloadPayload(
-                            taskModel.getExternalOutputPayloadStoragePath());
-            taskModel.internalizeOutput(outputData);
-            Monitors.recordExternalPayloadStorageUsage(
-                    taskModel.getTaskDefName(),
-                    ExternalPayloadStorage.Operation.READ.toString(),
-                    ExternalPayloadStorage.PayloadType.TASK_OUTPUT.toString());
+            String path = taskModel.getExternalOutputPayloadStoragePath();
+            taskModel.internalizeOutput(
+                    () -> {
+                        Map<String, Object> outputData = downloadTaskPayload(taskModel, path);
+                        Monitors.recordExternalPayloadStorageUsage(
+                                taskModel.getTaskDefName(),
+                                ExternalPayloadStorage.Operation.READ.toString(),
+                                ExternalPayloadStorage.PayloadType.TASK_OUTPUT.toString());
+                        return outputData;
+                    });
         }
 
         if (StringUtils.isNotBlank(taskModel.getExternalInputPayloadStoragePath())) {
-            Map<String, Object> inputData =
-                    externalPayloadStorageUtils.downloadPayload(
-                            taskModel.getExternalInputPayloadStoragePath());
-            taskModel.internalizeInput(inputData);
-            Monitors.recordExternalPayloadStorageUsage(
-                    taskModel.getTaskDefName(),
-                    ExternalPayloadStorage.Operation.READ.toString(),
-                    ExternalPayloadStorage.PayloadType.TASK_INPUT.toString());
+            String path = taskModel.getExternalInputPayloadStoragePath();
+            taskModel.internalizeInput(
+                    () -> {
+                        Map<String, Object> inputData = downloadTaskPayload(taskModel, path);
+                        Monitors.recordExternalPayloadStorageUsage(
+                                taskModel.getTaskDefName(),
+                                ExternalPayloadStorage.Operation.READ.toString(),
+                                ExternalPayloadStorage.PayloadType.TASK_INPUT.toString());
+                        return inputData;
+                    });
         }
     }
 
+    private Map<String, Object> downloadTaskPayload(TaskModel taskModel, String path) {
+        try {
+            return externalPayloadStorageUtils.downloadPayload(path);
+        } catch (RuntimeException e) {
+            // the payload is downloaded by whichever caller first reads it, record which task
+            LOGGER.error(
+                    "Unable to load the payload of task: {} in workflow: {} from path: {}",
+                    taskModel.getTaskId(),
+                    taskModel.getWorkflowInstanceId(),
+                    path,
+                    e);
+            throw e;
+        }
+    }
+
+    private void addPayloadPath(List<String> payloadPaths, String path) {
+        if (StringUtils.isNotBlank(path)) {
+            payloadPaths.add(path);
+        }
+    }
+
+    private record PendingTaskIndex(
+            TaskSummary taskSummary, long firstUpdateTime, long updateTime) {}
+
     class DelayWorkflowUpdate implements Runnable {
 
         private final String workflowId;
@@ -813,7 +1006,7 @@ public class ExecutionDAOFacade {
         public void run() {
             try {
                 WorkflowModel workflowModel = executionDAO.getWorkflow(workflowId, false);
-                indexDAO.asyncIndexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+                indexDAO.asyncIndexWorkflow(workflowModel.toWorkflowSummary());
             } catch (Exception e) {
                 LOGGER.error("Unable to update workflow: {}", workflowId, e);
             }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.tasks.PollData;
+import com.netflix.conductor.dao.PollDataDAO;
+import com.netflix.conductor.metrics.Monitors;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A {@link PollDataDAO} that keeps the most recent poll of every task queue and domain in memory
+ * and writes them to the underlying store with {@link PollDataDAO#updateLastPollData(List)} once
+ * per flush interval, instead of writing every poll. Polls that are not flushed yet are visible to
+ * the reads.
+ */
+public class WriteBehindPollDataDAO implements PollDataDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindPollDataDAO.class);
+
+    private final PollDataDAO delegate;
+    private final Map<PollDataKey, PollData> pendingPollData = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor;
+
+    public WriteBehindPollDataDAO(PollDataDAO delegate, Duration flushInterval) {
+        Preconditions.checkArgument(
+                flushInterval.isPositive(), "poll data flush interval must be positive");
+        this.delegate = delegate;
+        this.flushExecutor =
+                Executors.newSingleThreadScheduledExecutor(
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("poll-data-flush-%d")
+                                .daemon(true)
+                                .build());
+        long interval = flushInterval.toMillis();
+        flushExecutor.scheduleWithFixedDelay(
+                this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void updateLastPollData(String taskDefName, String domain, String workerId) {
+        Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
+        PollData pollData = new PollData(taskDefName, domain, workerId, System.currentTimeMillis());
+        pendingPollData.put(new PollDataKey(taskDefName, domain), pollData);
+    }
+
+    @Override
+    public void updateLastPollData(List<PollData> pollData) {
+        pollData.forEach(data -> pendingPollData.put(PollDataKey.of(data), data));
+    }
+
+    @Override
+    public PollData getPollData(String taskDefName, String domain) {
+        PollData pending = pendingPollData.get(new PollDataKey(taskDefName, domain));
+        return pending != null ? pending : delegate.getPollData(taskDefName, domain);
+    }
+
+    @Override
+    public List<PollData> getPollData(String taskDefName) {
+        return withPendingPollData(delegate.getPollData(taskDefName), taskDefName);
+    }
+
+    @Override
+    public List<PollData> getAllPollData() {
+        return withPendingPollData(delegate.getAllPollData(), null);
+    }
+
+    /**
+     * Writes the polls recorded since the last flush to the underlying store. Polls that fail to
+     * be written are kept and retried on the next flush, unless a newer poll replaced them.
+     */
+    public void flush() {
+        Map<PollDataKey, PollData> batch = new HashMap<>(pendingPollData);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            delegate.updateLastPollData(new ArrayList<>(batch.values()));
+            // a poll recorded while the batch was being written replaced its entry and is kept
+            batch.forEach((key, data) -> pendingPollData.remove(key, data));
+        } catch (Exception e) {
+            LOGGER.error("Failed to flush the poll data of {} task queues", batch.size(), e);
+            Monitors.error(WriteBehindPollDataDAO.class.getCanonicalName(), "flush");
+        }
+    }
+
+    /** Stops the periodic flush and writes the polls that are still pending. */
+    public void close() {
+        flushExecutor.shutdown();
+        flush();
+    }
+
+    private List<PollData> withPendingPollData(List<PollData> stored, String taskDefName) {
+        if (pendingPollData.isEmpty()) {
+            return stored;
+        }
+        Map<PollDataKey, PollData> merged = new LinkedHashMap<>();
+        stored.forEach(data -> merged.put(PollDataKey.of(data), data));
+        pendingPollData.forEach(
+                (key, data) -> {
+                    if (taskDefName == null || taskDefName.equals(key.queueName())) {
+                        merged.put(key, data);
+                    }
+                });
+        return new ArrayList<>(merged.values());
+    }
+
+    private record PollDataKey(String queueName, String domain) {
+
+        static PollDataKey of(PollData pollData) {
+            return new PollDataKey(pollData.getQueueName(), pollData.getDomain());
+        }
+    }
+}
@@ -66,12 +66,14 @@ public class DoWhile extends WorkflowSystemTask {
          */
         Map<String, TaskModel> relevantTasks = new LinkedHashMap<>();
         TaskModel relevantTask;
-        for (TaskModel t : workflow.getTasks()) {
-            if (doWhileTaskModel
-                            .getWorkflowTask()
-                            .has(TaskUtils.removeIterationFromTaskRefName(t.getReferenceTaskName()))
-                    && !doWhileTaskModel.getReferenceTaskName().equals(t.getReferenceTaskName())
-                    && doWhileTaskModel.getIteration() == t.getIteration()) {
+        int currentIteration = doWhileTaskModel.getIteration();
+        List<TaskModel> iterationTasks =
+                workflow.getTasksByIteration(
+                        getLoopReferenceNames(doWhileTaskModel),
+                        currentIteration,
+                        currentIteration);
+        for (TaskModel t : iterationTasks) {
+            if (!doWhileTaskModel.getReferenceTaskName().equals(t.getReferenceTaskName())) {
                 relevantTask = relevantTasks.get(t.getReferenceTaskName());
                 if (relevantTask == null || t.getRetryCount() > relevantTask.getRetryCount()) {
                     relevantTasks.put(t.getReferenceTaskName(), t);
@@ -209,31 +211,45 @@ public class DoWhile extends WorkflowSystemTask {
 
         // Find and remove tasks from old iterations
         List<TaskModel> tasksToRemove =
-                workflow.getTasks().stream()
+                workflow
+                        .getTasksByIteration(
+                                getLoopReferenceNames(doWhileTaskModel),
+                                Integer.MIN_VALUE,
+                                iterationsToRemove)
+                        .stream()
+                        // Skip the DO_WHILE task itself
                         .filter(
-                                task -> {
-                                    // Check if this task belongs to the DO_WHILE loop
-                                    String taskRefWithoutIteration =
-                                            TaskUtils.removeIterationFromTaskRefName(
-                                                    task.getReferenceTaskName());
-                                    boolean belongsToLoop =
-                                            doWhileTaskModel
-                                                            .getWorkflowTask()
-                                                            .has(taskRefWithoutIteration)
-                                                    && !doWhileTaskModel
-                                                            .getReferenceTaskName()
-                                                            .equals(task.getReferenceTaskName());
-
-                                    // Check if this task is from an old iteration that should be
-                                    // removed
-                                    boolean isOldIteration =
-                                            task.getIteration() <= iterationsToRemove;
-
-                                    return belongsToLoop && isOldIteration;
-                                })
+                                task ->
+                                        !doWhileTaskModel
+                                                .getReferenceTaskName()
+                                                .equals(task.getReferenceTaskName()))
                         .collect(Collectors.toList());
 
-        // Remove each task from the database
+        if (tasksToRemove.isEmpty()) {
+            return;
+        }
+
+        // Remove the tasks from the database in bulk
+        try {
+            executionDAOFacade.removeTasks(tasksToRemove);
+        } catch (Exception e) {
+            LOGGER.warn(
+                    "Failed to remove {} tasks of old iterations from workflow {} in bulk, removing them one by one",
+                    tasksToRemove.size(),
+                    workflow.getWorkflowId(),
+                    e);
+            removeTasks(workflow, tasksToRemove);
+        }
+
+        LOGGER.info(
+                "Removed {} tasks from {} old iterations for DO_WHILE task {} in workflow {}",
+                tasksToRemove.size(),
+                iterationsToRemove,
+                doWhileTaskModel.getReferenceTaskName(),
+                workflow.getWorkflowId());
+    }
+
+    private void removeTasks(WorkflowModel workflow, List<TaskModel> tasksToRemove) {
         for (TaskModel taskToRemove : tasksToRemove) {
             try {
                 LOGGER.debug(
@@ -252,13 +268,16 @@ public class DoWhile extends WorkflowSystemTask {
                 // Continue with other tasks even if one fails
             }
         }
+    }
 
-        LOGGER.info(
-                "Removed {} tasks from {} old iterations for DO_WHILE task {} in workflow {}",
-                tasksToRemove.size(),
-                iterationsToRemove,
-                doWhileTaskModel.getReferenceTaskName(),
-                workflow.getWorkflowId());
+    /**
+     * @return the reference names of the tasks inside the DO_WHILE, including nested ones, and of
+     *     the DO_WHILE task itself
+     */
+    private Set<String> getLoopReferenceNames(TaskModel doWhileTaskModel) {
+        return doWhileTaskModel.getWorkflowTask().collectTasks().stream()
+                .map(WorkflowTask::getTaskReferenceName)
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -467,17 +486,11 @@ public class DoWhile extends WorkflowSystemTask {
                         taskDefinition);
         conditionInput.put(task.getReferenceTaskName(), task.getOutputData());
         List<TaskModel> loopOver =
-                workflow.getTasks().stream()
-                        .filter(
-                                t ->
-                                        (task.getWorkflowTask()
-                                                        .has(
-                                                                TaskUtils
-                                                                        .removeIterationFromTaskRefName(
-                                                                                t
-                                                                                        .getReferenceTaskName()))
-                                                && !task.getReferenceTaskName()
-                                                        .equals(t.getReferenceTaskName())))
+                workflow
+                        .getTasksByIteration(
+                                getLoopReferenceNames(task), Integer.MIN_VALUE, Integer.MAX_VALUE)
+                        .stream()
+                        .filter(t -> !task.getReferenceTaskName().equals(t.getReferenceTaskName()))
                         .collect(Collectors.toList());
 
         for (TaskModel loopOverTask : loopOver) {
@@ -23,15 +23,31 @@ class ExecutionConfig {
 
     private final ExecutorService executorService;
     private final SemaphoreUtil semaphoreUtil;
+    private final int concurrency;
 
     ExecutionConfig(int threadCount, String threadNameFormat) {
-
-        this.executorService =
+        this(
                 Executors.newFixedThreadPool(
                         threadCount,
-                        new BasicThreadFactory.Builder().namingPattern(threadNameFormat).build());
+                        new BasicThreadFactory.Builder().namingPattern(threadNameFormat).build()),
+                threadCount);
+    }
+
+    private ExecutionConfig(ExecutorService executorService, int concurrency) {
+        this.executorService = executorService;
+        this.semaphoreUtil = new SemaphoreUtil(concurrency);
+        this.concurrency = concurrency;
+    }
 
-        this.semaphoreUtil = new SemaphoreUtil(threadCount);
+    /**
+     * Creates an execution config that starts a new virtual thread per task, with the number of
+     * concurrently executing tasks bounded by the semaphore instead of a thread count.
+     */
+    static ExecutionConfig virtualThreads(int concurrency, String threadNamePrefix) {
+        return new ExecutionConfig(
+                Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name(threadNamePrefix, 0).factory()),
+                concurrency);
     }
 
     public ExecutorService getExecutorService() {
@@ -41,4 +57,8 @@ class ExecutionConfig {
     public SemaphoreUtil getSemaphoreUtil() {
         return semaphoreUtil;
     }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
 }
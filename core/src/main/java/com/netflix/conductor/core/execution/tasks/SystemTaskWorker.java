@@ -12,14 +12,20 @@
  */
 package com.netflix.conductor.core.execution.tasks;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -35,6 +41,8 @@ import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.service.ExecutionService;
 
+import jdk.jfr.consumer.RecordingStream;
+
 /** The worker that polls and executes an async system task. */
 @Component
 @ConditionalOnProperty(
@@ -45,6 +53,10 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SystemTaskWorker.class);
 
+    private static final String VIRTUAL_THREAD_NAME_PREFIX = "system-task-worker-vt-";
+    private static final String VIRTUAL_THREAD_PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final Duration VIRTUAL_THREAD_PINNED_THRESHOLD = Duration.ofMillis(20);
+
     private final long pollInterval;
     private final QueueDAO queueDAO;
 
@@ -53,6 +65,12 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     private final ConductorProperties properties;
     private final ExecutionService executionService;
     private final int queuePopTimeout;
+    private final boolean virtualThreadsEnabled;
+    private final long maxPollBackoff;
+    private final ScheduledExecutorService multiplexedPoller;
+    private RecordingStream pinnedThreadEvents;
+
+    final ConcurrentHashMap<String, QueuePollState> multiplexedQueues = new ConcurrentHashMap<>();
 
     ConcurrentHashMap<String, ExecutionConfig> queueExecutionConfigMap = new ConcurrentHashMap<>();
 
@@ -62,15 +80,82 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
             ConductorProperties properties,
             ExecutionService executionService) {
         this.properties = properties;
+        this.virtualThreadsEnabled = properties.isSystemTaskWorkerVirtualThreadsEnabled();
         int threadCount = properties.getSystemTaskWorkerThreadCount();
-        this.defaultExecutionConfig = new ExecutionConfig(threadCount, "system-task-worker-%d");
+        if (!virtualThreadsEnabled) {
+            this.defaultExecutionConfig = new ExecutionConfig(threadCount, "system-task-worker-%d");
+        }
         this.asyncSystemTaskExecutor = asyncSystemTaskExecutor;
         this.queueDAO = queueDAO;
         this.pollInterval = properties.getSystemTaskWorkerPollInterval().toMillis();
         this.executionService = executionService;
         this.queuePopTimeout = (int) properties.getSystemTaskQueuePopTimeout().toMillis();
+        this.maxPollBackoff =
+                Math.max(pollInterval, properties.getSystemTaskWorkerMaxPollBackoff().toMillis());
+        if (properties.isSystemTaskWorkerMultiplexedPollingEnabled()) {
+            this.multiplexedPoller =
+                    Executors.newSingleThreadScheduledExecutor(
+                            new BasicThreadFactory.Builder()
+                                    .namingPattern("system-task-poller-%d")
+                                    .daemon(true)
+                                    .build());
+            this.multiplexedPoller.scheduleWithFixedDelay(
+                    this::pollQueues, 1000, pollInterval, TimeUnit.MILLISECONDS);
+        } else {
+            this.multiplexedPoller = null;
+        }
 
-        LOGGER.info("SystemTaskWorker initialized with {} threads", threadCount);
+        if (virtualThreadsEnabled) {
+            LOGGER.info(
+                    "SystemTaskWorker initialized with virtual threads and a concurrency of {} per queue",
+                    properties.getSystemTaskWorkerVirtualThreadConcurrency());
+        } else {
+            LOGGER.info("SystemTaskWorker initialized with {} threads", threadCount);
+        }
+    }
+
+    @Override
+    public void doStart() {
+        if (virtualThreadsEnabled && pinnedThreadEvents == null) {
+            pinnedThreadEvents = startPinnedThreadEvents();
+        }
+    }
+
+    @Override
+    public void doStop() {
+        if (pinnedThreadEvents != null) {
+            pinnedThreadEvents.close();
+            pinnedThreadEvents = null;
+        }
+    }
+
+    /**
+     * A virtual thread that blocks while pinned to its carrier (e.g. inside a synchronized block)
+     * holds up one of the few carrier threads. Counts such events for the system task worker
+     * threads, since they cap the throughput of the virtual thread mode.
+     */
+    private RecordingStream startPinnedThreadEvents() {
+        try {
+            RecordingStream recordingStream = new RecordingStream();
+            recordingStream
+                    .enable(VIRTUAL_THREAD_PINNED_EVENT)
+                    .withThreshold(VIRTUAL_THREAD_PINNED_THRESHOLD);
+            recordingStream.onEvent(
+                    VIRTUAL_THREAD_PINNED_EVENT,
+                    event -> {
+                        if (event.getThread() != null
+                                && StringUtils.startsWith(
+                                        event.getThread().getJavaName(),
+                                        VIRTUAL_THREAD_NAME_PREFIX)) {
+                            Monitors.recordSystemTaskWorkerVirtualThreadPinned();
+                        }
+                    });
+            recordingStream.startAsync();
+            return recordingStream;
+        } catch (Exception e) {
+            LOGGER.warn("Unable to record pinned virtual threads of system task workers", e);
+            return null;
+        }
     }
 
     public void startPolling(WorkflowSystemTask systemTask) {
@@ -78,6 +163,14 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
     }
 
     public void startPolling(WorkflowSystemTask systemTask, String queueName) {
+        if (multiplexedPoller != null) {
+            multiplexedQueues.putIfAbsent(queueName, new QueuePollState(systemTask));
+            LOGGER.info(
+                    "Added task: {} in queue: {} to the multiplexed system task poller",
+                    systemTask,
+                    queueName);
+            return;
+        }
         Executors.newSingleThreadScheduledExecutor()
                 .scheduleWithFixedDelay(
                         () -> this.pollAndExecute(systemTask, queueName),
@@ -99,77 +192,221 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
         }
 
         ExecutionConfig executionConfig = getExecutionConfig(queueName);
-        SemaphoreUtil semaphoreUtil = executionConfig.getSemaphoreUtil();
-        ExecutorService executorService = executionConfig.getExecutorService();
         String taskName = QueueUtils.getTaskType(queueName);
-        final int systemTaskMaxPollCount = properties.getSystemTaskMaxPollCount();
-        int maxSystemTasksToAcquire =
-                (systemTaskMaxPollCount < 1
-                                || systemTaskMaxPollCount
-                                        > properties.getSystemTaskWorkerThreadCount())
-                        ? properties.getSystemTaskWorkerThreadCount()
-                        : systemTaskMaxPollCount;
-        int messagesToAcquire = Math.min(semaphoreUtil.availableSlots(), maxSystemTasksToAcquire);
+        int messagesToAcquire = acquireSlots(queueName, executionConfig);
+        if (messagesToAcquire <= 0) {
+            return;
+        }
 
         try {
-            if (messagesToAcquire <= 0 || !semaphoreUtil.acquireSlots(messagesToAcquire)) {
-                // no available slots, do not poll
-                Monitors.recordSystemTaskWorkerPollingLimited(queueName);
-                return;
-            }
-
             LOGGER.debug("Polling queue: {} with {} slots acquired", queueName, messagesToAcquire);
 
             List<String> polledTaskIds =
                     queueDAO.pop(queueName, messagesToAcquire, queuePopTimeout);
 
-            Monitors.recordTaskPoll(queueName);
-            LOGGER.debug("Polling queue:{}, got {} tasks", queueName, polledTaskIds.size());
+            execute(
+                    systemTask,
+                    queueName,
+                    executionConfig,
+                    messagesToAcquire,
+                    polledTaskIds,
+                    false);
+        } catch (Exception e) {
+            // release the permit if exception is thrown during polling, because the thread would
+            // not be busy
+            executionConfig.getSemaphoreUtil().completeProcessing(messagesToAcquire);
+            Monitors.recordTaskPollError(taskName, e.getClass().getSimpleName());
+            LOGGER.error("Error polling system task in queue:{}", queueName, e);
+        }
+    }
 
-            if (!polledTaskIds.isEmpty()) {
-                // Immediately release unused slots when number of messages acquired is less than
-                // acquired slots
-                if (polledTaskIds.size() < messagesToAcquire) {
-                    semaphoreUtil.completeProcessing(messagesToAcquire - polledTaskIds.size());
-                }
+    /**
+     * Polls all the queues registered with the multiplexed poller that are due, with a single
+     * {@link QueueDAO#pop(Map)} call, and acks the polled tasks together. Queues that come back
+     * empty are polled less and less often, up to {@link
+     * ConductorProperties#getSystemTaskWorkerMaxPollBackoff()}, and are polled on every cycle
+     * again as soon as they return messages.
+     */
+    @VisibleForTesting
+    void pollQueues() {
+        if (!isRunning()) {
+            LOGGER.debug("{} stopped. Not polling system task queues", getClass().getSimpleName());
+            return;
+        }
 
-                for (String taskId : polledTaskIds) {
-                    if (StringUtils.isNotBlank(taskId)) {
-                        LOGGER.debug(
-                                "Task: {} from queue: {} being sent to the workflow executor",
-                                taskId,
-                                queueName);
-                        Monitors.recordTaskPollCount(queueName, 1);
+        long now = System.currentTimeMillis();
+        Map<String, Integer> queueCounts = new HashMap<>();
+        multiplexedQueues.forEach(
+                (queueName, pollState) -> {
+                    if (pollState.nextPollTime > now) {
+                        return;
+                    }
+                    int messagesToAcquire = acquireSlots(queueName, getExecutionConfig(queueName));
+                    if (messagesToAcquire > 0) {
+                        queueCounts.put(queueName, messagesToAcquire);
+                    }
+                });
+        if (queueCounts.isEmpty()) {
+            return;
+        }
 
-                        executionService.ackTaskReceived(taskId);
+        Map<String, List<String>> polledTaskIds;
+        try {
+            LOGGER.debug("Polling {} queues: {}", queueCounts.size(), queueCounts);
+            polledTaskIds = queueDAO.pop(queueCounts);
+        } catch (Exception e) {
+            queueCounts.forEach(
+                    (queueName, messagesToAcquire) -> {
+                        getExecutionConfig(queueName)
+                                .getSemaphoreUtil()
+                                .completeProcessing(messagesToAcquire);
+                        Monitors.recordTaskPollError(
+                                QueueUtils.getTaskType(queueName), e.getClass().getSimpleName());
+                    });
+            LOGGER.error("Error polling system tasks in queues: {}", queueCounts.keySet(), e);
+            return;
+        }
+        boolean acked = ackTaskReceived(polledTaskIds);
+
+        queueCounts.forEach(
+                (queueName, messagesToAcquire) -> {
+                    QueuePollState pollState = multiplexedQueues.get(queueName);
+                    ExecutionConfig executionConfig = getExecutionConfig(queueName);
+                    List<String> taskIds =
+                            polledTaskIds.getOrDefault(queueName, Collections.emptyList());
+                    try {
+                        execute(
+                                pollState.systemTask,
+                                queueName,
+                                executionConfig,
+                                messagesToAcquire,
+                                taskIds,
+                                acked);
+                    } catch (Exception e) {
+                        executionConfig.getSemaphoreUtil().completeProcessing(messagesToAcquire);
+                        Monitors.recordTaskPollError(
+                                QueueUtils.getTaskType(queueName), e.getClass().getSimpleName());
+                        LOGGER.error("Error executing system tasks in queue:{}", queueName, e);
+                    }
+                    pollState.polled(taskIds.size(), now, pollInterval, maxPollBackoff);
+                });
+    }
+
+    /**
+     * Acks the tasks polled from all the queues with a single {@link QueueDAO#ack(Map)} call.
+     *
+     * @return false if the tasks are to be acked one at a time instead
+     */
+    private boolean ackTaskReceived(Map<String, List<String>> polledTaskIds) {
+        Map<String, List<String>> taskIds = new HashMap<>();
+        polledTaskIds.forEach(
+                (queueName, queueTaskIds) ->
+                        taskIds.put(
+                                queueName,
+                                queueTaskIds.stream().filter(StringUtils::isNotBlank).toList()));
+        try {
+            queueDAO.ack(taskIds);
+            return true;
+        } catch (Exception e) {
+            LOGGER.warn("Error acking system tasks in queues: {}", taskIds.keySet(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Acquires as many execution slots as can be filled with one poll of the given queue.
+     *
+     * @return the number of slots acquired, 0 if the queue should not be polled
+     */
+    private int acquireSlots(String queueName, ExecutionConfig executionConfig) {
+        SemaphoreUtil semaphoreUtil = executionConfig.getSemaphoreUtil();
+        final int systemTaskMaxPollCount = properties.getSystemTaskMaxPollCount();
+        final int concurrency = getConcurrency(executionConfig);
+        int maxSystemTasksToAcquire =
+                (systemTaskMaxPollCount < 1 || systemTaskMaxPollCount > concurrency)
+                        ? concurrency
+                        : systemTaskMaxPollCount;
+        int messagesToAcquire = Math.min(semaphoreUtil.availableSlots(), maxSystemTasksToAcquire);
+
+        if (messagesToAcquire <= 0 || !semaphoreUtil.acquireSlots(messagesToAcquire)) {
+            // no available slots, do not poll
+            Monitors.recordSystemTaskWorkerPollingLimited(queueName);
+            return 0;
+        }
+        return messagesToAcquire;
+    }
+
+    private void execute(
+            WorkflowSystemTask systemTask,
+            String queueName,
+            ExecutionConfig executionConfig,
+            int messagesAcquired,
+            List<String> polledTaskIds,
+            boolean acked) {
+        SemaphoreUtil semaphoreUtil = executionConfig.getSemaphoreUtil();
+        ExecutorService executorService = executionConfig.getExecutorService();
+
+        Monitors.recordTaskPoll(queueName);
+        LOGGER.debug("Polling queue:{}, got {} tasks", queueName, polledTaskIds.size());
+
+        if (!polledTaskIds.isEmpty()) {
+            // Immediately release unused slots when number of messages acquired is less than
+            // acquired slots
+            if (polledTaskIds.size() < messagesAcquired) {
+                semaphoreUtil.completeProcessing(messagesAcquired - polledTaskIds.size());
+            }
 
-                        CompletableFuture<Void> taskCompletableFuture =
-                                CompletableFuture.runAsync(
-                                        () -> asyncSystemTaskExecutor.execute(systemTask, taskId),
-                                        executorService);
+            for (String taskId : polledTaskIds) {
+                if (StringUtils.isNotBlank(taskId)) {
+                    LOGGER.debug(
+                            "Task: {} from queue: {} being sent to the workflow executor",
+                            taskId,
+                            queueName);
+                    Monitors.recordTaskPollCount(queueName, 1);
 
-                        // release permit after processing is complete
-                        taskCompletableFuture.whenComplete(
-                                (r, e) -> semaphoreUtil.completeProcessing(1));
-                    } else {
-                        semaphoreUtil.completeProcessing(1);
+                    if (!acked) {
+                        executionService.ackTaskReceived(taskId);
                     }
+
+                    CompletableFuture<Void> taskCompletableFuture =
+                            CompletableFuture.runAsync(
+                                    () -> asyncSystemTaskExecutor.execute(systemTask, taskId),
+                                    executorService);
+
+                    // release permit after processing is complete
+                    taskCompletableFuture.whenComplete(
+                            (r, e) -> semaphoreUtil.completeProcessing(1));
+                } else {
+                    semaphoreUtil.completeProcessing(1);
                 }
-            } else {
-                // no task polled, release permit
-                semaphoreUtil.completeProcessing(messagesToAcquire);
             }
-        } catch (Exception e) {
-            // release the permit if exception is thrown during polling, because the thread would
-            // not be busy
-            semaphoreUtil.completeProcessing(messagesToAcquire);
-            Monitors.recordTaskPollError(taskName, e.getClass().getSimpleName());
-            LOGGER.error("Error polling system task in queue:{}", queueName, e);
+        } else {
+            // no task polled, release permit
+            semaphoreUtil.completeProcessing(messagesAcquired);
         }
+        if (virtualThreadsEnabled) {
+            Monitors.recordSystemTaskWorkerInFlight(
+                    queueName, getConcurrency(executionConfig) - semaphoreUtil.availableSlots());
+        }
+    }
+
+    private int getConcurrency(ExecutionConfig executionConfig) {
+        return virtualThreadsEnabled
+                ? executionConfig.getConcurrency()
+                : properties.getSystemTaskWorkerThreadCount();
     }
 
     @VisibleForTesting
     ExecutionConfig getExecutionConfig(String taskQueue) {
+        if (virtualThreadsEnabled) {
+            // every queue gets its own concurrency limit, virtual threads are cheap to start
+            return queueExecutionConfigMap.computeIfAbsent(
+                    taskQueue,
+                    __ ->
+                            ExecutionConfig.virtualThreads(
+                                    properties.getSystemTaskWorkerVirtualThreadConcurrency(),
+                                    VIRTUAL_THREAD_NAME_PREFIX));
+        }
         if (!QueueUtils.isIsolatedQueue(taskQueue)) {
             return this.defaultExecutionConfig;
         }
@@ -182,4 +419,29 @@ public class SystemTaskWorker extends LifecycleAwareComponent {
         String threadNameFormat = "isolated-system-task-worker-%d";
         return new ExecutionConfig(threadCount, threadNameFormat);
     }
+
+    /** Tracks when a queue of the multiplexed poller is due to be polled again. */
+    static class QueuePollState {
+
+        private final WorkflowSystemTask systemTask;
+        private long backoff = 0;
+        private long nextPollTime = 0;
+
+        QueuePollState(WorkflowSystemTask systemTask) {
+            this.systemTask = systemTask;
+        }
+
+        void polled(int polledCount, long pollTime, long pollInterval, long maxBackoff) {
+            if (polledCount > 0) {
+                backoff = 0;
+            } else {
+                backoff = backoff == 0 ? pollInterval : Math.min(backoff * 2, maxBackoff);
+            }
+            nextPollTime = pollTime + backoff;
+        }
+
+        long getNextPollTime() {
+            return nextPollTime;
+        }
+    }
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.metrics.Monitors;
+
+/**
+ * Buffers index operations per index and sends them in bulk, once a buffer holds {@code batchSize}
+ * operations or {@code batchSizeInBytes} bytes, or once its oldest operation is older than {@code
+ * flushInterval}.
+ *
+ * <p>Operations are coalesced by document id: a full document or a delete replaces the operations
+ * still pending for the same document, so only the latest version of a document is sent. Partial
+ * updates are kept in order after the pending operations of their document. Bulk requests of an
+ * index are sent one at a time to preserve this order.
+ *
+ * <p>When {@code capacity} operations are pending, the calling thread schedules the buffers to be
+ * sent on the flush threads and waits up to {@code offerTimeout} for room, the operation is
+ * discarded if there is still none.
+ *
+ * @param <T> the type of the operations accepted by the {@link BulkIndexer}
+ */
+public class BulkIndexQueue<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkIndexQueue.class);
+
+    /** Sends a batch of operations to an index. */
+    @FunctionalInterface
+    public interface BulkIndexer<T> {
+
+        void index(String index, List<T> operations) throws Exception;
+    }
+
+    private final BulkIndexer<T> bulkIndexer;
+    private final int batchSize;
+    private final long batchSizeInBytes;
+    private final long flushIntervalMillis;
+    private final int capacity;
+    private final long offerTimeoutNanos;
+    private final Map<String, Buffer<T>> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock capacityLock = new ReentrantLock();
+    private final Condition capacityAvailable = capacityLock.newCondition();
+    private final ExecutorService flushExecutor;
+    private final ScheduledExecutorService flushScheduler;
+
+    public BulkIndexQueue(
+            String name,
+            BulkIndexer<T> bulkIndexer,
+            int batchSize,
+            long batchSizeInBytes,
+            Duration flushInterval,
+            int capacity,
+            Duration offerTimeout,
+            int concurrency) {
+        this.bulkIndexer = bulkIndexer;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchSizeInBytes = batchSizeInBytes > 0 ? batchSizeInBytes : Long.MAX_VALUE;
+        this.flushIntervalMillis = Math.max(1, flushInterval.toMillis());
+        this.capacity = Math.max(1, capacity);
+        this.offerTimeoutNanos = Math.max(0, offerTimeout.toNanos());
+        this.flushExecutor =
+                Executors.newFixedThreadPool(
+                        Math.max(1, concurrency),
+                        new BasicThreadFactory.Builder()
+                                .namingPattern(name + "-bulk-index-%d")
+                                .daemon(true)
+                                .build());
+        this.flushScheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new BasicThreadFactory.Builder()
+                                .namingPattern(name + "-bulk-index-flush-%d")
+                                .daemon(true)
+                                .build());
+        this.flushScheduler.scheduleWithFixedDelay(
+                this::flushExpiredBuffers,
+                flushIntervalMillis,
+                flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a full document or a delete, replacing the operations still pending for the same
+     * document.
+     *
+     * @param docId the id of the document, operations without an id are never coalesced
+     */
+    public void put(String index, String docId, T operation, long sizeInBytes) {
+        add(index, docId, operation, sizeInBytes, true);
+    }
+
+    /** Adds a partial update, sent after the operations still pending for the same document. */
+    public void append(String index, String docId, T operation, long sizeInBytes) {
+        add(index, docId, operation, sizeInBytes, false);
+    }
+
+    /** @return the number of operations buffered or being sent */
+    public int size() {
+        return pending.get();
+    }
+
+    private void add(String index, String docId, T operation, long sizeInBytes, boolean replace) {
+        if (!awaitCapacity(index)) {
+            LOGGER.warn(
+                    "Discarding an operation of {}, {} operations are still pending after waiting for {}ms",
+                    index,
+                    pending.get(),
+                    TimeUnit.NANOSECONDS.toMillis(offerTimeoutNanos));
+            Monitors.recordDiscardedIndexingCount(index);
+            return;
+        }
+        Buffer<T> buffer = buffers.computeIfAbsent(index, i -> new Buffer<>());
+        String key = docId != null ? docId : "\0" + sequence.incrementAndGet();
+        int coalesced = 0;
+        boolean full;
+        synchronized (buffer) {
+            if (buffer.operations.isEmpty()) {
+                buffer.createdTime = System.currentTimeMillis();
+            }
+            List<Operation<T>> operations = buffer.operations.get(key);
+            if (operations == null) {
+                operations = new ArrayList<>(1);
+                buffer.operations.put(key, operations);
+            } else if (replace) {
+                for (Operation<T> replaced : operations) {
+                    buffer.sizeInBytes -= replaced.sizeInBytes();
+                }
+                coalesced = operations.size();
+                buffer.size -= coalesced;
+                operations.clear();
+            }
+            operations.add(new Operation<>(operation, sizeInBytes));
+            buffer.size++;
+            buffer.sizeInBytes += sizeInBytes;
+            full = buffer.size >= batchSize || buffer.sizeInBytes >= batchSizeInBytes;
+        }
+        if (coalesced > 0) {
+            pending.addAndGet(-coalesced);
+            Monitors.recordBulkIndexCoalesced(index, coalesced);
+        }
+        pending.incrementAndGet();
+        if (full) {
+            scheduleFlush(index, buffer);
+        }
+    }
+
+    /**
+     * Waits until fewer than {@code capacity} operations are pending, the buffers are sent on the
+     * flush threads so that the calling thread never sends them itself.
+     *
+     * @return false if there is no room after {@code offerTimeout}
+     */
+    private boolean awaitCapacity(String index) {
+        if (pending.get() < capacity) {
+            return true;
+        }
+        Monitors.recordBulkIndexBackpressure(index);
+        buffers.forEach(this::scheduleFlush);
+        long remaining = offerTimeoutNanos;
+        capacityLock.lock();
+        try {
+            while (pending.get() >= capacity) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = capacityAvailable.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+
+    private void scheduleFlush(String index, Buffer<T> buffer) {
+        if (buffer.flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> flush(index, buffer));
+            } catch (Exception e) {
+                buffer.flushScheduled.set(false);
+                LOGGER.warn("Unable to schedule the bulk indexing of {}", index, e);
+            }
+        }
+    }
+
+    private void flushExpiredBuffers() {
+        long now = System.currentTimeMillis();
+        buffers.forEach(
+                (index, buffer) -> {
+                    synchronized (buffer) {
+                        if (buffer.size == 0 || now - buffer.createdTime < flushIntervalMillis) {
+                            return;
+                        }
+                    }
+                    scheduleFlush(index, buffer);
+                });
+    }
+
+    private void flush(String index, Buffer<T> buffer) {
+        buffer.sendLock.lock();
+        try {
+            buffer.flushScheduled.set(false);
+            List<Operation<T>> operations;
+            synchronized (buffer) {
+                if (buffer.size == 0) {
+                    return;
+                }
+                operations = new ArrayList<>(buffer.size);
+                for (List<Operation<T>> documentOperations : buffer.operations.values()) {
+                    operations.addAll(documentOperations);
+                }
+                buffer.operations.clear();
+                buffer.size = 0;
+                buffer.sizeInBytes = 0;
+            }
+            // the buffer may have grown past the limits while a previous batch was being sent, keep
+            // every bulk request within batchSize and batchSizeInBytes
+            List<T> batch = new ArrayList<>(Math.min(batchSize, operations.size()));
+            long batchBytes = 0;
+            for (Operation<T> operation : operations) {
+                if (!batch.isEmpty()
+                        && (batch.size() >= batchSize
+                                || batchBytes + operation.sizeInBytes() > batchSizeInBytes)) {
+                    send(index, batch);
+                    batch = new ArrayList<>(Math.min(batchSize, operations.size()));
+                    batchBytes = 0;
+                }
+                batch.add(operation.operation());
+                batchBytes += operation.sizeInBytes();
+            }
+            send(index, batch);
+        } finally {
+            buffer.sendLock.unlock();
+        }
+    }
+
+    private void send(String index, List<T> operations) {
+        try {
+            long startTime = System.currentTimeMillis();
+            bulkIndexer.index(index, operations);
+            Monitors.recordBulkIndexTime(
+                    index, operations.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            LOGGER.error("Failed to bulk index {} operations in {}", operations.size(), index, e);
+            Monitors.error(BulkIndexQueue.class.getSimpleName(), "send");
+        } finally {
+            pending.addAndGet(-operations.size());
+            capacityLock.lock();
+            try {
+                capacityAvailable.signalAll();
+            } finally {
+                capacityLock.unlock();
+            }
+        }
+    }
+
+    /** Sends all the buffered operations and stops the flush threads. */
+    public void shutdown() {
+        flushScheduler.shutdown();
+        buffers.forEach(this::flush);
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("Forcing shutdown after waiting for 30 seconds");
+                flushExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flushExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Operation<T>(T operation, long sizeInBytes) {}
+
+    private static class Buffer<T> {
+
+        private final Map<String, List<Operation<T>>> operations = new LinkedHashMap<>();
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private int size;
+        private long sizeInBytes;
+        private long createdTime;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.metrics.Monitors;
+import com.netflix.conductor.model.TaskModel;
+
+/**
+ * Hands task status notifications over to a {@link TaskStatusListener} on a single background
+ * thread, so that slow listeners do not add to the latency of the caller.
+ *
+ * <p>Notifications are buffered in a bounded queue and delivered in batches. When the queue is
+ * full, the notification is dropped and counted, rather than blocking the caller. A queue size of
+ * zero or less disables the buffering and notifies the listener on the calling thread.
+ *
+ * <p>Only IN_PROGRESS notifications are buffered, the other statuses of a task are delivered by
+ * the threads that update it. A buffered IN_PROGRESS notification can therefore reach the listener
+ * after the COMPLETED notification of the same task.
+ */
+public class TaskStatusListenerDispatcher {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(TaskStatusListenerDispatcher.class);
+
+    private final TaskStatusListener taskStatusListener;
+    private final BlockingQueue<TaskModel> inProgressQueue;
+    private final int batchSize;
+    private final ExecutorService executorService;
+    private volatile boolean shuttingDown;
+
+    public TaskStatusListenerDispatcher(
+            TaskStatusListener taskStatusListener, int queueSize, int batchSize) {
+        this.taskStatusListener = taskStatusListener;
+        this.batchSize = Math.max(1, batchSize);
+        if (queueSize > 0) {
+            this.inProgressQueue = new ArrayBlockingQueue<>(queueSize);
+            this.executorService =
+                    Executors.newSingleThreadExecutor(
+                            new BasicThreadFactory.Builder()
+                                    .namingPattern("task-status-listener-dispatcher-%d")
+                                    .daemon(true)
+                                    .build());
+            this.executorService.execute(this::dispatch);
+        } else {
+            this.inProgressQueue = null;
+            this.executorService = null;
+        }
+    }
+
+    /**
+     * Notifies the listener that the given tasks are now IN_PROGRESS.
+     *
+     * @param tasks the tasks that were handed to a worker
+     */
+    public void onTasksInProgress(List<TaskModel> tasks) {
+        if (inProgressQueue == null || shuttingDown) {
+            tasks.forEach(this::notifyInProgress);
+            return;
+        }
+        for (TaskModel task : tasks) {
+            if (!inProgressQueue.offer(task)) {
+                LOGGER.warn(
+                        "Task status notification queue is full, dropping IN_PROGRESS notification for task: {} of workflow: {}",
+                        task.getTaskId(),
+                        task.getWorkflowInstanceId());
+                Monitors.recordDiscardedTaskStatusNotification(task.getTaskType());
+            }
+        }
+        Monitors.recordTaskStatusNotificationQueueSize(inProgressQueue.size());
+    }
+
+    /**
+     * Stops accepting notifications on the dispatcher thread and waits for the queued ones to be
+     * delivered. Notifications still queued after 30 seconds are dropped.
+     */
+    public void shutdown() {
+        if (executorService == null) {
+            return;
+        }
+        shuttingDown = true;
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warn(
+                        "Forcing shutdown after waiting for 30 seconds, dropping {} task status notifications",
+                        inProgressQueue.size());
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch() {
+        List<TaskModel> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                TaskModel task = inProgressQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (task == null) {
+                    if (shuttingDown) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(task);
+                inProgressQueue.drainTo(batch, batchSize - 1);
+                batch.forEach(this::notifyInProgress);
+                Monitors.recordTaskStatusNotificationQueueSize(inProgressQueue.size());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+        LOGGER.info("Task status listener dispatcher stopped");
+    }
+
+    private void notifyInProgress(TaskModel task) {
+        try {
+            taskStatusListener.onTaskInProgress(task);
+        } catch (Exception e) {
+            String errorMsg =
+                    String.format(
+                            "Error while notifying TaskStatusListener: %s for workflow: %s",
+                            task.getTaskId(), task.getWorkflowInstanceId());
+            LOGGER.error(errorMsg, e);
+        }
+    }
+}
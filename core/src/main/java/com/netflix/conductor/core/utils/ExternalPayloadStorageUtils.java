@@ -14,15 +14,23 @@ package com.netflix.conductor.core.utils;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 import com.netflix.conductor.annotations.VisibleForTesting;
 import com.netflix.conductor.common.run.ExternalStorageLocation;
@@ -37,6 +45,9 @@ import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
 
 /** Provides utility functions to upload and download payloads to {@link ExternalPayloadStorage} */
 @Component
@@ -47,6 +58,8 @@ public class ExternalPayloadStorageUtils {
     private final ExternalPayloadStorage externalPayloadStorage;
     private final ConductorProperties properties;
     private final ObjectMapper objectMapper;
+    private final ExecutorService prefetchExecutorService;
+    private final AsyncLoadingCache<String, byte[]> payloadCache;
 
     public ExternalPayloadStorageUtils(
             ExternalPayloadStorage externalPayloadStorage,
@@ -55,6 +68,35 @@ public class ExternalPayloadStorageUtils {
         this.externalPayloadStorage = externalPayloadStorage;
         this.properties = properties;
         this.objectMapper = objectMapper;
+
+        DataSize cacheSize = properties.getExternalPayloadCacheSize();
+        if (cacheSize != null && cacheSize.toBytes() > 0) {
+            this.prefetchExecutorService =
+                    Executors.newFixedThreadPool(
+                            Math.max(1, properties.getExternalPayloadPrefetchThreadCount()),
+                            new BasicThreadFactory.Builder()
+                                    .namingPattern("external-payload-prefetch-%d")
+                                    .daemon(true)
+                                    .build());
+            // payloads are never modified once stored, so the raw bytes can be cached by path.
+            // The bytes are parsed on every read, callers are free to modify the returned maps.
+            this.payloadCache =
+                    Caffeine.newBuilder()
+                            .maximumWeight(cacheSize.toBytes())
+                            .weigher((String path, byte[] payload) -> payload.length)
+                            .executor(prefetchExecutorService)
+                            .buildAsync(this::fetchPayload);
+        } else {
+            this.prefetchExecutorService = null;
+            this.payloadCache = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (prefetchExecutorService != null) {
+            prefetchExecutorService.shutdownNow();
+        }
     }
 
     /**
@@ -66,9 +108,46 @@ public class ExternalPayloadStorageUtils {
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> downloadPayload(String path) {
+        byte[] payload = getPayload(path);
+        try {
+            return objectMapper.readValue(payload, Map.class);
+        } catch (Exception e) {
+            LOGGER.error("Unable to parse payload from external storage path: {}", path, e);
+            throw new NonTransientException(
+                    "Unable to download payload from external storage path: " + path, e);
+        }
+    }
+
+    /**
+     * Starts downloading the payloads from the given paths in parallel, without waiting for them.
+     * Subsequent calls to {@link #downloadPayload(String)} for these paths are served from the
+     * local cache. Does nothing if the cache is disabled.
+     *
+     * @param paths the relative paths of the payloads in the {@link ExternalPayloadStorage}
+     */
+    public void prefetchPayloads(Collection<String> paths) {
+        if (payloadCache != null) {
+            paths.forEach(payloadCache::get);
+        }
+    }
+
+    private byte[] getPayload(String path) {
+        if (payloadCache == null) {
+            return fetchPayload(path);
+        }
+        try {
+            return payloadCache.get(path).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private byte[] fetchPayload(String path) {
         try (InputStream inputStream = externalPayloadStorage.download(path)) {
-            return objectMapper.readValue(
-                    IOUtils.toString(inputStream, StandardCharsets.UTF_8), Map.class);
+            return IOUtils.toByteArray(inputStream);
         } catch (TransientException te) {
             throw te;
         } catch (Exception e) {
@@ -122,13 +201,22 @@ public class ExternalPayloadStorageUtils {
                 break;
         }
 
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            objectMapper.writeValue(byteArrayOutputStream, payload);
-            byte[] payloadBytes = byteArrayOutputStream.toByteArray();
-            long payloadSize = payloadBytes.length;
-
+        try {
             final long maxThresholdInBytes = maxThreshold * 1024;
-            if (payloadSize > maxThresholdInBytes) {
+            final long thresholdInBytes = Math.min(threshold * 1024, maxThresholdInBytes);
+            // most payloads are small, count their size without buffering and stop as soon as
+            // the threshold is crossed.
+            long payloadSize =
+                    writePayload(payload, OutputStream.nullOutputStream(), thresholdInBytes);
+            if (payloadSize >= 0) {
+                return;
+            }
+
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            payloadSize = writePayload(payload, byteArrayOutputStream, maxThresholdInBytes);
+            if (payloadSize < 0) {
+                payloadSize =
+                        writePayload(payload, OutputStream.nullOutputStream(), Long.MAX_VALUE);
                 if (entity instanceof TaskModel) {
                     String errorMsg =
                             String.format(
@@ -147,7 +235,8 @@ public class ExternalPayloadStorageUtils {
                                     maxThresholdInBytes);
                     failWorkflow(((WorkflowModel) entity), payloadType, errorMsg);
                 }
-            } else if (payloadSize > threshold * 1024) {
+            } else {
+                byte[] payloadBytes = byteArrayOutputStream.toByteArray();
                 String externalInputPayloadStoragePath, externalOutputPayloadStoragePath;
                 switch (payloadType) {
                     case TASK_INPUT:
@@ -200,6 +289,28 @@ public class ExternalPayloadStorageUtils {
         }
     }
 
+    /**
+     * Serializes the payload to the given stream, giving up as soon as more than the given number
+     * of bytes have been written.
+     *
+     * @return the size of the serialized payload in bytes, or -1 if it is bigger than the limit
+     */
+    @VisibleForTesting
+    long writePayload(Map<String, Object> payload, OutputStream outputStream, long limit)
+            throws IOException {
+        SizeLimitingOutputStream sizeLimitingOutputStream =
+                new SizeLimitingOutputStream(outputStream, limit);
+        try {
+            objectMapper.writeValue(sizeLimitingOutputStream, payload);
+        } catch (IOException e) {
+            if (sizeLimitingOutputStream.isLimitExceeded()) {
+                return -1;
+            }
+            throw e;
+        }
+        return sizeLimitingOutputStream.getSize();
+    }
+
     @VisibleForTesting
     String uploadHelper(
             byte[] payloadBytes, long payloadSize, ExternalPayloadStorage.PayloadType payloadType) {
@@ -208,6 +319,9 @@ public class ExternalPayloadStorageUtils {
                         ExternalPayloadStorage.Operation.WRITE, payloadType, "", payloadBytes);
         externalPayloadStorage.upload(
                 location.getPath(), new ByteArrayInputStream(payloadBytes), payloadSize);
+        if (payloadCache != null) {
+            payloadCache.put(location.getPath(), CompletableFuture.completedFuture(payloadBytes));
+        }
         return location.getPath();
     }
 
@@ -252,4 +366,46 @@ public class ExternalPayloadStorageUtils {
             }
         }
     }
+
+    /** Counts the bytes written through it and fails once more than the limit were written. */
+    private static class SizeLimitingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private final long limit;
+        private long size;
+        private boolean limitExceeded;
+
+        SizeLimitingOutputStream(OutputStream delegate, long limit) {
+            this.delegate = delegate;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            count(1);
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            count(len);
+            delegate.write(b, off, len);
+        }
+
+        private void count(int length) throws IOException {
+            size += length;
+            if (size > limit) {
+                limitExceeded = true;
+                throw new IOException("Payload is bigger than " + limit + " bytes");
+            }
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        boolean isLimitExceeded() {
+            return limitExceeded;
+        }
+    }
 }
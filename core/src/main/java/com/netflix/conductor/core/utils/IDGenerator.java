@@ -26,6 +26,7 @@ import org.springframework.stereotype.Component;
  * ID Generator used by Conductor Note on overriding the ID Generator: The default ID generator uses
  * UUID v4 as the ID format. By overriding this class it is possible to use different scheme for ID
  * generation. However, this is not normal and should only be done after very careful consideration.
+ * {@link TimeOrderedIDGenerator} is a time-ordered alternative shipped with Conductor.
  *
  * <p>Please note, if you use Cassandra persistence, the schema uses UUID as the column type and the
  * IDs have to be valid UUIDs supported by Cassandra.
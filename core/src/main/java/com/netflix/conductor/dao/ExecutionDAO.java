@@ -52,6 +52,16 @@ public interface ExecutionDAO {
      */
     void updateTask(TaskModel task);
 
+    /**
+     * Updates several tasks at once. Implementations backed by a store that supports batched
+     * writes should override this to avoid a round trip per task.
+     *
+     * @param tasks Tasks to be updated
+     */
+    default void updateTasks(List<TaskModel> tasks) {
+        tasks.forEach(this::updateTask);
+    }
+
     /**
      * Checks if the number of tasks in progress for the given taskDef will exceed the limit if the
      * task is scheduled to be in progress (given to the worker or for system tasks start() method
@@ -74,6 +84,17 @@ public interface ExecutionDAO {
      */
     boolean removeTask(String taskId);
 
+    /**
+     * Removes several tasks at once, e.g. the tasks of expired DO_WHILE iterations. The tasks are
+     * passed in full so that implementations don't need to read them back. Implementations backed
+     * by a store that supports batched writes should override this to avoid a round trip per task.
+     *
+     * @param tasks Tasks to be removed
+     */
+    default void removeTasks(List<TaskModel> tasks) {
+        tasks.forEach(task -> removeTask(task.getTaskId()));
+    }
+
     /**
      * @param taskId Task instance id
      * @return Task
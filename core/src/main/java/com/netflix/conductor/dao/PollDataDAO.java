@@ -28,6 +28,22 @@ public interface PollDataDAO {
      */
     void updateLastPollData(String taskDefName, String domain, String workerId);
 
+    /**
+     * Stores the given {@link PollData} records, each of them replacing the record of its task
+     * queue and domain and keeping its {@link PollData#getLastPollTime() last poll time}.
+     * Implementations should write all the records in a single round trip. It is required when
+     * the poll data is written behind, see {@link
+     * com.netflix.conductor.core.config.ConductorProperties#getPollDataFlushInterval()}.
+     *
+     * @param pollData the most recent {@link PollData} of one or more task queues and domains
+     */
+    default void updateLastPollData(List<PollData> pollData) {
+        throw new UnsupportedOperationException(
+                "The selected PollDataDAO ("
+                        + this.getClass().getSimpleName()
+                        + ") does not implement the updateLastPollData(List) method");
+    }
+
     /**
      * Retrieve the {@link PollData} for the given task in the given domain.
      *
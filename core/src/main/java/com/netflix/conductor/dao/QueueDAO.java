@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.dao;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -76,6 +77,21 @@ public interface QueueDAO {
      */
     List<String> pop(String queueName, int count, int timeout);
 
+    /**
+     * Pops messages from several queues at once, without waiting for messages to become
+     * available. By default the queues are popped one after the other, implementations that can
+     * share work between the queues, e.g. a connection or a transaction, should override this.
+     *
+     * @param queueCounts number of messages to be read, by name of the queue
+     * @return the elements read, by name of the queue
+     */
+    default Map<String, List<String>> pop(Map<String, Integer> queueCounts) {
+        Map<String, List<String>> messages = new HashMap<>();
+        queueCounts.forEach(
+                (queueName, count) -> messages.put(queueName, pop(queueName, count, 0)));
+        return messages;
+    }
+
     /**
      * @param queueName Name of the queue
      * @param count number of messages to be read from the queue
@@ -103,6 +119,17 @@ public interface QueueDAO {
      */
     boolean ack(String queueName, String messageId);
 
+    /**
+     * Acks messages of several queues at once. By default the messages are acked one after the
+     * other, implementations that can ack them in a single round trip should override this.
+     *
+     * @param messageIds the ids of the messages to be acked, by name of the queue
+     */
+    default void ack(Map<String, List<String>> messageIds) {
+        messageIds.forEach(
+                (queueName, ids) -> ids.forEach(messageId -> ack(queueName, messageId)));
+    }
+
     /**
      * Extend the lease of the unacknowledged message for longer period.
      *
@@ -433,6 +433,26 @@ public class Monitors {
         counter("discarded_index_count", "queueType", queueType);
     }
 
+    public static void recordTaskIndexCoalesced(String taskType) {
+        counter(
+                "task_index_coalesced",
+                "taskType",
+                StringUtils.defaultIfBlank(taskType, "unknown"));
+    }
+
+    public static void recordBulkIndexTime(String index, int batchSize, long val) {
+        getTimer("bulk_index_time", "index", index).record(val, TimeUnit.MILLISECONDS);
+        distributionSummary("bulk_index_batch_size", "index", index).record(batchSize);
+    }
+
+    public static void recordBulkIndexCoalesced(String index, int count) {
+        getCounter("bulk_index_coalesced", "index", index).increment(count);
+    }
+
+    public static void recordBulkIndexBackpressure(String index) {
+        counter("bulk_index_backpressure", "index", index);
+    }
+
     public static void recordAcquireLockUnsuccessful() {
         counter("acquire_lock_unsuccessful");
     }
@@ -457,6 +477,14 @@ public class Monitors {
         counter("system_task_worker_polling_limited", "queueName", queueName);
     }
 
+    public static void recordSystemTaskWorkerInFlight(String queueName, int count) {
+        gauge("system_task_worker_in_flight", count, "queueName", queueName);
+    }
+
+    public static void recordSystemTaskWorkerVirtualThreadPinned() {
+        counter("system_task_worker_virtual_thread_pinned");
+    }
+
     public static void recordEventQueuePollSize(String queueType, int val) {
         gauge("event_queue_poll", val, "queueType", queueType);
     }
@@ -465,7 +493,35 @@ public class Monitors {
         counter("queue_message_repushed", "queueName", queueName);
     }
 
+    public static void recordTaskStatusNotificationQueueSize(int val) {
+        gauge("task_status_notification_queue_size", val);
+    }
+
+    public static void recordDiscardedTaskStatusNotification(String taskType) {
+        counter("discarded_task_status_notification", "taskType", taskType);
+    }
+
     public static void recordTaskExecLogSize(int val) {
         gauge("task_exec_log_size", val);
     }
+
+    public static void recordEmbeddingCacheHit(String provider, String model, String tier) {
+        counter(
+                "embedding_cache_hit",
+                "provider",
+                StringUtils.defaultIfBlank(provider, "unknown"),
+                "model",
+                StringUtils.defaultIfBlank(model, "unknown"),
+                "tier",
+                tier);
+    }
+
+    public static void recordEmbeddingCacheMiss(String provider, String model) {
+        counter(
+                "embedding_cache_miss",
+                "provider",
+                StringUtils.defaultIfBlank(provider, "unknown"),
+                "model",
+                StringUtils.defaultIfBlank(model, "unknown"));
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.model;
+
+import java.util.*;
+
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.common.utils.TaskUtils;
+
+/**
+ * Index of the tasks of a workflow by reference name, without the DO_WHILE iteration suffix, and
+ * iteration. It is kept up to date incrementally, since tasks are only appended to a workflow; it
+ * is rebuilt when the task list is replaced or shrinks.
+ */
+class TaskIterationIndex {
+
+    private record IndexedTask(int position, TaskModel task) {}
+
+    private final List<TaskModel> tasks;
+
+    private final Map<String, NavigableMap<Integer, List<IndexedTask>>> tasksByIteration =
+            new HashMap<>();
+
+    /** The iteration of a DO_WHILE task changes while it runs, so it can't be used as a key. */
+    private final Map<String, List<IndexedTask>> loopTasks = new HashMap<>();
+
+    private int indexedCount;
+    private TaskModel lastIndexedTask;
+
+    TaskIterationIndex(List<TaskModel> tasks) {
+        this.tasks = tasks;
+    }
+
+    boolean isIndexOf(List<TaskModel> tasks) {
+        return this.tasks == tasks;
+    }
+
+    /**
+     * @param referenceNames the reference names of the tasks, without the iteration suffix
+     * @param fromIteration the lowest iteration, inclusive
+     * @param toIteration the highest iteration, inclusive
+     * @return the matching tasks, in the order of the workflow's tasks
+     */
+    List<TaskModel> getTasks(
+            Collection<String> referenceNames, int fromIteration, int toIteration) {
+        refresh();
+        List<IndexedTask> matching = new ArrayList<>();
+        for (String referenceName : referenceNames) {
+            NavigableMap<Integer, List<IndexedTask>> iterations =
+                    tasksByIteration.get(referenceName);
+            if (iterations != null) {
+                iterations
+                        .subMap(fromIteration, true, toIteration, true)
+                        .values()
+                        .forEach(matching::addAll);
+            }
+            for (IndexedTask loopTask : loopTasks.getOrDefault(referenceName, List.of())) {
+                int iteration = loopTask.task().getIteration();
+                if (iteration >= fromIteration && iteration <= toIteration) {
+                    matching.add(loopTask);
+                }
+            }
+        }
+        matching.sort(Comparator.comparingInt(IndexedTask::position));
+        return matching.stream().map(IndexedTask::task).toList();
+    }
+
+    private void refresh() {
+        if (tasks.size() < indexedCount
+                || (indexedCount > 0 && tasks.get(indexedCount - 1) != lastIndexedTask)) {
+            tasksByIteration.clear();
+            loopTasks.clear();
+            indexedCount = 0;
+            lastIndexedTask = null;
+        }
+        if (tasks.size() == indexedCount) {
+            return;
+        }
+        ListIterator<TaskModel> iterator = tasks.listIterator(indexedCount);
+        while (iterator.hasNext()) {
+            TaskModel task = iterator.next();
+            IndexedTask indexedTask = new IndexedTask(indexedCount++, task);
+            lastIndexedTask = task;
+            if (task.getReferenceTaskName() == null) {
+                continue;
+            }
+            String referenceName =
+                    TaskUtils.removeIterationFromTaskRefName(task.getReferenceTaskName());
+            if (TaskType.TASK_TYPE_DO_WHILE.equals(task.getTaskType())) {
+                loopTasks.computeIfAbsent(referenceName, k -> new ArrayList<>()).add(indexedTask);
+            } else {
+                tasksByIteration
+                        .computeIfAbsent(referenceName, k -> new TreeMap<>())
+                        .computeIfAbsent(task.getIteration(), k -> new ArrayList<>())
+                        .add(indexedTask);
+            }
+        }
+    }
+}
@@ -12,8 +12,12 @@
  */
 package com.netflix.conductor.model;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
@@ -22,9 +26,12 @@ import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.StateChangeEvent;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.TaskSummary;
+import com.netflix.conductor.common.utils.SummaryUtil;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Suppliers;
 import com.google.protobuf.Any;
 import jakarta.validation.Valid;
 import lombok.Getter;
@@ -32,6 +39,10 @@ import lombok.Setter;
 
 public class TaskModel {
 
+    /** The format of the timestamps in task and workflow summaries, stored as GMT. */
+    static final DateTimeFormatter SUMMARY_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
     public enum Status {
         IN_PROGRESS(false, true, true),
         CANCELED(true, false, false),
@@ -181,6 +192,15 @@ public class TaskModel {
 
     @JsonIgnore private Map<String, Object> outputData = new HashMap<>();
 
+    /**
+     * Loads the externalized input payload on first access, see {@link #internalizeInput}. It is
+     * memoized, so that copies of this task sharing it download the payload once.
+     */
+    @JsonIgnore private volatile Supplier<Map<String, Object>> inputPayloadLoader;
+
+    /** Loads the externalized output payload on first access, see {@link #internalizeOutput}. */
+    @JsonIgnore private volatile Supplier<Map<String, Object>> outputPayloadLoader;
+
     private boolean idempotent = false;
 
     @Getter @Setter private String parentTaskReferenceName;
@@ -210,9 +230,27 @@ public class TaskModel {
         this.status = status;
     }
 
+    /**
+     * @return the input of the task. An externalized input that is loaded lazily is downloaded on
+     *     the first call, which throws the exception of the download if it fails.
+     */
     @JsonIgnore
     public Map<String, Object> getInputData() {
-        return externalInputPayloadStoragePath != null ? inputPayload : inputData;
+        if (externalInputPayloadStoragePath == null) {
+            return inputData;
+        }
+        if (inputPayloadLoader != null) {
+            loadInputPayload();
+        }
+        return inputPayload;
+    }
+
+    private synchronized void loadInputPayload() {
+        Supplier<Map<String, Object>> loader = inputPayloadLoader;
+        if (loader != null) {
+            inputPayload = loader.get();
+            inputPayloadLoader = null;
+        }
     }
 
     @JsonIgnore
@@ -420,8 +458,15 @@ public class TaskModel {
         this.workerId = workerId;
     }
 
+    /**
+     * @return the output of the task. An externalized output that is loaded lazily is downloaded
+     *     on the first call, which throws the exception of the download if it fails.
+     */
     @JsonIgnore
     public Map<String, Object> getOutputData() {
+        if (outputPayloadLoader != null) {
+            loadOutputPayload();
+        }
         if (!outputPayload.isEmpty() && !outputData.isEmpty()) {
             // Combine payload + data
             // data has precedence over payload because:
@@ -438,6 +483,14 @@ public class TaskModel {
         }
     }
 
+    private synchronized void loadOutputPayload() {
+        Supplier<Map<String, Object>> loader = outputPayloadLoader;
+        if (loader != null) {
+            outputPayload = loader.get();
+            outputPayloadLoader = null;
+        }
+    }
+
     @JsonIgnore
     public void setOutputData(Map<String, Object> outputData) {
         if (outputData == null) {
@@ -634,17 +687,27 @@ public class TaskModel {
      */
     public TaskModel copy() {
         TaskModel copy = new TaskModel();
-        BeanUtils.copyProperties(this, copy);
+        // the getters of the input and output data would download externalized payloads, the
+        // copy gets the same payloads or the loaders of the payloads not downloaded yet
+        BeanUtils.copyProperties(this, copy, "inputData", "outputData");
+        synchronized (this) {
+            copy.inputPayload = inputPayload;
+            copy.inputPayloadLoader = inputPayloadLoader;
+            copy.outputPayload = outputPayload;
+            copy.outputPayloadLoader = outputPayloadLoader;
+        }
         return copy;
     }
 
     public void externalizeInput(String path) {
+        this.inputPayloadLoader = null;
         this.inputPayload = this.inputData;
         this.inputData = new HashMap<>();
         this.externalInputPayloadStoragePath = path;
     }
 
     public void externalizeOutput(String path) {
+        this.outputPayloadLoader = null;
         this.outputPayload = this.outputData;
         this.outputData = new HashMap<>();
         this.externalOutputPayloadStoragePath = path;
@@ -653,11 +716,33 @@ public class TaskModel {
     public void internalizeInput(Map<String, Object> data) {
         this.inputData = new HashMap<>();
         this.inputPayload = data;
+        this.inputPayloadLoader = null;
+    }
+
+    /**
+     * Same as {@link #internalizeInput(Map)}, but the payload is only loaded when the input data
+     * is first accessed.
+     */
+    public void internalizeInput(Supplier<Map<String, Object>> loader) {
+        this.inputData = new HashMap<>();
+        this.inputPayload = new HashMap<>();
+        this.inputPayloadLoader = Suppliers.memoize(loader::get);
     }
 
     public void internalizeOutput(Map<String, Object> data) {
         this.outputData = new HashMap<>();
         this.outputPayload = data;
+        this.outputPayloadLoader = null;
+    }
+
+    /**
+     * Same as {@link #internalizeOutput(Map)}, but the payload is only loaded when the output data
+     * is first accessed.
+     */
+    public void internalizeOutput(Supplier<Map<String, Object>> loader) {
+        this.outputData = new HashMap<>();
+        this.outputPayload = new HashMap<>();
+        this.outputPayloadLoader = Suppliers.memoize(loader::get);
     }
 
     public boolean isIdempotentExecution() {
@@ -708,16 +793,13 @@ public class TaskModel {
 
     public Task toTask() {
         Task task = new Task();
-        BeanUtils.copyProperties(this, task);
+        // externalized input/output is represented as an empty map, so it is not downloaded
+        BeanUtils.copyProperties(this, task, "inputData", "outputData");
         task.setStatus(Task.Status.valueOf(status.name()));
-
-        // ensure that input/output is properly represented
-        if (externalInputPayloadStoragePath != null) {
-            task.setInputData(new HashMap<>());
-        }
-        if (externalOutputPayloadStoragePath != null) {
-            task.setOutputData(new HashMap<>());
-        }
+        task.setInputData(
+                externalInputPayloadStoragePath != null ? new HashMap<>() : getInputData());
+        task.setOutputData(
+                externalOutputPayloadStoragePath != null ? new HashMap<>() : getOutputData());
 
         if (task.getWorkflowTask() == null) {
             task.setWorkflowTask(new WorkflowTask());
@@ -732,6 +814,52 @@ public class TaskModel {
         return task;
     }
 
+    /**
+     * Builds the {@link TaskSummary} of this task directly, without the intermediate {@link Task}
+     * created by {@link #toTask()}. The result is the same as {@code new TaskSummary(toTask())}.
+     *
+     * @return the summary of this task, as indexed
+     */
+    public TaskSummary toTaskSummary() {
+        TaskSummary taskSummary = new TaskSummary();
+        taskSummary.setTaskId(taskId);
+        taskSummary.setTaskDefName(getTaskDefName());
+        taskSummary.setTaskType(taskType);
+        taskSummary.setWorkflowId(workflowInstanceId);
+        taskSummary.setWorkflowType(workflowType);
+        taskSummary.setWorkflowPriority(workflowPriority);
+        taskSummary.setCorrelationId(correlationId);
+        taskSummary.setScheduledTime(formatSummaryTime(scheduledTime));
+        taskSummary.setStartTime(formatSummaryTime(startTime));
+        taskSummary.setUpdateTime(formatSummaryTime(updateTime));
+        taskSummary.setEndTime(formatSummaryTime(endTime));
+        taskSummary.setStatus(mapToTaskStatus(status));
+        taskSummary.setReasonForIncompletion(reasonForIncompletion);
+        taskSummary.setQueueWaitTime(getQueueWaitTime());
+        taskSummary.setDomain(domain);
+        // externalized input/output is represented as an empty map, same as in toTask()
+        taskSummary.setInput(
+                SummaryUtil.serializeInputOutput(
+                        externalInputPayloadStoragePath != null ? Map.of() : getInputData()));
+        taskSummary.setOutput(
+                SummaryUtil.serializeInputOutput(
+                        externalOutputPayloadStoragePath != null ? Map.of() : getOutputData()));
+        if (endTime > 0) {
+            taskSummary.setExecutionTime(endTime - startTime);
+        }
+        if (StringUtils.isNotBlank(externalInputPayloadStoragePath)) {
+            taskSummary.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
+        }
+        if (StringUtils.isNotBlank(externalOutputPayloadStoragePath)) {
+            taskSummary.setExternalOutputPayloadStoragePath(externalOutputPayloadStoragePath);
+        }
+        return taskSummary;
+    }
+
+    static String formatSummaryTime(long time) {
+        return SUMMARY_TIME_FORMAT.format(Instant.ofEpochMilli(time));
+    }
+
     public static Task.Status mapToTaskStatus(TaskModel.Status status) {
         return Task.Status.valueOf(status.name());
     }
@@ -779,6 +907,7 @@ public class TaskModel {
     public void clearOutput() {
         this.outputData.clear();
         this.outputPayload.clear();
+        this.outputPayloadLoader = null;
         this.externalOutputPayloadStoragePath = null;
     }
 
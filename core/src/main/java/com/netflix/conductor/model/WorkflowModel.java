@@ -20,6 +20,8 @@ import org.springframework.beans.BeanUtils;
 
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.common.utils.SummaryUtil;
 import com.netflix.conductor.core.utils.Utils;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -116,6 +118,8 @@ public class WorkflowModel {
 
     @JsonIgnore private Map<String, Object> outputPayload = new HashMap<>();
 
+    @JsonIgnore private transient TaskIterationIndex taskIterationIndex;
+
     public Status getPreviousStatus() {
         return previousStatus;
     }
@@ -176,6 +180,23 @@ public class WorkflowModel {
         this.tasks = tasks;
     }
 
+    /**
+     * Looks up tasks by reference name and DO_WHILE iteration through an index that is maintained
+     * as tasks are added, instead of scanning all the tasks of the workflow.
+     *
+     * @param referenceNames the reference names of the tasks, without the iteration suffix
+     * @param fromIteration the lowest iteration, inclusive
+     * @param toIteration the highest iteration, inclusive
+     * @return the matching tasks, in the order of {@link #getTasks()}
+     */
+    public List<TaskModel> getTasksByIteration(
+            Collection<String> referenceNames, int fromIteration, int toIteration) {
+        if (taskIterationIndex == null || !taskIterationIndex.isIndexOf(tasks)) {
+            taskIterationIndex = new TaskIterationIndex(tasks);
+        }
+        return taskIterationIndex.getTasks(referenceNames, fromIteration, toIteration);
+    }
+
     @JsonIgnore
     public Map<String, Object> getInput() {
         if (!inputPayload.isEmpty() && !input.isEmpty()) {
@@ -584,6 +605,55 @@ public class WorkflowModel {
         return workflow;
     }
 
+    /**
+     * Builds the {@link WorkflowSummary} of this workflow directly, without converting the
+     * workflow and all of its tasks with {@link #toWorkflow()}. The result is the same as {@code
+     * new WorkflowSummary(toWorkflow())}.
+     *
+     * @return the summary of this workflow, as indexed
+     */
+    public WorkflowSummary toWorkflowSummary() {
+        WorkflowSummary workflowSummary = new WorkflowSummary();
+        workflowSummary.setWorkflowType(getWorkflowName());
+        workflowSummary.setVersion(getWorkflowVersion());
+        workflowSummary.setWorkflowId(workflowId);
+        workflowSummary.setPriority(priority);
+        workflowSummary.setCorrelationId(correlationId);
+        if (createTime != null) {
+            workflowSummary.setStartTime(TaskModel.formatSummaryTime(createTime));
+        }
+        if (endTime > 0) {
+            workflowSummary.setEndTime(TaskModel.formatSummaryTime(endTime));
+            workflowSummary.setExecutionTime(endTime - (createTime != null ? createTime : 0));
+        }
+        if (updatedTime != null) {
+            workflowSummary.setUpdateTime(TaskModel.formatSummaryTime(updatedTime));
+        }
+        workflowSummary.setStatus(Workflow.WorkflowStatus.valueOf(status.name()));
+        // externalized input/output is represented as an empty map, same as in toWorkflow()
+        workflowSummary.setInput(
+                SummaryUtil.serializeInputOutput(
+                        externalInputPayloadStoragePath != null ? Map.of() : getInput()));
+        workflowSummary.setOutput(
+                SummaryUtil.serializeInputOutput(
+                        externalOutputPayloadStoragePath != null ? Map.of() : getOutput()));
+        workflowSummary.setReasonForIncompletion(reasonForIncompletion);
+        workflowSummary.setEvent(event);
+        workflowSummary.setFailedReferenceTaskNames(String.join(",", failedReferenceTaskNames));
+        workflowSummary.setFailedTaskNames(failedTaskNames);
+        if (StringUtils.isNotBlank(externalInputPayloadStoragePath)) {
+            workflowSummary.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
+        }
+        if (StringUtils.isNotBlank(externalOutputPayloadStoragePath)) {
+            workflowSummary.setExternalOutputPayloadStoragePath(externalOutputPayloadStoragePath);
+        }
+        if (taskToDomain != null) {
+            workflowSummary.setTaskToDomain(taskToDomain);
+        }
+        workflowSummary.setCreatedBy(createdBy);
+        return workflowSummary;
+    }
+
     public void addInput(String key, Object value) {
         this.input.put(key, value);
     }
@@ -36,6 +36,7 @@ import com.netflix.conductor.core.exception.NotFoundException;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
 import com.netflix.conductor.core.listener.TaskStatusListener;
+import com.netflix.conductor.core.listener.TaskStatusListenerDispatcher;
 import com.netflix.conductor.core.utils.QueueUtils;
 import com.netflix.conductor.core.utils.Utils;
 import com.netflix.conductor.dao.QueueDAO;
@@ -43,6 +44,8 @@ import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 
+import jakarta.annotation.PreDestroy;
+
 @Trace
 @Service
 public class ExecutionService {
@@ -54,7 +57,7 @@ public class ExecutionService {
     private final QueueDAO queueDAO;
     private final ExternalPayloadStorage externalPayloadStorage;
     private final SystemTaskRegistry systemTaskRegistry;
-    private final TaskStatusListener taskStatusListener;
+    private final TaskStatusListenerDispatcher taskStatusListenerDispatcher;
 
     private final long queueTaskMessagePostponeSecs;
 
@@ -78,7 +81,16 @@ public class ExecutionService {
         this.queueTaskMessagePostponeSecs =
                 properties.getTaskExecutionPostponeDuration().getSeconds();
         this.systemTaskRegistry = systemTaskRegistry;
-        this.taskStatusListener = taskStatusListener;
+        this.taskStatusListenerDispatcher =
+                new TaskStatusListenerDispatcher(
+                        taskStatusListener,
+                        properties.getTaskStatusListenerQueueSize(),
+                        properties.getTaskStatusListenerBatchSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        taskStatusListenerDispatcher.shutdown();
     }
 
     public Task poll(String taskType, String workerId) {
@@ -122,9 +134,27 @@ public class ExecutionService {
             Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
         }
 
+        Map<String, TaskModel> taskModels = new HashMap<>();
+        try {
+            executionDAOFacade
+                    .getTaskModels(taskIds)
+                    .forEach(taskModel -> taskModels.put(taskModel.getTaskId(), taskModel));
+        } catch (Exception e) {
+            // db operation failed for the dequeued messages, re-enqueue them with a delay
+            LOGGER.warn("DB operation failed for tasks: {}, postponing tasks in queue", taskIds, e);
+            Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
+            taskIds.forEach(
+                    taskId ->
+                            queueDAO.postpone(
+                                    queueName, taskId, 0, queueTaskMessagePostponeSecs));
+            taskIds = Collections.emptyList();
+        }
+
+        List<TaskModel> polledTasks = new ArrayList<>();
+        List<TaskModel> unsavedTasks = new ArrayList<>();
         for (String taskId : taskIds) {
             try {
-                TaskModel taskModel = executionDAOFacade.getTaskModel(taskId);
+                TaskModel taskModel = taskModels.get(taskId);
                 if (taskModel == null || taskModel.getStatus().isTerminal()) {
                     // Remove taskId(s) without a valid Task/terminal state task from the queue
                     queueDAO.remove(queueName, taskId);
@@ -176,8 +206,14 @@ public class ExecutionService {
                         0); // reset callbackAfterSeconds when giving the task to the worker
                 taskModel.setWorkerId(workerId);
                 taskModel.incrementPollCount();
-                executionDAOFacade.updateTask(taskModel);
-                tasks.add(taskModel.toTask());
+                if (taskDef != null && taskDef.concurrencyLimit() > 0) {
+                    // the limiters only count saved tasks, so save this one before checking the
+                    // limit for the next one
+                    executionDAOFacade.updateTask(taskModel);
+                } else {
+                    unsavedTasks.add(taskModel);
+                }
+                polledTasks.add(taskModel);
             } catch (Exception e) {
                 // db operation failed for dequeued message, re-enqueue with a delay
                 LOGGER.warn(
@@ -186,22 +222,33 @@ public class ExecutionService {
                 queueDAO.postpone(queueName, taskId, 0, queueTaskMessagePostponeSecs);
             }
         }
-        taskIds.stream()
-                .map(executionDAOFacade::getTaskModel)
-                .filter(Objects::nonNull)
-                .filter(task -> TaskModel.Status.IN_PROGRESS.equals(task.getStatus()))
-                .forEach(
-                        task -> {
-                            try {
-                                taskStatusListener.onTaskInProgress(task);
-                            } catch (Exception e) {
-                                String errorMsg =
-                                        String.format(
-                                                "Error while notifying TaskStatusListener: %s for workflow: %s",
-                                                task.getTaskId(), task.getWorkflowInstanceId());
-                                LOGGER.error(errorMsg, e);
-                            }
-                        });
+
+        if (!unsavedTasks.isEmpty()) {
+            try {
+                executionDAOFacade.updateTasks(unsavedTasks);
+            } catch (Exception e) {
+                // db operation failed for dequeued messages, re-enqueue them with a delay
+                LOGGER.warn(
+                        "DB operation failed while marking {} task(s) of type: {} IN_PROGRESS, postponing tasks in queue",
+                        unsavedTasks.size(),
+                        taskType,
+                        e);
+                Monitors.recordTaskPollError(taskType, domain, e.getClass().getSimpleName());
+                unsavedTasks.forEach(
+                        taskModel ->
+                                queueDAO.postpone(
+                                        queueName,
+                                        taskModel.getTaskId(),
+                                        0,
+                                        queueTaskMessagePostponeSecs));
+                polledTasks.removeAll(unsavedTasks);
+            }
+        }
+        if (!polledTasks.isEmpty()) {
+            polledTasks.forEach(taskModel -> tasks.add(taskModel.toTask()));
+            // notify with the persisted models instead of re-reading them
+            taskStatusListenerDispatcher.onTasksInProgress(polledTasks);
+        }
         executionDAOFacade.updateTaskLastPoll(taskType, domain, workerId);
         Monitors.recordTaskPoll(queueName);
         tasks.forEach(this::ackTaskReceived);
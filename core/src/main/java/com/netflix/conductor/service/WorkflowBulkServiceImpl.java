@@ -12,8 +12,20 @@
  */
 package com.netflix.conductor.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -21,9 +33,12 @@ import org.springframework.stereotype.Service;
 import com.netflix.conductor.annotations.Audit;
 import com.netflix.conductor.annotations.Trace;
 import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.model.WorkflowModel;
 
+import jakarta.annotation.PreDestroy;
+
 @Audit
 @Trace
 @Service
@@ -32,11 +47,39 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
     private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowBulkService.class);
     private final WorkflowExecutor workflowExecutor;
     private final WorkflowService workflowService;
+    private final Duration bulkOperationTimeout;
+    private final int bulkOperationThreadCount;
+
+    /** Runs the operations on the workflows of a request, null to run them on the caller. */
+    private final ExecutorService bulkOperationExecutor;
 
     public WorkflowBulkServiceImpl(
-            WorkflowExecutor workflowExecutor, WorkflowService workflowService) {
+            WorkflowExecutor workflowExecutor,
+            WorkflowService workflowService,
+            ConductorProperties properties) {
         this.workflowExecutor = workflowExecutor;
         this.workflowService = workflowService;
+        this.bulkOperationTimeout = properties.getBulkOperationTimeout();
+        this.bulkOperationThreadCount = properties.getBulkOperationThreadCount();
+        if (bulkOperationThreadCount > 1) {
+            // the queue holds at most bulkOperationThreadCount lanes per request in progress
+            this.bulkOperationExecutor =
+                    Executors.newFixedThreadPool(
+                            bulkOperationThreadCount,
+                            new BasicThreadFactory.Builder()
+                                    .namingPattern("bulk-operation-%d")
+                                    .daemon(true)
+                                    .build());
+        } else {
+            this.bulkOperationExecutor = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (bulkOperationExecutor != null) {
+            bulkOperationExecutor.shutdownNow();
+        }
     }
 
     /**
@@ -47,23 +90,14 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse<String> pauseWorkflow(List<String> workflowIds) {
-
-        BulkResponse<String> bulkResponse = new BulkResponse<>();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.pauseWorkflow(workflowId);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk pauseWorkflow exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-
-        return bulkResponse;
+        return execute(
+                workflowIds,
+                (workflowId, bulkResponse) ->
+                        apply(
+                                bulkResponse,
+                                "pauseWorkflow",
+                                workflowId,
+                                () -> workflowExecutor.pauseWorkflow(workflowId)));
     }
 
     /**
@@ -74,21 +108,14 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse<String> resumeWorkflow(List<String> workflowIds) {
-        BulkResponse<String> bulkResponse = new BulkResponse<>();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.resumeWorkflow(workflowId);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk resumeWorkflow exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        return execute(
+                workflowIds,
+                (workflowId, bulkResponse) ->
+                        apply(
+                                bulkResponse,
+                                "resumeWorkflow",
+                                workflowId,
+                                () -> workflowExecutor.resumeWorkflow(workflowId)));
     }
 
     /**
@@ -100,21 +127,14 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse<String> restart(List<String> workflowIds, boolean useLatestDefinitions) {
-        BulkResponse<String> bulkResponse = new BulkResponse<>();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.restart(workflowId, useLatestDefinitions);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk restart exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        return execute(
+                workflowIds,
+                (workflowId, bulkResponse) ->
+                        apply(
+                                bulkResponse,
+                                "restart",
+                                workflowId,
+                                () -> workflowExecutor.restart(workflowId, useLatestDefinitions)));
     }
 
     /**
@@ -125,21 +145,14 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse<String> retry(List<String> workflowIds) {
-        BulkResponse<String> bulkResponse = new BulkResponse<>();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.retry(workflowId, false);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk retry exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        return execute(
+                workflowIds,
+                (workflowId, bulkResponse) ->
+                        apply(
+                                bulkResponse,
+                                "retry",
+                                workflowId,
+                                () -> workflowExecutor.retry(workflowId, false)));
     }
 
     /**
@@ -152,21 +165,14 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse<String> terminate(List<String> workflowIds, String reason) {
-        BulkResponse<String> bulkResponse = new BulkResponse<>();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.terminateWorkflow(workflowId, reason);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk terminate exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        return execute(
+                workflowIds,
+                (workflowId, bulkResponse) ->
+                        apply(
+                                bulkResponse,
+                                "terminate",
+                                workflowId,
+                                () -> workflowExecutor.terminateWorkflow(workflowId, reason)));
     }
 
     /**
@@ -176,23 +182,15 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      * @param archiveWorkflow Archives the workflow and associated tasks instead of removing them.
      */
     public BulkResponse<String> deleteWorkflow(List<String> workflowIds, boolean archiveWorkflow) {
-        BulkResponse<String> bulkResponse = new BulkResponse<>();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowService.deleteWorkflow(
-                        workflowId,
-                        archiveWorkflow); // TODO: change this to method that cancels then deletes
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk delete exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        // TODO: change this to method that cancels then deletes
+        return execute(
+                workflowIds,
+                (workflowId, bulkResponse) ->
+                        apply(
+                                bulkResponse,
+                                "delete",
+                                workflowId,
+                                () -> workflowService.deleteWorkflow(workflowId, archiveWorkflow)));
     }
 
     /**
@@ -206,33 +204,20 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      */
     public BulkResponse<String> terminateRemove(
             List<String> workflowIds, String reason, boolean archiveWorkflow) {
-        BulkResponse<String> bulkResponse = new BulkResponse<>();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.terminateWorkflow(workflowId, reason);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk terminate exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-
-            try {
-                workflowService.deleteWorkflow(workflowId, archiveWorkflow);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk delete exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        return execute(
+                workflowIds,
+                (workflowId, bulkResponse) -> {
+                    apply(
+                            bulkResponse,
+                            "terminate",
+                            workflowId,
+                            () -> workflowExecutor.terminateWorkflow(workflowId, reason));
+                    apply(
+                            bulkResponse,
+                            "delete",
+                            workflowId,
+                            () -> workflowService.deleteWorkflow(workflowId, archiveWorkflow));
+                });
     }
 
     /**
@@ -245,21 +230,155 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
     @Override
     public BulkResponse<WorkflowModel> searchWorkflow(
             List<String> workflowIds, boolean includeTasks) {
-        BulkResponse<WorkflowModel> bulkResponse = new BulkResponse<>();
+        return execute(
+                workflowIds,
+                (workflowId, bulkResponse) -> {
+                    try {
+                        WorkflowModel workflowModel =
+                                workflowExecutor.getWorkflow(workflowId, includeTasks);
+                        bulkResponse.appendSuccessResponse(workflowModel);
+                    } catch (Exception e) {
+                        LOGGER.error(
+                                "bulk search exception, workflowId {}, message: {} ",
+                                workflowId,
+                                e.getMessage(),
+                                e);
+                        bulkResponse.appendFailedResponse(workflowId, e.getMessage());
+                    }
+                });
+    }
+
+    private void apply(
+            BulkResponse<String> bulkResponse,
+            String operation,
+            String workflowId,
+            Runnable action) {
+        try {
+            action.run();
+            bulkResponse.appendSuccessResponse(workflowId);
+        } catch (Exception e) {
+            LOGGER.error(
+                    "bulk {} exception, workflowId {}, message: {} ",
+                    operation,
+                    workflowId,
+                    e.getMessage(),
+                    e);
+            bulkResponse.appendFailedResponse(workflowId, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the operation for each of the workflows and collects the results in the order of the
+     * given ids. With a bulk operation executor, the workflows of a request are queued on their own
+     * and operated on concurrently by up to {@link #bulkOperationThreadCount} lanes, which go back
+     * to the end of the executor's queue after each workflow so that concurrent requests take
+     * turns. The workflows not started within {@link #bulkOperationTimeout} of the start of the
+     * request are dropped, those still running are left to complete, and both are reported as
+     * failed.
+     */
+    private <T> BulkResponse<T> execute(
+            List<String> workflowIds, BiConsumer<String, BulkResponse<T>> operation) {
+        BulkResponse<T> bulkResponse = new BulkResponse<>();
+        if (bulkOperationExecutor == null) {
+            for (String workflowId : workflowIds) {
+                operation.accept(workflowId, bulkResponse);
+            }
+            return bulkResponse;
+        }
+
+        List<BulkItem<T>> items = new ArrayList<>(workflowIds.size());
         for (String workflowId : workflowIds) {
+            items.add(new BulkItem<>(workflowId));
+        }
+        BulkRequest<T> request = new BulkRequest<>(items, operation);
+        for (int i = 0; i < Math.min(bulkOperationThreadCount, items.size()); i++) {
+            submit(request);
+        }
+        String reason;
+        try {
+            request.done.await(bulkOperationTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            reason = "Operation timed out after " + bulkOperationTimeout.toMillis() + "ms";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reason = "Interrupted";
+        }
+
+        // BulkResponse is not thread-safe, each workflow gets its own and they are merged here
+        for (BulkItem<T> item : items) {
+            if (item.claimed.compareAndSet(false, true)) {
+                LOGGER.error("bulk operation not started, workflowId {}", item.workflowId);
+                bulkResponse.appendFailedResponse(item.workflowId, reason + ", not started");
+                continue;
+            }
+            BulkResponse<T> result = item.result;
+            if (result == null) {
+                // interrupting it could leave the workflow partly updated
+                LOGGER.error("bulk operation timed out, workflowId {}", item.workflowId);
+                bulkResponse.appendFailedResponse(item.workflowId, reason + ", outcome unknown");
+                continue;
+            }
+            bulkResponse.getBulkSuccessfulResults().addAll(result.getBulkSuccessfulResults());
+            bulkResponse.getBulkErrorResults().putAll(result.getBulkErrorResults());
+        }
+        return bulkResponse;
+    }
+
+    private <T> void submit(BulkRequest<T> request) {
+        try {
+            bulkOperationExecutor.execute(() -> runNext(request));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Bulk operation executor is shut down, workflows left unprocessed", e);
+        }
+    }
+
+    /** Runs the operation on the next workflow of the request, then queues the lane again. */
+    private <T> void runNext(BulkRequest<T> request) {
+        BulkItem<T> item = request.pending.poll();
+        if (item == null) {
+            return;
+        }
+        // the request stops waiting by claiming the workflows that are not started yet
+        if (item.claimed.compareAndSet(false, true)) {
+            BulkResponse<T> result = new BulkResponse<>();
             try {
-                WorkflowModel workflowModel =
-                        workflowExecutor.getWorkflow(workflowId, includeTasks);
-                bulkResponse.appendSuccessResponse(workflowModel);
+                request.operation.accept(item.workflowId, result);
             } catch (Exception e) {
                 LOGGER.error(
-                        "bulk search exception, workflowId {}, message: {} ",
-                        workflowId,
+                        "bulk operation exception, workflowId {}, message: {} ",
+                        item.workflowId,
                         e.getMessage(),
                         e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
+                result.appendFailedResponse(item.workflowId, e.getMessage());
             }
+            item.result = result;
+            request.done.countDown();
+        }
+        if (!request.pending.isEmpty()) {
+            submit(request);
+        }
+    }
+
+    private static final class BulkRequest<T> {
+
+        private final Queue<BulkItem<T>> pending;
+        private final BiConsumer<String, BulkResponse<T>> operation;
+        private final CountDownLatch done;
+
+        BulkRequest(List<BulkItem<T>> items, BiConsumer<String, BulkResponse<T>> operation) {
+            this.pending = new ConcurrentLinkedQueue<>(items);
+            this.operation = operation;
+            this.done = new CountDownLatch(items.size());
+        }
+    }
+
+    private static final class BulkItem<T> {
+
+        private final String workflowId;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile BulkResponse<T> result;
+
+        BulkItem(String workflowId) {
+            this.workflowId = workflowId;
         }
-        return bulkResponse;
     }
 }
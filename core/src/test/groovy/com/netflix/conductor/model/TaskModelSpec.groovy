@@ -12,6 +12,9 @@
  */
 package com.netflix.conductor.model
 
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
 import com.netflix.conductor.common.config.ObjectMapperProvider
 
 import com.fasterxml.jackson.databind.JsonNode
@@ -63,4 +66,78 @@ class TaskModelSpec extends Specification {
         node.path("outputData").isEmpty()
         node.path("externalOutputPayloadStoragePath").isTextual()
     }
+
+    def "externalized payloads are loaded on first access"() {
+        given:
+        int loads = 0
+        taskModel.externalInputPayloadStoragePath = "task/input/${UUID.randomUUID()}.json"
+        taskModel.externalOutputPayloadStoragePath = "task/output/${UUID.randomUUID()}.json"
+        taskModel.internalizeInput({ loads++; ['key1': 'input'] } as Supplier)
+        taskModel.internalizeOutput({ loads++; ['key1': 'output'] } as Supplier)
+
+        when:
+        def input = taskModel.inputData
+
+        then:
+        loads == 1
+        input == ['key1': 'input']
+
+        when:
+        def output = taskModel.outputData
+        taskModel.outputData
+        taskModel.inputData
+
+        then:
+        loads == 2
+        output == ['key1': 'output']
+    }
+
+    def "copying a task does not load its externalized payloads"() {
+        given:
+        int loads = 0
+        taskModel.status = TaskModel.Status.IN_PROGRESS
+        taskModel.externalInputPayloadStoragePath = "task/input/${UUID.randomUUID()}.json"
+        taskModel.externalOutputPayloadStoragePath = "task/output/${UUID.randomUUID()}.json"
+        taskModel.internalizeInput({ loads++; ['key1': 'input'] } as Supplier)
+        taskModel.internalizeOutput({ loads++; ['key1': 'output'] } as Supplier)
+
+        when:
+        def copy = taskModel.copy()
+        def task = taskModel.toTask()
+
+        then:
+        loads == 0
+        task.inputData.isEmpty()
+        task.outputData.isEmpty()
+
+        when: "the copy and the original share the loaders"
+        def copyInput = copy.inputData
+        def input = taskModel.inputData
+        def output = copy.outputData
+
+        then:
+        loads == 2
+        copyInput == ['key1': 'input']
+        input == ['key1': 'input']
+        output == ['key1': 'output']
+    }
+
+    def "an externalized payload is loaded once by concurrent readers"() {
+        given:
+        def loads = new AtomicInteger()
+        taskModel.externalInputPayloadStoragePath = "task/input/${UUID.randomUUID()}.json"
+        taskModel.internalizeInput({
+            loads.incrementAndGet()
+            Thread.sleep(50)
+            ['key1': 'input']
+        } as Supplier)
+
+        when:
+        def readers = (1..4).collect { Thread.start { taskModel.inputData } }
+        readers*.join()
+
+        then:
+        loads.get() == 1
+        taskModel.inputData == ['key1': 'input']
+    }
 }
@@ -18,6 +18,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
@@ -29,8 +31,10 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.events.EventExecution;
+import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.SearchResult;
+import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
 import com.netflix.conductor.core.config.ConductorProperties;
@@ -418,4 +422,103 @@ public class ExecutionDAOFacadeTest {
 
         executionDAOFacade.updateTask(task);
     }
+
+    @Test
+    public void testTaskIndexingIsCoalescedUntilTerminalState() {
+        ExecutionDAOFacade facade = newTaskIndexCoalescingFacade(Duration.ofMinutes(1));
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName("task1");
+        task.setStatus(TaskModel.Status.IN_PROGRESS);
+
+        facade.updateTask(task);
+        facade.updateTask(task);
+        verify(indexDAO, never()).indexTask(any());
+
+        task.setStatus(TaskModel.Status.COMPLETED);
+        facade.updateTask(task);
+        verify(indexDAO, times(1))
+                .indexTask(argThat(summary -> summary.getStatus() == Task.Status.COMPLETED));
+        facade.shutdownExecutorService();
+        verify(indexDAO, times(1)).indexTask(any());
+    }
+
+    @Test
+    public void testCoalescedTaskIsIndexedAfterQuietWindow() {
+        ExecutionDAOFacade facade = newTaskIndexCoalescingFacade(Duration.ofMillis(50));
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName("task1");
+        task.setStatus(TaskModel.Status.SCHEDULED);
+        facade.updateTask(task);
+        task.setStatus(TaskModel.Status.IN_PROGRESS);
+        facade.updateTask(task);
+
+        verify(indexDAO, timeout(5000).times(1))
+                .indexTask(argThat(summary -> summary.getStatus() == Task.Status.IN_PROGRESS));
+        facade.shutdownExecutorService();
+        verify(indexDAO, times(1)).indexTask(any());
+    }
+
+    @Test
+    public void testTerminalTaskIndexIsNotOverwrittenByDeferredIndex() throws Exception {
+        ExecutionDAOFacade facade = newTaskIndexCoalescingFacade(Duration.ofMillis(50));
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName("task1");
+        task.setStatus(TaskModel.Status.IN_PROGRESS);
+
+        List<Task.Status> indexed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch deferredIndexStarted = new CountDownLatch(1);
+        CountDownLatch releaseDeferredIndex = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            TaskSummary summary = invocation.getArgument(0);
+                            if (summary.getStatus() == Task.Status.IN_PROGRESS) {
+                                deferredIndexStarted.countDown();
+                                releaseDeferredIndex.await(5, TimeUnit.SECONDS);
+                            }
+                            indexed.add(summary.getStatus());
+                            return null;
+                        })
+                .when(indexDAO)
+                .indexTask(any());
+        facade.updateTask(task);
+        assertTrue(deferredIndexStarted.await(5, TimeUnit.SECONDS));
+
+        // the task completes while its deferred IN_PROGRESS summary is being indexed
+        TaskModel completed = task.copy();
+        completed.setStatus(TaskModel.Status.COMPLETED);
+        Thread terminalUpdate = new Thread(() -> facade.updateTask(completed));
+        terminalUpdate.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (terminalUpdate.getState() != Thread.State.WAITING
+                && terminalUpdate.getState() != Thread.State.TERMINATED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        releaseDeferredIndex.countDown();
+        terminalUpdate.join(5000);
+
+        assertEquals(List.of(Task.Status.IN_PROGRESS, Task.Status.COMPLETED), indexed);
+        facade.shutdownExecutorService();
+    }
+
+    private ExecutionDAOFacade newTaskIndexCoalescingFacade(Duration coalesceWindow) {
+        ConductorProperties properties = mock(ConductorProperties.class);
+        when(properties.isTaskIndexingEnabled()).thenReturn(true);
+        when(properties.getTaskIndexingCoalesceWindow()).thenReturn(coalesceWindow);
+        when(properties.getTaskIndexingCoalesceMaxDelay()).thenReturn(Duration.ofSeconds(10));
+        when(properties.getAsyncUpdateDelay()).thenReturn(Duration.ofSeconds(1));
+        return new ExecutionDAOFacade(
+                executionDAO,
+                mock(QueueDAO.class),
+                indexDAO,
+                mock(RateLimitingDAO.class),
+                mock(ConcurrentExecutionLimitDAO.class),
+                mock(PollDataDAO.class),
+                objectMapper,
+                properties,
+                externalPayloadStorageUtils);
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.netflix.conductor.common.metadata.tasks.PollData;
+import com.netflix.conductor.dao.PollDataDAO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WriteBehindPollDataDAOTest {
+
+    private PollDataDAO delegate;
+    private WriteBehindPollDataDAO pollDataDAO;
+
+    @Before
+    public void setUp() {
+        delegate = mock(PollDataDAO.class);
+        pollDataDAO = new WriteBehindPollDataDAO(delegate, Duration.ofHours(1));
+    }
+
+    @After
+    public void tearDown() {
+        pollDataDAO.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPollsAreCoalescedPerQueueAndDomain() {
+        pollDataDAO.updateLastPollData("taskDef", null, "worker1");
+        pollDataDAO.updateLastPollData("taskDef", null, "worker2");
+        pollDataDAO.updateLastPollData("taskDef", "domain1", "worker1");
+        verify(delegate, never()).updateLastPollData(any(), any(), any());
+        verify(delegate, never()).updateLastPollData(anyList());
+
+        pollDataDAO.flush();
+
+        ArgumentCaptor<List<PollData>> captor = ArgumentCaptor.forClass(List.class);
+        verify(delegate).updateLastPollData(captor.capture());
+        List<PollData> flushed = captor.getValue();
+        assertEquals(2, flushed.size());
+        assertTrue(
+                flushed.stream()
+                        .anyMatch(p -> p.getDomain() == null && p.getWorkerId().equals("worker2")));
+
+        // nothing is written when there was no poll since the last flush
+        pollDataDAO.flush();
+        verify(delegate, times(1)).updateLastPollData(anyList());
+    }
+
+    @Test
+    public void testPendingPollsAreVisibleToReads() {
+        PollData stored = new PollData("taskDef", "domain1", "worker0", 1000L);
+        when(delegate.getPollData("taskDef")).thenReturn(List.of(stored));
+        when(delegate.getPollData("taskDef", "domain1")).thenReturn(stored);
+
+        pollDataDAO.updateLastPollData("taskDef", null, "worker1");
+
+        assertEquals("worker1", pollDataDAO.getPollData("taskDef", null).getWorkerId());
+        assertEquals("worker0", pollDataDAO.getPollData("taskDef", "domain1").getWorkerId());
+        assertEquals(2, pollDataDAO.getPollData("taskDef").size());
+
+        pollDataDAO.updateLastPollData("taskDef", "domain1", "worker2");
+        List<PollData> pollData = pollDataDAO.getPollData("taskDef");
+        assertEquals(2, pollData.size());
+        assertTrue(pollData.stream().noneMatch(p -> p.getWorkerId().equals("worker0")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFailedFlushIsRetried() {
+        doThrow(new RuntimeException("unavailable"))
+                .doNothing()
+                .when(delegate)
+                .updateLastPollData(anyList());
+        pollDataDAO.updateLastPollData("taskDef", null, "worker1");
+
+        pollDataDAO.flush();
+        // the poll is kept after the failed write
+        assertEquals("worker1", pollDataDAO.getPollData("taskDef", null).getWorkerId());
+
+        pollDataDAO.flush();
+        pollDataDAO.flush();
+
+        ArgumentCaptor<List<PollData>> captor = ArgumentCaptor.forClass(List.class);
+        verify(delegate, times(2)).updateLastPollData(captor.capture());
+        assertEquals(1, captor.getValue().size());
+    }
+}
@@ -59,12 +59,12 @@ public class DoWhileIntegrationTest {
         // Configure mock to actually remove from our simulated database
         doAnswer(
                         invocation -> {
-                            String taskId = invocation.getArgument(0);
-                            taskDatabase.remove(taskId);
+                            List<TaskModel> tasks = invocation.getArgument(0);
+                            tasks.forEach(task -> taskDatabase.remove(task.getTaskId()));
                             return null;
                         })
                 .when(executionDAOFacade)
-                .removeTask(anyString());
+                .removeTasks(anyList());
 
         // Create real DoWhile task handler
         ParametersUtils parametersUtils = new ParametersUtils(new ObjectMapper());
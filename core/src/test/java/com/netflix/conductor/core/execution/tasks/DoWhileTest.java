@@ -35,6 +35,7 @@ import com.netflix.conductor.model.WorkflowModel;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -63,7 +64,7 @@ public class DoWhileTest {
         doWhile.removeIterations(workflow, doWhileTask, 3);
 
         // Should remove 7 iterations * 3 tasks = 21 tasks
-        verify(executionDAOFacade, times(21)).removeTask(anyString());
+        assertEquals(21, removedTaskIds().size());
     }
 
     @Test
@@ -77,7 +78,7 @@ public class DoWhileTest {
         doWhile.removeIterations(workflow, doWhileTask, 5);
 
         // Should not remove anything (iteration 3 <= keepLastN 5)
-        verify(executionDAOFacade, never()).removeTask(anyString());
+        verify(executionDAOFacade, never()).removeTasks(anyList());
     }
 
     @Test
@@ -91,7 +92,7 @@ public class DoWhileTest {
         doWhile.removeIterations(workflow, doWhileTask, 5);
 
         // Should not remove anything (iteration 5 == keepLastN 5)
-        verify(executionDAOFacade, never()).removeTask(anyString());
+        verify(executionDAOFacade, never()).removeTasks(anyList());
     }
 
     @Test
@@ -105,7 +106,7 @@ public class DoWhileTest {
         doWhile.removeIterations(workflow, doWhileTask, 3);
 
         // Should not remove anything (no old iterations yet)
-        verify(executionDAOFacade, never()).removeTask(anyString());
+        verify(executionDAOFacade, never()).removeTasks(anyList());
     }
 
     @Test
@@ -119,7 +120,7 @@ public class DoWhileTest {
         doWhile.removeIterations(workflow, doWhileTask, 1);
 
         // Should remove 9 iterations * 3 tasks = 27 tasks
-        verify(executionDAOFacade, times(27)).removeTask(anyString());
+        assertEquals(27, removedTaskIds().size());
     }
 
     @Test
@@ -129,14 +130,11 @@ public class DoWhileTest {
         TaskModel doWhileTask = getDoWhileTask(workflow);
         doWhileTask.setIteration(5);
 
-        ArgumentCaptor<String> taskIdCaptor = ArgumentCaptor.forClass(String.class);
-
         // Execute removal
         doWhile.removeIterations(workflow, doWhileTask, 2);
 
         // Capture all removed task IDs
-        verify(executionDAOFacade, atLeastOnce()).removeTask(taskIdCaptor.capture());
-        List<String> removedTaskIds = taskIdCaptor.getAllValues();
+        List<String> removedTaskIds = removedTaskIds();
 
         // Verify DO_WHILE task itself was not removed
         assertFalse(
@@ -151,15 +149,12 @@ public class DoWhileTest {
         TaskModel doWhileTask = getDoWhileTask(workflow);
         doWhileTask.setIteration(5);
 
-        ArgumentCaptor<String> taskIdCaptor = ArgumentCaptor.forClass(String.class);
-
         // Execute removal
         doWhile.removeIterations(workflow, doWhileTask, 2);
 
-        // Capture all removed task IDs
-        verify(executionDAOFacade, times(9)).removeTask(taskIdCaptor.capture()); // 3 iterations * 3
-        // tasks
-        List<String> removedTaskIds = taskIdCaptor.getAllValues();
+        // Capture all removed task IDs, 3 iterations * 3 tasks
+        List<String> removedTaskIds = removedTaskIds();
+        assertEquals(9, removedTaskIds.size());
 
         // Get tasks that should remain (iterations 4, 5)
         List<TaskModel> remainingTasks =
@@ -216,7 +211,10 @@ public class DoWhileTest {
                         .findFirst()
                         .orElseThrow();
 
-        // Simulate failure on first task removal
+        // Simulate failure of the bulk removal and of the first task removal
+        doThrow(new RuntimeException("Database error"))
+                .when(executionDAOFacade)
+                .removeTasks(anyList());
         doThrow(new RuntimeException("Database error"))
                 .when(executionDAOFacade)
                 .removeTask(firstTask.getTaskId());
@@ -224,7 +222,7 @@ public class DoWhileTest {
         // Execute removal - should not throw exception
         doWhile.removeIterations(workflow, doWhileTask, 2);
 
-        // Should still attempt to remove all old iteration tasks (3 tasks from iteration 1)
+        // Should fall back to removing the 3 tasks of iteration 1 one by one
         verify(executionDAOFacade, times(3)).removeTask(anyString());
     }
 
@@ -235,14 +233,12 @@ public class DoWhileTest {
         TaskModel doWhileTask = getDoWhileTask(workflow);
         doWhileTask.setIteration(4);
 
-        ArgumentCaptor<String> taskIdCaptor = ArgumentCaptor.forClass(String.class);
-
         // Execute removal (should remove iterations 1, 2)
         doWhile.removeIterations(workflow, doWhileTask, 2);
 
-        verify(executionDAOFacade, times(4)).removeTask(taskIdCaptor.capture()); // 2 iterations * 2
-        // tasks
-        List<String> removedTaskIds = taskIdCaptor.getAllValues();
+        // 2 iterations * 2 tasks
+        List<String> removedTaskIds = removedTaskIds();
+        assertEquals(4, removedTaskIds.size());
 
         // Get expected task IDs (from iterations 1 and 2)
         Set<String> expectedRemovedIds =
@@ -276,7 +272,7 @@ public class DoWhileTest {
         doWhile.removeIterations(workflow, doWhileTask, 3);
 
         // Should not attempt to remove anything
-        verify(executionDAOFacade, never()).removeTask(anyString());
+        verify(executionDAOFacade, never()).removeTasks(anyList());
     }
 
     @Test
@@ -290,11 +286,19 @@ public class DoWhileTest {
         doWhile.removeIterations(workflow, doWhileTask, 2);
 
         // Should remove 3 iterations * 5 tasks = 15 tasks
-        verify(executionDAOFacade, times(15)).removeTask(anyString());
+        assertEquals(15, removedTaskIds().size());
     }
 
     // Helper methods
 
+    @SuppressWarnings("unchecked")
+    private List<String> removedTaskIds() {
+        ArgumentCaptor<List<TaskModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(executionDAOFacade).removeTasks(captor.capture());
+        verify(executionDAOFacade, never()).removeTask(anyString());
+        return captor.getValue().stream().map(TaskModel::getTaskId).collect(Collectors.toList());
+    }
+
     private WorkflowModel createWorkflowWithDef() {
         WorkflowModel workflow = new WorkflowModel();
         WorkflowDef def = new WorkflowDef();
@@ -914,7 +918,7 @@ public class DoWhileTest {
         doWhile.removeIterations(workflow, doWhileTask, 3);
 
         // Should remove 7 iterations * 3 tasks = 21 tasks
-        verify(executionDAOFacade, times(21)).removeTask(anyString());
+        assertEquals(21, removedTaskIds().size());
 
         // Verify list iteration still works after cleanup
         assertTrue(
@@ -15,11 +15,15 @@ package com.netflix.conductor.core.execution.tasks;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.netflix.conductor.core.config.ConductorProperties;
@@ -28,8 +32,11 @@ import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.service.ExecutionService;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -155,6 +162,109 @@ public class TestSystemTaskWorker {
         verify(asyncSystemTaskExecutor, Mockito.times(1)).execute(any(), eq("isolated_taskId"));
     }
 
+    @Test
+    public void testGetExecutionConfigWithVirtualThreads() {
+        when(properties.isSystemTaskWorkerVirtualThreadsEnabled()).thenReturn(true);
+        when(properties.getSystemTaskWorkerVirtualThreadConcurrency()).thenReturn(50);
+        systemTaskWorker =
+                new SystemTaskWorker(
+                        queueDAO, asyncSystemTaskExecutor, properties, executionService);
+
+        ExecutionConfig executionConfig = systemTaskWorker.getExecutionConfig(TEST_TASK);
+        assertEquals(50, executionConfig.getSemaphoreUtil().availableSlots());
+        assertEquals(executionConfig, systemTaskWorker.getExecutionConfig(TEST_TASK));
+        assertNotEquals(executionConfig, systemTaskWorker.getExecutionConfig(ISOLATED_TASK));
+    }
+
+    @Test
+    public void testPollAndExecuteSystemTaskOnVirtualThread() throws Exception {
+        when(properties.isSystemTaskWorkerVirtualThreadsEnabled()).thenReturn(true);
+        when(properties.getSystemTaskWorkerVirtualThreadConcurrency()).thenReturn(50);
+        systemTaskWorker =
+                new SystemTaskWorker(
+                        queueDAO, asyncSystemTaskExecutor, properties, executionService);
+        systemTaskWorker.start();
+        when(queueDAO.pop(eq(TEST_TASK), eq(50), anyInt())).thenReturn(List.of("t1", "t2"));
+
+        CountDownLatch latch = new CountDownLatch(2);
+        AtomicBoolean virtual = new AtomicBoolean(true);
+        doAnswer(
+                        invocation -> {
+                            virtual.compareAndSet(true, Thread.currentThread().isVirtual());
+                            latch.countDown();
+                            return null;
+                        })
+                .when(asyncSystemTaskExecutor)
+                .execute(any(), anyString());
+
+        systemTaskWorker.pollAndExecute(new TestTask(), TEST_TASK);
+
+        latch.await();
+
+        assertTrue(virtual.get());
+        verify(asyncSystemTaskExecutor, Mockito.times(2)).execute(any(), anyString());
+    }
+
+    @Test
+    public void testMultiplexedPollingPopsAllQueuesAtOnce() throws Exception {
+        when(properties.isSystemTaskWorkerMultiplexedPollingEnabled()).thenReturn(true);
+        when(properties.getSystemTaskWorkerMaxPollBackoff()).thenReturn(Duration.ofMinutes(5));
+        systemTaskWorker =
+                new SystemTaskWorker(
+                        queueDAO, asyncSystemTaskExecutor, properties, executionService);
+        systemTaskWorker.start();
+        systemTaskWorker.startPolling(new TestTask(), TEST_TASK);
+        systemTaskWorker.startPolling(new IsolatedTask(), ISOLATED_TASK);
+        when(queueDAO.pop(anyMap()))
+                .thenReturn(Map.of(TEST_TASK, List.of("t1"), ISOLATED_TASK, List.of()));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            latch.countDown();
+                            return null;
+                        })
+                .when(asyncSystemTaskExecutor)
+                .execute(any(), eq("t1"));
+
+        systemTaskWorker.pollQueues();
+
+        latch.await();
+
+        verify(queueDAO).pop(Map.of(TEST_TASK, 10, ISOLATED_TASK, 10));
+        verify(queueDAO, Mockito.never()).pop(anyString(), anyInt(), anyInt());
+        // the polled tasks are acked together instead of one at a time
+        verify(queueDAO).ack(Map.of(TEST_TASK, List.of("t1"), ISOLATED_TASK, List.of()));
+        verify(executionService, Mockito.never()).ackTaskReceived(anyString());
+        // the empty queue is backed off, the other one is polled again right away
+        assertTrue(
+                systemTaskWorker.multiplexedQueues.get(ISOLATED_TASK).getNextPollTime()
+                        > System.currentTimeMillis());
+
+        systemTaskWorker.pollQueues();
+
+        ArgumentCaptor<Map<String, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(queueDAO, Mockito.times(2)).pop(captor.capture());
+        assertEquals(Set.of(TEST_TASK), captor.getValue().keySet());
+    }
+
+    @Test
+    public void testQueuePollStateBackoff() {
+        SystemTaskWorker.QueuePollState pollState =
+                new SystemTaskWorker.QueuePollState(new TestTask());
+
+        pollState.polled(0, 1000, 50, 400);
+        assertEquals(1050, pollState.getNextPollTime());
+        pollState.polled(0, 1000, 50, 400);
+        assertEquals(1100, pollState.getNextPollTime());
+        pollState.polled(0, 1000, 50, 400);
+        pollState.polled(0, 1000, 50, 400);
+        pollState.polled(0, 1000, 50, 400);
+        assertEquals(1400, pollState.getNextPollTime());
+        pollState.polled(3, 1000, 50, 400);
+        assertEquals(1000, pollState.getNextPollTime());
+    }
+
     @Test
     public void testPollException() {
         when(properties.getSystemTaskWorkerThreadCount()).thenReturn(1);
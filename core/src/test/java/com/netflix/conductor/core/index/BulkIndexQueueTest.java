@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkIndexQueueTest {
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void testCoalescesOperationsOfTheSameDocument() {
+        BulkIndexQueue<String> queue =
+                new BulkIndexQueue<>(
+                        "test",
+                        this::record,
+                        100,
+                        0,
+                        Duration.ofHours(1),
+                        1000,
+                        Duration.ZERO,
+                        1);
+
+        queue.put("workflow", "wf1", "wf1:v1", 10);
+        queue.append("workflow", "wf1", "wf1:update1", 10);
+        queue.put("workflow", "wf2", "wf2:v1", 10);
+        queue.put("workflow", "wf1", "wf1:v2", 10);
+        queue.append("workflow", "wf1", "wf1:update2", 10);
+        queue.put("workflow", null, "log1", 10);
+        queue.put("workflow", null, "log2", 10);
+        assertEquals(5, queue.size());
+
+        queue.shutdown();
+
+        assertEquals(List.of(List.of("wf1:v2", "wf1:update2", "wf2:v1", "log1", "log2")), batches);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testFlushesFullBatches() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        BulkIndexQueue<String> queue =
+                new BulkIndexQueue<>(
+                        "test",
+                        (index, operations) -> {
+                            record(index, operations);
+                            latch.countDown();
+                        },
+                        2,
+                        0,
+                        Duration.ofHours(1),
+                        1000,
+                        Duration.ZERO,
+                        2);
+
+        queue.put("workflow", "wf1", "wf1", 10);
+        queue.put("task", "t1", "t1", 10);
+        queue.put("workflow", "wf2", "wf2", 10);
+        queue.put("task", "t2", "t2", 10);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(batches.contains(List.of("wf1", "wf2")));
+        assertTrue(batches.contains(List.of("t1", "t2")));
+        queue.shutdown();
+    }
+
+    @Test
+    public void testFlushesBatchesBySize() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        BulkIndexQueue<String> queue =
+                new BulkIndexQueue<>(
+                        "test",
+                        (index, operations) -> {
+                            record(index, operations);
+                            latch.countDown();
+                        },
+                        100,
+                        1024,
+                        Duration.ofHours(1),
+                        1000,
+                        Duration.ZERO,
+                        1);
+
+        queue.put("workflow", "wf1", "wf1", 1000);
+        queue.put("workflow", "wf2", "wf2", 1000);
+
+        // the buffer is flushed once it crosses the size, but no request exceeds it
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("wf1"), List.of("wf2")), batches);
+        queue.shutdown();
+    }
+
+    @Test
+    public void testSplitsTheBufferIntoBatches() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(4);
+        BulkIndexQueue<String> queue =
+                new BulkIndexQueue<>(
+                        "test",
+                        (index, operations) -> {
+                            sending.countDown();
+                            release.await();
+                            record(index, operations);
+                            latch.countDown();
+                        },
+                        2,
+                        0,
+                        Duration.ofHours(1),
+                        1000,
+                        Duration.ZERO,
+                        1);
+
+        queue.put("workflow", "wf1", "wf1", 10);
+        queue.put("workflow", "wf2", "wf2", 10);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        // the buffer grows past the batch size while the first batch is being sent
+        for (int i = 3; i <= 7; i++) {
+            queue.put("workflow", "wf" + i, "wf" + i, 10);
+        }
+        release.countDown();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(
+                List.of(
+                        List.of("wf1", "wf2"),
+                        List.of("wf3", "wf4"),
+                        List.of("wf5", "wf6"),
+                        List.of("wf7")),
+                batches);
+        queue.shutdown();
+    }
+
+    @Test
+    public void testFlushesAfterInterval() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        BulkIndexQueue<String> queue =
+                new BulkIndexQueue<>(
+                        "test",
+                        (index, operations) -> {
+                            record(index, operations);
+                            latch.countDown();
+                        },
+                        100,
+                        0,
+                        Duration.ofMillis(50),
+                        1000,
+                        Duration.ZERO,
+                        1);
+
+        queue.put("workflow", "wf1", "wf1", 10);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("wf1")), batches);
+        queue.shutdown();
+    }
+
+    @Test
+    public void testCallerWaitsForTheFlushThreadsWhenTheQueueIsFull() throws Exception {
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BulkIndexQueue<String> queue =
+                new BulkIndexQueue<>(
+                        "test",
+                        (index, operations) -> {
+                            sending.countDown();
+                            release.await();
+                            record(index, operations);
+                            threads.add(Thread.currentThread());
+                        },
+                        100,
+                        0,
+                        Duration.ofHours(1),
+                        2,
+                        Duration.ofSeconds(5),
+                        1);
+
+        queue.put("workflow", "wf1", "wf1", 10);
+        queue.put("workflow", "wf2", "wf2", 10);
+        Thread caller = new Thread(() -> queue.put("workflow", "wf3", "wf3", 10));
+        caller.start();
+
+        // the full buffer is sent on a flush thread while the caller waits for room
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        assertTrue(caller.isAlive());
+        release.countDown();
+        caller.join(5000);
+
+        assertFalse(caller.isAlive());
+        assertEquals(List.of(List.of("wf1", "wf2")), batches);
+        assertFalse(threads.contains(caller));
+        assertEquals(1, queue.size());
+        queue.shutdown();
+    }
+
+    @Test
+    public void testDiscardsTheOperationWhenTheQueueStaysFull() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BulkIndexQueue<String> queue =
+                new BulkIndexQueue<>(
+                        "test",
+                        (index, operations) -> {
+                            sending.countDown();
+                            release.await();
+                            record(index, operations);
+                        },
+                        100,
+                        0,
+                        Duration.ofHours(1),
+                        2,
+                        Duration.ofMillis(50),
+                        1);
+
+        queue.put("workflow", "wf1", "wf1", 10);
+        queue.put("workflow", "wf2", "wf2", 10);
+        queue.put("workflow", "wf3", "wf3", 10);
+
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        assertEquals(2, queue.size());
+        release.countDown();
+        queue.shutdown();
+        assertEquals(List.of(List.of("wf1", "wf2")), batches);
+    }
+
+    private void record(String index, List<String> operations) {
+        batches.add(List.copyOf(operations));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.listener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.netflix.conductor.model.TaskModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TaskStatusListenerDispatcherTest {
+
+    @Test
+    public void testNotifiesOnCallingThreadWithoutQueue() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        TaskStatusListener listener =
+                new TaskStatusListener() {
+                    @Override
+                    public void onTaskInProgress(TaskModel task) {
+                        threads.add(Thread.currentThread().getName());
+                    }
+                };
+        TaskStatusListenerDispatcher dispatcher = new TaskStatusListenerDispatcher(listener, 0, 10);
+
+        dispatcher.onTasksInProgress(tasks(3));
+
+        assertEquals(3, threads.size());
+        threads.forEach(name -> assertEquals(Thread.currentThread().getName(), name));
+    }
+
+    @Test
+    public void testNotifiesAsynchronouslyInOrder() throws Exception {
+        List<String> taskIds = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(25);
+        String callerThread = Thread.currentThread().getName();
+        TaskStatusListener listener =
+                new TaskStatusListener() {
+                    @Override
+                    public void onTaskInProgress(TaskModel task) {
+                        assertNotEquals(callerThread, Thread.currentThread().getName());
+                        taskIds.add(task.getTaskId());
+                        latch.countDown();
+                    }
+                };
+        TaskStatusListenerDispatcher dispatcher =
+                new TaskStatusListenerDispatcher(listener, 100, 10);
+
+        dispatcher.onTasksInProgress(tasks(25));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(
+                IntStream.range(0, 25).mapToObj(String::valueOf).collect(Collectors.toList()),
+                taskIds);
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testDropsNotificationsWhenQueueIsFull() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> taskIds = new CopyOnWriteArrayList<>();
+        TaskStatusListener listener =
+                new TaskStatusListener() {
+                    @Override
+                    public void onTaskInProgress(TaskModel task) {
+                        blocked.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        taskIds.add(task.getTaskId());
+                    }
+                };
+        TaskStatusListenerDispatcher dispatcher = new TaskStatusListenerDispatcher(listener, 2, 1);
+
+        // the first notification occupies the dispatcher thread
+        dispatcher.onTasksInProgress(tasks(1));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        // two fit in the queue, the rest is dropped without blocking the caller
+        dispatcher.onTasksInProgress(tasks(5));
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (taskIds.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("0", "0", "1"), taskIds);
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testDeliversQueuedNotificationsOnShutdown() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> taskIds = new CopyOnWriteArrayList<>();
+        TaskStatusListener listener =
+                new TaskStatusListener() {
+                    @Override
+                    public void onTaskInProgress(TaskModel task) {
+                        blocked.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        taskIds.add(task.getTaskId());
+                    }
+                };
+        TaskStatusListenerDispatcher dispatcher =
+                new TaskStatusListenerDispatcher(listener, 10, 1);
+
+        dispatcher.onTasksInProgress(tasks(1));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.onTasksInProgress(tasks(3));
+        release.countDown();
+        dispatcher.shutdown();
+
+        assertEquals(List.of("0", "0", "1", "2"), taskIds);
+    }
+
+    private List<TaskModel> tasks(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(
+                        i -> {
+                            TaskModel task = new TaskModel();
+                            task.setTaskId(String.valueOf(i));
+                            task.setTaskType("test_task");
+                            return task;
+                        })
+                .collect(Collectors.toList());
+    }
+}
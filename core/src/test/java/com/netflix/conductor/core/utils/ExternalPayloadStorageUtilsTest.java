@@ -13,9 +13,12 @@
 package com.netflix.conductor.core.utils;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -103,6 +106,32 @@ public class ExternalPayloadStorageUtilsTest {
         assertEquals(payload, result);
     }
 
+    @Test
+    public void testDownloadPayloadFromCache() throws IOException {
+        ConductorProperties properties = mock(ConductorProperties.class);
+        when(properties.getExternalPayloadCacheSize()).thenReturn(DataSize.ofMegabytes(1));
+        when(properties.getExternalPayloadPrefetchThreadCount()).thenReturn(2);
+        ExternalPayloadStorageUtils cachingUtils =
+                new ExternalPayloadStorageUtils(externalPayloadStorage, properties, objectMapper);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("key1", "value1");
+        byte[] payloadBytes = objectMapper.writeValueAsBytes(payload);
+        when(externalPayloadStorage.download(anyString()))
+                .thenAnswer(invocation -> new ByteArrayInputStream(payloadBytes));
+
+        cachingUtils.prefetchPayloads(List.of("test/payload1", "test/payload2"));
+        Map<String, Object> first = cachingUtils.downloadPayload("test/payload1");
+        // callers get their own copy of the cached payload
+        first.put("key2", "value2");
+        assertEquals(payload, cachingUtils.downloadPayload("test/payload1"));
+        assertEquals(payload, cachingUtils.downloadPayload("test/payload2"));
+
+        verify(externalPayloadStorage, times(1)).download("test/payload1");
+        verify(externalPayloadStorage, times(1)).download("test/payload2");
+        cachingUtils.shutdown();
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testUploadTaskPayload() throws IOException {
@@ -177,6 +206,21 @@ public class ExternalPayloadStorageUtilsTest {
         assertNotNull(workflow.getExternalOutputPayloadStoragePath());
     }
 
+    @Test
+    public void testWritePayloadStopsAtLimit() throws IOException {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("key1", "a".repeat(100_000));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertEquals(-1, externalPayloadStorageUtils.writePayload(payload, outputStream, 1024));
+        assertTrue(outputStream.size() < 100_000);
+
+        long size =
+                externalPayloadStorageUtils.writePayload(
+                        payload, OutputStream.nullOutputStream(), Long.MAX_VALUE);
+        assertEquals(objectMapper.writeValueAsBytes(payload).length, size);
+    }
+
     @Test
     public void testUploadHelper() {
         AtomicInteger uploadCount = new AtomicInteger(0);
@@ -250,6 +250,75 @@ public abstract class ExecutionDAOTest {
         assertTrue(found.isEmpty());
     }
 
+    @Test
+    public void testUpdateTasks() {
+        String workflowId = UUID.randomUUID().toString();
+        List<TaskModel> tasks = new LinkedList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskModel task = new TaskModel();
+            task.setScheduledTime(1L);
+            task.setSeq(i);
+            task.setTaskId(workflowId + "_t" + i);
+            task.setReferenceTaskName("testUpdateTasks" + i);
+            task.setRetryCount(0);
+            task.setWorkflowInstanceId(workflowId);
+            task.setTaskDefName("testUpdateTasks");
+            task.setStatus(TaskModel.Status.IN_PROGRESS);
+            tasks.add(task);
+        }
+        getExecutionDAO().createTasks(tasks);
+        assertEquals(3, getExecutionDAO().getPendingTasksForTaskType("testUpdateTasks").size());
+
+        tasks.get(0).setStatus(TaskModel.Status.COMPLETED);
+        tasks.get(1).setStatus(TaskModel.Status.FAILED);
+        tasks.forEach(task -> task.addOutput("updated", true));
+        getExecutionDAO().updateTasks(tasks);
+
+        List<String> taskIds =
+                tasks.stream().map(TaskModel::getTaskId).collect(Collectors.toList());
+        List<TaskModel> found = getExecutionDAO().getTasks(taskIds);
+        assertEquals(3, found.size());
+        found.forEach(task -> assertEquals(true, task.getOutputData().get("updated")));
+        assertEquals(
+                TaskModel.Status.COMPLETED,
+                getExecutionDAO().getTask(tasks.get(0).getTaskId()).getStatus());
+        List<TaskModel> pending = getExecutionDAO().getPendingTasksForTaskType("testUpdateTasks");
+        assertEquals(1, pending.size());
+        assertEquals(tasks.get(2).getTaskId(), pending.get(0).getTaskId());
+        assertEquals(3, getExecutionDAO().getTasksForWorkflow(workflowId).size());
+    }
+
+    @Test
+    public void testRemoveTasks() {
+        String workflowId = UUID.randomUUID().toString();
+        List<TaskModel> tasks = new LinkedList<>();
+        for (int i = 0; i < 4; i++) {
+            TaskModel task = new TaskModel();
+            task.setScheduledTime(1L);
+            task.setSeq(i);
+            task.setTaskId(workflowId + "_t" + i);
+            task.setReferenceTaskName("testRemoveTasks" + i);
+            task.setRetryCount(0);
+            task.setWorkflowInstanceId(workflowId);
+            task.setTaskDefName("testRemoveTasks" + (i % 2));
+            task.setStatus(TaskModel.Status.IN_PROGRESS);
+            tasks.add(task);
+        }
+        getExecutionDAO().createTasks(tasks);
+
+        getExecutionDAO().removeTasks(tasks.subList(0, 3));
+
+        List<String> taskIds =
+                tasks.stream().map(TaskModel::getTaskId).collect(Collectors.toList());
+        List<TaskModel> found = getExecutionDAO().getTasks(taskIds);
+        assertEquals(1, found.size());
+        assertEquals(tasks.get(3).getTaskId(), found.get(0).getTaskId());
+        assertEquals(1, getExecutionDAO().getTasksForWorkflow(workflowId).size());
+        List<TaskModel> pending = getExecutionDAO().getPendingTasksForTaskType("testRemoveTasks1");
+        assertEquals(1, pending.size());
+        assertEquals(tasks.get(3).getTaskId(), pending.get(0).getTaskId());
+    }
+
     @Test
     public void testPending() {
         WorkflowDef def = new WorkflowDef();
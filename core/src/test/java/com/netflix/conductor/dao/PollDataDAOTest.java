@@ -51,4 +51,22 @@ public abstract class PollDataDAOTest {
         pollData = getPollDataDAO().getPollData("taskDef", "domain2");
         assertNull(pollData);
     }
+
+    @Test
+    public void testUpdateLastPollDataBatch() {
+        getPollDataDAO()
+                .updateLastPollData(
+                        List.of(
+                                new PollData("batchTaskDef", null, "workerId1", 1000L),
+                                new PollData("batchTaskDef", "domain1", "workerId2", 2000L),
+                                new PollData("otherBatchTaskDef", null, "workerId3", 3000L)));
+
+        assertEquals(2, getPollDataDAO().getPollData("batchTaskDef").size());
+        PollData pollData = getPollDataDAO().getPollData("batchTaskDef", "domain1");
+        assertNotNull(pollData);
+        assertEquals("workerId2", pollData.getWorkerId());
+        pollData = getPollDataDAO().getPollData("otherBatchTaskDef", null);
+        assertNotNull(pollData);
+        assertEquals("workerId3", pollData.getWorkerId());
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.model;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.TaskSummary;
+import com.netflix.conductor.common.run.WorkflowSummary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+
+public class ModelSummaryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testTaskSummaryMatchesTaskConversion() throws Exception {
+        TaskModel task = new TaskModel();
+        task.setTaskId("taskId");
+        task.setTaskType("SIMPLE");
+        task.setReferenceTaskName("task_ref");
+        task.setWorkflowInstanceId("workflowId");
+        task.setWorkflowType("workflow");
+        task.setWorkflowPriority(3);
+        task.setCorrelationId("correlationId");
+        task.setScheduledTime(1_700_000_000_000L);
+        task.setStartTime(1_700_000_001_000L);
+        task.setUpdateTime(1_700_000_002_000L);
+        task.setEndTime(1_700_000_003_123L);
+        task.setStatus(TaskModel.Status.FAILED);
+        task.setReasonForIncompletion("failed");
+        task.setDomain("domain");
+        task.setInputData(Map.of("key", "value"));
+        task.setOutputData(Map.of("result", 42));
+
+        assertSameJson(new TaskSummary(task.toTask()), task.toTaskSummary());
+
+        task.setExternalOutputPayloadStoragePath("output/path.json");
+        assertSameJson(new TaskSummary(task.toTask()), task.toTaskSummary());
+    }
+
+    @Test
+    public void testWorkflowSummaryMatchesWorkflowConversion() throws Exception {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("workflow");
+        workflowDef.setVersion(2);
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setWorkflowId("workflowId");
+        workflow.setCorrelationId("correlationId");
+        workflow.setPriority(1);
+        workflow.setCreateTime(1_700_000_000_000L);
+        workflow.setUpdatedTime(1_700_000_002_000L);
+        workflow.setEndTime(1_700_000_003_000L);
+        workflow.setStatus(WorkflowModel.Status.FAILED);
+        workflow.setReasonForIncompletion("failed");
+        workflow.setFailedReferenceTaskNames(Set.of("task_ref"));
+        workflow.setFailedTaskNames(Set.of("task"));
+        workflow.setTaskToDomain(Map.of("task", "domain"));
+        workflow.setCreatedBy("user");
+        workflow.setInput(Map.of("key", "value"));
+        TaskModel task = new TaskModel();
+        task.setTaskType("SIMPLE");
+        task.setStatus(TaskModel.Status.FAILED);
+        workflow.getTasks().add(task);
+
+        assertSameJson(new WorkflowSummary(workflow.toWorkflow()), workflow.toWorkflowSummary());
+
+        workflow.setExternalInputPayloadStoragePath("input/path.json");
+        assertSameJson(new WorkflowSummary(workflow.toWorkflow()), workflow.toWorkflowSummary());
+    }
+
+    private void assertSameJson(Object expected, Object actual) throws Exception {
+        assertEquals(
+                objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netflix.conductor.common.metadata.tasks.TaskType;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.utils.TaskUtils;
+
+import static org.junit.Assert.assertEquals;
+
+public class TaskIterationIndexTest {
+
+    private WorkflowTask outerLoop;
+    private WorkflowTask innerLoop;
+    private WorkflowModel workflow;
+
+    @Before
+    public void setUp() {
+        innerLoop = loop("inner", workflowTask("b"));
+        outerLoop = loop("outer", workflowTask("a"), innerLoop);
+        workflow = new WorkflowModel();
+        workflow.getTasks().add(task("before", TaskType.TASK_TYPE_SIMPLE, 0, 0));
+        workflow.getTasks().add(task("outer", TaskType.TASK_TYPE_DO_WHILE, 1, 0));
+        for (int iteration = 1; iteration <= 3; iteration++) {
+            addOuterIteration(iteration);
+        }
+    }
+
+    @Test
+    public void testMatchesScanForNestedLoops() {
+        assertMatchesScan(outerLoop);
+        assertMatchesScan(innerLoop);
+    }
+
+    @Test
+    public void testMatchesScanForRetriedTasks() {
+        workflow.getTasks().add(task("a__2", TaskType.TASK_TYPE_SIMPLE, 2, 1));
+        workflow.getTasks().add(task("b__2__1", TaskType.TASK_TYPE_SIMPLE, 1, 2));
+
+        assertMatchesScan(outerLoop);
+        assertMatchesScan(innerLoop);
+        assertEquals(2, workflow.getTasksByIteration(Set.of("a"), 2, 2).size());
+    }
+
+    @Test
+    public void testFollowsChangesToTheTasks() {
+        assertMatchesScan(outerLoop);
+
+        // tasks appended after the index was built
+        addOuterIteration(4);
+        assertMatchesScan(outerLoop);
+
+        // the iteration of a running DO_WHILE task changes
+        workflow.getTasks().stream()
+                .filter(task -> task.getReferenceTaskName().startsWith("inner"))
+                .forEach(task -> task.setIteration(task.getIteration() + 1));
+        assertMatchesScan(outerLoop);
+        assertMatchesScan(innerLoop);
+
+        // tasks removed from the list
+        workflow.getTasks().removeIf(task -> task.getIteration() == 1);
+        assertMatchesScan(outerLoop);
+
+        // the list replaced
+        workflow.setTasks(new ArrayList<>(workflow.getTasks().subList(0, 4)));
+        assertMatchesScan(outerLoop);
+    }
+
+    private void addOuterIteration(int iteration) {
+        workflow.getTasks().add(task("a__" + iteration, TaskType.TASK_TYPE_SIMPLE, iteration, 0));
+        workflow.getTasks().add(task("inner__" + iteration, TaskType.TASK_TYPE_DO_WHILE, 2, 0));
+        workflow.getTasks().add(task("b__" + iteration + "__1", TaskType.TASK_TYPE_SIMPLE, 1, 0));
+        workflow.getTasks().add(task("b__" + iteration + "__2", TaskType.TASK_TYPE_SIMPLE, 2, 0));
+    }
+
+    private void assertMatchesScan(WorkflowTask loop) {
+        Set<String> referenceNames =
+                loop.collectTasks().stream()
+                        .map(WorkflowTask::getTaskReferenceName)
+                        .collect(Collectors.toSet());
+        for (int iteration = 0; iteration <= 5; iteration++) {
+            assertEquals(
+                    scan(loop, iteration, iteration),
+                    workflow.getTasksByIteration(referenceNames, iteration, iteration));
+            assertEquals(
+                    scan(loop, Integer.MIN_VALUE, iteration),
+                    workflow.getTasksByIteration(referenceNames, Integer.MIN_VALUE, iteration));
+        }
+        assertEquals(
+                scan(loop, Integer.MIN_VALUE, Integer.MAX_VALUE),
+                workflow.getTasksByIteration(referenceNames, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    /** The lookup DoWhile used before the index was introduced. */
+    private List<TaskModel> scan(WorkflowTask loop, int fromIteration, int toIteration) {
+        return workflow.getTasks().stream()
+                .filter(
+                        task ->
+                                loop.has(
+                                        TaskUtils.removeIterationFromTaskRefName(
+                                                task.getReferenceTaskName())))
+                .filter(
+                        task ->
+                                task.getIteration() >= fromIteration
+                                        && task.getIteration() <= toIteration)
+                .collect(Collectors.toList());
+    }
+
+    private static TaskModel task(
+            String referenceName, String taskType, int iteration, int retryCount) {
+        TaskModel task = new TaskModel();
+        task.setTaskId(referenceName + "-" + retryCount);
+        task.setReferenceTaskName(referenceName);
+        task.setTaskType(taskType);
+        task.setIteration(iteration);
+        task.setRetryCount(retryCount);
+        return task;
+    }
+
+    private static WorkflowTask workflowTask(String referenceName) {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setTaskReferenceName(referenceName);
+        workflowTask.setType(TaskType.TASK_TYPE_SIMPLE);
+        return workflowTask;
+    }
+
+    private static WorkflowTask loop(String referenceName, WorkflowTask... loopOver) {
+        WorkflowTask loop = new WorkflowTask();
+        loop.setTaskReferenceName(referenceName);
+        loop.setType(TaskType.TASK_TYPE_DO_WHILE);
+        loop.setLoopOver(List.of(loopOver));
+        return loop;
+    }
+}
@@ -13,9 +13,12 @@
 package com.netflix.conductor.service;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -24,7 +27,9 @@ import org.mockito.Mock;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.Workflow;
@@ -35,15 +40,22 @@ import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
 import com.netflix.conductor.core.listener.TaskStatusListener;
+import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.model.TaskModel;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -296,9 +308,9 @@ public class ExecutionServiceTest {
         when(queueDAO.pop(eq(queueName), eq(1), anyInt()))
                 .thenReturn(Collections.singletonList(taskId));
 
-        // Mock: executionDAOFacade returns the TaskModel (called twice: once in poll loop,
-        // once in the taskStatusListener notification block)
-        when(executionDAOFacade.getTaskModel(taskId)).thenReturn(taskModel);
+        // Mock: executionDAOFacade returns the TaskModel
+        when(executionDAOFacade.getTaskModels(Collections.singletonList(taskId)))
+                .thenReturn(Collections.singletonList(taskModel));
         when(executionDAOFacade.exceedsInProgressLimit(taskModel)).thenReturn(false);
 
         // Mock: ack returns true (standard behavior for most QueueDAO implementations)
@@ -318,6 +330,137 @@ public class ExecutionServiceTest {
         verify(queueDAO, times(1)).ack(queueName, taskId);
     }
 
+    @Test
+    public void testPollNotifiesListenerWithoutReadingTasksAgain() {
+        String taskType = "test_task";
+        String taskId = "task-123";
+
+        TaskModel taskModel = new TaskModel();
+        taskModel.setTaskId(taskId);
+        taskModel.setTaskType(taskType);
+        taskModel.setStatus(TaskModel.Status.SCHEDULED);
+        taskModel.setWorkflowInstanceId("wf-123");
+
+        when(queueDAO.pop(eq(taskType), eq(1), anyInt()))
+                .thenReturn(Collections.singletonList(taskId));
+        when(executionDAOFacade.getTaskModels(Collections.singletonList(taskId)))
+                .thenReturn(Collections.singletonList(taskModel));
+
+        List<Task> tasks = executionService.poll(taskType, "worker1", null, 1, 100);
+
+        assertEquals(1, tasks.size());
+        verify(executionDAOFacade, times(1)).getTaskModels(Collections.singletonList(taskId));
+        verify(executionDAOFacade, never()).getTaskModel(anyString());
+        verify(taskStatusListener, times(1)).onTaskInProgress(taskModel);
+    }
+
+    @Test
+    public void testPollLoadsAndUpdatesTasksInBatch() {
+        String taskType = "test_task";
+        List<String> taskIds = Arrays.asList("task-1", "task-2", "task-3", "task-4");
+
+        TaskModel scheduled1 = new TaskModel();
+        scheduled1.setTaskId("task-1");
+        scheduled1.setTaskType(taskType);
+        scheduled1.setStatus(TaskModel.Status.SCHEDULED);
+        TaskModel completed = new TaskModel();
+        completed.setTaskId("task-2");
+        completed.setTaskType(taskType);
+        completed.setStatus(TaskModel.Status.COMPLETED);
+        TaskModel scheduled2 = new TaskModel();
+        scheduled2.setTaskId("task-4");
+        scheduled2.setTaskType(taskType);
+        scheduled2.setStatus(TaskModel.Status.SCHEDULED);
+
+        when(queueDAO.pop(eq(taskType), eq(4), anyInt())).thenReturn(taskIds);
+        // task-3 no longer exists
+        when(executionDAOFacade.getTaskModels(taskIds))
+                .thenReturn(Arrays.asList(scheduled1, completed, scheduled2));
+
+        List<Task> tasks = executionService.poll(taskType, "worker1", null, 4, 100);
+
+        assertEquals(2, tasks.size());
+        assertEquals("task-1", tasks.get(0).getTaskId());
+        assertEquals("task-4", tasks.get(1).getTaskId());
+        assertEquals(TaskModel.Status.IN_PROGRESS, scheduled1.getStatus());
+        assertEquals("worker1", scheduled2.getWorkerId());
+        verify(queueDAO).remove(taskType, "task-2");
+        verify(queueDAO).remove(taskType, "task-3");
+        verify(executionDAOFacade, times(1)).updateTasks(Arrays.asList(scheduled1, scheduled2));
+        verify(executionDAOFacade, never()).updateTask(any());
+    }
+
+    @Test
+    public void testPollPostponesTasksWhenBatchUpdateFails() {
+        String taskType = "test_task";
+        TaskModel taskModel = new TaskModel();
+        taskModel.setTaskId("task-1");
+        taskModel.setTaskType(taskType);
+        taskModel.setStatus(TaskModel.Status.SCHEDULED);
+
+        when(queueDAO.pop(eq(taskType), eq(1), anyInt()))
+                .thenReturn(Collections.singletonList("task-1"));
+        when(executionDAOFacade.getTaskModels(Collections.singletonList("task-1")))
+                .thenReturn(Collections.singletonList(taskModel));
+        doThrow(new RuntimeException()).when(executionDAOFacade).updateTasks(any());
+
+        List<Task> tasks = executionService.poll(taskType, "worker1", null, 1, 100);
+
+        assertTrue(tasks.isEmpty());
+        verify(queueDAO).postpone(eq(taskType), eq("task-1"), eq(0), anyLong());
+        verify(queueDAO, never()).ack(anyString(), anyString());
+        verify(taskStatusListener, never()).onTaskInProgress(any());
+    }
+
+    @Test
+    public void testPollDoesNotHandOutMoreTasksThanTheConcurrencyLimit() {
+        String taskType = "test_task";
+        List<String> taskIds = Arrays.asList("task-1", "task-2", "task-3", "task-4");
+
+        TaskDef taskDef = new TaskDef(taskType);
+        taskDef.setConcurrentExecLimit(2);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setTaskDefinition(taskDef);
+        List<TaskModel> taskModels = new ArrayList<>();
+        for (String taskId : taskIds) {
+            TaskModel taskModel = new TaskModel();
+            taskModel.setTaskId(taskId);
+            taskModel.setTaskType(taskType);
+            taskModel.setTaskDefName(taskType);
+            taskModel.setStatus(TaskModel.Status.SCHEDULED);
+            taskModel.setWorkflowTask(workflowTask);
+            taskModels.add(taskModel);
+        }
+
+        InProgressTaskLimit limit = new InProgressTaskLimit();
+        when(queueDAO.pop(eq(taskType), eq(4), anyInt())).thenReturn(taskIds);
+        when(executionDAOFacade.getTaskModels(taskIds)).thenReturn(taskModels);
+        when(executionDAOFacade.exceedsInProgressLimit(any()))
+                .thenAnswer(invocation -> limit.exceedsLimit(invocation.getArgument(0)));
+        doAnswer(
+                        invocation -> {
+                            limit.addTaskToLimit(invocation.getArgument(0));
+                            return null;
+                        })
+                .when(executionDAOFacade)
+                .updateTask(any());
+        doAnswer(
+                        invocation -> {
+                            List<TaskModel> tasks = invocation.getArgument(0);
+                            tasks.forEach(limit::addTaskToLimit);
+                            return null;
+                        })
+                .when(executionDAOFacade)
+                .updateTasks(any());
+
+        List<Task> tasks = executionService.poll(taskType, "worker1", null, 4, 100);
+
+        assertEquals(2, tasks.size());
+        assertEquals(2, limit.inProgressTaskIds.size());
+        verify(queueDAO).postpone(eq(taskType), eq("task-3"), anyInt(), anyLong());
+        verify(queueDAO).postpone(eq(taskType), eq("task-4"), anyInt(), anyLong());
+    }
+
     @Test
     public void testGetLastPollTaskReturnsNullWhenEmpty() {
         String taskType = "test_task";
@@ -335,4 +478,25 @@ public class ExecutionServiceTest {
         assertNull(result);
         verify(queueDAO, times(0)).ack(anyString(), anyString());
     }
+
+    /** Counts the saved IN_PROGRESS tasks only, like the Redis backed limiter. */
+    private static class InProgressTaskLimit implements ConcurrentExecutionLimitDAO {
+
+        private final Set<String> inProgressTaskIds = new HashSet<>();
+
+        @Override
+        public void addTaskToLimit(TaskModel task) {
+            if (task.getStatus() == TaskModel.Status.IN_PROGRESS) {
+                inProgressTaskIds.add(task.getTaskId());
+            }
+        }
+
+        @Override
+        public boolean exceedsLimit(TaskModel task) {
+            int limit = task.getTaskDefinition().map(TaskDef::concurrencyLimit).orElse(0);
+            return limit > 0
+                    && !inProgressTaskIds.contains(task.getTaskId())
+                    && inProgressTaskIds.size() >= limit;
+        }
+    }
 }
@@ -12,10 +12,15 @@
  */
 package com.netflix.conductor.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -25,6 +30,9 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.exception.NotFoundException;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 
 import jakarta.validation.ConstraintViolationException;
@@ -33,7 +41,12 @@ import static com.netflix.conductor.TestUtils.getConstraintViolationMessages;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @SuppressWarnings("SpringJavaAutowiredMembersInspection")
@@ -57,7 +70,8 @@ public class WorkflowBulkServiceTest {
         @Bean
         public WorkflowBulkService workflowBulkService(
                 WorkflowExecutor workflowExecutor, WorkflowService workflowService) {
-            return new WorkflowBulkServiceImpl(workflowExecutor, workflowService);
+            return new WorkflowBulkServiceImpl(
+                    workflowExecutor, workflowService, new ConductorProperties());
         }
     }
 
@@ -174,4 +188,128 @@ public class WorkflowBulkServiceTest {
             throw ex;
         }
     }
+
+    @Test
+    public void testBulkOperationRunsConcurrently() {
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        WorkflowService service = mock(WorkflowService.class);
+        WorkflowBulkServiceImpl bulkService =
+                new WorkflowBulkServiceImpl(
+                        executor, service, bulkProperties(Duration.ofSeconds(5)));
+        // neither pause can complete unless both run at the same time
+        CountDownLatch latch = new CountDownLatch(2);
+        doAnswer(
+                        invocation -> {
+                            latch.countDown();
+                            if (!latch.await(5, TimeUnit.SECONDS)) {
+                                throw new IllegalStateException("not concurrent");
+                            }
+                            return null;
+                        })
+                .when(executor)
+                .pauseWorkflow(anyString());
+        doThrow(new NotFoundException("not found")).when(service).deleteWorkflow("w2", false);
+
+        BulkResponse<String> pauseResponse = bulkService.pauseWorkflow(List.of("w1", "w2"));
+        assertEquals(List.of("w1", "w2"), pauseResponse.getBulkSuccessfulResults());
+        assertTrue(pauseResponse.getBulkErrorResults().isEmpty());
+
+        BulkResponse<String> terminateRemoveResponse =
+                bulkService.terminateRemove(List.of("w1", "w2"), "reason", false);
+        assertEquals(
+                List.of("w1", "w1", "w2"), terminateRemoveResponse.getBulkSuccessfulResults());
+        assertEquals(Map.of("w2", "not found"), terminateRemoveResponse.getBulkErrorResults());
+        bulkService.shutdown();
+    }
+
+    @Test
+    public void testBulkOperationTimeout() {
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        WorkflowBulkServiceImpl bulkService =
+                new WorkflowBulkServiceImpl(
+                        executor,
+                        mock(WorkflowService.class),
+                        bulkProperties(Duration.ofMillis(100)));
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            latch.await();
+                            return null;
+                        })
+                .when(executor)
+                .resumeWorkflow("w1");
+
+        BulkResponse<String> response = bulkService.resumeWorkflow(List.of("w1", "w2"));
+        assertEquals(List.of("w2"), response.getBulkSuccessfulResults());
+        assertEquals(
+                Map.of("w1", "Operation timed out after 100ms, outcome unknown"),
+                response.getBulkErrorResults());
+        latch.countDown();
+        bulkService.shutdown();
+    }
+
+    @Test
+    public void testBulkOperationDropsTheWorkflowsNotStartedAtTheTimeout() {
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        WorkflowBulkServiceImpl bulkService =
+                new WorkflowBulkServiceImpl(
+                        executor,
+                        mock(WorkflowService.class),
+                        bulkProperties(Duration.ofMillis(100)));
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            latch.await();
+                            return null;
+                        })
+                .when(executor)
+                .resumeWorkflow(anyString());
+
+        // two workflows run and are left to complete, the other two are never started
+        BulkResponse<String> response = bulkService.resumeWorkflow(List.of("w1", "w2", "w3", "w4"));
+        assertTrue(response.getBulkSuccessfulResults().isEmpty());
+        assertEquals(Set.of("w1", "w2", "w3", "w4"), response.getBulkErrorResults().keySet());
+        assertEquals(
+                "Operation timed out after 100ms, outcome unknown",
+                response.getBulkErrorResults().get("w1"));
+        assertEquals(
+                "Operation timed out after 100ms, not started",
+                response.getBulkErrorResults().get("w4"));
+        latch.countDown();
+        verify(executor, after(200).never()).resumeWorkflow("w3");
+        verify(executor, never()).resumeWorkflow("w4");
+        bulkService.shutdown();
+    }
+
+    @Test
+    public void testConcurrentBulkRequestsAreNotRejected() throws Exception {
+        WorkflowExecutor executor = mock(WorkflowExecutor.class);
+        WorkflowBulkServiceImpl bulkService =
+                new WorkflowBulkServiceImpl(
+                        executor,
+                        mock(WorkflowService.class),
+                        bulkProperties(Duration.ofSeconds(5)));
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            first.add("a" + i);
+            second.add("b" + i);
+        }
+
+        CompletableFuture<BulkResponse<String>> firstResponse =
+                CompletableFuture.supplyAsync(() -> bulkService.pauseWorkflow(first));
+        BulkResponse<String> secondResponse = bulkService.pauseWorkflow(second);
+
+        assertEquals(first, firstResponse.get(5, TimeUnit.SECONDS).getBulkSuccessfulResults());
+        assertEquals(second, secondResponse.getBulkSuccessfulResults());
+        assertTrue(secondResponse.getBulkErrorResults().isEmpty());
+        bulkService.shutdown();
+    }
+
+    private ConductorProperties bulkProperties(Duration timeout) {
+        ConductorProperties properties = new ConductorProperties();
+        properties.setBulkOperationThreadCount(2);
+        properties.setBulkOperationTimeout(timeout);
+        return properties;
+    }
 }
@@ -13,6 +13,7 @@
 package com.netflix.conductor.mysql.dao;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -43,6 +44,9 @@ import com.google.common.collect.Lists;
 public class MySQLExecutionDAO extends MySQLBaseDAO
         implements ExecutionDAO, RateLimitingDAO, PollDataDAO, ConcurrentExecutionLimitDAO {
 
+    private static final int REMOVE_TASKS_BATCH_SIZE = 500;
+    private static final int WRITE_TASKS_BATCH_SIZE = 500;
+
     public MySQLExecutionDAO(
             RetryTemplate retryTemplate, ObjectMapper objectMapper, DataSource dataSource) {
         super(retryTemplate, objectMapper, dataSource);
@@ -107,40 +111,63 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
 
     @Override
     public List<TaskModel> createTasks(List<TaskModel> tasks) {
-        List<TaskModel> created = Lists.newArrayListWithCapacity(tasks.size());
-
-        withTransaction(
-                connection -> {
-                    for (TaskModel task : tasks) {
-                        validate(task);
-
-                        task.setScheduledTime(System.currentTimeMillis());
-
-                        final String taskKey = taskKey(task);
+        if (tasks.isEmpty()) {
+            return Lists.newArrayList();
+        }
 
-                        boolean scheduledTaskAdded = addScheduledTask(connection, task, taskKey);
+        long scheduledTime = System.currentTimeMillis();
+        Map<List<String>, TaskModel> tasksByScheduledKey = new LinkedHashMap<>();
+        for (TaskModel task : tasks) {
+            validate(task);
+            task.setScheduledTime(scheduledTime);
+            // the first task wins for a key that is repeated within the batch
+            tasksByScheduledKey.putIfAbsent(
+                    List.of(task.getWorkflowInstanceId(), taskKey(task)), task);
+        }
 
-                        if (!scheduledTaskAdded) {
-                            logger.trace(
-                                    "Task already scheduled, skipping the run "
-                                            + task.getTaskId()
-                                            + ", ref="
-                                            + task.getReferenceTaskName()
-                                            + ", key="
-                                            + taskKey);
-                            continue;
+        return getWithRetriedTransactions(
+                connection -> {
+                    List<TaskModel> created = Lists.newArrayListWithCapacity(tasks.size());
+                    for (List<TaskModel> batch :
+                            Lists.partition(
+                                    List.copyOf(tasksByScheduledKey.values()),
+                                    WRITE_TASKS_BATCH_SIZE)) {
+                        Set<String> scheduledTaskIds = addScheduledTasks(connection, batch);
+
+                        List<TaskModel> scheduled = new ArrayList<>(batch.size());
+                        for (TaskModel task : batch) {
+                            if (!scheduledTaskIds.contains(task.getTaskId())) {
+                                logger.trace(
+                                        "Task already scheduled, skipping the run "
+                                                + task.getTaskId()
+                                                + ", ref="
+                                                + task.getReferenceTaskName()
+                                                + ", key="
+                                                + taskKey(task));
+                                continue;
+                            }
+                            scheduled.add(task);
                         }
 
-                        insertOrUpdateTaskData(connection, task);
-                        addWorkflowToTaskMapping(connection, task);
-                        addTaskInProgress(connection, task);
-                        updateTask(connection, task);
-
-                        created.add(task);
+                        if (!scheduled.isEmpty()) {
+                            addTasksInProgress(connection, scheduled);
+                            updateTasks(connection, scheduled);
+                            created.addAll(scheduled);
+                        }
                     }
+                    return created;
                 });
+    }
 
-        return created;
+    @Override
+    public void updateTasks(List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        withTransaction(
+                connection ->
+                        Lists.partition(tasks, WRITE_TASKS_BATCH_SIZE)
+                                .forEach(batch -> updateTasks(connection, batch)));
     }
 
     @Override
@@ -226,6 +253,70 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         return true;
     }
 
+    @Override
+    public void removeTasks(List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        withTransaction(
+                connection ->
+                        Lists.partition(tasks, REMOVE_TASKS_BATCH_SIZE)
+                                .forEach(batch -> removeTasks(connection, batch)));
+    }
+
+    private void removeTasks(Connection connection, List<TaskModel> tasks) {
+        tasks.stream()
+                .collect(Collectors.groupingBy(TaskModel::getWorkflowInstanceId))
+                .forEach(
+                        (workflowId, workflowTasks) -> {
+                            List<String> taskKeys =
+                                    workflowTasks.stream().map(MySQLExecutionDAO::taskKey).toList();
+                            List<String> taskIds =
+                                    workflowTasks.stream().map(TaskModel::getTaskId).toList();
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM task_scheduled WHERE workflow_id = ? AND task_key IN (%s)",
+                                            Query.generateInBindings(taskKeys.size())),
+                                    q ->
+                                            q.addParameter(workflowId)
+                                                    .addParameters(taskKeys)
+                                                    .executeDelete());
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM workflow_to_task WHERE workflow_id = ? AND task_id IN (%s)",
+                                            Query.generateInBindings(taskIds.size())),
+                                    q ->
+                                            q.addParameter(workflowId)
+                                                    .addParameters(taskIds)
+                                                    .executeDelete());
+                        });
+        tasks.stream()
+                .collect(Collectors.groupingBy(TaskModel::getTaskDefName))
+                .forEach(
+                        (taskDefName, defTasks) -> {
+                            List<String> taskIds =
+                                    defTasks.stream().map(TaskModel::getTaskId).toList();
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM task_in_progress WHERE task_def_name = ? AND task_id IN (%s)",
+                                            Query.generateInBindings(taskIds.size())),
+                                    q ->
+                                            q.addParameter(taskDefName)
+                                                    .addParameters(taskIds)
+                                                    .executeUpdate());
+                        });
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        execute(
+                connection,
+                String.format(
+                        "DELETE FROM task WHERE task_id IN (%s)",
+                        Query.generateInBindings(taskIds.size())),
+                q -> q.addParameters(taskIds).executeDelete());
+    }
+
     @Override
     public TaskModel getTask(String taskId) {
         String GET_TASK = "SELECT json_data FROM task WHERE task_id = ?";
@@ -326,16 +417,10 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
 
     @Override
     public WorkflowModel getWorkflow(String workflowId, boolean includeTasks) {
-        WorkflowModel workflow = getWithRetriedTransactions(tx -> readWorkflow(tx, workflowId));
-
-        if (workflow != null) {
-            if (includeTasks) {
-                List<TaskModel> tasks = getTasksForWorkflow(workflowId);
-                tasks.sort(Comparator.comparingInt(TaskModel::getSeq));
-                workflow.setTasks(tasks);
-            }
+        if (includeTasks) {
+            return getWithRetriedTransactions(tx -> readWorkflowWithTasks(tx, workflowId));
         }
-        return workflow;
+        return getWithRetriedTransactions(tx -> readWorkflow(tx, workflowId));
     }
 
     /**
@@ -528,6 +613,17 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         withTransaction(tx -> insertOrUpdatePollData(tx, pollData, effectiveDomain));
     }
 
+    @Override
+    public void updateLastPollData(List<PollData> pollData) {
+        withTransaction(
+                tx -> {
+                    for (PollData data : pollData) {
+                        String domain = data.getDomain() == null ? "DEFAULT" : data.getDomain();
+                        insertOrUpdatePollData(tx, data, domain);
+                    }
+                });
+    }
+
     @Override
     public PollData getPollData(String taskDefName, String domain) {
         Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
@@ -626,6 +722,53 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         addWorkflowToTaskMapping(connection, task);
     }
 
+    /**
+     * Batched counterpart of {@link #updateTask(Connection, TaskModel)}. Every table is written
+     * with a single multi-row statement, so the number of round trips does not depend on the
+     * number of tasks in the batch.
+     */
+    private void updateTasks(Connection connection, List<TaskModel> tasks) {
+        // the last update wins for a task that is repeated within the batch
+        Map<String, TaskModel> tasksById = new LinkedHashMap<>();
+        tasks.forEach(task -> tasksById.put(task.getTaskId(), task));
+        List<TaskModel> latest = List.copyOf(tasksById.values());
+
+        Map<Boolean, List<TaskModel>> concurrencyLimitedByInProgress =
+                latest.stream()
+                        .filter(
+                                task ->
+                                        task.getTaskDefinition()
+                                                .map(taskDef -> taskDef.concurrencyLimit() > 0)
+                                                .orElse(false))
+                        .collect(
+                                Collectors.partitioningBy(
+                                        task -> task.getStatus() == TaskModel.Status.IN_PROGRESS));
+        concurrencyLimitedByInProgress.forEach(
+                (inProgress, limited) -> {
+                    if (!limited.isEmpty()) {
+                        updateInProgressStatus(connection, limited, inProgress);
+                    }
+                });
+
+        insertOrUpdateTaskData(connection, latest);
+
+        List<TaskModel> terminal =
+                latest.stream()
+                        .filter(task -> task.getStatus() != null && task.getStatus().isTerminal())
+                        .toList();
+        if (!terminal.isEmpty()) {
+            removeTasksInProgress(connection, terminal);
+        }
+
+        addWorkflowToTaskMappings(connection, latest);
+    }
+
+    /** Generates {@code count} row constructors of {@code columns} '?' bindings each. */
+    private static String generateRowBindings(int count, int columns) {
+        return String.join(
+                ", ", Collections.nCopies(count, "(" + Query.generateInBindings(columns) + ")"));
+    }
+
     private WorkflowModel readWorkflow(Connection connection, String workflowId) {
         String GET_WORKFLOW = "SELECT json_data FROM workflow WHERE workflow_id = ?";
 
@@ -635,6 +778,45 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
                 q -> q.addParameter(workflowId).executeAndFetchFirst(WorkflowModel.class));
     }
 
+    /**
+     * Reads the workflow together with the json of all of its tasks in a single round trip. The
+     * {@code is_workflow} column tells the workflow row apart from the task rows.
+     */
+    private WorkflowModel readWorkflowWithTasks(Connection connection, String workflowId) {
+        String GET_WORKFLOW_WITH_TASKS =
+                "SELECT 1 AS is_workflow, json_data FROM workflow WHERE workflow_id = ? "
+                        + "UNION ALL "
+                        + "SELECT 0 AS is_workflow, t.json_data FROM workflow_to_task wt "
+                        + "INNER JOIN task t ON t.task_id = wt.task_id "
+                        + "WHERE wt.workflow_id = ? AND t.json_data IS NOT NULL";
+
+        return query(
+                connection,
+                GET_WORKFLOW_WITH_TASKS,
+                q ->
+                        q.addParameter(workflowId)
+                                .addParameter(workflowId)
+                                .executeAndFetch(this::readWorkflowWithTasks));
+    }
+
+    private WorkflowModel readWorkflowWithTasks(ResultSet rs) throws SQLException {
+        WorkflowModel workflow = null;
+        List<TaskModel> tasks = new ArrayList<>();
+        while (rs.next()) {
+            String json = rs.getString("json_data");
+            if (rs.getInt("is_workflow") == 1) {
+                workflow = readValue(json, WorkflowModel.class);
+            } else {
+                tasks.add(readValue(json, TaskModel.class));
+            }
+        }
+        if (workflow != null) {
+            tasks.sort(Comparator.comparingInt(TaskModel::getSeq));
+            workflow.setTasks(tasks);
+        }
+        return workflow;
+    }
+
     private void addWorkflow(Connection connection, WorkflowModel workflow) {
         String INSERT_WORKFLOW =
                 "INSERT INTO workflow (workflow_id, correlation_id, json_data) VALUES (?, ?, ?)";
@@ -726,6 +908,21 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         }
     }
 
+    private void insertOrUpdateTaskData(Connection connection, List<TaskModel> tasks) {
+        String UPSERT_TASKS =
+                "INSERT INTO task (task_id, json_data, modified_on) VALUES "
+                        + String.join(
+                                ", ", Collections.nCopies(tasks.size(), "(?, ?, CURRENT_TIMESTAMP)"))
+                        + " ON DUPLICATE KEY UPDATE json_data=VALUES(json_data), modified_on=VALUES(modified_on)";
+        execute(
+                connection,
+                UPSERT_TASKS,
+                q -> {
+                    tasks.forEach(task -> q.addParameter(task.getTaskId()).addJsonParameter(task));
+                    q.executeUpdate();
+                });
+    }
+
     private void removeTaskData(Connection connection, TaskModel task) {
         String REMOVE_TASK = "DELETE FROM task WHERE task_id = ?";
         execute(connection, REMOVE_TASK, q -> q.addParameter(task.getTaskId()).executeDelete());
@@ -759,6 +956,22 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         }
     }
 
+    private void addWorkflowToTaskMappings(Connection connection, List<TaskModel> tasks) {
+        String INSERT_WORKFLOW_TO_TASKS =
+                "INSERT IGNORE INTO workflow_to_task (workflow_id, task_id) VALUES "
+                        + generateRowBindings(tasks.size(), 2);
+        execute(
+                connection,
+                INSERT_WORKFLOW_TO_TASKS,
+                q -> {
+                    tasks.forEach(
+                            task ->
+                                    q.addParameter(task.getWorkflowInstanceId())
+                                            .addParameter(task.getTaskId()));
+                    q.executeUpdate();
+                });
+    }
+
     private void removeWorkflowToTaskMapping(Connection connection, TaskModel task) {
         String REMOVE_WORKFLOW_TO_TASK =
                 "DELETE FROM workflow_to_task WHERE workflow_id = ? AND task_id = ?";
@@ -800,38 +1013,86 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
                                 .executeUpdate());
     }
 
+    /**
+     * Inserts the scheduled keys of the given tasks, skipping the ones that are already present.
+     *
+     * @return the ids of the tasks whose key was inserted by this call
+     */
     @VisibleForTesting
-    boolean addScheduledTask(Connection connection, TaskModel task, String taskKey) {
-
-        final String EXISTS_SCHEDULED_TASK =
-                "SELECT EXISTS(SELECT 1 FROM task_scheduled where workflow_id = ? AND task_key = ?)";
+    Set<String> addScheduledTasks(Connection connection, List<TaskModel> tasks) {
+        Set<List<String>> existingKeys =
+                getScheduledTasks(connection, tasks).stream()
+                        .map(row -> List.of(row.get(0), row.get(1)))
+                        .collect(Collectors.toSet());
+        List<TaskModel> unscheduled =
+                tasks.stream()
+                        .filter(
+                                task ->
+                                        !existingKeys.contains(
+                                                List.of(
+                                                        task.getWorkflowInstanceId(),
+                                                        taskKey(task))))
+                        .toList();
+        if (unscheduled.isEmpty()) {
+            return Set.of();
+        }
 
-        boolean exists =
+        final String INSERT_IGNORE_SCHEDULED_TASKS =
+                "INSERT IGNORE INTO task_scheduled (workflow_id, task_key, task_id) VALUES "
+                        + generateRowBindings(unscheduled.size(), 3);
+        int count =
                 query(
                         connection,
-                        EXISTS_SCHEDULED_TASK,
-                        q ->
-                                q.addParameter(task.getWorkflowInstanceId())
-                                        .addParameter(taskKey)
-                                        .exists());
+                        INSERT_IGNORE_SCHEDULED_TASKS,
+                        q -> {
+                            unscheduled.forEach(
+                                    task ->
+                                            q.addParameter(task.getWorkflowInstanceId())
+                                                    .addParameter(taskKey(task))
+                                                    .addParameter(task.getTaskId()));
+                            return q.executeUpdate();
+                        });
+
+        Set<String> unscheduledTaskIds =
+                unscheduled.stream().map(TaskModel::getTaskId).collect(Collectors.toSet());
+        if (count < unscheduled.size()) {
+            // some keys were scheduled concurrently, keep only the rows this call inserted
+            Set<String> scheduledTaskIds =
+                    getScheduledTasks(connection, unscheduled).stream()
+                            .map(row -> row.get(2))
+                            .collect(Collectors.toSet());
+            unscheduledTaskIds.retainAll(scheduledTaskIds);
+        }
+        return unscheduledTaskIds;
+    }
 
-        if (!exists) {
-            final String INSERT_IGNORE_SCHEDULED_TASK =
-                    "INSERT IGNORE INTO task_scheduled (workflow_id, task_key, task_id) VALUES (?, ?, ?)";
-
-            int count =
-                    query(
-                            connection,
-                            INSERT_IGNORE_SCHEDULED_TASK,
-                            q ->
+    /** Returns the (workflow_id, task_key, task_id) rows scheduled for the given tasks. */
+    private List<List<String>> getScheduledTasks(Connection connection, List<TaskModel> tasks) {
+        final String GET_SCHEDULED_TASKS =
+                "SELECT workflow_id, task_key, task_id FROM task_scheduled WHERE (workflow_id, task_key) IN ("
+                        + generateRowBindings(tasks.size(), 2)
+                        + ")";
+        return query(
+                connection,
+                GET_SCHEDULED_TASKS,
+                q -> {
+                    tasks.forEach(
+                            task ->
                                     q.addParameter(task.getWorkflowInstanceId())
-                                            .addParameter(taskKey)
-                                            .addParameter(task.getTaskId())
-                                            .executeUpdate());
-            return count > 0;
-        } else {
-            return false;
-        }
+                                            .addParameter(taskKey(task)));
+                    return q.executeAndFetch(
+                            rs -> {
+                                List<List<String>> rows = new ArrayList<>();
+                                while (rs.next()) {
+                                    rows.add(
+                                            List.of(
+                                                    rs.getString("workflow_id"),
+                                                    rs.getString("task_key"),
+                                                    rs.getString("task_id")));
+                                }
+                                return rows;
+                            });
+                });
     }
 
     private void removeScheduledTask(Connection connection, TaskModel task, String taskKey) {
@@ -846,32 +1107,21 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
                                 .executeDelete());
     }
 
-    private void addTaskInProgress(Connection connection, TaskModel task) {
-        String EXISTS_IN_PROGRESS_TASK =
-                "SELECT EXISTS(SELECT 1 FROM task_in_progress WHERE task_def_name = ? AND task_id = ?)";
-
-        boolean exists =
-                query(
-                        connection,
-                        EXISTS_IN_PROGRESS_TASK,
-                        q ->
-                                q.addParameter(task.getTaskDefName())
-                                        .addParameter(task.getTaskId())
-                                        .exists());
-
-        if (!exists) {
-            String INSERT_IN_PROGRESS_TASK =
-                    "INSERT INTO task_in_progress (task_def_name, task_id, workflow_id) VALUES (?, ?, ?)";
-
-            execute(
-                    connection,
-                    INSERT_IN_PROGRESS_TASK,
-                    q ->
-                            q.addParameter(task.getTaskDefName())
-                                    .addParameter(task.getTaskId())
-                                    .addParameter(task.getWorkflowInstanceId())
-                                    .executeUpdate());
-        }
+    private void addTasksInProgress(Connection connection, List<TaskModel> tasks) {
+        String INSERT_IN_PROGRESS_TASKS =
+                "INSERT IGNORE INTO task_in_progress (task_def_name, task_id, workflow_id) VALUES "
+                        + generateRowBindings(tasks.size(), 3);
+        execute(
+                connection,
+                INSERT_IN_PROGRESS_TASKS,
+                q -> {
+                    tasks.forEach(
+                            task ->
+                                    q.addParameter(task.getTaskDefName())
+                                            .addParameter(task.getTaskId())
+                                            .addParameter(task.getWorkflowInstanceId()));
+                    q.executeUpdate();
+                });
     }
 
     private void removeTaskInProgress(Connection connection, TaskModel task) {
@@ -887,6 +1137,23 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
                                 .executeUpdate());
     }
 
+    private void removeTasksInProgress(Connection connection, List<TaskModel> tasks) {
+        String REMOVE_IN_PROGRESS_TASKS =
+                "DELETE FROM task_in_progress WHERE (task_def_name, task_id) IN ("
+                        + generateRowBindings(tasks.size(), 2)
+                        + ")";
+        execute(
+                connection,
+                REMOVE_IN_PROGRESS_TASKS,
+                q -> {
+                    tasks.forEach(
+                            task ->
+                                    q.addParameter(task.getTaskDefName())
+                                            .addParameter(task.getTaskId()));
+                    q.executeUpdate();
+                });
+    }
+
     private void updateInProgressStatus(Connection connection, TaskModel task, boolean inProgress) {
         String UPDATE_IN_PROGRESS_TASK_STATUS =
                 "UPDATE task_in_progress SET in_progress_status = ?, modified_on = CURRENT_TIMESTAMP "
@@ -902,6 +1169,26 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
                                 .executeUpdate());
     }
 
+    private void updateInProgressStatus(
+            Connection connection, List<TaskModel> tasks, boolean inProgress) {
+        String UPDATE_IN_PROGRESS_TASKS_STATUS =
+                "UPDATE task_in_progress SET in_progress_status = ?, modified_on = CURRENT_TIMESTAMP "
+                        + "WHERE (task_def_name, task_id) IN ("
+                        + generateRowBindings(tasks.size(), 2)
+                        + ")";
+        execute(
+                connection,
+                UPDATE_IN_PROGRESS_TASKS_STATUS,
+                q -> {
+                    q.addParameter(inProgress);
+                    tasks.forEach(
+                            task ->
+                                    q.addParameter(task.getTaskDefName())
+                                            .addParameter(task.getTaskId()));
+                    q.executeUpdate();
+                });
+    }
+
     private boolean insertEventExecution(Connection connection, EventExecution eventExecution) {
 
         String INSERT_EVENT_EXECUTION =
@@ -12,7 +12,12 @@
  */
 package com.netflix.conductor.mysql.dao;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
 
 import org.flywaydb.core.Flyway;
 import org.junit.Before;
@@ -21,6 +26,7 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
@@ -28,11 +34,16 @@ import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.dao.StatementCountingDataSource;
+import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 import com.netflix.conductor.mysql.config.MySQLConfiguration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 @ContextConfiguration(
         classes = {
@@ -48,6 +59,12 @@ public class MySQLExecutionDAOTest extends ExecutionDAOTest {
 
     @Autowired Flyway flyway;
 
+    @Autowired private DataSource dataSource;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Autowired private RetryTemplate retryTemplate;
+
     // clean the database between tests.
     @Before
     public void before() {
@@ -74,6 +91,80 @@ public class MySQLExecutionDAOTest extends ExecutionDAOTest {
         assertEquals(10, bycorrelationId.size());
     }
 
+    @Test
+    public void testTaskWritesUseConstantRoundTrips() {
+        AtomicInteger statements = new AtomicInteger();
+        MySQLExecutionDAO countingDAO =
+                new MySQLExecutionDAO(
+                        retryTemplate,
+                        objectMapper,
+                        StatementCountingDataSource.wrap(dataSource, statements));
+
+        List<TaskModel> few = newTasks(UUID.randomUUID().toString(), 2);
+        List<TaskModel> many = newTasks(UUID.randomUUID().toString(), 50);
+
+        assertEquals(2, countingDAO.createTasks(few).size());
+        int createStatements = statements.getAndSet(0);
+        assertEquals(50, countingDAO.createTasks(many).size());
+        assertEquals(createStatements, statements.getAndSet(0));
+
+        few.forEach(task -> task.setStatus(TaskModel.Status.COMPLETED));
+        many.forEach(task -> task.setStatus(TaskModel.Status.COMPLETED));
+        countingDAO.updateTasks(few);
+        int updateStatements = statements.getAndSet(0);
+        countingDAO.updateTasks(many);
+        assertEquals(updateStatements, statements.getAndSet(0));
+
+        // tasks that are already scheduled are skipped
+        assertEquals(0, countingDAO.createTasks(many).size());
+        assertEquals(0, getExecutionDAO().getPendingTasksForTaskType("roundTrips").size());
+        String workflowId = many.get(0).getWorkflowInstanceId();
+        assertEquals(50, getExecutionDAO().getTasksForWorkflow(workflowId).size());
+    }
+
+    @Test
+    public void testGetWorkflowWithTasksIsSingleRoundTrip() {
+        AtomicInteger statements = new AtomicInteger();
+        MySQLExecutionDAO countingDAO =
+                new MySQLExecutionDAO(
+                        retryTemplate,
+                        objectMapper,
+                        StatementCountingDataSource.wrap(dataSource, statements));
+
+        WorkflowModel workflow = createTestWorkflow();
+        getExecutionDAO().createWorkflow(workflow);
+        List<TaskModel> tasks = newTasks(workflow.getWorkflowId(), 200);
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setSeq(tasks.size() - i);
+        }
+        getExecutionDAO().createTasks(tasks);
+
+        WorkflowModel found = countingDAO.getWorkflow(workflow.getWorkflowId(), true);
+        assertEquals(1, statements.get());
+        assertEquals(workflow.getWorkflowId(), found.getWorkflowId());
+        assertEquals(200, found.getTasks().size());
+        assertEquals(1, found.getTasks().get(0).getSeq());
+        assertEquals(200, found.getTasks().get(199).getSeq());
+
+        statements.set(0);
+        assertNull(countingDAO.getWorkflow(UUID.randomUUID().toString(), true));
+        assertEquals(1, statements.get());
+    }
+
+    private List<TaskModel> newTasks(String workflowId, int count) {
+        List<TaskModel> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TaskModel task = new TaskModel();
+            task.setTaskId(workflowId + "_t" + i);
+            task.setReferenceTaskName("roundTrips" + i);
+            task.setWorkflowInstanceId(workflowId);
+            task.setTaskDefName("roundTrips");
+            task.setStatus(TaskModel.Status.IN_PROGRESS);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
     @Override
     public ExecutionDAO getExecutionDAO() {
         return executionDAO;
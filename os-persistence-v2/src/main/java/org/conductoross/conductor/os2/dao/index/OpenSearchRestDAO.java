@@ -32,8 +32,10 @@ import org.apache.http.util.EntityUtils;
 import org.conductoross.conductor.os2.config.OpenSearchProperties;
 import org.conductoross.conductor.os2.dao.query.parser.internal.ParserException;
 import org.joda.time.DateTime;
+import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.DocWriteResponse;
 import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.get.GetRequest;
@@ -67,6 +69,7 @@ import com.netflix.conductor.common.run.WorkflowSummary;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.core.exception.NonTransientException;
 import com.netflix.conductor.core.exception.TransientException;
+import com.netflix.conductor.core.index.BulkIndexQueue;
 import com.netflix.conductor.dao.IndexDAO;
 import com.netflix.conductor.metrics.Monitors;
 
@@ -127,6 +130,7 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     private final int asyncBufferFlushTimeout;
     private final OpenSearchProperties properties;
     private final RetryTemplate retryTemplate;
+    private final BulkIndexQueue<DocWriteRequest<?>> bulkIndexQueue;
 
     static {
         SIMPLE_DATE_FORMAT.setTimeZone(GMT);
@@ -196,11 +200,29 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
         Executors.newSingleThreadScheduledExecutor()
                 .scheduleAtFixedRate(this::flushBulkRequests, 60, 30, TimeUnit.SECONDS);
         this.retryTemplate = retryTemplate;
+
+        if (properties.isAsyncBulkIndexingEnabled()) {
+            this.bulkIndexQueue =
+                    new BulkIndexQueue<>(
+                            "os2",
+                            this::indexBulk,
+                            properties.getAsyncBulkBatchSize(),
+                            properties.getAsyncBulkBatchMaxSize().toBytes(),
+                            properties.getAsyncBulkFlushInterval(),
+                            properties.getAsyncBulkQueueCapacity(),
+                            properties.getAsyncBulkOfferTimeout(),
+                            properties.getAsyncBulkConcurrency());
+        } else {
+            this.bulkIndexQueue = null;
+        }
     }
 
     @PreDestroy
     private void shutdown() {
         logger.info("Gracefully shutdown executor service");
+        if (bulkIndexQueue != null) {
+            bulkIndexQueue.shutdown();
+        }
         shutdownExecutorService(logExecutorService);
         shutdownExecutorService(executorService);
     }
@@ -511,6 +533,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncIndexWorkflow(WorkflowSummary workflow) {
+        if (bulkIndexQueue != null) {
+            return bulkIndex(workflowIndexName, workflow.getWorkflowId(), workflow);
+        }
         return CompletableFuture.runAsync(() -> indexWorkflow(workflow), executorService);
     }
 
@@ -537,6 +562,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncIndexTask(TaskSummary task) {
+        if (bulkIndexQueue != null) {
+            return bulkIndex(taskIndexName, task.getTaskId(), task);
+        }
         return CompletableFuture.runAsync(() -> indexTask(task), executorService);
     }
 
@@ -580,6 +608,10 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncAddTaskExecutionLogs(List<TaskExecLog> logs) {
+        if (bulkIndexQueue != null) {
+            logs.forEach(log -> bulkIndex(logIndexName, null, log));
+            return CompletableFuture.completedFuture(null);
+        }
         return CompletableFuture.runAsync(() -> addTaskExecutionLogs(logs), logExecutorService);
     }
 
@@ -696,13 +728,7 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     public void addMessage(String queue, Message message) {
         try {
             long startTime = Instant.now().toEpochMilli();
-            Map<String, Object> doc = new HashMap<>();
-            doc.put("messageId", message.getId());
-            doc.put("payload", message.getPayload());
-            doc.put("queue", queue);
-            doc.put("created", System.currentTimeMillis());
-
-            indexObject(messageIndexName, MSG_DOC_TYPE, doc);
+            indexObject(messageIndexName, MSG_DOC_TYPE, toMessageDoc(queue, message));
             long endTime = Instant.now().toEpochMilli();
             logger.debug(
                     "Time taken {} for  indexing message: {}",
@@ -716,6 +742,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncAddMessage(String queue, Message message) {
+        if (bulkIndexQueue != null) {
+            return bulkIndex(messageIndexName, null, toMessageDoc(queue, message));
+        }
         return CompletableFuture.runAsync(() -> addMessage(queue, message), executorService);
     }
 
@@ -723,14 +752,7 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     public void addEventExecution(EventExecution eventExecution) {
         try {
             long startTime = Instant.now().toEpochMilli();
-            String id =
-                    eventExecution.getName()
-                            + "."
-                            + eventExecution.getEvent()
-                            + "."
-                            + eventExecution.getMessageId()
-                            + "."
-                            + eventExecution.getId();
+            String id = getEventExecutionDocId(eventExecution);
 
             indexObject(eventIndexName, EVENT_DOC_TYPE, id, eventExecution);
             long endTime = Instant.now().toEpochMilli();
@@ -748,6 +770,10 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncAddEventExecution(EventExecution eventExecution) {
+        if (bulkIndexQueue != null) {
+            return bulkIndex(
+                    eventIndexName, getEventExecutionDocId(eventExecution), eventExecution);
+        }
         return CompletableFuture.runAsync(
                 () -> addEventExecution(eventExecution), logExecutorService);
     }
@@ -842,6 +868,14 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncRemoveWorkflow(String workflowId) {
+        if (bulkIndexQueue != null) {
+            bulkIndexQueue.put(
+                    workflowIndexName,
+                    workflowId,
+                    new DeleteRequest(workflowIndexName, workflowId),
+                    0);
+            return CompletableFuture.completedFuture(null);
+        }
         return CompletableFuture.runAsync(() -> removeWorkflow(workflowId), executorService);
     }
 
@@ -922,6 +956,12 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncRemoveTask(String workflowId, String taskId) {
+        if (bulkIndexQueue != null) {
+            // task ids are unique, the task is removed without checking its workflow so that the
+            // delete is ordered after the pending index operations of the task
+            bulkIndexQueue.put(taskIndexName, taskId, new DeleteRequest(taskIndexName, taskId), 0);
+            return CompletableFuture.completedFuture(null);
+        }
         return CompletableFuture.runAsync(() -> removeTask(workflowId, taskId), executorService);
     }
 
@@ -960,6 +1000,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     @Override
     public CompletableFuture<Void> asyncUpdateTask(
             String workflowId, String taskId, String[] keys, Object[] values) {
+        if (bulkIndexQueue != null) {
+            return bulkUpdate(taskIndexName, taskId, keys, values);
+        }
         return CompletableFuture.runAsync(
                 () -> updateTask(workflowId, taskId, keys, values), executorService);
     }
@@ -967,6 +1010,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     @Override
     public CompletableFuture<Void> asyncUpdateWorkflow(
             String workflowInstanceId, String[] keys, Object[] values) {
+        if (bulkIndexQueue != null) {
+            return bulkUpdate(workflowIndexName, workflowInstanceId, keys, values);
+        }
         return CompletableFuture.runAsync(
                 () -> updateWorkflow(workflowInstanceId, keys, values), executorService);
     }
@@ -1230,6 +1276,80 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
         return workflowIds.getResults();
     }
 
+    private Map<String, Object> toMessageDoc(String queue, Message message) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("messageId", message.getId());
+        doc.put("payload", message.getPayload());
+        doc.put("queue", queue);
+        doc.put("created", System.currentTimeMillis());
+        return doc;
+    }
+
+    private String getEventExecutionDocId(EventExecution eventExecution) {
+        return eventExecution.getName()
+                + "."
+                + eventExecution.getEvent()
+                + "."
+                + eventExecution.getMessageId()
+                + "."
+                + eventExecution.getId();
+    }
+
+    /**
+     * Adds a document to the bulk index queue. The returned future is completed once the document
+     * is queued, a later version of the document queued before the bulk request is sent replaces
+     * it.
+     */
+    private CompletableFuture<Void> bulkIndex(String index, String docId, Object doc) {
+        try {
+            byte[] docBytes = objectMapper.writeValueAsBytes(doc);
+            IndexRequest request =
+                    new IndexRequest(index).id(docId).source(docBytes, XContentType.JSON);
+            bulkIndexQueue.put(index, docId, request, docBytes.length);
+        } catch (Exception e) {
+            Monitors.error(className, "bulkIndex");
+            logger.error("Failed to queue document {} of index {}", docId, index, e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<Void> bulkUpdate(
+            String index, String docId, String[] keys, Object[] values) {
+        try {
+            if (keys.length != values.length) {
+                throw new IllegalArgumentException("Number of keys and values do not match");
+            }
+            Map<String, Object> source =
+                    IntStream.range(0, keys.length)
+                            .boxed()
+                            .collect(Collectors.toMap(i -> keys[i], i -> values[i]));
+            byte[] docBytes = objectMapper.writeValueAsBytes(source);
+            UpdateRequest request =
+                    new UpdateRequest(index, docId).doc(docBytes, XContentType.JSON);
+            bulkIndexQueue.append(index, docId, request, docBytes.length);
+        } catch (Exception e) {
+            Monitors.error(className, "bulkUpdate");
+            logger.error("Failed to queue the update of document {} of index {}", docId, index, e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /** Sends the operations queued for an index in a single bulk request. */
+    private void indexBulk(String index, List<DocWriteRequest<?>> requests) throws IOException {
+        BulkRequest bulkRequest = new BulkRequest();
+        requests.forEach(bulkRequest::add);
+        BulkResponse response =
+                retryTemplate.execute(
+                        context -> openSearchClient.bulk(bulkRequest, RequestOptions.DEFAULT));
+        if (response.hasFailures()) {
+            Monitors.error(className, "indexBulk");
+            logger.error(
+                    "Failed to index documents of index {}: {}",
+                    index,
+                    response.buildFailureMessage());
+        }
+    }
+
     private void indexObject(final String index, final String docType, final Object doc) {
         indexObject(index, docType, null, doc);
     }
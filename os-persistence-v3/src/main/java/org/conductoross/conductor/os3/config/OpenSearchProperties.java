@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
 import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
 
 import jakarta.annotation.PostConstruct;
 
@@ -89,6 +90,36 @@ public class OpenSearchProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration asyncBufferFlushTimeout = Duration.ofSeconds(10);
 
+    /**
+     * Used to enable the bulk indexing pipeline for async indexing. When enabled, the async
+     * operations on workflows, tasks, logs, messages and events are buffered per index, coalesced
+     * by document id and sent in bulk.
+     */
+    private boolean asyncBulkIndexingEnabled = false;
+
+    /** The maximum number of operations sent in a single bulk request */
+    private int asyncBulkBatchSize = 500;
+
+    /** The maximum size of the documents sent in a single bulk request */
+    private DataSize asyncBulkBatchMaxSize = DataSize.ofMegabytes(5);
+
+    /** The maximum time an operation is buffered before its bulk request is sent */
+    private Duration asyncBulkFlushInterval = Duration.ofSeconds(1);
+
+    /**
+     * The maximum number of operations buffered or being sent, above which the callers wait for
+     * the bulk requests to be sent
+     */
+    private int asyncBulkQueueCapacity = 10000;
+
+    /**
+     * The maximum time a caller waits for room in a full queue before its operation is discarded
+     */
+    private Duration asyncBulkOfferTimeout = Duration.ofMillis(500);
+
+    /** The number of bulk requests sent concurrently, requests of the same index are sequential */
+    private int asyncBulkConcurrency = 2;
+
     /** The number of shards that the index will be created with */
     private int indexShardCount = 5;
 
@@ -375,6 +406,62 @@ public class OpenSearchProperties {
         this.asyncBufferFlushTimeout = asyncBufferFlushTimeout;
     }
 
+    public boolean isAsyncBulkIndexingEnabled() {
+        return asyncBulkIndexingEnabled;
+    }
+
+    public void setAsyncBulkIndexingEnabled(boolean asyncBulkIndexingEnabled) {
+        this.asyncBulkIndexingEnabled = asyncBulkIndexingEnabled;
+    }
+
+    public int getAsyncBulkBatchSize() {
+        return asyncBulkBatchSize;
+    }
+
+    public void setAsyncBulkBatchSize(int asyncBulkBatchSize) {
+        this.asyncBulkBatchSize = asyncBulkBatchSize;
+    }
+
+    public DataSize getAsyncBulkBatchMaxSize() {
+        return asyncBulkBatchMaxSize;
+    }
+
+    public void setAsyncBulkBatchMaxSize(DataSize asyncBulkBatchMaxSize) {
+        this.asyncBulkBatchMaxSize = asyncBulkBatchMaxSize;
+    }
+
+    public Duration getAsyncBulkFlushInterval() {
+        return asyncBulkFlushInterval;
+    }
+
+    public void setAsyncBulkFlushInterval(Duration asyncBulkFlushInterval) {
+        this.asyncBulkFlushInterval = asyncBulkFlushInterval;
+    }
+
+    public int getAsyncBulkQueueCapacity() {
+        return asyncBulkQueueCapacity;
+    }
+
+    public void setAsyncBulkQueueCapacity(int asyncBulkQueueCapacity) {
+        this.asyncBulkQueueCapacity = asyncBulkQueueCapacity;
+    }
+
+    public Duration getAsyncBulkOfferTimeout() {
+        return asyncBulkOfferTimeout;
+    }
+
+    public void setAsyncBulkOfferTimeout(Duration asyncBulkOfferTimeout) {
+        this.asyncBulkOfferTimeout = asyncBulkOfferTimeout;
+    }
+
+    public int getAsyncBulkConcurrency() {
+        return asyncBulkConcurrency;
+    }
+
+    public void setAsyncBulkConcurrency(int asyncBulkConcurrency) {
+        this.asyncBulkConcurrency = asyncBulkConcurrency;
+    }
+
     public int getIndexShardCount() {
         return indexShardCount;
     }
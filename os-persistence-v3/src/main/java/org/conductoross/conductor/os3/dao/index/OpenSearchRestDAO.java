@@ -57,12 +57,14 @@ import com.netflix.conductor.common.run.WorkflowSummary;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.core.exception.NonTransientException;
 import com.netflix.conductor.core.exception.TransientException;
+import com.netflix.conductor.core.index.BulkIndexQueue;
 import com.netflix.conductor.dao.IndexDAO;
 import com.netflix.conductor.metrics.Monitors;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
@@ -114,6 +116,7 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     private final int asyncBufferFlushTimeout;
     private final OpenSearchProperties properties;
     private final RetryTemplate retryTemplate;
+    private final BulkIndexQueue<BulkOperation> bulkIndexQueue;
 
     static {
         SIMPLE_DATE_FORMAT.setTimeZone(GMT);
@@ -184,11 +187,29 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
         Executors.newSingleThreadScheduledExecutor()
                 .scheduleAtFixedRate(this::flushBulkRequests, 60, 30, TimeUnit.SECONDS);
         this.retryTemplate = retryTemplate;
+
+        if (properties.isAsyncBulkIndexingEnabled()) {
+            this.bulkIndexQueue =
+                    new BulkIndexQueue<>(
+                            "os3",
+                            this::indexBulk,
+                            properties.getAsyncBulkBatchSize(),
+                            properties.getAsyncBulkBatchMaxSize().toBytes(),
+                            properties.getAsyncBulkFlushInterval(),
+                            properties.getAsyncBulkQueueCapacity(),
+                            properties.getAsyncBulkOfferTimeout(),
+                            properties.getAsyncBulkConcurrency());
+        } else {
+            this.bulkIndexQueue = null;
+        }
     }
 
     @PreDestroy
     private void shutdown() {
         logger.info("Gracefully shutdown executor service");
+        if (bulkIndexQueue != null) {
+            bulkIndexQueue.shutdown();
+        }
         shutdownExecutorService(logExecutorService);
         shutdownExecutorService(executorService);
     }
@@ -510,6 +531,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncIndexWorkflow(WorkflowSummary workflow) {
+        if (bulkIndexQueue != null) {
+            return bulkIndex(workflowIndexName, workflow.getWorkflowId(), workflow);
+        }
         return CompletableFuture.runAsync(() -> indexWorkflow(workflow), executorService);
     }
 
@@ -536,6 +560,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncIndexTask(TaskSummary task) {
+        if (bulkIndexQueue != null) {
+            return bulkIndex(taskIndexName, task.getTaskId(), task);
+        }
         return CompletableFuture.runAsync(() -> indexTask(task), executorService);
     }
 
@@ -571,6 +598,10 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncAddTaskExecutionLogs(List<TaskExecLog> logs) {
+        if (bulkIndexQueue != null) {
+            logs.forEach(log -> bulkIndex(logIndexName, null, log));
+            return CompletableFuture.completedFuture(null);
+        }
         return CompletableFuture.runAsync(() -> addTaskExecutionLogs(logs), logExecutorService);
     }
 
@@ -690,13 +721,7 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     public void addMessage(String queue, Message message) {
         try {
             long startTime = Instant.now().toEpochMilli();
-            Map<String, Object> doc = new HashMap<>();
-            doc.put("messageId", message.getId());
-            doc.put("payload", message.getPayload());
-            doc.put("queue", queue);
-            doc.put("created", System.currentTimeMillis());
-
-            indexObject(messageIndexName, MSG_DOC_TYPE, doc);
+            indexObject(messageIndexName, MSG_DOC_TYPE, toMessageDoc(queue, message));
             long endTime = Instant.now().toEpochMilli();
             logger.debug(
                     "Time taken {} for  indexing message: {}",
@@ -710,6 +735,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncAddMessage(String queue, Message message) {
+        if (bulkIndexQueue != null) {
+            return bulkIndex(messageIndexName, null, toMessageDoc(queue, message));
+        }
         return CompletableFuture.runAsync(() -> addMessage(queue, message), executorService);
     }
 
@@ -717,14 +745,7 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     public void addEventExecution(EventExecution eventExecution) {
         try {
             long startTime = Instant.now().toEpochMilli();
-            String id =
-                    eventExecution.getName()
-                            + "."
-                            + eventExecution.getEvent()
-                            + "."
-                            + eventExecution.getMessageId()
-                            + "."
-                            + eventExecution.getId();
+            String id = getEventExecutionDocId(eventExecution);
 
             indexObject(eventIndexName, EVENT_DOC_TYPE, id, eventExecution);
             long endTime = Instant.now().toEpochMilli();
@@ -742,6 +763,10 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncAddEventExecution(EventExecution eventExecution) {
+        if (bulkIndexQueue != null) {
+            return bulkIndex(
+                    eventIndexName, getEventExecutionDocId(eventExecution), eventExecution);
+        }
         return CompletableFuture.runAsync(
                 () -> addEventExecution(eventExecution), logExecutorService);
     }
@@ -836,6 +861,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncRemoveWorkflow(String workflowId) {
+        if (bulkIndexQueue != null) {
+            return bulkDelete(workflowIndexName, workflowId);
+        }
         return CompletableFuture.runAsync(() -> removeWorkflow(workflowId), executorService);
     }
 
@@ -921,6 +949,11 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
 
     @Override
     public CompletableFuture<Void> asyncRemoveTask(String workflowId, String taskId) {
+        if (bulkIndexQueue != null) {
+            // task ids are unique, the task is removed without checking its workflow so that the
+            // delete is ordered after the pending index operations of the task
+            return bulkDelete(taskIndexName, taskId);
+        }
         return CompletableFuture.runAsync(() -> removeTask(workflowId, taskId), executorService);
     }
 
@@ -964,6 +997,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     @Override
     public CompletableFuture<Void> asyncUpdateTask(
             String workflowId, String taskId, String[] keys, Object[] values) {
+        if (bulkIndexQueue != null) {
+            return bulkUpdate(taskIndexName, taskId, keys, values);
+        }
         return CompletableFuture.runAsync(
                 () -> updateTask(workflowId, taskId, keys, values), executorService);
     }
@@ -971,6 +1007,9 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
     @Override
     public CompletableFuture<Void> asyncUpdateWorkflow(
             String workflowInstanceId, String[] keys, Object[] values) {
+        if (bulkIndexQueue != null) {
+            return bulkUpdate(workflowIndexName, workflowInstanceId, keys, values);
+        }
         return CompletableFuture.runAsync(
                 () -> updateWorkflow(workflowInstanceId, keys, values), executorService);
     }
@@ -1306,6 +1345,107 @@ public class OpenSearchRestDAO extends OpenSearchBaseDAO implements IndexDAO {
         return workflowIds.getResults();
     }
 
+    private Map<String, Object> toMessageDoc(String queue, Message message) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("messageId", message.getId());
+        doc.put("payload", message.getPayload());
+        doc.put("queue", queue);
+        doc.put("created", System.currentTimeMillis());
+        return doc;
+    }
+
+    private String getEventExecutionDocId(EventExecution eventExecution) {
+        return eventExecution.getName()
+                + "."
+                + eventExecution.getEvent()
+                + "."
+                + eventExecution.getMessageId()
+                + "."
+                + eventExecution.getId();
+    }
+
+    /**
+     * Adds a document to the bulk index queue. The returned future is completed once the document
+     * is queued, a later version of the document queued before the bulk request is sent replaces
+     * it.
+     */
+    private CompletableFuture<Void> bulkIndex(String index, String docId, Object doc) {
+        try {
+            // the document is serialized once, the client writes the json as it is
+            String json = objectMapper.writeValueAsString(doc);
+            BulkOperation operation =
+                    BulkOperation.of(
+                            b ->
+                                    b.index(
+                                            idx -> {
+                                                idx.index(index)
+                                                        .document(
+                                                                JsonData.of(new RawValue(json)));
+                                                if (docId != null) {
+                                                    idx.id(docId);
+                                                }
+                                                return idx;
+                                            }));
+            bulkIndexQueue.put(index, docId, operation, json.length());
+        } catch (Exception e) {
+            Monitors.error(className, "bulkIndex");
+            logger.error("Failed to queue document {} of index {}", docId, index, e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<Void> bulkUpdate(
+            String index, String docId, String[] keys, Object[] values) {
+        try {
+            if (keys.length != values.length) {
+                throw new IllegalArgumentException("Number of keys and values do not match");
+            }
+            Map<String, Object> source =
+                    IntStream.range(0, keys.length)
+                            .boxed()
+                            .collect(Collectors.toMap(i -> keys[i], i -> values[i]));
+            String json = objectMapper.writeValueAsString(source);
+            BulkOperation operation =
+                    BulkOperation.of(
+                            b ->
+                                    b.update(
+                                            u ->
+                                                    u.index(index)
+                                                            .id(docId)
+                                                            .document(new RawValue(json))));
+            bulkIndexQueue.append(index, docId, operation, json.length());
+        } catch (Exception e) {
+            Monitors.error(className, "bulkUpdate");
+            logger.error("Failed to queue the update of document {} of index {}", docId, index, e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<Void> bulkDelete(String index, String docId) {
+        BulkOperation operation = BulkOperation.of(b -> b.delete(d -> d.index(index).id(docId)));
+        bulkIndexQueue.put(index, docId, operation, 0);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /** Sends the operations queued for an index in a single bulk request. */
+    private void indexBulk(String index, List<BulkOperation> operations) throws IOException {
+        BulkRequest bulkRequest = new BulkRequest.Builder().operations(operations).build();
+        BulkResponse response =
+                retryTemplate.execute(context -> openSearchClient.bulk(bulkRequest));
+        if (response.errors()) {
+            Monitors.error(className, "indexBulk");
+            response.items().stream()
+                    .filter(item -> item.error() != null)
+                    .forEach(
+                            item ->
+                                    logger.error(
+                                            "Failed to index document {} of index {}: {}",
+                                            item.id(),
+                                            index,
+                                            item.error().reason()));
+        }
+    }
+
     private void indexObject(final String index, final String docType, final Object doc) {
         indexObject(index, docType, null, doc);
     }
@@ -65,6 +65,10 @@ public class PostgresConfiguration {
             locations.add("classpath:db/migration_postgres_notify");
         }
 
+        if (properties.getPartitionedQueueMessages()) {
+            locations.add("classpath:db/migration_postgres_partitioned");
+        }
+
         if (properties.isApplyDataMigrations()) {
             locations.add("classpath:db/migration_postgres_data");
         }
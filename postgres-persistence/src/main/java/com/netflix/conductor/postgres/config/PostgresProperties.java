@@ -37,6 +37,12 @@ public class PostgresProperties {
 
     private Integer experimentalQueueNotifyStalePeriod = 5000;
 
+    /**
+     * Whether the queue_message table should be hash partitioned by queue name. Enabling this
+     * applies a one-way migration of the existing table.
+     */
+    private boolean partitionedQueueMessages = false;
+
     private boolean onlyIndexOnStatusChange = false;
 
     /** The boolean indicating whether data migrations should be executed */
@@ -70,6 +76,14 @@ public class PostgresProperties {
         this.experimentalQueueNotifyStalePeriod = experimentalQueueNotifyStalePeriod;
     }
 
+    public boolean getPartitionedQueueMessages() {
+        return partitionedQueueMessages;
+    }
+
+    public void setPartitionedQueueMessages(boolean partitionedQueueMessages) {
+        this.partitionedQueueMessages = partitionedQueueMessages;
+    }
+
     public Duration getTaskDefCacheRefreshInterval() {
         return taskDefCacheRefreshInterval;
     }
@@ -14,6 +14,8 @@ package com.netflix.conductor.postgres.dao;
 
 import java.sql.Connection;
 import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.Executors;
@@ -46,6 +48,8 @@ import jakarta.annotation.*;
 public class PostgresExecutionDAO extends PostgresBaseDAO
         implements ExecutionDAO, RateLimitingDAO, ConcurrentExecutionLimitDAO {
 
+    private static final int REMOVE_TASKS_BATCH_SIZE = 500;
+
     private final ScheduledExecutorService scheduledExecutorService;
 
     public PostgresExecutionDAO(
@@ -134,41 +138,54 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
 
     @Override
     public List<TaskModel> createTasks(List<TaskModel> tasks) {
-        List<TaskModel> created = Lists.newArrayListWithCapacity(tasks.size());
-
-        withTransaction(
-                connection -> {
-                    for (TaskModel task : tasks) {
-
-                        validate(task);
-
-                        task.setScheduledTime(System.currentTimeMillis());
+        if (tasks.isEmpty()) {
+            return Lists.newArrayList();
+        }
 
-                        final String taskKey = taskKey(task);
+        long scheduledTime = System.currentTimeMillis();
+        Map<List<String>, TaskModel> tasksByScheduledKey = new LinkedHashMap<>();
+        for (TaskModel task : tasks) {
+            validate(task);
+            task.setScheduledTime(scheduledTime);
+            // the first task wins for a key that is repeated within the batch
+            tasksByScheduledKey.putIfAbsent(
+                    List.of(task.getWorkflowInstanceId(), taskKey(task)), task);
+        }
 
-                        boolean scheduledTaskAdded = addScheduledTask(connection, task, taskKey);
+        return getWithRetriedTransactions(
+                connection -> {
+                    Set<String> scheduledTaskIds =
+                            addScheduledTasks(connection, tasksByScheduledKey.values());
 
-                        if (!scheduledTaskAdded) {
+                    List<TaskModel> created = Lists.newArrayListWithCapacity(tasks.size());
+                    for (TaskModel task : tasksByScheduledKey.values()) {
+                        if (!scheduledTaskIds.contains(task.getTaskId())) {
                             logger.trace(
                                     "Task already scheduled, skipping the run "
                                             + task.getTaskId()
                                             + ", ref="
                                             + task.getReferenceTaskName()
                                             + ", key="
-                                            + taskKey);
+                                            + taskKey(task));
                             continue;
                         }
-
-                        insertOrUpdateTaskData(connection, task);
-                        addWorkflowToTaskMapping(connection, task);
-                        addTaskInProgress(connection, task);
-                        updateTask(connection, task);
-
                         created.add(task);
                     }
+
+                    if (!created.isEmpty()) {
+                        addTasksInProgress(connection, created);
+                        updateTasks(connection, created);
+                    }
+                    return created;
                 });
+    }
 
-        return created;
+    @Override
+    public void updateTasks(List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        withTransaction(connection -> updateTasks(connection, tasks));
     }
 
     @Override
@@ -254,6 +271,72 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         return true;
     }
 
+    @Override
+    public void removeTasks(List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        withTransaction(
+                connection ->
+                        Lists.partition(tasks, REMOVE_TASKS_BATCH_SIZE)
+                                .forEach(batch -> removeTasks(connection, batch)));
+    }
+
+    private void removeTasks(Connection connection, List<TaskModel> tasks) {
+        tasks.stream()
+                .collect(Collectors.groupingBy(TaskModel::getWorkflowInstanceId))
+                .forEach(
+                        (workflowId, workflowTasks) -> {
+                            List<String> taskKeys =
+                                    workflowTasks.stream()
+                                            .map(PostgresExecutionDAO::taskKey)
+                                            .toList();
+                            List<String> taskIds =
+                                    workflowTasks.stream().map(TaskModel::getTaskId).toList();
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM task_scheduled WHERE workflow_id = ? AND task_key IN (%s)",
+                                            Query.generateInBindings(taskKeys.size())),
+                                    q ->
+                                            q.addParameter(workflowId)
+                                                    .addParameters(taskKeys)
+                                                    .executeDelete());
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM workflow_to_task WHERE workflow_id = ? AND task_id IN (%s)",
+                                            Query.generateInBindings(taskIds.size())),
+                                    q ->
+                                            q.addParameter(workflowId)
+                                                    .addParameters(taskIds)
+                                                    .executeDelete());
+                        });
+        tasks.stream()
+                .collect(Collectors.groupingBy(TaskModel::getTaskDefName))
+                .forEach(
+                        (taskDefName, defTasks) -> {
+                            List<String> taskIds =
+                                    defTasks.stream().map(TaskModel::getTaskId).toList();
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM task_in_progress WHERE task_def_name = ? AND task_id IN (%s)",
+                                            Query.generateInBindings(taskIds.size())),
+                                    q ->
+                                            q.addParameter(taskDefName)
+                                                    .addParameters(taskIds)
+                                                    .executeUpdate());
+                        });
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        execute(
+                connection,
+                String.format(
+                        "DELETE FROM task WHERE task_id IN (%s)",
+                        Query.generateInBindings(taskIds.size())),
+                q -> q.addParameters(taskIds).executeDelete());
+    }
+
     @Override
     public TaskModel getTask(String taskId) {
         String GET_TASK = "SELECT json_data FROM task WHERE task_id = ?";
@@ -362,16 +445,10 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
 
     @Override
     public WorkflowModel getWorkflow(String workflowId, boolean includeTasks) {
-        WorkflowModel workflow = getWithRetriedTransactions(tx -> readWorkflow(tx, workflowId));
-
-        if (workflow != null) {
-            if (includeTasks) {
-                List<TaskModel> tasks = getTasksForWorkflow(workflowId);
-                tasks.sort(Comparator.comparingInt(TaskModel::getSeq));
-                workflow.setTasks(tasks);
-            }
+        if (includeTasks) {
+            return getWithRetriedTransactions(tx -> readWorkflowWithTasks(tx, workflowId));
         }
-        return workflow;
+        return getWithRetriedTransactions(tx -> readWorkflow(tx, workflowId));
     }
 
     /**
@@ -623,6 +700,42 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         addWorkflowToTaskMapping(connection, task);
     }
 
+    /**
+     * Batched counterpart of {@link #updateTask(Connection, TaskModel)}. Every table is written
+     * with a single {@code unnest} statement, so the number of round trips does not depend on the
+     * number of tasks.
+     */
+    private void updateTasks(Connection connection, List<TaskModel> tasks) {
+        // the last update wins for a task that is repeated within the batch
+        Map<String, TaskModel> tasksById = new LinkedHashMap<>();
+        tasks.forEach(task -> tasksById.put(task.getTaskId(), task));
+        Collection<TaskModel> latest = tasksById.values();
+
+        List<TaskModel> concurrencyLimited =
+                latest.stream()
+                        .filter(
+                                task ->
+                                        task.getTaskDefinition()
+                                                .map(taskDef -> taskDef.concurrencyLimit() > 0)
+                                                .orElse(false))
+                        .toList();
+        if (!concurrencyLimited.isEmpty()) {
+            updateInProgressStatus(connection, concurrencyLimited);
+        }
+
+        insertOrUpdateTaskData(connection, latest);
+
+        List<TaskModel> terminal =
+                latest.stream()
+                        .filter(task -> task.getStatus() != null && task.getStatus().isTerminal())
+                        .toList();
+        if (!terminal.isEmpty()) {
+            removeTasksInProgress(connection, terminal);
+        }
+
+        addWorkflowToTaskMappings(connection, latest);
+    }
+
     private WorkflowModel readWorkflow(Connection connection, String workflowId) {
         String GET_WORKFLOW = "SELECT json_data FROM workflow WHERE workflow_id = ?";
 
@@ -632,6 +745,45 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                 q -> q.addParameter(workflowId).executeAndFetchFirst(WorkflowModel.class));
     }
 
+    /**
+     * Reads the workflow together with the json of all of its tasks in a single round trip. The
+     * {@code is_workflow} column tells the workflow row apart from the task rows.
+     */
+    private WorkflowModel readWorkflowWithTasks(Connection connection, String workflowId) {
+        String GET_WORKFLOW_WITH_TASKS =
+                "SELECT 1 AS is_workflow, json_data FROM workflow WHERE workflow_id = ? "
+                        + "UNION ALL "
+                        + "SELECT 0 AS is_workflow, t.json_data FROM workflow_to_task wt "
+                        + "INNER JOIN task t ON t.task_id = wt.task_id "
+                        + "WHERE wt.workflow_id = ? AND t.json_data IS NOT NULL";
+
+        return query(
+                connection,
+                GET_WORKFLOW_WITH_TASKS,
+                q ->
+                        q.addParameter(workflowId)
+                                .addParameter(workflowId)
+                                .executeAndFetch(this::readWorkflowWithTasks));
+    }
+
+    private WorkflowModel readWorkflowWithTasks(ResultSet rs) throws SQLException {
+        WorkflowModel workflow = null;
+        List<TaskModel> tasks = new ArrayList<>();
+        while (rs.next()) {
+            String json = rs.getString("json_data");
+            if (rs.getInt("is_workflow") == 1) {
+                workflow = readValue(json, WorkflowModel.class);
+            } else {
+                tasks.add(readValue(json, TaskModel.class));
+            }
+        }
+        if (workflow != null) {
+            tasks.sort(Comparator.comparingInt(TaskModel::getSeq));
+            workflow.setTasks(tasks);
+        }
+        return workflow;
+    }
+
     private void addWorkflow(Connection connection, WorkflowModel workflow) {
         String INSERT_WORKFLOW =
                 "INSERT INTO workflow (workflow_id, correlation_id, json_data) VALUES (?, ?, ?)";
@@ -723,6 +875,19 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         }
     }
 
+    private void insertOrUpdateTaskData(Connection connection, Collection<TaskModel> tasks) {
+        String UPSERT_TASKS =
+                "INSERT INTO task (task_id, json_data, modified_on) "
+                        + "SELECT task_id, json_data, CURRENT_TIMESTAMP FROM unnest(?::varchar[], ?::varchar[]) AS t(task_id, json_data) "
+                        + "ON CONFLICT (task_id) DO UPDATE SET json_data=excluded.json_data, modified_on=excluded.modified_on";
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        List<String> taskData = tasks.stream().map(this::toJson).toList();
+        execute(
+                connection,
+                UPSERT_TASKS,
+                q -> q.addParameter(taskIds).addParameter(taskData).executeUpdate());
+    }
+
     private void removeTaskData(Connection connection, TaskModel task) {
         String REMOVE_TASK = "DELETE FROM task WHERE task_id = ?";
         execute(connection, REMOVE_TASK, q -> q.addParameter(task.getTaskId()).executeDelete());
@@ -756,6 +921,19 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         }
     }
 
+    private void addWorkflowToTaskMappings(Connection connection, Collection<TaskModel> tasks) {
+        String INSERT_WORKFLOW_TO_TASKS =
+                "INSERT INTO workflow_to_task (workflow_id, task_id) "
+                        + "SELECT * FROM unnest(?::varchar[], ?::varchar[]) "
+                        + "ON CONFLICT (workflow_id,task_id) DO NOTHING";
+        List<String> workflowIds = tasks.stream().map(TaskModel::getWorkflowInstanceId).toList();
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        execute(
+                connection,
+                INSERT_WORKFLOW_TO_TASKS,
+                q -> q.addParameter(workflowIds).addParameter(taskIds).executeUpdate());
+    }
+
     private void removeWorkflowToTaskMapping(Connection connection, TaskModel task) {
         String REMOVE_WORKFLOW_TO_TASK =
                 "DELETE FROM workflow_to_task WHERE workflow_id = ? AND task_id = ?";
@@ -797,38 +975,30 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                                 .executeUpdate());
     }
 
+    /**
+     * Inserts the scheduled keys of the given tasks, skipping the ones that are already present.
+     *
+     * @return the ids of the tasks whose key was inserted by this call
+     */
     @VisibleForTesting
-    boolean addScheduledTask(Connection connection, TaskModel task, String taskKey) {
-
-        final String EXISTS_SCHEDULED_TASK =
-                "SELECT EXISTS(SELECT 1 FROM task_scheduled where workflow_id = ? AND task_key = ?)";
-
-        boolean exists =
+    Set<String> addScheduledTasks(Connection connection, Collection<TaskModel> tasks) {
+        final String INSERT_IGNORE_SCHEDULED_TASKS =
+                "INSERT INTO task_scheduled (workflow_id, task_key, task_id) "
+                        + "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[]) "
+                        + "ON CONFLICT (workflow_id,task_key) DO NOTHING RETURNING task_id";
+
+        List<String> workflowIds = tasks.stream().map(TaskModel::getWorkflowInstanceId).toList();
+        List<String> taskKeys = tasks.stream().map(PostgresExecutionDAO::taskKey).toList();
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        return new HashSet<>(
                 query(
                         connection,
-                        EXISTS_SCHEDULED_TASK,
+                        INSERT_IGNORE_SCHEDULED_TASKS,
                         q ->
-                                q.addParameter(task.getWorkflowInstanceId())
-                                        .addParameter(taskKey)
-                                        .exists());
-
-        if (!exists) {
-            final String INSERT_IGNORE_SCHEDULED_TASK =
-                    "INSERT INTO task_scheduled (workflow_id, task_key, task_id) VALUES (?, ?, ?) ON CONFLICT (workflow_id,task_key) DO NOTHING";
-
-            int count =
-                    query(
-                            connection,
-                            INSERT_IGNORE_SCHEDULED_TASK,
-                            q ->
-                                    q.addParameter(task.getWorkflowInstanceId())
-                                            .addParameter(taskKey)
-                                            .addParameter(task.getTaskId())
-                                            .executeUpdate());
-            return count > 0;
-        } else {
-            return false;
-        }
+                                q.addParameter(workflowIds)
+                                        .addParameter(taskKeys)
+                                        .addParameter(taskIds)
+                                        .executeScalarList(String.class)));
     }
 
     private void removeScheduledTask(Connection connection, TaskModel task, String taskKey) {
@@ -843,32 +1013,23 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                                 .executeDelete());
     }
 
-    private void addTaskInProgress(Connection connection, TaskModel task) {
-        String EXISTS_IN_PROGRESS_TASK =
-                "SELECT EXISTS(SELECT 1 FROM task_in_progress WHERE task_def_name = ? AND task_id = ?)";
-
-        boolean exists =
-                query(
-                        connection,
-                        EXISTS_IN_PROGRESS_TASK,
-                        q ->
-                                q.addParameter(task.getTaskDefName())
-                                        .addParameter(task.getTaskId())
-                                        .exists());
-
-        if (!exists) {
-            String INSERT_IN_PROGRESS_TASK =
-                    "INSERT INTO task_in_progress (task_def_name, task_id, workflow_id) VALUES (?, ?, ?)";
+    private void addTasksInProgress(Connection connection, Collection<TaskModel> tasks) {
+        String INSERT_IN_PROGRESS_TASKS =
+                "INSERT INTO task_in_progress (task_def_name, task_id, workflow_id) "
+                        + "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[]) "
+                        + "ON CONFLICT (task_def_name, task_id) DO NOTHING";
 
-            execute(
-                    connection,
-                    INSERT_IN_PROGRESS_TASK,
-                    q ->
-                            q.addParameter(task.getTaskDefName())
-                                    .addParameter(task.getTaskId())
-                                    .addParameter(task.getWorkflowInstanceId())
-                                    .executeUpdate());
-        }
+        List<String> taskDefNames = tasks.stream().map(TaskModel::getTaskDefName).toList();
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        List<String> workflowIds = tasks.stream().map(TaskModel::getWorkflowInstanceId).toList();
+        execute(
+                connection,
+                INSERT_IN_PROGRESS_TASKS,
+                q ->
+                        q.addParameter(taskDefNames)
+                                .addParameter(taskIds)
+                                .addParameter(workflowIds)
+                                .executeUpdate());
     }
 
     private void removeTaskInProgress(Connection connection, TaskModel task) {
@@ -884,6 +1045,19 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                                 .executeUpdate());
     }
 
+    private void removeTasksInProgress(Connection connection, Collection<TaskModel> tasks) {
+        String REMOVE_IN_PROGRESS_TASKS =
+                "DELETE FROM task_in_progress USING unnest(?::varchar[], ?::varchar[]) AS t(task_def_name, task_id) "
+                        + "WHERE task_in_progress.task_def_name = t.task_def_name AND task_in_progress.task_id = t.task_id";
+
+        List<String> taskDefNames = tasks.stream().map(TaskModel::getTaskDefName).toList();
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        execute(
+                connection,
+                REMOVE_IN_PROGRESS_TASKS,
+                q -> q.addParameter(taskDefNames).addParameter(taskIds).executeUpdate());
+    }
+
     private void updateInProgressStatus(Connection connection, TaskModel task, boolean inProgress) {
         String UPDATE_IN_PROGRESS_TASK_STATUS =
                 "UPDATE task_in_progress SET in_progress_status = ?, modified_on = CURRENT_TIMESTAMP "
@@ -899,6 +1073,29 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                                 .executeUpdate());
     }
 
+    private void updateInProgressStatus(Connection connection, Collection<TaskModel> tasks) {
+        String UPDATE_IN_PROGRESS_TASKS_STATUS =
+                "UPDATE task_in_progress SET in_progress_status = t.in_progress_status, modified_on = CURRENT_TIMESTAMP "
+                        + "FROM unnest(?::varchar[], ?::varchar[], ?::varchar[]::boolean[]) AS t(task_def_name, task_id, in_progress_status) "
+                        + "WHERE task_in_progress.task_def_name = t.task_def_name AND task_in_progress.task_id = t.task_id";
+
+        List<String> taskDefNames = tasks.stream().map(TaskModel::getTaskDefName).toList();
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        List<String> inProgress =
+                tasks.stream()
+                        .map(task -> task.getStatus() == TaskModel.Status.IN_PROGRESS)
+                        .map(String::valueOf)
+                        .toList();
+        execute(
+                connection,
+                UPDATE_IN_PROGRESS_TASKS_STATUS,
+                q ->
+                        q.addParameter(taskDefNames)
+                                .addParameter(taskIds)
+                                .addParameter(inProgress)
+                                .executeUpdate());
+    }
+
     private boolean insertEventExecution(Connection connection, EventExecution eventExecution) {
 
         String INSERT_EVENT_EXECUTION =
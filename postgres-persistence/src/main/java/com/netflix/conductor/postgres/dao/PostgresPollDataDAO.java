@@ -94,6 +94,17 @@ public class PostgresPollDataDAO extends PostgresBaseDAO implements PollDataDAO
         }
     }
 
+    @Override
+    public void updateLastPollData(List<PollData> pollData) {
+        withTransaction(
+                tx -> {
+                    for (PollData data : pollData) {
+                        String domain = data.getDomain() == null ? "DEFAULT" : data.getDomain();
+                        insertOrUpdatePollData(tx, data, domain);
+                    }
+                });
+    }
+
     @Override
     public PollData getPollData(String taskDefName, String domain) {
         PollData result;
@@ -136,6 +136,32 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Pops from all the given queues on a single connection and transaction, with one statement
+     * per queue. With the queue listener enabled, queues known to be empty are skipped without
+     * querying them.
+     */
+    @Override
+    public Map<String, List<String>> pop(Map<String, Integer> queueCounts) {
+        Map<String, List<String>> messages =
+                getWithTransactionWithOutErrorPropagation(
+                        tx -> {
+                            Map<String, List<String>> popped = new HashMap<>();
+                            queueCounts.forEach(
+                                    (queueName, count) ->
+                                            popped.put(
+                                                    queueName,
+                                                    popMessages(tx, queueName, count, 0).stream()
+                                                            .map(Message::getId)
+                                                            .collect(Collectors.toList())));
+                            return popped;
+                        });
+        if (messages == null) {
+            return new HashMap<>();
+        }
+        return messages;
+    }
+
     @Override
     public List<Message> pollMessages(String queueName, int count, int timeout) {
         if (timeout < 1) {
@@ -197,6 +223,30 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         return getWithRetriedTransactions(tx -> removeMessage(tx, queueName, messageId));
     }
 
+    /** Acks the messages of all the given queues with a single statement. */
+    @Override
+    public void ack(Map<String, List<String>> messageIds) {
+        List<String> queueNames = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        messageIds.forEach(
+                (queueName, queueMessageIds) ->
+                        queueMessageIds.forEach(
+                                messageId -> {
+                                    queueNames.add(queueName);
+                                    ids.add(messageId);
+                                }));
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        final String REMOVE_MESSAGES =
+                "DELETE FROM queue_message USING unnest(?::varchar[], ?::varchar[]) AS t(queue_name, message_id) "
+                        + "WHERE queue_message.queue_name = t.queue_name AND queue_message.message_id = t.message_id";
+        executeWithTransaction(
+                REMOVE_MESSAGES,
+                q -> q.addParameter(queueNames).addParameter(ids).executeDelete());
+    }
+
     @Override
     public boolean setUnackTimeout(String queueName, String messageId, long unackTimeout) {
         long updatedOffsetTimeInSecond = unackTimeout / 1000;
@@ -290,7 +340,7 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
         getWithRetriedTransactions(
                 tx -> {
                     String LOCK_TASKS =
-                            "SELECT queue_name, message_id FROM queue_message WHERE popped = true AND (deliver_on + (60 ||' seconds')::interval)  <  current_timestamp limit 1000 FOR UPDATE SKIP LOCKED";
+                            "SELECT queue_name, message_id FROM queue_message WHERE popped = true AND deliver_on < (current_timestamp - (60 ||' seconds')::interval) limit 1000 FOR UPDATE SKIP LOCKED";
 
                     List<QueueMessage> messages =
                             query(
@@ -360,7 +410,7 @@ public class PostgresQueueDAO extends PostgresBaseDAO implements QueueDAO {
     @Override
     public void processUnacks(String queueName) {
         final String PROCESS_UNACKS =
-                "UPDATE queue_message SET popped = false WHERE queue_name = ? AND popped = true AND (current_timestamp - (60 ||' seconds')::interval)  > deliver_on";
+                "UPDATE queue_message SET popped = false WHERE queue_name = ? AND popped = true AND deliver_on < (current_timestamp - (60 ||' seconds')::interval)";
         executeWithTransaction(PROCESS_UNACKS, q -> q.addParameter(queueName).executeUpdate());
     }
 
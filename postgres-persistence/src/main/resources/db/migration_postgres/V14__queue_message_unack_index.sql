@@ -0,0 +1,5 @@
+-- partial index covering only popped (un-acknowledged) messages so that the periodic
+-- unack sweep is an index range scan on deliver_on instead of a scan of the whole table.
+-- Built concurrently so that pushes and pops keep going while the index is created on upgrade;
+-- CONCURRENTLY can't run in a transaction, see the .conf file next to this script.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS queue_message_unacked ON queue_message USING btree (deliver_on) WHERE popped = true;
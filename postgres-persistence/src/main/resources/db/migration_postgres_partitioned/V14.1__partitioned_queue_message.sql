@@ -0,0 +1,60 @@
+-- Replaces the single queue_message heap with a table that is hash partitioned by queue_name.
+-- Every queue operation filters on queue_name, so pops, acks and unack sweeps are pruned to a
+-- single partition, and vacuum works on many small heaps instead of one large, bloated one.
+ALTER TABLE queue_message RENAME TO queue_message_unpartitioned;
+
+ALTER INDEX IF EXISTS combo_queue_message RENAME TO combo_queue_message_unpartitioned;
+ALTER INDEX IF EXISTS queue_message_unacked RENAME TO queue_message_unacked_unpartitioned;
+
+CREATE TABLE queue_message (
+  created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  deliver_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  queue_name varchar(255) NOT NULL,
+  message_id varchar(255) NOT NULL,
+  priority integer DEFAULT 0,
+  popped boolean DEFAULT false,
+  offset_time_seconds BIGINT,
+  payload TEXT,
+  PRIMARY KEY (queue_name, message_id)
+) PARTITION BY HASH (queue_name);
+
+-- popped and deliver_on are updated in place on every pop/unack, leave room on each page
+-- so those updates stay HOT and vacuum the (small) partitions aggressively
+DO $$
+BEGIN
+  FOR i IN 0..15 LOOP
+    EXECUTE format(
+      'CREATE TABLE queue_message_p%s PARTITION OF queue_message '
+      'FOR VALUES WITH (MODULUS 16, REMAINDER %s) '
+      'WITH (fillfactor = 70, autovacuum_vacuum_scale_factor = 0.01, autovacuum_vacuum_cost_delay = 0)',
+      i, i);
+  END LOOP;
+END;
+$$;
+
+CREATE INDEX combo_queue_message ON queue_message USING btree (queue_name, priority desc, popped, deliver_on, created_on);
+CREATE INDEX queue_message_unacked ON queue_message USING btree (deliver_on) WHERE popped = true;
+
+INSERT INTO queue_message (created_on, deliver_on, queue_name, message_id, priority, popped, offset_time_seconds, payload)
+SELECT created_on, deliver_on, queue_name, message_id, priority, popped, offset_time_seconds, payload
+FROM queue_message_unpartitioned;
+
+DROP TABLE queue_message_unpartitioned;
+
+-- re-attach the LISTEN/NOTIFY triggers if that feature has been enabled, they were dropped with the old table
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM pg_proc WHERE proname = 'queue_notify_trigger') THEN
+    CREATE TRIGGER queue_update
+      AFTER UPDATE ON queue_message
+      FOR EACH ROW
+      WHEN (OLD.popped IS DISTINCT FROM NEW.popped)
+      EXECUTE PROCEDURE queue_notify_trigger();
+
+    CREATE TRIGGER queue_insert_delete
+      AFTER INSERT OR DELETE ON queue_message
+      FOR EACH ROW
+      EXECUTE PROCEDURE queue_notify_trigger();
+  END IF;
+END;
+$$;
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.dao;
+
+import java.sql.Connection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.postgres.config.PostgresConfiguration;
+import com.netflix.conductor.postgres.util.Query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@ContextConfiguration(
+        classes = {
+            TestObjectMapperConfiguration.class,
+            PostgresConfiguration.class,
+            FlywayAutoConfiguration.class
+        })
+@RunWith(SpringRunner.class)
+@TestPropertySource(
+        properties = {
+            "conductor.postgres.partitionedQueueMessages=true",
+            "spring.flyway.clean-disabled=false"
+        })
+@SpringBootTest
+public class PostgresQueueDAOPartitionedTest {
+
+    @Autowired private PostgresQueueDAO queueDAO;
+
+    @Qualifier("dataSource")
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    // clean the database between tests.
+    @Before
+    public void before() {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            String[] stmts =
+                    new String[] {
+                        "truncate table queue restart identity cascade;",
+                        "truncate table queue_message restart identity cascade;"
+                    };
+            for (String stmt : stmts) {
+                conn.prepareStatement(stmt).executeUpdate();
+            }
+            conn.commit();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void queueMessageTableIsPartitioned() {
+        try (Connection c = dataSource.getConnection()) {
+            String PARTITIONS =
+                    "SELECT COUNT(*) FROM pg_inherits i JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'queue_message' AND p.relkind = 'p'";
+            try (Query q = new Query(objectMapper, c, PARTITIONS)) {
+                assertEquals(16, q.executeCount());
+            }
+        } catch (Exception ex) {
+            fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void pushPopAckAcrossPartitions() {
+        int queues = 20;
+        for (int i = 0; i < queues; i++) {
+            String queueName = "partitioned_queue_" + i;
+            queueDAO.push(queueName, "msg1", 0);
+            queueDAO.push(queueName, "msg2", 0);
+            assertTrue(queueDAO.pushIfNotExists(queueName, "msg3", 0));
+            assertEquals(3, queueDAO.getSize(queueName));
+        }
+
+        for (int i = 0; i < queues; i++) {
+            String queueName = "partitioned_queue_" + i;
+            List<String> popped = queueDAO.pop(queueName, 3, 100);
+            assertEquals(3, popped.size());
+            assertTrue(queueDAO.ack(queueName, "msg1"));
+            assertEquals(2, queueDAO.getSize(queueName));
+        }
+        assertEquals(queues, queueDAO.queuesDetail().size());
+    }
+
+    @Test
+    public void processAllUnacksUsesDeliverOnRange() {
+        String queueName = "partitioned_unack_queue";
+        queueDAO.push(queueName, "msg1", 0);
+        queueDAO.push(queueName, "msg2", 0);
+        assertEquals(2, queueDAO.pop(queueName, 2, 100).size());
+
+        // move the popped messages past the unack window
+        try (Connection c = dataSource.getConnection()) {
+            c.setAutoCommit(true);
+            String EXPIRE =
+                    "UPDATE queue_message SET deliver_on = current_timestamp - interval '5 minutes' WHERE queue_name = ?";
+            try (Query q = new Query(objectMapper, c, EXPIRE)) {
+                q.addParameter(queueName).executeUpdate();
+            }
+        } catch (Exception ex) {
+            fail(ex.getMessage());
+        }
+
+        queueDAO.processAllUnacks();
+        assertEquals(2, queueDAO.pop(queueName, 2, 100).size());
+    }
+}
@@ -15,6 +15,7 @@ package com.netflix.conductor.postgres.dao;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -306,6 +307,45 @@ public class PostgresQueueDAOTest {
         }
     }
 
+    @Test
+    public void popMultipleQueuesTest() {
+        queueDAO.push("multi_queue_1", "msg1", 0);
+        queueDAO.push("multi_queue_1", "msg2", 0);
+        queueDAO.push("multi_queue_1", "msg3", 0);
+        queueDAO.push("multi_queue_2", "msg4", 0);
+
+        Map<String, Integer> queueCounts = new HashMap<>();
+        queueCounts.put("multi_queue_1", 2);
+        queueCounts.put("multi_queue_2", 2);
+        queueCounts.put("multi_queue_3", 2);
+        Map<String, List<String>> popped = queueDAO.pop(queueCounts);
+
+        assertEquals(2, popped.get("multi_queue_1").size());
+        assertEquals(List.of("msg4"), popped.get("multi_queue_2"));
+        assertTrue(popped.get("multi_queue_3").isEmpty());
+        assertEquals(1, queueDAO.pop("multi_queue_1", 10, 0).size());
+    }
+
+    @Test
+    public void ackMultipleQueuesTest() {
+        queueDAO.push("multi_ack_queue_1", "msg1", 0);
+        queueDAO.push("multi_ack_queue_1", "msg2", 0);
+        queueDAO.push("multi_ack_queue_2", "msg3", 0);
+
+        Map<String, List<String>> popped =
+                queueDAO.pop(Map.of("multi_ack_queue_1", 2, "multi_ack_queue_2", 1));
+        queueDAO.ack(
+                Map.of(
+                        "multi_ack_queue_1",
+                        popped.get("multi_ack_queue_1"),
+                        "multi_ack_queue_2",
+                        List.of("msg3", "unknown")));
+
+        assertFalse(queueDAO.containsMessage("multi_ack_queue_1", "msg1"));
+        assertFalse(queueDAO.containsMessage("multi_ack_queue_1", "msg2"));
+        assertFalse(queueDAO.containsMessage("multi_ack_queue_2", "msg3"));
+    }
+
     /** Test fix for https://github.com/Netflix/conductor/issues/1892 */
     @Test
     public void containsMessageTest() {
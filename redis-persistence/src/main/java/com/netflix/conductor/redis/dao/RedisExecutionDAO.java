@@ -342,6 +342,40 @@ public class RedisExecutionDAO extends BaseDynoDAO
         return true;
     }
 
+    @Override
+    public void removeTasks(List<TaskModel> tasks) {
+        // one command per workflow and task definition for the mappings, instead of one per task
+        tasks.stream()
+                .collect(Collectors.groupingBy(TaskModel::getWorkflowInstanceId))
+                .forEach(
+                        (workflowId, workflowTasks) -> {
+                            String[] taskKeys =
+                                    workflowTasks.stream()
+                                            .map(t -> t.getReferenceTaskName() + t.getRetryCount())
+                                            .toArray(String[]::new);
+                            jedisProxy.hdel(nsKey(SCHEDULED_TASKS, workflowId), taskKeys);
+                            jedisProxy.srem(
+                                    nsKey(WORKFLOW_TO_TASKS, workflowId), taskIds(workflowTasks));
+                        });
+        tasks.stream()
+                .collect(Collectors.groupingBy(TaskModel::getTaskDefName))
+                .forEach(
+                        (taskDefName, defTasks) -> {
+                            String[] taskIds = taskIds(defTasks);
+                            jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, taskDefName), taskIds);
+                            jedisProxy.srem(nsKey(TASKS_IN_PROGRESS_STATUS, taskDefName), taskIds);
+                            jedisProxy.zrem(nsKey(TASK_LIMIT_BUCKET, taskDefName), taskIds);
+                        });
+        // the task keys are deleted one by one: JedisCommands has no multi-key DEL, and on a
+        // cluster the keys of different tasks hash to different slots (CROSSSLOT)
+        tasks.forEach(task -> jedisProxy.del(nsKey(TASK, task.getTaskId())));
+        recordRedisDaoRequests("removeTasks");
+    }
+
+    private static String[] taskIds(List<TaskModel> tasks) {
+        return tasks.stream().map(TaskModel::getTaskId).toArray(String[]::new);
+    }
+
     private boolean removeTaskWithExpiry(String taskId, int ttlSeconds) {
         TaskModel task = getTask(taskId);
         if (task == null) {
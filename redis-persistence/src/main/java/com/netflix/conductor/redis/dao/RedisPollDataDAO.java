@@ -13,8 +13,10 @@
 package com.netflix.conductor.redis.dao;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.annotation.Conditional;
@@ -58,6 +60,24 @@ public class RedisPollDataDAO extends BaseDynoDAO implements PollDataDAO {
         jedisProxy.hset(key, field, payload);
     }
 
+    /** Writes the poll data of each task queue, across all of its domains, with one HMSET. */
+    @Override
+    public void updateLastPollData(List<PollData> pollData) {
+        pollData.stream()
+                .collect(Collectors.groupingBy(PollData::getQueueName))
+                .forEach(
+                        (queueName, queuePollData) -> {
+                            Map<String, String> fields = new HashMap<>();
+                            for (PollData data : queuePollData) {
+                                String field =
+                                        (data.getDomain() == null) ? "DEFAULT" : data.getDomain();
+                                fields.put(field, toJson(data));
+                            }
+                            recordRedisDaoRequests("updatePollData");
+                            jedisProxy.hmset(nsKey(POLL_DATA, queueName), fields);
+                        });
+    }
+
     @Override
     public PollData getPollData(String taskDefName, String domain) {
         Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
@@ -82,6 +82,10 @@ public class JedisProxy {
         return jedisCommands.zrem(key, member);
     }
 
+    public Long zrem(String key, String... members) {
+        return jedisCommands.zrem(key, members);
+    }
+
     public long zremrangeByScore(String key, String start, String end) {
         return jedisCommands.zremrangeByScore(key, start, end);
     }
@@ -111,6 +115,10 @@ public class JedisProxy {
         return jedisCommands.hset(key, field, value);
     }
 
+    public String hmset(String key, Map<String, String> hash) {
+        return jedisCommands.hmset(key, hash);
+    }
+
     public Long hsetnx(String key, String field, String value) {
         return jedisCommands.hsetnx(key, field, value);
     }
@@ -202,6 +210,11 @@ public class JedisProxy {
         return jedisCommands.srem(key, member);
     }
 
+    public Long srem(String key, String... members) {
+        LOGGER.trace("srem {} {}", key, members.length);
+        return jedisCommands.srem(key, members);
+    }
+
     public boolean sismember(String key, String member) {
         return jedisCommands.sismember(key, member);
     }
@@ -46,6 +46,8 @@ import jakarta.annotation.PreDestroy;
 public class SqliteExecutionDAO extends SqliteBaseDAO
         implements ExecutionDAO, RateLimitingDAO, ConcurrentExecutionLimitDAO {
 
+    private static final int REMOVE_TASKS_BATCH_SIZE = 500;
+
     private final ScheduledExecutorService scheduledExecutorService;
 
     public SqliteExecutionDAO(
@@ -254,6 +256,72 @@ public class SqliteExecutionDAO extends SqliteBaseDAO
         return true;
     }
 
+    @Override
+    public void removeTasks(List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        withTransaction(
+                connection ->
+                        Lists.partition(tasks, REMOVE_TASKS_BATCH_SIZE)
+                                .forEach(batch -> removeTasks(connection, batch)));
+    }
+
+    private void removeTasks(Connection connection, List<TaskModel> tasks) {
+        tasks.stream()
+                .collect(Collectors.groupingBy(TaskModel::getWorkflowInstanceId))
+                .forEach(
+                        (workflowId, workflowTasks) -> {
+                            List<String> taskKeys =
+                                    workflowTasks.stream()
+                                            .map(SqliteExecutionDAO::taskKey)
+                                            .toList();
+                            List<String> taskIds =
+                                    workflowTasks.stream().map(TaskModel::getTaskId).toList();
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM task_scheduled WHERE workflow_id = ? AND task_key IN (%s)",
+                                            Query.generateInBindings(taskKeys.size())),
+                                    q ->
+                                            q.addParameter(workflowId)
+                                                    .addParameters(taskKeys)
+                                                    .executeDelete());
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM workflow_to_task WHERE workflow_id = ? AND task_id IN (%s)",
+                                            Query.generateInBindings(taskIds.size())),
+                                    q ->
+                                            q.addParameter(workflowId)
+                                                    .addParameters(taskIds)
+                                                    .executeDelete());
+                        });
+        tasks.stream()
+                .collect(Collectors.groupingBy(TaskModel::getTaskDefName))
+                .forEach(
+                        (taskDefName, defTasks) -> {
+                            List<String> taskIds =
+                                    defTasks.stream().map(TaskModel::getTaskId).toList();
+                            execute(
+                                    connection,
+                                    String.format(
+                                            "DELETE FROM task_in_progress WHERE task_def_name = ? AND task_id IN (%s)",
+                                            Query.generateInBindings(taskIds.size())),
+                                    q ->
+                                            q.addParameter(taskDefName)
+                                                    .addParameters(taskIds)
+                                                    .executeUpdate());
+                        });
+        List<String> taskIds = tasks.stream().map(TaskModel::getTaskId).toList();
+        execute(
+                connection,
+                String.format(
+                        "DELETE FROM task WHERE task_id IN (%s)",
+                        Query.generateInBindings(taskIds.size())),
+                q -> q.addParameters(taskIds).executeDelete());
+    }
+
     @Override
     public TaskModel getTask(String taskId) {
         String GET_TASK = "SELECT json_data FROM task WHERE task_id = ?";
@@ -44,6 +44,17 @@ public class SqlitePollDataDAO extends SqliteBaseDAO implements PollDataDAO {
         withTransaction(tx -> insertOrUpdatePollData(tx, pollData, effectiveDomain));
     }
 
+    @Override
+    public void updateLastPollData(List<PollData> pollData) {
+        withTransaction(
+                tx -> {
+                    for (PollData data : pollData) {
+                        String domain = data.getDomain() == null ? "DEFAULT" : data.getDomain();
+                        insertOrUpdatePollData(tx, data, domain);
+                    }
+                });
+    }
+
     @Override
     public PollData getPollData(String taskDefName, String domain) {
         Preconditions.checkNotNull(taskDefName, "taskDefName name cannot be null");
@@ -63,6 +63,39 @@ public class ArchivingWorkflowListenerProperties {
     /** The number of threads to process the delay queue in workflow archival */
     private int delayQueueWorkerThreadCount = 5;
 
+    /** The maximum number of workflows written to a single S3 archive object */
+    private int workflowS3ArchivalBatchSize = 100;
+
+    /** The maximum time (in milliseconds) a workflow waits for its S3 archive batch to fill up */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration workflowS3ArchivalFlushInterval = Duration.ofSeconds(1);
+
+    /** The maximum number of workflows waiting to be archived to S3 */
+    private int workflowS3ArchivalQueueCapacity = 1000;
+
+    /**
+     * The time (in milliseconds) a workflow status listener call blocks while the S3 archival queue
+     * is full. Workflows that cannot be queued in time are not archived and stay in the datastore.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration workflowS3ArchivalEnqueueTimeout = Duration.ofSeconds(1);
+
+    /** The maximum number of S3 archive objects being uploaded at the same time */
+    private int workflowS3ArchivalUploadConcurrency = 4;
+
+    /**
+     * The number of times a failed S3 archive upload is retried. Workflows of an upload that still
+     * fails stay in the datastore.
+     */
+    private int workflowS3ArchivalUploadRetries = 3;
+
+    /**
+     * The time (in milliseconds) before the first retry of a failed S3 archive upload, doubled for
+     * every following retry
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration workflowS3ArchivalUploadRetryDelay = Duration.ofSeconds(1);
+
     public Duration getTtlDuration() {
         return ttlDuration;
     }
@@ -79,6 +112,62 @@ public class ArchivingWorkflowListenerProperties {
         this.delayQueueWorkerThreadCount = delayQueueWorkerThreadCount;
     }
 
+    public int getWorkflowS3ArchivalBatchSize() {
+        return workflowS3ArchivalBatchSize;
+    }
+
+    public void setWorkflowS3ArchivalBatchSize(int workflowS3ArchivalBatchSize) {
+        this.workflowS3ArchivalBatchSize = workflowS3ArchivalBatchSize;
+    }
+
+    public Duration getWorkflowS3ArchivalFlushInterval() {
+        return workflowS3ArchivalFlushInterval;
+    }
+
+    public void setWorkflowS3ArchivalFlushInterval(Duration workflowS3ArchivalFlushInterval) {
+        this.workflowS3ArchivalFlushInterval = workflowS3ArchivalFlushInterval;
+    }
+
+    public int getWorkflowS3ArchivalQueueCapacity() {
+        return workflowS3ArchivalQueueCapacity;
+    }
+
+    public void setWorkflowS3ArchivalQueueCapacity(int workflowS3ArchivalQueueCapacity) {
+        this.workflowS3ArchivalQueueCapacity = workflowS3ArchivalQueueCapacity;
+    }
+
+    public Duration getWorkflowS3ArchivalEnqueueTimeout() {
+        return workflowS3ArchivalEnqueueTimeout;
+    }
+
+    public void setWorkflowS3ArchivalEnqueueTimeout(Duration workflowS3ArchivalEnqueueTimeout) {
+        this.workflowS3ArchivalEnqueueTimeout = workflowS3ArchivalEnqueueTimeout;
+    }
+
+    public int getWorkflowS3ArchivalUploadConcurrency() {
+        return workflowS3ArchivalUploadConcurrency;
+    }
+
+    public void setWorkflowS3ArchivalUploadConcurrency(int workflowS3ArchivalUploadConcurrency) {
+        this.workflowS3ArchivalUploadConcurrency = workflowS3ArchivalUploadConcurrency;
+    }
+
+    public int getWorkflowS3ArchivalUploadRetries() {
+        return workflowS3ArchivalUploadRetries;
+    }
+
+    public void setWorkflowS3ArchivalUploadRetries(int workflowS3ArchivalUploadRetries) {
+        this.workflowS3ArchivalUploadRetries = workflowS3ArchivalUploadRetries;
+    }
+
+    public Duration getWorkflowS3ArchivalUploadRetryDelay() {
+        return workflowS3ArchivalUploadRetryDelay;
+    }
+
+    public void setWorkflowS3ArchivalUploadRetryDelay(Duration workflowS3ArchivalUploadRetryDelay) {
+        this.workflowS3ArchivalUploadRetryDelay = workflowS3ArchivalUploadRetryDelay;
+    }
+
     public ArchivalType getWorkflowArchivalType() {
         return workflowArchivalType;
     }
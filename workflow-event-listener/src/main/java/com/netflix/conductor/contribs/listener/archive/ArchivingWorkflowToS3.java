@@ -12,9 +12,25 @@
  */
 package com.netflix.conductor.contribs.listener.archive;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,33 +41,68 @@ import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.*;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
+/**
+ * Archives completed and terminated workflows to S3 and removes them from the datastore.
+ *
+ * <p>Workflows are serialized on the calling thread, queued on a bounded queue and written in
+ * batches as gzip compressed newline-delimited JSON objects, keyed by the hour in which they were
+ * uploaded. A failed upload is retried with a growing delay. A workflow is only removed from the
+ * datastore once the object containing it has been stored in S3.
+ */
 public class ArchivingWorkflowToS3 implements WorkflowStatusListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ArchivingWorkflowToS3.class);
+    private static final String CLASS_NAME = ArchivingWorkflowToS3.class.getSimpleName();
+    private static final DateTimeFormatter KEY_PREFIX_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy/MM/dd/HH").withZone(ZoneOffset.UTC);
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
     private final ExecutionDAOFacade executionDAOFacade;
 
     private final ArchivingWorkflowListenerProperties properties;
     private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
 
-    private final S3Client s3Client;
+    private final S3AsyncClient s3Client;
 
     private final String bucketName;
-    private final String bucketRegion;
     private final ObjectMapper objectMapper;
     private final int delayArchiveSeconds;
 
+    private final BlockingQueue<ArchivedWorkflow> archivalQueue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration enqueueTimeout;
+    private final int uploadConcurrency;
+    private final int uploadRetries;
+    private final Duration uploadRetryDelay;
+    private final Semaphore uploadPermits;
+    private final ExecutorService archivalWorker;
+    private volatile boolean running = true;
+
     public ArchivingWorkflowToS3(
             ExecutionDAOFacade executionDAOFacade, ArchivingWorkflowListenerProperties properties) {
+        this(
+                executionDAOFacade,
+                properties,
+                S3AsyncClient.builder()
+                        .region(Region.of(properties.getWorkflowS3ArchivalBucketRegion()))
+                        .multipartEnabled(true)
+                        .build());
+    }
+
+    public ArchivingWorkflowToS3(
+            ExecutionDAOFacade executionDAOFacade,
+            ArchivingWorkflowListenerProperties properties,
+            S3AsyncClient s3Client) {
         this.executionDAOFacade = executionDAOFacade;
         this.properties = properties;
+        this.s3Client = s3Client;
         bucketName = properties.getWorkflowS3ArchivalDefaultBucketName();
-        bucketRegion = properties.getWorkflowS3ArchivalBucketRegion();
-        s3Client = S3Client.builder().region(Region.of(bucketRegion)).build();
         this.delayArchiveSeconds = properties.getWorkflowArchivalDelay();
         objectMapper = new ObjectMapper();
         this.scheduledThreadPoolExecutor =
@@ -65,6 +116,23 @@ public class ArchivingWorkflowToS3 implements WorkflowStatusListener {
                             Monitors.recordDiscardedArchivalCount();
                         });
         this.scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+
+        this.archivalQueue =
+                new ArrayBlockingQueue<>(properties.getWorkflowS3ArchivalQueueCapacity());
+        this.batchSize = properties.getWorkflowS3ArchivalBatchSize();
+        this.flushInterval = properties.getWorkflowS3ArchivalFlushInterval();
+        this.enqueueTimeout = properties.getWorkflowS3ArchivalEnqueueTimeout();
+        this.uploadConcurrency = properties.getWorkflowS3ArchivalUploadConcurrency();
+        this.uploadRetries = properties.getWorkflowS3ArchivalUploadRetries();
+        this.uploadRetryDelay = properties.getWorkflowS3ArchivalUploadRetryDelay();
+        this.uploadPermits = new Semaphore(uploadConcurrency);
+        this.archivalWorker =
+                Executors.newSingleThreadExecutor(
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("s3-archival-worker-%d")
+                                .daemon(true)
+                                .build());
+        this.archivalWorker.submit(this::archiveBatches);
         LOGGER.warn(
                 "Workflow removal archiving in S3 with TTL is no longer supported, "
                         + "when using this class, workflows will be removed immediately");
@@ -74,6 +142,20 @@ public class ArchivingWorkflowToS3 implements WorkflowStatusListener {
     public void shutdownExecutorService() {
         try {
             LOGGER.info("Gracefully shutdown executor service in S3 Archival Listener");
+            // let the worker upload what is still queued, then wait for in-flight uploads
+            running = false;
+            archivalWorker.shutdown();
+            if (!archivalWorker.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn(
+                        "{} workflows left unarchived in S3 Archival Listener",
+                        archivalQueue.size());
+                archivalWorker.shutdownNow();
+            }
+            if (!uploadPermits.tryAcquire(
+                    uploadConcurrency, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Forcing shutdown with S3 archive uploads in progress");
+            }
+
             scheduledThreadPoolExecutor.shutdown();
             if (scheduledThreadPoolExecutor.awaitTermination(
                     delayArchiveSeconds, TimeUnit.SECONDS)) {
@@ -87,6 +169,7 @@ public class ArchivingWorkflowToS3 implements WorkflowStatusListener {
         } catch (InterruptedException ie) {
             LOGGER.warn(
                     "Shutdown interrupted, invoking shutdownNow on scheduledThreadPoolExecutor for delay queue S3 Archival Listener");
+            archivalWorker.shutdownNow();
             scheduledThreadPoolExecutor.shutdownNow();
             Thread.currentThread().interrupt();
         }
@@ -106,44 +189,63 @@ public class ArchivingWorkflowToS3 implements WorkflowStatusListener {
         // Only archive unsuccessful workflows if enabled
         if (!properties.getWorkflowArchiveUnsuccessfulOnly()
                 || !workflow.getStatus().isSuccessful()) {
-            final String fileName = workflow.getWorkflowId() + ".json";
-            final String filePathPrefix = workflow.getWorkflowName();
-            final String fullFilePath = filePathPrefix + '/' + fileName;
+            enqueue(workflow);
+        } else {
+            removeWorkflow(workflow);
+        }
+    }
 
-            try {
-                // Convert workflow to JSON string
-                String workflowJson = objectMapper.writeValueAsString(workflow);
-
-                // Create put object request
-                PutObjectRequest putObjectRequest =
-                        PutObjectRequest.builder()
-                                .bucket(bucketName)
-                                .key(fullFilePath)
-                                .contentType("application/json")
-                                .build();
-
-                // Upload workflow as a json file to s3
-                s3Client.putObject(putObjectRequest, RequestBody.fromString(workflowJson));
-
-                LOGGER.debug(
-                        "Archived workflow. Workflow Name :{} Workflow Id :{} Workflow Status :{} to S3 bucket:{}",
-                        workflow.getWorkflowName(),
-                        workflow.getWorkflowId(),
-                        workflow.getStatus(),
-                        bucketName);
-            } catch (final Exception e) {
-                LOGGER.error(
-                        "Exception occurred when archiving workflow to S3. Workflow Name : {} Workflow Id : {} Workflow Status : {} :",
-                        workflow.getWorkflowName(),
-                        workflow.getWorkflowId(),
-                        workflow.getStatus(),
-                        e);
-                throw new RuntimeException(e);
+    /**
+     * Queues the workflow for upload, blocking the caller for up to the enqueue timeout while the
+     * queue is full. The workflow is serialized here, as the caller may still change it once the
+     * listener returns. A workflow that is not queued stays in the datastore.
+     */
+    private void enqueue(WorkflowModel workflow) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(workflow);
+        } catch (IOException e) {
+            LOGGER.error(
+                    "Unable to serialize workflow for S3 archival, it is not removed. Workflow Name : {} Workflow Id : {}",
+                    workflow.getWorkflowName(),
+                    workflow.getWorkflowId(),
+                    e);
+            Monitors.error(CLASS_NAME, "enqueue");
+            return;
+        }
+        boolean queued = false;
+        try {
+            if (running) {
+                queued =
+                        archivalQueue.offer(
+                                new ArchivedWorkflow(
+                                        workflow.getWorkflowId(),
+                                        workflow.getWorkflowName(),
+                                        workflow.getStatus(),
+                                        json),
+                                enqueueTimeout.toMillis(),
+                                TimeUnit.MILLISECONDS);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queued) {
+            LOGGER.warn(
+                    "Unable to queue workflow for S3 archival, it is not removed. Workflow Name : {} Workflow Id : {}",
+                    workflow.getWorkflowName(),
+                    workflow.getWorkflowId());
+            Monitors.recordDiscardedArchivalCount();
         }
+    }
+
+    private void removeWorkflow(WorkflowModel workflow) {
         if (delayArchiveSeconds > 0) {
             scheduledThreadPoolExecutor.schedule(
-                    new DelayS3ArchiveWorkflow(workflow, executionDAOFacade),
+                    new DelayS3ArchiveWorkflow(
+                            workflow.getWorkflowId(),
+                            workflow.getWorkflowName(),
+                            workflow.getStatus(),
+                            executionDAOFacade),
                     delayArchiveSeconds,
                     TimeUnit.SECONDS);
         } else {
@@ -157,6 +259,153 @@ public class ArchivingWorkflowToS3 implements WorkflowStatusListener {
         }
     }
 
+    /**
+     * Collects queued workflows into batches of up to {@link #batchSize}, waiting at most {@link
+     * #flushInterval} for a batch to fill up, and uploads them with at most {@link
+     * #uploadConcurrency} uploads in flight.
+     */
+    private void archiveBatches() {
+        while (running || !archivalQueue.isEmpty()) {
+            try {
+                ArchivedWorkflow first =
+                        archivalQueue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<ArchivedWorkflow> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    archivalQueue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ArchivedWorkflow next = archivalQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                uploadPermits.acquire();
+                upload(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                LOGGER.error("Unexpected error in S3 archival worker", e);
+            }
+        }
+    }
+
+    private void upload(List<ArchivedWorkflow> batch) {
+        byte[] content;
+        try {
+            content = toCompressedNdjson(batch);
+        } catch (IOException e) {
+            uploadPermits.release();
+            LOGGER.error(
+                    "Unable to compress {} workflows for S3 archival, they are not removed",
+                    batch.size(),
+                    e);
+            Monitors.error(CLASS_NAME, "upload");
+            return;
+        }
+        String key =
+                KEY_PREFIX_FORMATTER.format(Instant.now()) + '/' + UUID.randomUUID() + ".ndjson.gz";
+        PutObjectRequest putObjectRequest =
+                PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType("application/x-ndjson")
+                        .contentEncoding("gzip")
+                        .build();
+        putObject(batch, putObjectRequest, content, 0);
+    }
+
+    /**
+     * Uploads the object, retrying up to {@link #uploadRetries} times with a delay that doubles
+     * every attempt. The retries use the same key, so an upload that succeeded without being
+     * acknowledged is overwritten rather than duplicated. The upload permit is held until the
+     * object is stored or the retries are exhausted.
+     */
+    private void putObject(
+            List<ArchivedWorkflow> batch,
+            PutObjectRequest putObjectRequest,
+            byte[] content,
+            int attempt) {
+        s3Client.putObject(putObjectRequest, AsyncRequestBody.fromBytes(content))
+                .whenComplete(
+                        (response, error) -> {
+                            if (error != null) {
+                                retryPutObject(batch, putObjectRequest, content, attempt, error);
+                                return;
+                            }
+                            uploadPermits.release();
+                            LOGGER.debug(
+                                    "Archived {} workflows to S3 bucket: {} key: {}",
+                                    batch.size(),
+                                    bucketName,
+                                    putObjectRequest.key());
+                            // removal hits the datastore, keep it off the S3 client threads
+                            for (ArchivedWorkflow workflow : batch) {
+                                scheduledThreadPoolExecutor.schedule(
+                                        new DelayS3ArchiveWorkflow(
+                                                workflow.workflowId(),
+                                                workflow.workflowName(),
+                                                workflow.status(),
+                                                executionDAOFacade),
+                                        delayArchiveSeconds,
+                                        TimeUnit.SECONDS);
+                            }
+                        });
+    }
+
+    private void retryPutObject(
+            List<ArchivedWorkflow> batch,
+            PutObjectRequest putObjectRequest,
+            byte[] content,
+            int attempt,
+            Throwable error) {
+        Monitors.error(CLASS_NAME, "upload");
+        if (attempt >= uploadRetries || scheduledThreadPoolExecutor.isShutdown()) {
+            uploadPermits.release();
+            LOGGER.error(
+                    "Exception occurred when archiving {} workflows to S3 bucket: {} after {} attempts, they are not removed",
+                    batch.size(),
+                    bucketName,
+                    attempt + 1,
+                    error);
+            return;
+        }
+        long delay = uploadRetryDelay.toMillis() << Math.min(attempt, 10);
+        LOGGER.warn(
+                "Exception occurred when archiving {} workflows to S3 bucket: {}, retrying in {} ms",
+                batch.size(),
+                bucketName,
+                delay,
+                error);
+        scheduledThreadPoolExecutor.schedule(
+                () -> putObject(batch, putObjectRequest, content, attempt + 1),
+                delay,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private byte[] toCompressedNdjson(List<ArchivedWorkflow> batch) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(content)) {
+            for (ArchivedWorkflow workflow : batch) {
+                gzip.write(workflow.json());
+                gzip.write('\n');
+            }
+        }
+        return content.toByteArray();
+    }
+
+    /** A workflow queued for archival, serialized when it was handed to the listener. */
+    private record ArchivedWorkflow(
+            String workflowId, String workflowName, WorkflowModel.Status status, byte[] json) {}
+
     private class DelayS3ArchiveWorkflow implements Runnable {
 
         private final String workflowId;
@@ -164,10 +413,14 @@ public class ArchivingWorkflowToS3 implements WorkflowStatusListener {
         private final WorkflowModel.Status status;
         private final ExecutionDAOFacade executionDAOFacade;
 
-        DelayS3ArchiveWorkflow(WorkflowModel workflow, ExecutionDAOFacade executionDAOFacade) {
-            this.workflowId = workflow.getWorkflowId();
-            this.workflowName = workflow.getWorkflowName();
-            this.status = workflow.getStatus();
+        DelayS3ArchiveWorkflow(
+                String workflowId,
+                String workflowName,
+                WorkflowModel.Status status,
+                ExecutionDAOFacade executionDAOFacade) {
+            this.workflowId = workflowId;
+            this.workflowName = workflowName;
+            this.status = status;
             this.executionDAOFacade = executionDAOFacade;
         }
 
@@ -72,7 +72,7 @@ public class ConductorQueueStatusPublisher implements WorkflowStatusListener {
 
     private Message workflowToMessage(WorkflowModel workflowModel) {
         String jsonWfSummary;
-        WorkflowSummary summary = new WorkflowSummary(workflowModel.toWorkflow());
+        WorkflowSummary summary = workflowModel.toWorkflowSummary();
         try {
             jsonWfSummary = objectMapper.writeValueAsString(summary);
         } catch (JsonProcessingException e) {
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.contribs.listener;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.contribs.listener.archive.ArchivingWorkflowListenerProperties;
+import com.netflix.conductor.contribs.listener.archive.ArchivingWorkflowToS3;
+import com.netflix.conductor.core.dal.ExecutionDAOFacade;
+import com.netflix.conductor.model.WorkflowModel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ArchivingWorkflowToS3Test {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutionDAOFacade executionDAOFacade;
+    private InMemoryS3AsyncClient s3Client;
+    private ArchivingWorkflowToS3 listener;
+
+    @Before
+    public void before() {
+        executionDAOFacade = mock(ExecutionDAOFacade.class);
+        s3Client = new InMemoryS3AsyncClient();
+
+        ArchivingWorkflowListenerProperties properties =
+                mock(ArchivingWorkflowListenerProperties.class);
+        when(properties.getWorkflowS3ArchivalDefaultBucketName()).thenReturn("archive");
+        when(properties.getWorkflowArchiveUnsuccessfulOnly()).thenReturn(false);
+        when(properties.getDelayQueueWorkerThreadCount()).thenReturn(1);
+        when(properties.getWorkflowS3ArchivalBatchSize()).thenReturn(2);
+        when(properties.getWorkflowS3ArchivalFlushInterval()).thenReturn(Duration.ofMillis(200));
+        when(properties.getWorkflowS3ArchivalQueueCapacity()).thenReturn(10);
+        when(properties.getWorkflowS3ArchivalEnqueueTimeout()).thenReturn(Duration.ofSeconds(1));
+        when(properties.getWorkflowS3ArchivalUploadConcurrency()).thenReturn(2);
+        when(properties.getWorkflowS3ArchivalUploadRetries()).thenReturn(1);
+        when(properties.getWorkflowS3ArchivalUploadRetryDelay()).thenReturn(Duration.ofMillis(50));
+        listener = new ArchivingWorkflowToS3(executionDAOFacade, properties, s3Client);
+    }
+
+    @After
+    public void tearDown() {
+        listener.shutdownExecutorService();
+    }
+
+    @Test
+    public void testWorkflowsAreArchivedInBatches() throws Exception {
+        List<String> workflowIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            WorkflowModel workflow = workflow();
+            workflowIds.add(workflow.getWorkflowId());
+            listener.onWorkflowCompleted(workflow);
+        }
+
+        for (String workflowId : workflowIds) {
+            verify(executionDAOFacade, timeout(5000)).removeWorkflow(workflowId, true);
+        }
+        List<String> archivedIds = new ArrayList<>();
+        for (Map.Entry<String, byte[]> object : s3Client.objects.entrySet()) {
+            assertTrue(object.getKey().endsWith(".ndjson.gz"));
+            List<String> lines = decompress(object.getValue());
+            assertTrue(lines.size() <= 2);
+            for (String line : lines) {
+                archivedIds.add(objectMapper.readTree(line).get("workflowId").asText());
+            }
+        }
+        assertEquals(3, archivedIds.size());
+        assertTrue(archivedIds.containsAll(workflowIds));
+    }
+
+    @Test
+    public void testWorkflowsAreNotRemovedWhenUploadFails() throws Exception {
+        s3Client.failures.set(Integer.MAX_VALUE);
+        listener.onWorkflowTerminated(workflow());
+
+        // the first attempt and its retry
+        assertTrue(s3Client.attempted.await(5, TimeUnit.SECONDS));
+        verify(executionDAOFacade, after(500).never()).removeWorkflow(anyString(), anyBoolean());
+        assertEquals(2, s3Client.attempts.get());
+    }
+
+    @Test
+    public void testFailedUploadIsRetried() throws Exception {
+        s3Client.failures.set(1);
+        WorkflowModel workflow = workflow();
+        listener.onWorkflowTerminated(workflow);
+
+        verify(executionDAOFacade, timeout(5000)).removeWorkflow(workflow.getWorkflowId(), true);
+        assertEquals(2, s3Client.attempts.get());
+        assertEquals(1, s3Client.objects.size());
+    }
+
+    @Test
+    public void testWorkflowIsArchivedAsItWasWhenQueued() throws Exception {
+        WorkflowModel workflow = workflow();
+        listener.onWorkflowTerminated(workflow);
+        // the caller keeps changing the workflow after notifying the listener
+        workflow.addOutput("conductor.failure_workflow", "failureWorkflowId");
+
+        verify(executionDAOFacade, timeout(5000)).removeWorkflow(workflow.getWorkflowId(), true);
+        byte[] object = s3Client.objects.values().iterator().next();
+        List<String> lines = decompress(object);
+        assertEquals(1, lines.size());
+        assertFalse(
+                objectMapper
+                        .readTree(lines.get(0))
+                        .path("output")
+                        .has("conductor.failure_workflow"));
+    }
+
+    private WorkflowModel workflow() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("name1");
+        def.setVersion(1);
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowDefinition(def);
+        workflow.setWorkflowId(UUID.randomUUID().toString());
+        workflow.setStatus(WorkflowModel.Status.COMPLETED);
+        return workflow;
+    }
+
+    private List<String> decompress(byte[] content) throws IOException {
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new GZIPInputStream(new ByteArrayInputStream(content)),
+                                StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    /** In-process stand-in for S3 that keeps uploaded objects in memory. */
+    private static class InMemoryS3AsyncClient implements S3AsyncClient {
+
+        final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        final CountDownLatch attempted = new CountDownLatch(2);
+        final AtomicInteger attempts = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<PutObjectResponse> putObject(
+                PutObjectRequest putObjectRequest, AsyncRequestBody requestBody) {
+            attempts.incrementAndGet();
+            attempted.countDown();
+            if (failures.getAndDecrement() > 0) {
+                return CompletableFuture.failedFuture(SdkClientException.create("unavailable"));
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            return requestBody
+                    .subscribe(
+                            buffer -> {
+                                byte[] bytes = new byte[buffer.remaining()];
+                                buffer.get(bytes);
+                                content.writeBytes(bytes);
+                            })
+                    .thenApply(
+                            ignored -> {
+                                objects.put(putObjectRequest.key(), content.toByteArray());
+                                return PutObjectResponse.builder().build();
+                            });
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {}
+    }
+}